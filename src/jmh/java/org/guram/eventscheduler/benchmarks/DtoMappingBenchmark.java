@@ -0,0 +1,55 @@
+package org.guram.eventscheduler.benchmarks;
+
+import org.guram.eventscheduler.dtos.eventDtos.EventResponseDto;
+import org.guram.eventscheduler.dtos.userDtos.UserResponseDto;
+import org.guram.eventscheduler.models.Event;
+import org.guram.eventscheduler.models.User;
+import org.guram.eventscheduler.models.UserStats;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.concurrent.TimeUnit;
+import static org.guram.eventscheduler.utils.EntityToDtoMappings.mapEventToResponseDto;
+import static org.guram.eventscheduler.utils.EntityToDtoMappings.mapUserToResponseDto;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int attendees;
+
+    private Event event;
+    private User user;
+    private UserStats userStats;
+
+    @Setup
+    public void setUp() {
+        event = EntityGraphs.eventWithAttendees(1L, attendees);
+        user = EntityGraphs.userWithAttendances(attendees);
+        userStats = EntityGraphs.statsFor(user);
+    }
+
+    @Benchmark
+    public EventResponseDto mapEvent() {
+        return mapEventToResponseDto(event);
+    }
+
+    @Benchmark
+    public UserResponseDto mapUser() {
+        return mapUserToResponseDto(user, userStats);
+    }
+
+}
@@ -0,0 +1,80 @@
+package org.guram.eventscheduler.benchmarks;
+
+import org.guram.eventscheduler.models.Attendance;
+import org.guram.eventscheduler.models.AttendanceRole;
+import org.guram.eventscheduler.models.AttendanceStatus;
+import org.guram.eventscheduler.models.Event;
+import org.guram.eventscheduler.models.User;
+import org.guram.eventscheduler.models.UserStats;
+import java.time.LocalDateTime;
+
+final class EntityGraphs {
+
+    private static final int ORGANIZER_EVERY = 50;
+
+    private EntityGraphs() {
+    }
+
+    static User user(long id) {
+        User user = new User("first" + id, "last" + id, "user" + id + "@email.com", "password");
+        user.setId(id);
+        user.setBio("bio of user " + id);
+        return user;
+    }
+
+    static Event eventWithAttendees(long eventId, int attendees) {
+        Event event = new Event("event " + eventId, LocalDateTime.now().plusDays(7), "tbilisi");
+        event.setId(eventId);
+        event.setDescription("synthetic event with " + attendees + " attendees");
+
+        for (int i = 0; i < attendees; i++) {
+            User user = user(i + 1);
+            AttendanceRole role = i % ORGANIZER_EVERY == 0 ? AttendanceRole.ORGANIZER : AttendanceRole.ATTENDEE;
+            Attendance attendance = new Attendance(user, event, role);
+            attendance.setId((long) i + 1);
+            attendance.setStatus(statusFor(i));
+            event.getAttendances().add(attendance);
+            user.getAttendances().add(attendance);
+        }
+        return event;
+    }
+
+    static User userWithAttendances(int attendances) {
+        User user = user(1);
+        for (int i = 0; i < attendances; i++) {
+            Event event = new Event("event " + i, LocalDateTime.now().plusDays(7), "tbilisi");
+            event.setId((long) i + 1);
+            Attendance attendance = new Attendance(user, event, i % ORGANIZER_EVERY == 0 ? AttendanceRole.ORGANIZER : AttendanceRole.ATTENDEE);
+            attendance.setStatus(statusFor(i));
+            user.getAttendances().add(attendance);
+        }
+        return user;
+    }
+
+    static UserStats statsFor(User user) {
+        UserStats stats = new UserStats(user.getId());
+        for (Attendance attendance : user.getAttendances()) {
+            switch (attendance.getStatus()) {
+                case ATTENDED -> {
+                    stats.setAttendedCount(stats.getAttendedCount() + 1);
+                    if (attendance.getRole() == AttendanceRole.ORGANIZER)
+                        stats.setOrganizedCount(stats.getOrganizedCount() + 1);
+                }
+                case WITHDRAWN -> stats.setWithdrawnCount(stats.getWithdrawnCount() + 1);
+                case KICKED -> stats.setKickedCount(stats.getKickedCount() + 1);
+                default -> { }
+            }
+        }
+        return stats;
+    }
+
+    private static AttendanceStatus statusFor(int index) {
+        return switch (index % 10) {
+            case 0, 1, 2, 3 -> AttendanceStatus.REGISTERED;
+            case 4, 5, 6 -> AttendanceStatus.ATTENDED;
+            case 7, 8 -> AttendanceStatus.WITHDRAWN;
+            default -> AttendanceStatus.KICKED;
+        };
+    }
+
+}
@@ -0,0 +1,106 @@
+package org.guram.eventscheduler.loadtest;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.HttpCookie;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+public class LoadTestClient {
+
+    private static final String CSRF_COOKIE = "XSRF-TOKEN";
+    private static final String CSRF_HEADER = "X-XSRF-TOKEN";
+
+    private final String baseUrl;
+    private final LoadTestReport report;
+    private final CookieManager cookies = new CookieManager();
+    private final HttpClient httpClient;
+
+    public LoadTestClient(String baseUrl, LoadTestReport report) {
+        this.baseUrl = baseUrl;
+        this.report = report;
+        this.httpClient = HttpClient.newBuilder()
+                .cookieHandler(cookies)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+
+    public void login(String email, String password) throws IOException, InterruptedException {
+        refreshCsrfToken();
+        String form = "username=" + URLEncoder.encode(email, StandardCharsets.UTF_8)
+                + "&password=" + URLEncoder.encode(password, StandardCharsets.UTF_8);
+        HttpResponse<Void> response = httpClient.send(withCsrf(HttpRequest.newBuilder(uri("/login")))
+                        .header("Content-Type", "application/x-www-form-urlencoded")
+                        .POST(HttpRequest.BodyPublishers.ofString(form))
+                        .build(),
+                HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200)
+            throw new IllegalStateException("Login failed for " + email + " with status " + response.statusCode());
+
+        // The session id and CSRF token are rotated on login.
+        refreshCsrfToken();
+    }
+
+    public HttpResponse<Void> get(String pathAndQuery) throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(uri(pathAndQuery)).GET(), pathAndQuery);
+    }
+
+    public HttpResponse<Void> post(String pathAndQuery) throws IOException, InterruptedException {
+        return send(withCsrf(HttpRequest.newBuilder(uri(pathAndQuery))).POST(HttpRequest.BodyPublishers.noBody()),
+                pathAndQuery);
+    }
+
+    public HttpResponse<Void> postJson(String path, String json) throws IOException, InterruptedException {
+        return send(withCsrf(HttpRequest.newBuilder(uri(path)))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(json)),
+                path);
+    }
+
+    public HttpResponse<Void> put(String pathAndQuery) throws IOException, InterruptedException {
+        return send(withCsrf(HttpRequest.newBuilder(uri(pathAndQuery))).PUT(HttpRequest.BodyPublishers.noBody()),
+                pathAndQuery);
+    }
+
+    private HttpResponse<Void> send(HttpRequest.Builder builder, String pathAndQuery)
+            throws IOException, InterruptedException {
+        HttpRequest request = builder.build();
+        long start = System.nanoTime();
+        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        long latency = System.nanoTime() - start;
+
+        String path = pathAndQuery.split("\\?", 2)[0];
+        report.recordResponse(LoadTestReport.endpoint(request.method(), path), latency, response.statusCode());
+        return response;
+    }
+
+    /**
+     * Tokens are generated lazily, so a rejected state-changing request is what makes the server issue the cookie.
+     */
+    private void refreshCsrfToken() throws IOException, InterruptedException {
+        httpClient.send(HttpRequest.newBuilder(uri("/login"))
+                        .PUT(HttpRequest.BodyPublishers.noBody())
+                        .build(),
+                HttpResponse.BodyHandlers.discarding());
+    }
+
+    private HttpRequest.Builder withCsrf(HttpRequest.Builder request) {
+        cookies.getCookieStore().getCookies().stream()
+                .filter(cookie -> CSRF_COOKIE.equals(cookie.getName()))
+                .map(HttpCookie::getValue)
+                .findFirst()
+                .ifPresent(token -> request.header(CSRF_HEADER, token));
+        return request;
+    }
+
+    private URI uri(String pathAndQuery) {
+        return URI.create(baseUrl + pathAndQuery);
+    }
+
+}
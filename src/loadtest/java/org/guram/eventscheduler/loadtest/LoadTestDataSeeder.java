@@ -0,0 +1,109 @@
+package org.guram.eventscheduler.loadtest;
+
+import org.guram.eventscheduler.models.Attendance;
+import org.guram.eventscheduler.models.AttendanceRole;
+import org.guram.eventscheduler.models.Event;
+import org.guram.eventscheduler.models.Invitation;
+import org.guram.eventscheduler.models.User;
+import org.guram.eventscheduler.models.UserStats;
+import org.guram.eventscheduler.repositories.EventRepository;
+import org.guram.eventscheduler.repositories.InvitationRepository;
+import org.guram.eventscheduler.repositories.UserRepository;
+import org.guram.eventscheduler.repositories.UserStatsRepository;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+public class LoadTestDataSeeder {
+
+    public static final String PASSWORD = "load-test-password";
+    private static final int CHUNK_SIZE = 200;
+
+    private final UserRepository userRepo;
+    private final UserStatsRepository userStatsRepo;
+    private final EventRepository eventRepo;
+    private final InvitationRepository invitationRepo;
+    private final TransactionTemplate transactionTemplate;
+
+    public LoadTestDataSeeder(UserRepository userRepo, UserStatsRepository userStatsRepo,
+                              EventRepository eventRepo, InvitationRepository invitationRepo,
+                              TransactionTemplate transactionTemplate) {
+        this.userRepo = userRepo;
+        this.userStatsRepo = userStatsRepo;
+        this.eventRepo = eventRepo;
+        this.invitationRepo = invitationRepo;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+
+    public record SeededUser(Long id, String email, List<Long> organizedEventIds,
+                             ConcurrentLinkedDeque<Long> pendingInvitationIds) {}
+
+    public List<SeededUser> seed(int users, int eventsPerUser, int invitationsPerUser, String passwordHash) {
+        if (invitationsPerUser >= users)
+            throw new IllegalArgumentException("invitationsPerUser must be smaller than users");
+
+        List<User> seededUsers = inChunks(users, i ->
+                userRepo.save(new User("Load", "User" + i, "load-user-" + i + "@example.com", passwordHash)));
+        userStatsRepo.saveAll(seededUsers.stream().map(user -> new UserStats(user.getId())).toList());
+
+        List<List<Event>> organizedEvents = inChunks(users, i -> eventRepo.saveAll(IntStream.range(0, eventsPerUser)
+                .mapToObj(n -> newEvent(seededUsers.get(i), n))
+                .toList()));
+
+        List<List<Long>> pendingInvitations = inChunks(users, i ->
+                inviteToNeighbourEvents(seededUsers, organizedEvents, i, invitationsPerUser));
+
+        return IntStream.range(0, users)
+                .mapToObj(i -> new SeededUser(seededUsers.get(i).getId(), seededUsers.get(i).getEmail(),
+                        organizedEvents.get(i).stream().map(Event::getId).toList(),
+                        new ConcurrentLinkedDeque<>(pendingInvitations.get(i))))
+                .toList();
+    }
+
+    private <T> List<T> inChunks(int total, IntFunction<T> seedOne) {
+        List<T> seeded = new ArrayList<>(total);
+        for (int from = 0; from < total; from += CHUNK_SIZE) {
+            int chunkStart = from;
+            int chunkEnd = Math.min(from + CHUNK_SIZE, total);
+            seeded.addAll(transactionTemplate.execute(status -> IntStream.range(chunkStart, chunkEnd)
+                    .mapToObj(seedOne)
+                    .toList()));
+        }
+        return seeded;
+    }
+
+    private Event newEvent(User organizer, int n) {
+        Event event = new Event();
+        event.setTitle("Load test event " + n + " by " + organizer.getLastName());
+        event.setDescription("Seeded for load testing");
+        event.setDateTime(LocalDateTime.now().plusDays(1 + n));
+        event.setLocation("Tbilisi");
+        event.getAttendances().add(new Attendance(organizer, event, AttendanceRole.ORGANIZER));
+        return event;
+    }
+
+    private List<Long> inviteToNeighbourEvents(List<User> users, List<List<Event>> organizedEvents,
+                                               int inviteeIndex, int count) {
+        List<Invitation> invitations = IntStream.rangeClosed(1, count)
+                .map(offset -> (inviteeIndex + offset) % users.size())
+                .filter(organizerIndex -> !organizedEvents.get(organizerIndex).isEmpty())
+                .mapToObj(organizerIndex -> {
+                    Invitation invitation = new Invitation();
+                    invitation.setInvitee(users.get(inviteeIndex));
+                    invitation.setInvitor(users.get(organizerIndex));
+                    invitation.setEvent(organizedEvents.get(organizerIndex).get(0));
+                    return invitation;
+                })
+                .toList();
+
+        return invitationRepo.saveAll(invitations).stream()
+                .map(Invitation::getId)
+                .toList();
+    }
+
+}
@@ -0,0 +1,128 @@
+package org.guram.eventscheduler.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+public class LoadTestReport {
+
+    private final Map<String, EndpointStats> endpoints = new ConcurrentSkipListMap<>();
+    private volatile boolean recording;
+    private volatile long startedAt;
+    private volatile long stoppedAt;
+
+
+    public static String endpoint(String method, String path) {
+        return method + " " + path.replaceAll("/\\d+(?=/|$)", "/{id}");
+    }
+
+    public void start() {
+        startedAt = System.nanoTime();
+        recording = true;
+    }
+
+    public void stop() {
+        recording = false;
+        stoppedAt = System.nanoTime();
+    }
+
+    public void recordResponse(String endpoint, long latencyNanos, int status) {
+        if (recording)
+            stats(endpoint).recordResponse(latencyNanos, status);
+    }
+
+    public void recordQueries(String endpoint, int queries) {
+        if (recording)
+            stats(endpoint).recordQueries(queries);
+    }
+
+    public long serverErrors() {
+        return endpoints.values().stream().mapToLong(stats -> stats.serverErrors.sum()).sum();
+    }
+
+    public String render() {
+        double seconds = (stoppedAt - startedAt) / 1_000_000_000.0;
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("%-38s %8s %8s %6s %6s %9s %9s %9s %9s %12s%n",
+                "endpoint", "requests", "req/s", "4xx", "5xx", "p50 ms", "p99 ms", "p999 ms", "max ms", "queries/req"));
+
+        long totalRequests = 0;
+        for (Map.Entry<String, EndpointStats> entry : endpoints.entrySet()) {
+            EndpointStats stats = entry.getValue();
+            long[] latencies = stats.sortedLatencies();
+            if (latencies.length == 0)
+                continue;
+
+            totalRequests += latencies.length;
+            out.append(String.format("%-38s %8d %8.1f %6d %6d %9.2f %9.2f %9.2f %9.2f %12.1f%n",
+                    entry.getKey(), latencies.length, latencies.length / seconds,
+                    stats.clientErrors.sum(), stats.serverErrors.sum(),
+                    millis(percentile(latencies, 0.50)), millis(percentile(latencies, 0.99)),
+                    millis(percentile(latencies, 0.999)), millis(latencies[latencies.length - 1]),
+                    stats.queriesPerRequest()));
+        }
+
+        out.append(String.format("%ntotal: %d requests in %.1f s (%.1f req/s)%n",
+                totalRequests, seconds, totalRequests / seconds));
+        return out.toString();
+    }
+
+    public void writeTo(Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, render());
+    }
+
+    private EndpointStats stats(String endpoint) {
+        return endpoints.computeIfAbsent(endpoint, key -> new EndpointStats());
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static class EndpointStats {
+
+        private final List<Long> latencies = new ArrayList<>();
+        private final LongAdder clientErrors = new LongAdder();
+        private final LongAdder serverErrors = new LongAdder();
+        private final LongAdder queryRequests = new LongAdder();
+        private final AtomicLong queries = new AtomicLong();
+
+        synchronized void recordResponse(long latencyNanos, int status) {
+            latencies.add(latencyNanos);
+            if (status >= 500)
+                serverErrors.increment();
+            else if (status >= 400)
+                clientErrors.increment();
+        }
+
+        void recordQueries(int count) {
+            queryRequests.increment();
+            queries.addAndGet(count);
+        }
+
+        synchronized long[] sortedLatencies() {
+            long[] sorted = latencies.stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(sorted);
+            return sorted;
+        }
+
+        double queriesPerRequest() {
+            long requests = queryRequests.sum();
+            return requests == 0 ? 0 : (double) queries.get() / requests;
+        }
+    }
+
+}
@@ -0,0 +1,31 @@
+package org.guram.eventscheduler.loadtest;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import java.io.IOException;
+
+public class QueryCountingFilter extends OncePerRequestFilter {
+
+    private final LoadTestReport report;
+
+    public QueryCountingFilter(LoadTestReport report) {
+        this.report = report;
+    }
+
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        QueryCountingInspector.reset();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            report.recordQueries(LoadTestReport.endpoint(request.getMethod(), request.getRequestURI()),
+                    QueryCountingInspector.count());
+        }
+    }
+
+}
@@ -0,0 +1,24 @@
+package org.guram.eventscheduler.loadtest;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+public class QueryCountingInspector implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNTER = ThreadLocal.withInitial(() -> new int[1]);
+
+
+    @Override
+    public String inspect(String sql) {
+        COUNTER.get()[0]++;
+        return sql;
+    }
+
+    public static void reset() {
+        COUNTER.get()[0] = 0;
+    }
+
+    public static int count() {
+        return COUNTER.get()[0];
+    }
+
+}
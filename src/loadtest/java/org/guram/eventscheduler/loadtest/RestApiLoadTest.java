@@ -0,0 +1,187 @@
+package org.guram.eventscheduler.loadtest;
+
+import org.guram.eventscheduler.loadtest.LoadTestDataSeeder.SeededUser;
+import org.guram.eventscheduler.repositories.EventRepository;
+import org.guram.eventscheduler.repositories.InvitationRepository;
+import org.guram.eventscheduler.repositories.UserRepository;
+import org.guram.eventscheduler.repositories.UserStatsRepository;
+import org.guram.eventscheduler.services.UserTimelineService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives a mixed workload against the running application through real form-login sessions and reports
+ * latency percentiles and SQL statements per request for each endpoint.
+ * Sizes and duration are read from {@code loadtest.*} system properties.
+ */
+@Tag("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:loadtest;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=org.guram.eventscheduler.loadtest.QueryCountingInspector",
+        "cloudinary.cloud_name=load-test",
+        "cloudinary.api_key=load-test",
+        "cloudinary.api_secret=load-test"
+})
+public class RestApiLoadTest {
+
+    private static final int USERS = Integer.getInteger("loadtest.users", 500);
+    private static final int EVENTS_PER_USER = Integer.getInteger("loadtest.eventsPerUser", 4);
+    private static final int INVITATIONS_PER_USER = Integer.getInteger("loadtest.invitationsPerUser", 8);
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 32);
+    private static final int WARMUP_SECONDS = Integer.getInteger("loadtest.warmupSeconds", 10);
+    private static final int DURATION_SECONDS = Integer.getInteger("loadtest.durationSeconds", 30);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private LoadTestReport report;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    @Autowired
+    private UserStatsRepository userStatsRepo;
+
+    @Autowired
+    private EventRepository eventRepo;
+
+    @Autowired
+    private InvitationRepository invitationRepo;
+
+    @Autowired
+    private UserTimelineService userTimelineService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private volatile boolean running = true;
+
+
+    @TestConfiguration
+    static class LoadTestConfig {
+
+        @Bean
+        LoadTestReport loadTestReport() {
+            return new LoadTestReport();
+        }
+
+        @Bean
+        FilterRegistrationBean<QueryCountingFilter> queryCountingFilter(LoadTestReport report) {
+            FilterRegistrationBean<QueryCountingFilter> registration =
+                    new FilterRegistrationBean<>(new QueryCountingFilter(report));
+            registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+            return registration;
+        }
+    }
+
+    @Test
+    void mixedWorkload() throws Exception {
+        List<SeededUser> users = new LoadTestDataSeeder(userRepo, userStatsRepo, eventRepo, invitationRepo, transactionTemplate)
+                .seed(USERS, EVENTS_PER_USER, INVITATIONS_PER_USER, passwordEncoder.encode(LoadTestDataSeeder.PASSWORD));
+        userTimelineService.reconcileAll();
+
+        ExecutorService executor = Executors.newFixedThreadPool(CLIENTS);
+        List<Future<?>> clients = new ArrayList<>();
+        for (int i = 0; i < Math.min(CLIENTS, USERS); i++) {
+            SeededUser user = users.get(i);
+            LoadTestClient client = new LoadTestClient("http://localhost:" + port, report);
+            client.login(user.email(), LoadTestDataSeeder.PASSWORD);
+            clients.add(executor.submit(() -> runClient(client, user, users)));
+        }
+
+        TimeUnit.SECONDS.sleep(WARMUP_SECONDS);
+        report.start();
+        TimeUnit.SECONDS.sleep(DURATION_SECONDS);
+        report.stop();
+        running = false;
+
+        for (Future<?> client : clients)
+            client.get();
+        executor.shutdown();
+
+        System.out.println(report.render());
+        report.writeTo(Path.of("target", "loadtest-report.txt"));
+
+        assertThat(report.serverErrors()).isZero();
+    }
+
+    private Void runClient(LoadTestClient client, SeededUser user, List<SeededUser> users) throws Exception {
+        Long invitingEventId = user.organizedEventIds().get(0);
+        ConcurrentLinkedDeque<Long> cancellableEventIds =
+                new ConcurrentLinkedDeque<>(user.organizedEventIds().subList(1, user.organizedEventIds().size()));
+
+        while (running) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int roll = random.nextInt(100);
+
+            if (roll < 40) {
+                client.get("/events");
+            } else if (roll < 60) {
+                client.get("/notifications");
+            } else if (roll < 75) {
+                // Half of the invitations go to other active clients so that responses keep flowing.
+                int inviteePool = random.nextBoolean() ? Math.min(CLIENTS, users.size()) : users.size();
+                SeededUser invitee = users.get(random.nextInt(inviteePool));
+                HttpResponse<Void> response =
+                        client.post("/invitations/invite?eventId=" + invitingEventId + "&inviteeId=" + invitee.id());
+                createdId(response).ifPresent(invitee.pendingInvitationIds()::add);
+            } else if (roll < 95) {
+                Long invitationId = user.pendingInvitationIds().poll();
+                if (invitationId == null)
+                    client.get("/events");
+                else
+                    client.put("/invitations/" + invitationId + "/respond?newStatus="
+                            + (random.nextBoolean() ? "ACCEPTED" : "DECLINED"));
+            } else {
+                Long eventId = cancellableEventIds.poll();
+                if (eventId == null)
+                    createdId(client.postJson("/events/create", newEventJson())).ifPresent(cancellableEventIds::add);
+                else
+                    client.put("/events/" + eventId + "/cancel");
+            }
+        }
+        return null;
+    }
+
+    private static Optional<Long> createdId(HttpResponse<Void> response) {
+        if (response.statusCode() != 201)
+            return Optional.empty();
+
+        return response.headers().firstValue("Location")
+                .map(location -> Long.valueOf(location.substring(location.lastIndexOf('/') + 1)));
+    }
+
+    private static String newEventJson() {
+        return """
+                {"title": "Load test event", "description": "Created under load",
+                 "dateTime": "%s", "location": "Tbilisi"}""".formatted(LocalDateTime.now().plusDays(7).withNano(0));
+    }
+
+}
@@ -1,14 +1,25 @@
 package org.guram.eventscheduler.controllers;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
+import org.guram.eventscheduler.dtos.attendanceDtos.BulkCheckInRequestDto;
+import org.guram.eventscheduler.dtos.attendanceDtos.BulkCheckInResponseDto;
+import org.guram.eventscheduler.dtos.attendanceDtos.ParticipantPageDto;
+import org.guram.eventscheduler.dtos.eventDtos.EventPageDto;
 import org.guram.eventscheduler.dtos.eventDtos.EventRequestDto;
 import org.guram.eventscheduler.dtos.eventDtos.EventResponseDto;
+import org.guram.eventscheduler.dtos.eventDtos.EventResponseView;
+import org.guram.eventscheduler.dtos.eventDtos.EventSearchPageDto;
 import org.guram.eventscheduler.dtos.eventDtos.EventWithRoleDto;
 import org.guram.eventscheduler.models.AttendanceRole;
+import org.guram.eventscheduler.models.AttendanceStatus;
 import org.guram.eventscheduler.models.User;
 import org.guram.eventscheduler.services.EventService;
 import org.guram.eventscheduler.services.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -20,7 +31,11 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -29,11 +44,13 @@ public class EventController {
 
     private final EventService eventService;
     private final UserService userService;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public EventController(EventService eventService, UserService userService) {
+    public EventController(EventService eventService, UserService userService, ObjectMapper objectMapper) {
         this.eventService = eventService;
         this.userService = userService;
+        this.objectMapper = objectMapper.copy().disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
     }
 
 
@@ -48,6 +65,66 @@ public class EventController {
         return ResponseEntity.ok(events);
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<EventPageDto> getEventsPage(
+                                    @RequestParam(defaultValue = "UPCOMING") String timeframe,
+                                    @RequestParam(required = false) AttendanceRole role,
+                                    @RequestParam(defaultValue = "false") boolean showCancelled,
+                                    @RequestParam(required = false) String cursor,
+                                    @RequestParam(defaultValue = "20") int limit,
+                                    @AuthenticationPrincipal UserDetails userDetails) {
+        User currentUser = userService.getCurrentUser(userDetails);
+        var page = eventService.getFilteredEventsWithRolePage(currentUser, role, timeframe, showCancelled, cursor, limit);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping("/{eventId}/participants")
+    public ResponseEntity<ParticipantPageDto> getParticipants(
+                                    @PathVariable Long eventId,
+                                    @RequestParam(required = false) AttendanceRole role,
+                                    @RequestParam(required = false) AttendanceStatus status,
+                                    @RequestParam(required = false) String cursor,
+                                    @RequestParam(defaultValue = "20") int limit,
+                                    @AuthenticationPrincipal UserDetails userDetails) {
+        User currentUser = userService.getCurrentUser(userDetails);
+        var page = eventService.getParticipantsPage(eventId, currentUser.getId(), role, status, cursor, limit);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<EventSearchPageDto> searchEvents(
+                                    @RequestParam String q,
+                                    @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                    @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                    @RequestParam(defaultValue = "false") boolean showCancelled,
+                                    @RequestParam(defaultValue = "0") int offset,
+                                    @RequestParam(defaultValue = "20") int limit) {
+        var page = eventService.searchEvents(q, from, to, showCancelled, offset, limit);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamEvents(
+                                    @RequestParam(defaultValue = "UPCOMING") String timeframe,
+                                    @RequestParam(required = false) AttendanceRole role,
+                                    @RequestParam(defaultValue = "false") boolean showCancelled,
+                                    @AuthenticationPrincipal UserDetails userDetails) {
+        User currentUser = userService.getCurrentUser(userDetails);
+        StreamingResponseBody body = outputStream ->
+                eventService.streamFilteredEventsWithRole(currentUser, role, timeframe, showCancelled, event -> {
+                    try {
+                        objectMapper.writeValue(outputStream, event);
+                        outputStream.write('\n');
+                        outputStream.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @PostMapping("/create")
     public ResponseEntity<EventResponseDto> createEvent(
                                     @Valid @RequestBody EventRequestDto eventRequestDto,
@@ -62,13 +139,24 @@ public class EventController {
     public ResponseEntity<EventResponseDto> editEvent(
                                     @PathVariable Long eventId,
                                     @RequestParam(defaultValue = "true") boolean notifyParticipants,
+                                    @RequestParam(defaultValue = "FULL") EventResponseView view,
                                     @Valid @RequestBody EventRequestDto eventRequestDto,
                                     @AuthenticationPrincipal UserDetails userDetails) {
         Long currentUserId = userService.getCurrentUser(userDetails).getId();
-        EventResponseDto event = eventService.editEvent(eventId, currentUserId, eventRequestDto, notifyParticipants);
+        EventResponseDto event = eventService.editEvent(eventId, currentUserId, eventRequestDto, notifyParticipants, view);
         return ResponseEntity.ok(event);
     }
 
+    @PostMapping("/{eventId}/occurrences")
+    public ResponseEntity<EventResponseDto> materializeOccurrence(
+                                    @PathVariable Long eventId,
+                                    @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+                                    @AuthenticationPrincipal UserDetails userDetails) {
+        User currentUser = userService.getCurrentUser(userDetails);
+        EventResponseDto occurrence = eventService.materializeOccurrence(currentUser, eventId, start);
+        return ResponseEntity.ok(occurrence);
+    }
+
     @PutMapping("/{eventId}/cancel")
     public ResponseEntity<Void> cancelEvent(
                                     @PathVariable Long eventId,
@@ -82,9 +170,10 @@ public class EventController {
     public ResponseEntity<EventResponseDto> addAsOrganizer(
                                     @PathVariable Long eventId,
                                     @RequestParam Long newOrgUserId,
+                                    @RequestParam(defaultValue = "FULL") EventResponseView view,
                                     @AuthenticationPrincipal UserDetails userDetails) {
         User currentUser = userService.getCurrentUser(userDetails);
-        EventResponseDto event = eventService.makeAttendeeOrganizer(currentUser, newOrgUserId, eventId);
+        EventResponseDto event = eventService.makeAttendeeOrganizer(currentUser, newOrgUserId, eventId, view);
         return ResponseEntity.ok(event);
     }
 
@@ -92,9 +181,10 @@ public class EventController {
     public ResponseEntity<EventResponseDto> removeAsOrganizer(
                                     @PathVariable Long eventId,
                                     @RequestParam Long removeUserId,
+                                    @RequestParam(defaultValue = "FULL") EventResponseView view,
                                     @AuthenticationPrincipal UserDetails userDetails) {
         User currentUser = userService.getCurrentUser(userDetails);
-        EventResponseDto event = eventService.removeOrganizerRole(currentUser, removeUserId, eventId);
+        EventResponseDto event = eventService.removeOrganizerRole(currentUser, removeUserId, eventId, view);
         return ResponseEntity.ok(event);
     }
 
@@ -102,9 +192,10 @@ public class EventController {
     public ResponseEntity<EventResponseDto> kickOutAttendee(
                                     @PathVariable Long eventId,
                                     @RequestParam Long removeUserId,
+                                    @RequestParam(defaultValue = "FULL") EventResponseView view,
                                     @AuthenticationPrincipal UserDetails userDetails) {
         User currentUser = userService.getCurrentUser(userDetails);
-        EventResponseDto event = eventService.kickUserFromEvent(currentUser, removeUserId, eventId);
+        EventResponseDto event = eventService.kickUserFromEvent(currentUser, removeUserId, eventId, view);
         return ResponseEntity.ok(event);
     }
 
@@ -112,18 +203,29 @@ public class EventController {
     public ResponseEntity<EventResponseDto> markAttended(
                                     @RequestParam Long eventId,
                                     @RequestParam Long attendeeUserId,
+                                    @RequestParam(defaultValue = "FULL") EventResponseView view,
                                     @AuthenticationPrincipal UserDetails userDetails) {
         User currentUser = userService.getCurrentUser(userDetails);
-        EventResponseDto event = eventService.markAttended(currentUser, attendeeUserId, eventId);
+        EventResponseDto event = eventService.markAttended(currentUser, attendeeUserId, eventId, view);
         return ResponseEntity.ok(event);
     }
 
+    @PutMapping("/check-in")
+    public ResponseEntity<BulkCheckInResponseDto> checkInAttendees(
+                                    @Valid @RequestBody BulkCheckInRequestDto bulkCheckInRequestDto,
+                                    @AuthenticationPrincipal UserDetails userDetails) {
+        User currentUser = userService.getCurrentUser(userDetails);
+        var result = eventService.checkInAttendees(currentUser, bulkCheckInRequestDto);
+        return ResponseEntity.ok(result);
+    }
+
     @PutMapping("/mark-all-attended")
     public ResponseEntity<EventResponseDto> markAllAttended(
                                     @RequestParam Long eventId,
+                                    @RequestParam(defaultValue = "FULL") EventResponseView view,
                                     @AuthenticationPrincipal UserDetails userDetails) {
         User currentUser = userService.getCurrentUser(userDetails);
-        EventResponseDto event = eventService.markAllAttended(currentUser, eventId);
+        EventResponseDto event = eventService.markAllAttended(currentUser, eventId, view);
         return ResponseEntity.ok(event);
     }
 
@@ -1,5 +1,8 @@
 package org.guram.eventscheduler.controllers;
 
+import jakarta.validation.Valid;
+import org.guram.eventscheduler.dtos.invitationDtos.BulkInvitationRequestDto;
+import org.guram.eventscheduler.dtos.invitationDtos.BulkInvitationResponseDto;
 import org.guram.eventscheduler.dtos.invitationDtos.InvitationResponseDto;
 import org.guram.eventscheduler.models.InvitationStatus;
 import org.guram.eventscheduler.models.User;
@@ -13,6 +16,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -44,6 +48,15 @@ public class InvitationController {
         return ResponseEntity.created(location).body(invitation);
     }
 
+    @PostMapping("/invite-bulk")
+    public ResponseEntity<BulkInvitationResponseDto> inviteUsers(
+                                            @Valid @RequestBody BulkInvitationRequestDto bulkInvitationRequestDto,
+                                            @AuthenticationPrincipal UserDetails userDetails) {
+        Long currentUserId = userService.getCurrentUser(userDetails).getId();
+        var result = invitationService.sendInvitations(currentUserId, bulkInvitationRequestDto);
+        return ResponseEntity.ok(result);
+    }
+
     @PutMapping("/{invitationId}/respond")
     public ResponseEntity<InvitationResponseDto> respondToInvitation(
                                             @PathVariable Long invitationId,
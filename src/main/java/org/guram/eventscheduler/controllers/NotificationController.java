@@ -1,18 +1,25 @@
 package org.guram.eventscheduler.controllers;
 
+import org.guram.eventscheduler.dtos.notificationDtos.NotificationPageDto;
 import org.guram.eventscheduler.dtos.notificationDtos.NotificationResponseDto;
+import org.guram.eventscheduler.dtos.notificationDtos.UnreadCountDto;
 import org.guram.eventscheduler.models.User;
+import org.guram.eventscheduler.services.NotificationPushService;
 import org.guram.eventscheduler.services.NotificationService;
 import org.guram.eventscheduler.services.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import java.util.List;
 
 @RestController
@@ -20,11 +27,15 @@ import java.util.List;
 public class NotificationController {
 
     private final NotificationService notificationService;
+    private final NotificationPushService notificationPushService;
     private final UserService userService;
 
     @Autowired
-    public NotificationController(NotificationService notificationService, UserService userService) {
+    public NotificationController(NotificationService notificationService,
+                                  NotificationPushService notificationPushService,
+                                  UserService userService) {
         this.notificationService = notificationService;
+        this.notificationPushService = notificationPushService;
         this.userService = userService;
     }
 
@@ -37,6 +48,30 @@ public class NotificationController {
         return ResponseEntity.ok(notifications);
     }
 
+    @GetMapping("/feed")
+    public ResponseEntity<NotificationPageDto> getNotificationFeed(
+                                    @RequestParam(defaultValue = "false") boolean unreadOnly,
+                                    @RequestParam(required = false) String cursor,
+                                    @RequestParam(defaultValue = "20") int limit,
+                                    @AuthenticationPrincipal UserDetails userDetails) {
+        User currentUser = userService.getCurrentUser(userDetails);
+        var page = notificationService.getNotificationFeed(currentUser, unreadOnly, cursor, limit);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamNotifications(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+                                          @AuthenticationPrincipal UserDetails userDetails) {
+        User currentUser = userService.getCurrentUser(userDetails);
+        return notificationPushService.subscribe(currentUser, lastEventId);
+    }
+
+    @GetMapping("/unread-count")
+    public ResponseEntity<UnreadCountDto> getUnreadCount(@AuthenticationPrincipal UserDetails userDetails) {
+        User currentUser = userService.getCurrentUser(userDetails);
+        return ResponseEntity.ok(notificationService.getUnreadCount(currentUser));
+    }
+
     @PutMapping("/{notificationId}/mark-as-read")
     public ResponseEntity<Void> markAsRead(@PathVariable Long notificationId,
                                         @AuthenticationPrincipal UserDetails userDetails) {
@@ -1,19 +1,24 @@
 package org.guram.eventscheduler.controllers;
 
 import jakarta.validation.Valid;
+import org.guram.eventscheduler.dtos.userDtos.BusyIntervalDto;
 import org.guram.eventscheduler.dtos.userDtos.PasswordChangeDto;
 import org.guram.eventscheduler.dtos.userDtos.ProfilePictureUploadDto;
 import org.guram.eventscheduler.dtos.userDtos.UserProfileEditDto;
 import org.guram.eventscheduler.dtos.userDtos.UserResponseDto;
+import org.guram.eventscheduler.dtos.userDtos.UserSearchPageDto;
 import org.guram.eventscheduler.models.User;
+import org.guram.eventscheduler.services.UserScheduleService;
 import org.guram.eventscheduler.services.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -21,25 +26,27 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import java.time.LocalDateTime;
 import java.util.List;
-import static org.guram.eventscheduler.utils.EntityToDtoMappings.mapUserToResponseDto;
 
 @RestController
 @RequestMapping("/users")
 public class UserController {
 
     private final UserService userService;
+    private final UserScheduleService userScheduleService;
 
     @Autowired
-    public UserController(UserService userService) {
+    public UserController(UserService userService, UserScheduleService userScheduleService) {
         this.userService = userService;
+        this.userScheduleService = userScheduleService;
     }
 
 
     @GetMapping("/me")
     public ResponseEntity<UserResponseDto> getCurrentUserInfo(@AuthenticationPrincipal UserDetails userDetails) {
         User currentUser = userService.getCurrentUser(userDetails);
-        UserResponseDto user = mapUserToResponseDto(currentUser);
+        UserResponseDto user = userService.getUserProfile(currentUser);
         return ResponseEntity.ok(user);
     }
 
@@ -56,6 +63,25 @@ public class UserController {
         return ResponseEntity.ok(users);
     }
 
+    @GetMapping(path = "/search", params = "q")
+    public ResponseEntity<UserSearchPageDto> searchUsers(@RequestParam String q,
+                                                         @RequestParam(defaultValue = "0") int offset,
+                                                         @RequestParam(defaultValue = "20") int limit) {
+        var page = userService.searchUsers(q, offset, limit);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping("/{userId}/busy")
+    public ResponseEntity<List<BusyIntervalDto>> getBusyIntervals(
+                                    @AuthenticationPrincipal UserDetails userDetails,
+                                    @PathVariable Long userId,
+                                    @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                    @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        User currentUser = userService.getCurrentUser(userDetails);
+        var busy = userScheduleService.getBusyIntervals(currentUser, userId, from, to);
+        return ResponseEntity.ok(busy);
+    }
+
     @DeleteMapping("/delete")
     public ResponseEntity<Void> deleteUser(@AuthenticationPrincipal UserDetails userDetails) {
         User currentUser = userService.getCurrentUser(userDetails);
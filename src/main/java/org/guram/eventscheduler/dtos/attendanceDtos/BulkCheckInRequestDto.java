@@ -0,0 +1,15 @@
+package org.guram.eventscheduler.dtos.attendanceDtos;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+public record BulkCheckInRequestDto(
+        @NotNull(message = "Event ID is mandatory")
+        Long eventId,
+
+        @NotEmpty(message = "At least one user ID is required")
+        @Size(max = 5000, message = "At most 5000 user IDs can be checked in at once")
+        List<@NotNull Long> userIds
+) {}
@@ -0,0 +1,13 @@
+package org.guram.eventscheduler.dtos.attendanceDtos;
+
+import jakarta.validation.constraints.NotNull;
+import java.util.List;
+
+public record BulkCheckInResponseDto(
+        @NotNull Long eventId,
+        int checkedIn,
+        int alreadyCheckedIn,
+        int notRegistered,
+        int notParticipant,
+        List<BulkCheckInResultDto> results
+) {}
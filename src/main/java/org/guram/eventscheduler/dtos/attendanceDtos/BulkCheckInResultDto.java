@@ -0,0 +1,15 @@
+package org.guram.eventscheduler.dtos.attendanceDtos;
+
+public record BulkCheckInResultDto(
+        Long userId,
+        Outcome outcome
+) {
+
+    public enum Outcome {
+        CHECKED_IN,
+        ALREADY_CHECKED_IN,
+        NOT_REGISTERED,
+        NOT_PARTICIPANT
+    }
+
+}
@@ -0,0 +1,12 @@
+package org.guram.eventscheduler.dtos.attendanceDtos;
+
+import jakarta.validation.constraints.NotNull;
+import org.guram.eventscheduler.dtos.userDtos.UserSummaryDto;
+import org.guram.eventscheduler.models.AttendanceRole;
+import org.guram.eventscheduler.models.AttendanceStatus;
+
+public record ParticipantDto(
+        @NotNull UserSummaryDto user,
+        @NotNull AttendanceRole role,
+        @NotNull AttendanceStatus status
+) {}
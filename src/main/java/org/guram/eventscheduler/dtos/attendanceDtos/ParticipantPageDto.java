@@ -0,0 +1,9 @@
+package org.guram.eventscheduler.dtos.attendanceDtos;
+
+import jakarta.validation.constraints.NotNull;
+import java.util.List;
+
+public record ParticipantPageDto(
+        @NotNull List<ParticipantDto> participants,
+        String nextCursor
+) {}
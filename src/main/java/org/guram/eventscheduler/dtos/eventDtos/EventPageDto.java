@@ -0,0 +1,9 @@
+package org.guram.eventscheduler.dtos.eventDtos;
+
+import jakarta.validation.constraints.NotNull;
+import java.util.List;
+
+public record EventPageDto(
+        @NotNull List<EventWithRoleDto> events,
+        String nextCursor
+) {}
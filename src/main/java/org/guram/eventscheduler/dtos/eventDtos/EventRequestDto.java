@@ -1,6 +1,8 @@
 package org.guram.eventscheduler.dtos.eventDtos;
 
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -18,7 +20,15 @@ public record EventRequestDto(
         @Future(message = "Event date must be in the future")
         LocalDateTime dateTime,
 
+        LocalDateTime endDateTime,
+
         @NotBlank(message = "Location is mandatory")
         @Size(min = 1, max = 100, message = "Event location must be between 1 and 100 characters")
-        String location
+        String location,
+
+        @Min(value = 1, message = "Capacity must be at least 1")
+        Integer capacity,
+
+        @Valid
+        RecurrenceRuleDto recurrence
 ) {}
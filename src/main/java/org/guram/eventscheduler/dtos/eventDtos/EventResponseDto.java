@@ -8,13 +8,21 @@ import java.util.List;
 import java.util.Map;
 
 public record EventResponseDto (
-        @NotNull Long id,
+        Long id,
         @NotNull String title,
         String description,
         @NotNull LocalDateTime dateTime,
+        LocalDateTime endDateTime,
         @NotNull String location,
         boolean isCancelled,
+        Integer capacity,
+        int reservedSeats,
+        Long seriesId,
+        RecurrenceRuleDto recurrence,
+        int attendeeCount,
+        int organizerCount,
         @NotNull List<UserSummaryDto> attendees,
         @NotNull List<UserSummaryDto> organizers,
-        @NotNull Map<Long, AttendanceStatus> userAttendanceStatus
+        @NotNull Map<Long, AttendanceStatus> userAttendanceStatus,
+        @NotNull List<ScheduleConflictDto> scheduleConflicts
 ) {}
@@ -0,0 +1,7 @@
+package org.guram.eventscheduler.dtos.eventDtos;
+
+public enum EventResponseView {
+    FULL,
+    SUMMARY,
+    PREVIEW
+}
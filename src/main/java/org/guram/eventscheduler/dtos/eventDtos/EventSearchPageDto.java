@@ -0,0 +1,9 @@
+package org.guram.eventscheduler.dtos.eventDtos;
+
+import jakarta.validation.constraints.NotNull;
+import java.util.List;
+
+public record EventSearchPageDto(
+        @NotNull List<EventSearchResultDto> results,
+        Integer nextOffset
+) {}
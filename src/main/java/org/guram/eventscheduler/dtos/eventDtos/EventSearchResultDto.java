@@ -0,0 +1,17 @@
+package org.guram.eventscheduler.dtos.eventDtos;
+
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+
+public record EventSearchResultDto(
+        @NotNull Long id,
+        @NotNull String title,
+        String description,
+        @NotNull LocalDateTime dateTime,
+        LocalDateTime endDateTime,
+        @NotNull String location,
+        boolean isCancelled,
+        RecurrenceRuleDto recurrence,
+        LocalDateTime nextOccurrence,
+        double score
+) {}
@@ -0,0 +1,19 @@
+package org.guram.eventscheduler.dtos.eventDtos;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import org.guram.eventscheduler.models.RecurrenceFrequency;
+import java.time.LocalDateTime;
+
+public record RecurrenceRuleDto(
+        @NotNull(message = "Recurrence frequency is mandatory")
+        RecurrenceFrequency frequency,
+
+        @Min(value = 1, message = "Recurrence interval must be at least 1")
+        Integer interval,
+
+        LocalDateTime until,
+
+        @Min(value = 1, message = "Recurrence count must be at least 1")
+        Integer count
+) {}
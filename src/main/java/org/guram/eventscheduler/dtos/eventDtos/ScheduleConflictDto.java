@@ -0,0 +1,11 @@
+package org.guram.eventscheduler.dtos.eventDtos;
+
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+
+public record ScheduleConflictDto(
+        @NotNull Long eventId,
+        @NotNull String title,
+        @NotNull LocalDateTime startsAt,
+        @NotNull LocalDateTime endsAt
+) {}
@@ -0,0 +1,18 @@
+package org.guram.eventscheduler.dtos.invitationDtos;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+public record BulkInvitationRequestDto(
+        @NotNull(message = "Event ID is mandatory")
+        Long eventId,
+
+        @Size(max = 5000, message = "At most 5000 invitee IDs can be sent at once")
+        List<@NotNull Long> inviteeIds,
+
+        @Size(max = 5000, message = "At most 5000 invitee emails can be sent at once")
+        List<@NotBlank @Email(message = "Email must be valid") String> inviteeEmails
+) {}
@@ -0,0 +1,12 @@
+package org.guram.eventscheduler.dtos.invitationDtos;
+
+import jakarta.validation.constraints.NotNull;
+import java.util.List;
+
+public record BulkInvitationResponseDto(
+        @NotNull Long eventId,
+        int invited,
+        int alreadyInvited,
+        int notFound,
+        List<BulkInvitationResultDto> results
+) {}
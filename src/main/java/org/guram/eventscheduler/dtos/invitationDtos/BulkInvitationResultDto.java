@@ -0,0 +1,16 @@
+package org.guram.eventscheduler.dtos.invitationDtos;
+
+public record BulkInvitationResultDto(
+        Long inviteeId,
+        String email,
+        Outcome outcome,
+        Long invitationId
+) {
+
+    public enum Outcome {
+        INVITED,
+        ALREADY_INVITED,
+        USER_NOT_FOUND
+    }
+
+}
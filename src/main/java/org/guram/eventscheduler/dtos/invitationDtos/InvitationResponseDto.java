@@ -2,9 +2,11 @@ package org.guram.eventscheduler.dtos.invitationDtos;
 
 import jakarta.validation.constraints.NotNull;
 import org.guram.eventscheduler.dtos.eventDtos.EventResponseDto;
+import org.guram.eventscheduler.dtos.eventDtos.ScheduleConflictDto;
 import org.guram.eventscheduler.dtos.userDtos.UserSummaryDto;
 import org.guram.eventscheduler.models.InvitationStatus;
 import java.time.LocalDateTime;
+import java.util.List;
 
 public record InvitationResponseDto(
         @NotNull Long id,
@@ -12,5 +14,6 @@ public record InvitationResponseDto(
         UserSummaryDto invitor,
         EventResponseDto event,
         LocalDateTime invitationSentDate,
-        InvitationStatus status
+        InvitationStatus status,
+        @NotNull List<ScheduleConflictDto> scheduleConflicts
 ) {}
@@ -0,0 +1,9 @@
+package org.guram.eventscheduler.dtos.notificationDtos;
+
+import jakarta.validation.constraints.NotNull;
+import java.util.List;
+
+public record NotificationPageDto(
+        @NotNull List<NotificationResponseDto> notifications,
+        String nextCursor
+) {}
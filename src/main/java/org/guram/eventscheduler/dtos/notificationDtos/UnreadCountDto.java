@@ -0,0 +1,5 @@
+package org.guram.eventscheduler.dtos.notificationDtos;
+
+public record UnreadCountDto(
+        long unread
+) {}
@@ -0,0 +1,9 @@
+package org.guram.eventscheduler.dtos.userDtos;
+
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+
+public record BusyIntervalDto(
+        @NotNull LocalDateTime start,
+        @NotNull LocalDateTime end
+) {}
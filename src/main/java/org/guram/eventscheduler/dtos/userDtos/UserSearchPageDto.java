@@ -0,0 +1,9 @@
+package org.guram.eventscheduler.dtos.userDtos;
+
+import jakarta.validation.constraints.NotNull;
+import java.util.List;
+
+public record UserSearchPageDto(
+        @NotNull List<UserSearchResultDto> results,
+        Integer nextOffset
+) {}
@@ -0,0 +1,12 @@
+package org.guram.eventscheduler.dtos.userDtos;
+
+import jakarta.validation.constraints.NotNull;
+
+public record UserSearchResultDto(
+        @NotNull Long id,
+        @NotNull String firstName,
+        @NotNull String lastName,
+        @NotNull String email,
+        String profilePictureUrl,
+        double score
+) {}
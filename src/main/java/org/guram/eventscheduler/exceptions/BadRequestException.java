@@ -0,0 +1,8 @@
+package org.guram.eventscheduler.exceptions;
+
+public class BadRequestException extends RuntimeException {
+
+    public BadRequestException(String message) {
+        super(message);
+    }
+}
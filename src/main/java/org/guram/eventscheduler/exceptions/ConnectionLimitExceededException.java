@@ -0,0 +1,8 @@
+package org.guram.eventscheduler.exceptions;
+
+public class ConnectionLimitExceededException extends RuntimeException {
+
+    public ConnectionLimitExceededException(String message) {
+        super(message);
+    }
+}
@@ -1,5 +1,6 @@
 package org.guram.eventscheduler.models;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -8,6 +9,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -17,6 +19,9 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import java.time.LocalDateTime;
 
 @Getter
 @Setter
@@ -24,8 +29,15 @@ import lombok.ToString;
 @EqualsAndHashCode
 @ToString
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "attendances",
-        uniqueConstraints = @UniqueConstraint(columnNames = { "user_id", "event_id" }))
+        uniqueConstraints = @UniqueConstraint(columnNames = { "user_id", "event_id" }),
+        indexes = {
+                @Index(name = "idx_attendances_event_user_role", columnList = "event_id, user_id, role"),
+                @Index(name = "idx_attendances_user_status_role", columnList = "user_id, status, role"),
+                @Index(name = "idx_attendances_event_role_status", columnList = "event_id, role, status")
+        })
 public class Attendance {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -47,6 +59,9 @@ public class Attendance {
     @Column(nullable = false)
     private AttendanceRole role;
 
+    @Column(name = "waitlisted_at")
+    private LocalDateTime waitlistedAt;
+
 
     public Attendance(User user, Event event, AttendanceRole role) {
         this.user = user;
@@ -2,6 +2,7 @@ package org.guram.eventscheduler.models;
 
 public enum AttendanceStatus {
     REGISTERED,
+    WAITLISTED,
     ATTENDED,
     WITHDRAWN,
     KICKED
@@ -1,15 +1,23 @@
 package org.guram.eventscheduler.models;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
+import jakarta.persistence.Embedded;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OrderBy;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -18,6 +26,8 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -28,9 +38,12 @@ import java.util.Set;
 @Setter
 @NoArgsConstructor
 @EqualsAndHashCode
-@ToString(exclude = { "attendances", "invitations" })
+@ToString(exclude = { "series", "attendances", "invitations" })
 @Entity
-@Table(name = "events")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(name = "events",
+        uniqueConstraints = @UniqueConstraint(columnNames = { "series_id", "occurrence_start" }))
 public class Event {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -51,6 +64,9 @@ public class Event {
     @Column(nullable = false)
     private LocalDateTime dateTime;
 
+    @Column(name = "end_date_time")
+    private LocalDateTime endDateTime;
+
     @NotBlank()
     @Size(min = 1, max = 100)
     @Column(length = 100)
@@ -59,13 +75,34 @@ public class Event {
     @Column(nullable = false)
     private boolean isCancelled = false;
 
+    @Min(1)
+    private Integer capacity;
+
+    @EqualsAndHashCode.Exclude
+    @Column(name = "reserved_seats", nullable = false, updatable = false)
+    private int reservedSeats;
+
+    @Valid
+    @Embedded
+    private RecurrenceRule recurrence;
+
+    @EqualsAndHashCode.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "series_id")
+    private Event series;
+
+    @Column(name = "occurrence_start")
+    private LocalDateTime occurrenceStart;
+
     @EqualsAndHashCode.Exclude
     @OneToMany(mappedBy = "event", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private Set<Attendance> attendances = new HashSet<>();
 
     @EqualsAndHashCode.Exclude
     @OneToMany(mappedBy = "event", cascade = CascadeType.ALL, orphanRemoval = true)
     @OrderBy("invitationSentDate DESC")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private List<Invitation> invitations = new ArrayList<>();
 
 
@@ -1,5 +1,6 @@
 package org.guram.eventscheduler.models;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -17,6 +18,8 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
@@ -26,6 +29,8 @@ import java.time.LocalDateTime;
 @EqualsAndHashCode
 @ToString(exclude = { "invitee", "invitor", "event" })
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "invitations",
         uniqueConstraints = @UniqueConstraint(columnNames = {"invitee_id", "event_id"}))
 public class Invitation {
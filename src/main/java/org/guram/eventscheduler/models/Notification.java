@@ -8,9 +8,11 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -25,7 +27,12 @@ import java.time.LocalDateTime;
 @EqualsAndHashCode
 @ToString(exclude = { "recipient" })
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications",
+        uniqueConstraints = @UniqueConstraint(columnNames = { "idempotency_key", "recipient_id" }),
+        indexes = {
+                @Index(name = "idx_notifications_recipient_read_created", columnList = "recipient_id, read, created_at"),
+                @Index(name = "idx_notifications_read_created", columnList = "read, created_at")
+        })
 public class Notification {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -50,4 +57,8 @@ public class Notification {
     @Column(nullable = false)
     private boolean read;
 
+    @EqualsAndHashCode.Exclude
+    @Column(name = "idempotency_key", length = 36)
+    private String idempotencyKey;
+
 }
@@ -0,0 +1,7 @@
+package org.guram.eventscheduler.models;
+
+public enum NotificationAudience {
+    USERS,
+    EVENT_PARTICIPANTS,
+    EVENT_ORGANIZERS
+}
@@ -0,0 +1,91 @@
+package org.guram.eventscheduler.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.annotations.CreationTimestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@EqualsAndHashCode
+@ToString(exclude = { "recipientIds" })
+@Entity
+@Table(name = "notification_outbox",
+        indexes = @Index(name = "idx_notification_outbox_pending", columnList = "dispatched_at, id"))
+public class NotificationOutbox {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @EqualsAndHashCode.Exclude
+    private Long id;
+
+    @Column(name = "idempotency_key", nullable = false, unique = true, length = 36)
+    private String idempotencyKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private NotificationAudience audience;
+
+    @Column(name = "event_id")
+    private Long eventId;
+
+    @Column(name = "recipient_ids", columnDefinition = "text")
+    private String recipientIds;
+
+    @Column(nullable = false)
+    private String message;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "notification_type", nullable = false)
+    private NotificationType type;
+
+    @EqualsAndHashCode.Exclude
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @EqualsAndHashCode.Exclude
+    @Column(name = "dispatched_at")
+    private LocalDateTime dispatchedAt;
+
+    @EqualsAndHashCode.Exclude
+    @Column(nullable = false)
+    private int attempts;
+
+    @EqualsAndHashCode.Exclude
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+
+    public List<Long> getRecipientIdList() {
+        if (recipientIds == null || recipientIds.isEmpty())
+            return List.of();
+
+        return Arrays.stream(recipientIds.split(","))
+                .map(Long::valueOf)
+                .toList();
+    }
+
+    public void setRecipientIdList(Collection<Long> ids) {
+        this.recipientIds = ids.stream()
+                .map(String::valueOf)
+                .collect(Collectors.joining(","));
+    }
+
+}
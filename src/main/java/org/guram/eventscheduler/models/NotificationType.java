@@ -8,5 +8,7 @@ public enum NotificationType {
     INVITATION_DECLINED,
     ADDED_AS_ORGANIZER,
     REMOVED_AS_ORGANIZER,
-    KICKED_OUT_FROM_EVENT
+    KICKED_OUT_FROM_EVENT,
+    PROMOTED_FROM_WAITLIST,
+    CHECKED_IN
 }
@@ -0,0 +1,7 @@
+package org.guram.eventscheduler.models;
+
+public enum RecurrenceFrequency {
+    DAILY,
+    WEEKLY,
+    MONTHLY
+}
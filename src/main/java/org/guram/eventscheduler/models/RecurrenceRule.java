@@ -0,0 +1,39 @@
+package org.guram.eventscheduler.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+@Embeddable
+public class RecurrenceRule {
+    @Enumerated(EnumType.STRING)
+    @Column(name = "recurrence_frequency", length = 16)
+    private RecurrenceFrequency frequency;
+
+    @Min(1)
+    @Column(name = "recurrence_interval")
+    private Integer interval;
+
+    @Column(name = "recurrence_until")
+    private LocalDateTime until;
+
+    @Min(1)
+    @Column(name = "recurrence_count")
+    private Integer count;
+
+}
@@ -0,0 +1,56 @@
+package org.guram.eventscheduler.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@EqualsAndHashCode
+@ToString
+@Entity
+@Table(name = "user_schedule",
+        uniqueConstraints = @UniqueConstraint(columnNames = { "user_id", "event_id" }),
+        indexes = {
+                @Index(name = "idx_user_schedule_user_starts_at", columnList = "user_id, starts_at"),
+                @Index(name = "idx_user_schedule_event", columnList = "event_id")
+        })
+public class UserScheduleEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @EqualsAndHashCode.Exclude
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+
+    @Column(name = "starts_at", nullable = false)
+    private LocalDateTime startsAt;
+
+    @Column(name = "ends_at", nullable = false)
+    private LocalDateTime endsAt;
+
+
+    public UserScheduleEntry(Long userId, Long eventId, LocalDateTime startsAt, LocalDateTime endsAt) {
+        this.userId = userId;
+        this.eventId = eventId;
+        this.startsAt = startsAt;
+        this.endsAt = endsAt;
+    }
+
+}
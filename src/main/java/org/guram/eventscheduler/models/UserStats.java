@@ -0,0 +1,42 @@
+package org.guram.eventscheduler.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@EqualsAndHashCode
+@ToString
+@Entity
+@Table(name = "user_stats")
+public class UserStats {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "attended_count", nullable = false)
+    private int attendedCount;
+
+    @Column(name = "organized_count", nullable = false)
+    private int organizedCount;
+
+    @Column(name = "withdrawn_count", nullable = false)
+    private int withdrawnCount;
+
+    @Column(name = "kicked_count", nullable = false)
+    private int kickedCount;
+
+
+    public UserStats(Long userId) {
+        this.userId = userId;
+    }
+
+}
@@ -0,0 +1,68 @@
+package org.guram.eventscheduler.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@EqualsAndHashCode
+@ToString
+@Entity
+@Table(name = "user_timeline",
+        uniqueConstraints = @UniqueConstraint(columnNames = { "user_id", "event_id" }),
+        indexes = {
+                @Index(name = "idx_user_timeline_user_date_time", columnList = "user_id, date_time, event_id"),
+                @Index(name = "idx_user_timeline_user_series_until", columnList = "user_id, series_until"),
+                @Index(name = "idx_user_timeline_event", columnList = "event_id")
+        })
+public class UserTimelineEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @EqualsAndHashCode.Exclude
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+
+    @Column(name = "date_time", nullable = false)
+    private LocalDateTime dateTime;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private AttendanceRole role;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private AttendanceStatus status;
+
+    @Column(nullable = false)
+    private boolean cancelled;
+
+    @Column(name = "series_until")
+    private LocalDateTime seriesUntil;
+
+
+    public UserTimelineEntry(Long userId, Long eventId) {
+        this.userId = userId;
+        this.eventId = eventId;
+    }
+
+}
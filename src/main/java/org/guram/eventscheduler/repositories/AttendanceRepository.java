@@ -1,14 +1,25 @@
 package org.guram.eventscheduler.repositories;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import jakarta.transaction.Transactional;
 import org.guram.eventscheduler.models.Attendance;
+import org.guram.eventscheduler.models.AttendanceRole;
 import org.guram.eventscheduler.models.AttendanceStatus;
 import org.guram.eventscheduler.models.Event;
 import org.guram.eventscheduler.models.User;
+import org.guram.eventscheduler.repositories.projections.EventParticipantView;
+import org.guram.eventscheduler.repositories.projections.ParticipantCounts;
+import org.guram.eventscheduler.repositories.projections.UserStatsCounts;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,15 +27,140 @@ public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
 
     Optional<Attendance> findByUserAndEvent(User user, Event event);
     List<Attendance> findByEventAndStatusOrderByEvent_DateTimeAsc(Event event, AttendanceStatus status);
+    boolean existsByEvent_IdAndUser_IdAndRole(Long eventId, Long userId, AttendanceRole role);
 
-    @Modifying
+    @Query("""
+        SELECT COUNT(a) > 0
+        FROM Attendance a
+        JOIN Attendance other ON other.event = a.event
+        WHERE a.user.id = :userId
+            AND other.user.id = :otherUserId
+            AND a.status IN (org.guram.eventscheduler.models.AttendanceStatus.REGISTERED,
+                             org.guram.eventscheduler.models.AttendanceStatus.ATTENDED)
+            AND other.status IN (org.guram.eventscheduler.models.AttendanceStatus.REGISTERED,
+                                 org.guram.eventscheduler.models.AttendanceStatus.ATTENDED)
+    """)
+    boolean existsSharedEvent(@Param("userId") Long userId, @Param("otherUserId") Long otherUserId);
+
+    @Query("""
+        SELECT a.user.id FROM Attendance a
+        WHERE a.event.id = :eventId AND a.status = :status
+        ORDER BY a.user.id ASC
+    """)
+    List<Long> findUserIdsByEventIdAndStatus(@Param("eventId") Long eventId, @Param("status") AttendanceStatus status);
+
+    @Query("""
+        SELECT a.event.id FROM Attendance a
+        WHERE a.user.id = :userId AND a.event.id IN :eventIds
+    """)
+    List<Long> findEventIdsByUserIdAndEventIdIn(@Param("userId") Long userId,
+                                                @Param("eventIds") Collection<Long> eventIds);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = AvailableSettings.JAKARTA_LOCK_TIMEOUT, value = "-2"))
+    @Query("""
+        SELECT a FROM Attendance a
+        WHERE a.event.id = :eventId
+            AND a.status = org.guram.eventscheduler.models.AttendanceStatus.WAITLISTED
+        ORDER BY a.waitlistedAt ASC, a.id ASC
+    """)
+    List<Attendance> lockNextWaitlisted(@Param("eventId") Long eventId, Limit limit);
+
+    @Modifying(flushAutomatically = true)
     @Transactional
     @Query("""
         UPDATE Attendance a
         SET a.status = org.guram.eventscheduler.models.AttendanceStatus.ATTENDED
-        WHERE a.event = :event
+        WHERE a.event.id = :eventId
+            AND a.user.id IN :userIds
             AND a.status = org.guram.eventscheduler.models.AttendanceStatus.REGISTERED
     """)
-    void markAllAsAttended(@Param("event") Event event);
+    int markAsAttended(@Param("eventId") Long eventId, @Param("userIds") Collection<Long> userIds);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+        SELECT a FROM Attendance a
+        WHERE a.event.id = :eventId AND a.user.id IN :userIds
+    """)
+    List<Attendance> lockByEventIdAndUserIdIn(@Param("eventId") Long eventId,
+                                              @Param("userIds") Collection<Long> userIds);
+
+    @Query("""
+        SELECT new org.guram.eventscheduler.repositories.projections.UserStatsCounts(
+            a.user.id,
+            SUM(CASE WHEN a.status = org.guram.eventscheduler.models.AttendanceStatus.ATTENDED THEN 1 ELSE 0 END),
+            SUM(CASE WHEN a.status = org.guram.eventscheduler.models.AttendanceStatus.ATTENDED
+                    AND a.role = org.guram.eventscheduler.models.AttendanceRole.ORGANIZER THEN 1 ELSE 0 END),
+            SUM(CASE WHEN a.status = org.guram.eventscheduler.models.AttendanceStatus.WITHDRAWN THEN 1 ELSE 0 END),
+            SUM(CASE WHEN a.status = org.guram.eventscheduler.models.AttendanceStatus.KICKED THEN 1 ELSE 0 END)
+        )
+        FROM Attendance a
+        WHERE a.user.id IN :userIds
+        GROUP BY a.user.id
+    """)
+    List<UserStatsCounts> countStatsByUserIds(@Param("userIds") Collection<Long> userIds);
+
+    @Query("""
+        SELECT new org.guram.eventscheduler.repositories.projections.ParticipantCounts(
+            COALESCE(SUM(CASE WHEN a.role = org.guram.eventscheduler.models.AttendanceRole.ATTENDEE THEN 1 ELSE 0 END), 0),
+            COALESCE(SUM(CASE WHEN a.role = org.guram.eventscheduler.models.AttendanceRole.ORGANIZER THEN 1 ELSE 0 END), 0)
+        )
+        FROM Attendance a
+        WHERE a.event.id = :eventId
+            AND a.status IN (org.guram.eventscheduler.models.AttendanceStatus.REGISTERED,
+                             org.guram.eventscheduler.models.AttendanceStatus.ATTENDED)
+    """)
+    ParticipantCounts countParticipants(@Param("eventId") Long eventId);
+
+    @Query("""
+        SELECT new org.guram.eventscheduler.repositories.projections.EventParticipantView(
+            u.id, u.firstName, u.lastName, u.email, u.bio, u.profilePictureUrl, a.role, a.status)
+        FROM Attendance a
+        JOIN a.user u
+        WHERE a.event.id = :eventId
+            AND a.role = :role
+            AND a.status IN (org.guram.eventscheduler.models.AttendanceStatus.REGISTERED,
+                             org.guram.eventscheduler.models.AttendanceStatus.ATTENDED)
+        ORDER BY a.id ASC
+    """)
+    List<EventParticipantView> findParticipantViews(@Param("eventId") Long eventId,
+                                                    @Param("role") AttendanceRole role,
+                                                    Limit limit);
+
+    @Query("""
+        SELECT new org.guram.eventscheduler.repositories.projections.EventParticipantView(
+            u.id, u.firstName, u.lastName, u.email, u.bio, u.profilePictureUrl, a.role, a.status)
+        FROM Attendance a
+        JOIN a.user u
+        WHERE a.event.id = :eventId
+            AND a.role IN :roles
+            AND a.status IN :statuses
+        ORDER BY u.lastName ASC, u.firstName ASC, u.id ASC
+    """)
+    List<EventParticipantView> findParticipantPage(@Param("eventId") Long eventId,
+                                                   @Param("roles") Collection<AttendanceRole> roles,
+                                                   @Param("statuses") Collection<AttendanceStatus> statuses,
+                                                   Limit limit);
+
+    @Query("""
+        SELECT new org.guram.eventscheduler.repositories.projections.EventParticipantView(
+            u.id, u.firstName, u.lastName, u.email, u.bio, u.profilePictureUrl, a.role, a.status)
+        FROM Attendance a
+        JOIN a.user u
+        WHERE a.event.id = :eventId
+            AND a.role IN :roles
+            AND a.status IN :statuses
+            AND (u.lastName > :lastName
+                OR (u.lastName = :lastName AND u.firstName > :firstName)
+                OR (u.lastName = :lastName AND u.firstName = :firstName AND u.id > :userId))
+        ORDER BY u.lastName ASC, u.firstName ASC, u.id ASC
+    """)
+    List<EventParticipantView> findParticipantPageAfter(@Param("eventId") Long eventId,
+                                                        @Param("roles") Collection<AttendanceRole> roles,
+                                                        @Param("statuses") Collection<AttendanceStatus> statuses,
+                                                        @Param("lastName") String lastName,
+                                                        @Param("firstName") String firstName,
+                                                        @Param("userId") Long userId,
+                                                        Limit limit);
 
 }
@@ -1,40 +1,69 @@
 package org.guram.eventscheduler.repositories;
 
-import org.guram.eventscheduler.models.AttendanceRole;
+import jakarta.persistence.LockModeType;
+import jakarta.transaction.Transactional;
 import org.guram.eventscheduler.models.Event;
-import org.guram.eventscheduler.models.User;
+import org.guram.eventscheduler.repositories.projections.EventSearchView;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface EventRepository extends JpaRepository<Event, Long> {
+public interface EventRepository extends JpaRepository<Event, Long>, EventRepositoryCustom {
 
+    @Modifying
+    @Transactional
     @Query("""
-        SELECT a.event FROM Attendance a
-        WHERE a.user = :user
-            AND (
-                a.status = org.guram.eventscheduler.models.AttendanceStatus.REGISTERED
-             OR a.status = org.guram.eventscheduler.models.AttendanceStatus.ATTENDED
-            )
-            AND (
-                  (:role IS NULL AND a.role IN ('ORGANIZER', 'ATTENDEE'))
-               OR (:role IS NOT NULL AND a.role = :role)
-            )
-            AND (
-                  :cancelled = TRUE
-               OR (a.event.isCancelled = FALSE)
-            )
-            AND (
-                  (:upcoming = TRUE  AND a.event.dateTime > CURRENT_TIMESTAMP)
-               OR (:upcoming = FALSE AND a.event.dateTime <= CURRENT_TIMESTAMP)
-            )
-        ORDER BY a.event.dateTime ASC
+        UPDATE Event e
+        SET e.reservedSeats = (
+            SELECT COUNT(a) FROM Attendance a
+            WHERE a.event.id = e.id
+                AND a.status IN (org.guram.eventscheduler.models.AttendanceStatus.REGISTERED,
+                                 org.guram.eventscheduler.models.AttendanceStatus.ATTENDED)
+        )
+        WHERE e.id IN :eventIds
     """)
-    List<Event> findByUserAndRoleAndDateTimeAndStatus(
-            @Param("user") User user,
-            @Param("role") AttendanceRole role,
-            @Param("upcoming") boolean upcoming,
-            @Param("cancelled") boolean cancelled
-    );
+    int reconcileReservedSeats(@Param("eventIds") Collection<Long> eventIds);
+
+    @Query("""
+        SELECT e.id FROM Event e
+        WHERE e.id > :afterId
+            AND e.reservedSeats = 0
+        ORDER BY e.id ASC
+    """)
+    List<Long> findIdsWithoutReservedSeatsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM Event e WHERE e.id IN :eventIds")
+    List<Event> lockByIdIn(@Param("eventIds") Collection<Long> eventIds);
+
+    List<Event> findBySeriesInAndOccurrenceStartBetween(Collection<Event> series,
+                                                       LocalDateTime from, LocalDateTime to);
+
+    Optional<Event> findBySeriesAndOccurrenceStart(Event series, LocalDateTime occurrenceStart);
+
+    @Query("""
+        SELECT new org.guram.eventscheduler.repositories.projections.EventSearchView(
+            e.id, e.title, e.description, e.location, e.dateTime, e.isCancelled,
+            e.recurrence.frequency, e.recurrence.interval, e.recurrence.until, e.recurrence.count)
+        FROM Event e
+        WHERE e.id > :afterId
+            AND e.series IS NULL
+        ORDER BY e.id ASC
+    """)
+    List<EventSearchView> findSearchViewsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @Query("""
+        SELECT DISTINCT e FROM Event e
+        LEFT JOIN FETCH e.attendances a
+        LEFT JOIN FETCH a.user
+        WHERE e IN :events
+    """)
+    List<Event> fetchAttendancesWithUsers(@Param("events") Collection<Event> events);
 }
@@ -0,0 +1,11 @@
+package org.guram.eventscheduler.repositories;
+
+public interface EventRepositoryCustom {
+
+    int reserveSeat(Long eventId);
+
+    int releaseSeat(Long eventId);
+
+    int updateCapacity(Long eventId, int capacity);
+
+}
@@ -0,0 +1,80 @@
+package org.guram.eventscheduler.repositories;
+
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.guram.eventscheduler.models.Event;
+import org.guram.eventscheduler.utils.TransactionUtils;
+import org.hibernate.query.NativeQuery;
+import org.springframework.beans.factory.annotation.Autowired;
+import java.util.Map;
+
+public class EventRepositoryCustomImpl implements EventRepositoryCustom {
+
+    // Bulk HQL on Event would drop the whole Event cache region, so the seat counter is updated with
+    // native SQL synchronized on its own query space and only the touched event is evicted
+    private static final String SEAT_COUNTER_SPACE = "event_reserved_seats";
+
+    private final EntityManager entityManager;
+
+    @Autowired
+    public EventRepositoryCustomImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+
+    @Override
+    @Transactional
+    public int reserveSeat(Long eventId) {
+        return updateSeatCounter("""
+            UPDATE events
+            SET reserved_seats = reserved_seats + 1
+            WHERE id = :eventId
+                AND (capacity IS NULL OR reserved_seats < capacity)
+        """, eventId);
+    }
+
+    @Override
+    @Transactional
+    public int releaseSeat(Long eventId) {
+        return updateSeatCounter("""
+            UPDATE events
+            SET reserved_seats = reserved_seats - 1
+            WHERE id = :eventId AND reserved_seats > 0
+        """, eventId);
+    }
+
+    // Checked in the same statement as the write, so a seat reserved concurrently can never end up above the cap
+    @Override
+    @Transactional
+    public int updateCapacity(Long eventId, int capacity) {
+        return updateSeatCounter("""
+            UPDATE events
+            SET capacity = :capacity
+            WHERE id = :eventId AND reserved_seats <= :capacity
+        """, eventId, Map.of("capacity", capacity));
+    }
+
+    private int updateSeatCounter(String sql, Long eventId) {
+        return updateSeatCounter(sql, eventId, Map.of());
+    }
+
+    private int updateSeatCounter(String sql, Long eventId, Map<String, Object> parameters) {
+        entityManager.flush();
+        NativeQuery<?> query = entityManager.createNativeQuery(sql)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(SEAT_COUNTER_SPACE)
+                .setParameter("eventId", eventId);
+        parameters.forEach(query::setParameter);
+        int updated = query.executeUpdate();
+
+        // Evicting again after commit drops a stale copy another transaction may have cached meanwhile
+        evict(eventId);
+        TransactionUtils.afterCommit(() -> evict(eventId));
+        return updated;
+    }
+
+    private void evict(Long eventId) {
+        entityManager.getEntityManagerFactory().getCache().evict(Event.class, eventId);
+    }
+
+}
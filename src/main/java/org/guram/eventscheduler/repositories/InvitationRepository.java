@@ -1,10 +1,17 @@
 package org.guram.eventscheduler.repositories;
 
+import jakarta.transaction.Transactional;
 import org.guram.eventscheduler.models.Event;
 import org.guram.eventscheduler.models.Invitation;
 import org.guram.eventscheduler.models.InvitationStatus;
 import org.guram.eventscheduler.models.User;
+import org.guram.eventscheduler.repositories.projections.InvitationInviteeView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,4 +19,44 @@ public interface InvitationRepository extends JpaRepository<Invitation, Long> {
 
     Optional<Invitation> findByInviteeAndEvent(User invitee, Event event);
     List<Invitation> findByInviteeAndStatusOrderByInvitationSentDateAsc(User invitee, InvitationStatus status);
+
+    @Query("""
+        SELECT new org.guram.eventscheduler.repositories.projections.InvitationInviteeView(i.id, i.invitee.id)
+        FROM Invitation i
+        WHERE i.event.id = :eventId AND i.invitee.id IN :inviteeIds
+    """)
+    List<InvitationInviteeView> findInviteeViewsByEventIdAndInviteeIdIn(@Param("eventId") Long eventId,
+                                                                       @Param("inviteeIds") Collection<Long> inviteeIds);
+
+    @Query("""
+        SELECT new org.guram.eventscheduler.repositories.projections.InvitationInviteeView(i.id, i.invitee.id)
+        FROM Invitation i
+        WHERE i.event.id = :eventId
+            AND i.invitor.id = :invitorId
+            AND i.invitationSentDate = :sentAt
+            AND i.invitee.id IN :inviteeIds
+    """)
+    List<InvitationInviteeView> findInviteeViewsSentTogether(@Param("eventId") Long eventId,
+                                                            @Param("invitorId") Long invitorId,
+                                                            @Param("sentAt") LocalDateTime sentAt,
+                                                            @Param("inviteeIds") Collection<Long> inviteeIds);
+
+    @Modifying
+    @Transactional
+    @Query("""
+        INSERT INTO Invitation (invitee, invitor, event, invitationSentDate, status)
+        SELECT u, invitor, e, :sentAt, org.guram.eventscheduler.models.InvitationStatus.PENDING
+        FROM User u, User invitor, Event e
+        WHERE u.id IN :inviteeIds
+            AND invitor.id = :invitorId
+            AND e.id = :eventId
+            AND NOT EXISTS (
+                SELECT 1 FROM Invitation i
+                WHERE i.event = e AND i.invitee = u
+            )
+    """)
+    int insertPendingForUsers(@Param("eventId") Long eventId,
+                              @Param("invitorId") Long invitorId,
+                              @Param("inviteeIds") Collection<Long> inviteeIds,
+                              @Param("sentAt") LocalDateTime sentAt);
 }
@@ -0,0 +1,85 @@
+package org.guram.eventscheduler.repositories;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import jakarta.transaction.Transactional;
+import org.guram.eventscheduler.models.NotificationOutbox;
+import org.guram.eventscheduler.repositories.projections.DispatchedOutboxView;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = AvailableSettings.JAKARTA_LOCK_TIMEOUT, value = "-2"))
+    @Query("""
+        SELECT o FROM NotificationOutbox o
+        WHERE o.dispatchedAt IS NULL
+            AND o.attempts < :maxAttempts
+            AND o.id > :afterId
+        ORDER BY o.id ASC
+    """)
+    List<NotificationOutbox> lockNextPending(@Param("afterId") Long afterId,
+                                             @Param("maxAttempts") int maxAttempts,
+                                             Limit limit);
+
+    @Query("""
+        SELECT new org.guram.eventscheduler.repositories.projections.DispatchedOutboxView(
+            o.id, o.idempotencyKey, o.dispatchedAt)
+        FROM NotificationOutbox o
+        WHERE o.dispatchedAt > :since
+            AND (:afterDispatchedAt IS NULL
+                OR o.dispatchedAt > :afterDispatchedAt
+                OR (o.dispatchedAt = :afterDispatchedAt AND o.id > :afterId))
+        ORDER BY o.dispatchedAt ASC, o.id ASC
+    """)
+    List<DispatchedOutboxView> findDispatchedSince(@Param("since") LocalDateTime since,
+                                                   @Param("afterDispatchedAt") LocalDateTime afterDispatchedAt,
+                                                   @Param("afterId") Long afterId,
+                                                   Limit limit);
+
+    @Modifying
+    @Transactional
+    @Query("""
+        UPDATE NotificationOutbox o
+        SET o.attempts = o.attempts + 1,
+            o.lastError = :error
+        WHERE o.id = :id
+    """)
+    void recordFailure(@Param("id") Long id, @Param("error") String error);
+
+    @Query("""
+        SELECT o.id FROM NotificationOutbox o
+        WHERE o.dispatchedAt < :cutoff
+        ORDER BY o.dispatchedAt ASC, o.id ASC
+    """)
+    List<Long> findIdsDispatchedBefore(@Param("cutoff") LocalDateTime cutoff, Limit limit);
+
+    @Query("""
+        SELECT o.id FROM NotificationOutbox o
+        WHERE o.dispatchedAt IS NULL
+            AND o.attempts >= :maxAttempts
+            AND o.createdAt < :cutoff
+        ORDER BY o.id ASC
+    """)
+    List<Long> findDeadLetteredIdsCreatedBefore(@Param("maxAttempts") int maxAttempts,
+                                                @Param("cutoff") LocalDateTime cutoff,
+                                                Limit limit);
+
+    @Modifying
+    @Transactional
+    @Query("""
+        DELETE FROM NotificationOutbox o
+        WHERE o.id IN :ids
+    """)
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+}
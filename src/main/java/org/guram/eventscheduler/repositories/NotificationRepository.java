@@ -2,11 +2,16 @@ package org.guram.eventscheduler.repositories;
 
 import jakarta.transaction.Transactional;
 import org.guram.eventscheduler.models.Notification;
+import org.guram.eventscheduler.models.NotificationType;
 import org.guram.eventscheduler.models.User;
+import org.guram.eventscheduler.repositories.projections.NotificationArchiveView;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,14 +19,150 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
 
     List<Notification> findByRecipientOrderByCreatedAtDesc(User recipient);
     Optional<Notification> getNotificationById(Long notificationId);
+    long countByRecipientAndReadFalse(User recipient);
+
+    @Query("""
+        SELECT n FROM Notification n
+        JOIN FETCH n.recipient
+        WHERE n.recipient = :recipient
+            AND n.id > :afterId
+        ORDER BY n.id ASC
+    """)
+    List<Notification> findWithRecipientAfterId(@Param("recipient") User recipient,
+                                                @Param("afterId") Long afterId,
+                                                Limit limit);
+
+    @Query("""
+        SELECT n FROM Notification n
+        JOIN FETCH n.recipient
+        WHERE n.idempotencyKey IN :idempotencyKeys
+            AND n.recipient.id IN :recipientIds
+        ORDER BY n.id ASC
+    """)
+    List<Notification> findWithRecipientByIdempotencyKeyInAndRecipientIdIn(@Param("idempotencyKeys") Collection<String> idempotencyKeys,
+                                                                           @Param("recipientIds") Collection<Long> recipientIds);
+
+    @Query("""
+        SELECT n FROM Notification n
+        WHERE n.recipient = :recipient
+            AND n.read = :read
+            AND (:beforeCreatedAt IS NULL
+                OR n.createdAt < :beforeCreatedAt
+                OR (n.createdAt = :beforeCreatedAt AND n.id < :beforeId))
+        ORDER BY n.createdAt DESC, n.id DESC
+    """)
+    List<Notification> findFeedPage(@Param("recipient") User recipient,
+                                    @Param("read") boolean read,
+                                    @Param("beforeCreatedAt") LocalDateTime beforeCreatedAt,
+                                    @Param("beforeId") Long beforeId,
+                                    Limit limit);
+
+    @Query("""
+        SELECT new org.guram.eventscheduler.repositories.projections.NotificationArchiveView(
+            n.id, n.recipient.id, n.message, n.type, n.createdAt)
+        FROM Notification n
+        WHERE n.read = true
+            AND n.createdAt < :cutoff
+            AND (:afterCreatedAt IS NULL
+                OR n.createdAt > :afterCreatedAt
+                OR (n.createdAt = :afterCreatedAt AND n.id > :afterId))
+        ORDER BY n.createdAt ASC, n.id ASC
+    """)
+    List<NotificationArchiveView> findReadCreatedBefore(@Param("cutoff") LocalDateTime cutoff,
+                                                        @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                                        @Param("afterId") Long afterId,
+                                                        Limit limit);
 
     @Modifying
     @Transactional
+    @Query("""
+        DELETE FROM Notification n
+        WHERE n.id IN :ids
+    """)
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true)
+    @Transactional
     @Query("""
         UPDATE Notification n
         SET n.read = true
         WHERE n.recipient = :user
             AND n.read = false
     """)
-    void markAllAsReadForUser(@Param("user") User user);
+    int markAllAsReadForUser(@Param("user") User user);
+
+    @Modifying
+    @Transactional
+    @Query("""
+        INSERT INTO Notification (recipient, message, type, createdAt, read, idempotencyKey)
+        SELECT u, :message, :type, :createdAt, false, :idempotencyKey
+        FROM User u
+        WHERE u.id IN :recipientIds
+            AND NOT EXISTS (
+                SELECT 1 FROM Notification n
+                WHERE n.idempotencyKey = :idempotencyKey AND n.recipient = u
+            )
+    """)
+    int insertForUsers(@Param("recipientIds") Collection<Long> recipientIds,
+                       @Param("message") String message,
+                       @Param("type") NotificationType type,
+                       @Param("createdAt") LocalDateTime createdAt,
+                       @Param("idempotencyKey") String idempotencyKey);
+
+    @Modifying
+    @Transactional
+    @Query("""
+        INSERT INTO Notification (recipient, message, type, createdAt, read, idempotencyKey)
+        SELECT a.user, :message, :type, :createdAt, false, :idempotencyKey
+        FROM Attendance a
+        WHERE a.event.id = :eventId
+            AND a.status = org.guram.eventscheduler.models.AttendanceStatus.REGISTERED
+            AND NOT EXISTS (
+                SELECT 1 FROM Notification n
+                WHERE n.idempotencyKey = :idempotencyKey AND n.recipient = a.user
+            )
+    """)
+    int insertForRegisteredAttendees(@Param("eventId") Long eventId,
+                                     @Param("message") String message,
+                                     @Param("type") NotificationType type,
+                                     @Param("createdAt") LocalDateTime createdAt,
+                                     @Param("idempotencyKey") String idempotencyKey);
+
+    @Modifying
+    @Transactional
+    @Query("""
+        INSERT INTO Notification (recipient, message, type, createdAt, read, idempotencyKey)
+        SELECT i.invitee, :message, :type, :createdAt, false, :idempotencyKey
+        FROM Invitation i
+        WHERE i.event.id = :eventId
+            AND i.status = org.guram.eventscheduler.models.InvitationStatus.PENDING
+            AND NOT EXISTS (
+                SELECT 1 FROM Notification n
+                WHERE n.idempotencyKey = :idempotencyKey AND n.recipient = i.invitee
+            )
+    """)
+    int insertForPendingInvitees(@Param("eventId") Long eventId,
+                                 @Param("message") String message,
+                                 @Param("type") NotificationType type,
+                                 @Param("createdAt") LocalDateTime createdAt,
+                                 @Param("idempotencyKey") String idempotencyKey);
+
+    @Modifying
+    @Transactional
+    @Query("""
+        INSERT INTO Notification (recipient, message, type, createdAt, read, idempotencyKey)
+        SELECT a.user, :message, :type, :createdAt, false, :idempotencyKey
+        FROM Attendance a
+        WHERE a.event.id = :eventId
+            AND a.role = org.guram.eventscheduler.models.AttendanceRole.ORGANIZER
+            AND NOT EXISTS (
+                SELECT 1 FROM Notification n
+                WHERE n.idempotencyKey = :idempotencyKey AND n.recipient = a.user
+            )
+    """)
+    int insertForOrganizers(@Param("eventId") Long eventId,
+                            @Param("message") String message,
+                            @Param("type") NotificationType type,
+                            @Param("createdAt") LocalDateTime createdAt,
+                            @Param("idempotencyKey") String idempotencyKey);
 }
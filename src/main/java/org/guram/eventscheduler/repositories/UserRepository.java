@@ -1,12 +1,61 @@
 package org.guram.eventscheduler.repositories;
 
 import org.guram.eventscheduler.models.User;
+import org.guram.eventscheduler.repositories.projections.UserEmailView;
+import org.guram.eventscheduler.repositories.projections.UserIdentity;
+import org.guram.eventscheduler.repositories.projections.UserSearchView;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByEmail(String email);
+
+    @Query("""
+        SELECT new org.guram.eventscheduler.repositories.projections.UserIdentity(u.id, u.email)
+        FROM User u
+        WHERE u.email = :email
+    """)
+    Optional<UserIdentity> findIdentityByEmail(@Param("email") String email);
+
+    @Query("""
+        SELECT new org.guram.eventscheduler.repositories.projections.UserEmailView(u.id, u.email)
+        FROM User u
+        WHERE u.id IN :ids
+    """)
+    List<UserEmailView> findEmailViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("""
+        SELECT new org.guram.eventscheduler.repositories.projections.UserEmailView(u.id, u.email)
+        FROM User u
+        WHERE u.email IN :emails
+    """)
+    List<UserEmailView> findEmailViewsByEmailIn(@Param("emails") Collection<String> emails);
+
+    @Query("SELECT u.id FROM User u WHERE u.id > :afterId ORDER BY u.id ASC")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @Query("""
+        SELECT u.id FROM User u
+        WHERE u.id > :afterId
+            AND NOT EXISTS (SELECT 1 FROM UserStats s WHERE s.userId = u.id)
+        ORDER BY u.id ASC
+    """)
+    List<Long> findIdsWithoutStatsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @Query("""
+        SELECT new org.guram.eventscheduler.repositories.projections.UserSearchView(
+            u.id, u.firstName, u.lastName, u.email, u.profilePictureUrl)
+        FROM User u
+        WHERE u.id > :afterId
+        ORDER BY u.id ASC
+    """)
+    List<UserSearchView> findSearchViewsAfter(@Param("afterId") Long afterId, Limit limit);
+
     List<User> findByFirstNameIgnoreCaseAndLastNameIgnoreCaseOrderByEmailAsc(String firstName, String lastName);
 }
@@ -0,0 +1,73 @@
+package org.guram.eventscheduler.repositories;
+
+import jakarta.transaction.Transactional;
+import org.guram.eventscheduler.models.UserScheduleEntry;
+import org.guram.eventscheduler.repositories.projections.ScheduleEntryView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface UserScheduleRepository extends JpaRepository<UserScheduleEntry, Long> {
+
+    @Query("""
+        SELECT new org.guram.eventscheduler.repositories.projections.ScheduleEntryView(s.eventId, e.title, s.startsAt, s.endsAt)
+        FROM UserScheduleEntry s
+        JOIN Event e ON e.id = s.eventId
+        WHERE s.userId = :userId
+            AND s.startsAt > :earliestStart
+            AND s.startsAt < :end
+            AND s.endsAt > :start
+            AND (:excludeEventId IS NULL OR s.eventId <> :excludeEventId)
+        ORDER BY s.startsAt ASC
+    """)
+    List<ScheduleEntryView> findOverlapping(@Param("userId") Long userId,
+                                            @Param("earliestStart") LocalDateTime earliestStart,
+                                            @Param("start") LocalDateTime start,
+                                            @Param("end") LocalDateTime end,
+                                            @Param("excludeEventId") Long excludeEventId);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM UserScheduleEntry s WHERE s.userId = :userId AND s.eventId = :eventId")
+    int deleteByUserIdAndEventId(@Param("userId") Long userId, @Param("eventId") Long eventId);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM UserScheduleEntry s WHERE s.eventId = :eventId")
+    int deleteByEventId(@Param("eventId") Long eventId);
+
+    @Modifying
+    @Transactional
+    @Query("""
+        UPDATE UserScheduleEntry s
+        SET s.startsAt = :startsAt, s.endsAt = :endsAt
+        WHERE s.eventId = :eventId
+    """)
+    int rescheduleByEventId(@Param("eventId") Long eventId,
+                            @Param("startsAt") LocalDateTime startsAt,
+                            @Param("endsAt") LocalDateTime endsAt);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM UserScheduleEntry s WHERE s.userId IN :userIds")
+    int deleteByUserIdIn(@Param("userIds") Collection<Long> userIds);
+
+    @Modifying
+    @Transactional
+    @Query("""
+        INSERT INTO UserScheduleEntry (userId, eventId, startsAt, endsAt)
+        SELECT a.user.id, e.id, e.dateTime, COALESCE(e.endDateTime, e.dateTime + 1 hour)
+        FROM Attendance a
+        JOIN a.event e
+        WHERE a.user.id IN :userIds
+            AND a.status IN (org.guram.eventscheduler.models.AttendanceStatus.REGISTERED,
+                             org.guram.eventscheduler.models.AttendanceStatus.ATTENDED)
+            AND e.isCancelled = false
+    """)
+    int insertFromAttendances(@Param("userIds") Collection<Long> userIds);
+
+}
@@ -0,0 +1,64 @@
+package org.guram.eventscheduler.repositories;
+
+import jakarta.persistence.LockModeType;
+import org.guram.eventscheduler.models.UserStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.Collection;
+import java.util.List;
+
+public interface UserStatsRepository extends JpaRepository<UserStats, Long> {
+
+    List<UserStats> findByUserIdIn(Collection<Long> userIds);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM UserStats s WHERE s.userId IN :userIds")
+    List<UserStats> lockByUserIdIn(@Param("userIds") Collection<Long> userIds);
+
+    @Modifying
+    @Query("""
+        UPDATE UserStats s
+        SET s.attendedCount = s.attendedCount + :attended,
+            s.organizedCount = s.organizedCount + :organized,
+            s.withdrawnCount = s.withdrawnCount + :withdrawn,
+            s.kickedCount = s.kickedCount + :kicked
+        WHERE s.userId = :userId
+    """)
+    int applyDelta(@Param("userId") Long userId,
+                   @Param("attended") int attended,
+                   @Param("organized") int organized,
+                   @Param("withdrawn") int withdrawn,
+                   @Param("kicked") int kicked);
+
+    @Modifying
+    @Query("""
+        UPDATE UserStats s
+        SET s.attendedCount = s.attendedCount + 1
+        WHERE s.userId IN (
+            SELECT a.user.id FROM Attendance a
+            WHERE a.event.id = :eventId
+                AND a.user.id IN :userIds
+                AND a.status = org.guram.eventscheduler.models.AttendanceStatus.REGISTERED
+        )
+    """)
+    int incrementAttendedForRegisteredUsers(@Param("eventId") Long eventId,
+                                            @Param("userIds") Collection<Long> userIds);
+
+    @Modifying
+    @Query("""
+        UPDATE UserStats s
+        SET s.organizedCount = s.organizedCount + 1
+        WHERE s.userId IN (
+            SELECT a.user.id FROM Attendance a
+            WHERE a.event.id = :eventId
+                AND a.user.id IN :userIds
+                AND a.status = org.guram.eventscheduler.models.AttendanceStatus.REGISTERED
+                AND a.role = org.guram.eventscheduler.models.AttendanceRole.ORGANIZER
+        )
+    """)
+    int incrementOrganizedForRegisteredOrganizerUsers(@Param("eventId") Long eventId,
+                                                      @Param("userIds") Collection<Long> userIds);
+}
@@ -0,0 +1,29 @@
+package org.guram.eventscheduler.repositories;
+
+import org.guram.eventscheduler.models.AttendanceRole;
+import org.guram.eventscheduler.utils.KeysetCursor;
+import java.time.LocalDateTime;
+
+public record UserTimelineFilter(Long userId,
+                                 AttendanceRole role,
+                                 boolean includeCancelled,
+                                 LocalDateTime from,
+                                 LocalDateTime to,
+                                 KeysetCursor after,
+                                 LocalDateTime seriesActiveAt) {
+
+    public static UserTimelineFilter range(Long userId, AttendanceRole role, boolean includeCancelled,
+                                           LocalDateTime from, LocalDateTime to, KeysetCursor after) {
+        return new UserTimelineFilter(userId, role, includeCancelled, from, to, after, null);
+    }
+
+    public static UserTimelineFilter activeSeries(Long userId, AttendanceRole role, boolean includeCancelled,
+                                                  LocalDateTime now) {
+        return new UserTimelineFilter(userId, role, includeCancelled, null, now, null, now);
+    }
+
+    public static UserTimelineFilter seriesOverlapping(Long userId, LocalDateTime from, LocalDateTime to) {
+        return new UserTimelineFilter(userId, null, false, null, to, null, from);
+    }
+
+}
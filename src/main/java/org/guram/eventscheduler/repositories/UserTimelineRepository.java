@@ -0,0 +1,58 @@
+package org.guram.eventscheduler.repositories;
+
+import jakarta.transaction.Transactional;
+import org.guram.eventscheduler.models.UserTimelineEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
+public interface UserTimelineRepository extends JpaRepository<UserTimelineEntry, Long>, UserTimelineRepositoryCustom {
+
+    Optional<UserTimelineEntry> findByUserIdAndEventId(Long userId, Long eventId);
+
+    @Modifying
+    @Transactional
+    @Query("""
+        UPDATE UserTimelineEntry t
+        SET t.dateTime = :dateTime, t.cancelled = :cancelled, t.seriesUntil = :seriesUntil
+        WHERE t.eventId = :eventId
+    """)
+    int updateEvent(@Param("eventId") Long eventId,
+                    @Param("dateTime") LocalDateTime dateTime,
+                    @Param("cancelled") boolean cancelled,
+                    @Param("seriesUntil") LocalDateTime seriesUntil);
+
+    @Modifying
+    @Transactional
+    @Query("""
+        UPDATE UserTimelineEntry t
+        SET t.status = org.guram.eventscheduler.models.AttendanceStatus.ATTENDED
+        WHERE t.eventId = :eventId
+            AND t.userId IN :userIds
+            AND t.status = org.guram.eventscheduler.models.AttendanceStatus.REGISTERED
+    """)
+    int markAsAttended(@Param("eventId") Long eventId, @Param("userIds") Collection<Long> userIds);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM UserTimelineEntry t WHERE t.userId IN :userIds")
+    int deleteByUserIdIn(@Param("userIds") Collection<Long> userIds);
+
+    @Modifying
+    @Transactional
+    @Query("""
+        INSERT INTO UserTimelineEntry (userId, eventId, dateTime, role, status, cancelled, seriesUntil)
+        SELECT a.user.id, e.id, e.dateTime, a.role, a.status, e.isCancelled,
+               CASE WHEN e.recurrence.frequency IS NOT NULL THEN COALESCE(e.recurrence.until, :openEnded) END
+        FROM Attendance a
+        JOIN a.event e
+        WHERE a.user.id IN :userIds
+    """)
+    int insertFromAttendances(@Param("userIds") Collection<Long> userIds,
+                              @Param("openEnded") LocalDateTime openEnded);
+
+}
@@ -0,0 +1,14 @@
+package org.guram.eventscheduler.repositories;
+
+import org.guram.eventscheduler.repositories.projections.EventAttendanceView;
+import org.springframework.data.domain.Limit;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface UserTimelineRepositoryCustom {
+
+    List<EventAttendanceView> findTimeline(UserTimelineFilter filter, Limit limit);
+
+    Stream<EventAttendanceView> streamTimeline(UserTimelineFilter filter);
+
+}
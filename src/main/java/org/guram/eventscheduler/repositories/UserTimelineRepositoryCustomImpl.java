@@ -0,0 +1,84 @@
+package org.guram.eventscheduler.repositories;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.guram.eventscheduler.models.AttendanceStatus;
+import org.guram.eventscheduler.models.Event;
+import org.guram.eventscheduler.models.UserTimelineEntry;
+import org.guram.eventscheduler.repositories.projections.EventAttendanceView;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class UserTimelineRepositoryCustomImpl implements UserTimelineRepositoryCustom {
+
+    private static final int STREAM_FETCH_SIZE = 200;
+
+    private final EntityManager entityManager;
+
+    @Autowired
+    public UserTimelineRepositoryCustomImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+
+    @Override
+    public List<EventAttendanceView> findTimeline(UserTimelineFilter filter, Limit limit) {
+        TypedQuery<EventAttendanceView> query = createQuery(filter);
+        if (limit.isLimited())
+            query.setMaxResults(limit.max());
+        return query.getResultList();
+    }
+
+    @Override
+    public Stream<EventAttendanceView> streamTimeline(UserTimelineFilter filter) {
+        return createQuery(filter)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .getResultStream();
+    }
+
+    private TypedQuery<EventAttendanceView> createQuery(UserTimelineFilter filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EventAttendanceView> query = cb.createQuery(EventAttendanceView.class);
+        Root<UserTimelineEntry> entry = query.from(UserTimelineEntry.class);
+        Root<Event> event = query.from(Event.class);
+
+        Path<LocalDateTime> dateTime = entry.get("dateTime");
+        Path<Long> eventId = entry.get("eventId");
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(entry.get("userId"), filter.userId()));
+        if (filter.from() != null)
+            predicates.add(cb.greaterThan(dateTime, filter.from()));
+        if (filter.to() != null)
+            predicates.add(cb.lessThanOrEqualTo(dateTime, filter.to()));
+        if (filter.after() != null)
+            predicates.add(cb.or(
+                    cb.greaterThan(dateTime, filter.after().timestamp()),
+                    cb.and(cb.equal(dateTime, filter.after().timestamp()),
+                            cb.greaterThan(eventId, filter.after().id()))));
+        if (filter.seriesActiveAt() != null)
+            predicates.add(cb.greaterThan(entry.get("seriesUntil"), filter.seriesActiveAt()));
+        predicates.add(entry.get("status").in(AttendanceStatus.REGISTERED, AttendanceStatus.ATTENDED));
+        if (filter.role() != null)
+            predicates.add(cb.equal(entry.get("role"), filter.role()));
+        if (!filter.includeCancelled())
+            predicates.add(cb.isFalse(entry.<Boolean>get("cancelled")));
+        predicates.add(cb.equal(event.get("id"), eventId));
+
+        query.select(cb.construct(EventAttendanceView.class, event, entry.get("role"), entry.get("status")))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.asc(dateTime), cb.asc(eventId));
+        return entityManager.createQuery(query);
+    }
+
+}
@@ -0,0 +1,9 @@
+package org.guram.eventscheduler.repositories.projections;
+
+import java.time.LocalDateTime;
+
+public record DispatchedOutboxView(
+        Long id,
+        String idempotencyKey,
+        LocalDateTime dispatchedAt
+) {}
@@ -0,0 +1,11 @@
+package org.guram.eventscheduler.repositories.projections;
+
+import org.guram.eventscheduler.models.AttendanceRole;
+import org.guram.eventscheduler.models.AttendanceStatus;
+import org.guram.eventscheduler.models.Event;
+
+public record EventAttendanceView(
+        Event event,
+        AttendanceRole role,
+        AttendanceStatus status
+) {}
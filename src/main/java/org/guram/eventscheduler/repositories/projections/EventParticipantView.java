@@ -0,0 +1,15 @@
+package org.guram.eventscheduler.repositories.projections;
+
+import org.guram.eventscheduler.models.AttendanceRole;
+import org.guram.eventscheduler.models.AttendanceStatus;
+
+public record EventParticipantView(
+        Long userId,
+        String firstName,
+        String lastName,
+        String email,
+        String bio,
+        String profilePictureUrl,
+        AttendanceRole role,
+        AttendanceStatus status
+) {}
@@ -0,0 +1,17 @@
+package org.guram.eventscheduler.repositories.projections;
+
+import org.guram.eventscheduler.models.RecurrenceFrequency;
+import java.time.LocalDateTime;
+
+public record EventSearchView(
+        Long id,
+        String title,
+        String description,
+        String location,
+        LocalDateTime dateTime,
+        boolean cancelled,
+        RecurrenceFrequency frequency,
+        Integer interval,
+        LocalDateTime until,
+        Integer count
+) {}
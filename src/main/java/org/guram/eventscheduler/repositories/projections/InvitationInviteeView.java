@@ -0,0 +1,6 @@
+package org.guram.eventscheduler.repositories.projections;
+
+public record InvitationInviteeView(
+        Long invitationId,
+        Long inviteeId
+) {}
@@ -0,0 +1,12 @@
+package org.guram.eventscheduler.repositories.projections;
+
+import org.guram.eventscheduler.models.NotificationType;
+import java.time.LocalDateTime;
+
+public record NotificationArchiveView(
+        Long id,
+        Long recipientId,
+        String message,
+        NotificationType type,
+        LocalDateTime createdAt
+) {}
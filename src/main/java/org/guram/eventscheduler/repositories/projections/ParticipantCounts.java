@@ -0,0 +1,6 @@
+package org.guram.eventscheduler.repositories.projections;
+
+public record ParticipantCounts(
+        long attendees,
+        long organizers
+) {}
@@ -0,0 +1,10 @@
+package org.guram.eventscheduler.repositories.projections;
+
+import java.time.LocalDateTime;
+
+public record ScheduleEntryView(
+        Long eventId,
+        String title,
+        LocalDateTime startsAt,
+        LocalDateTime endsAt
+) {}
@@ -0,0 +1,6 @@
+package org.guram.eventscheduler.repositories.projections;
+
+public record UserEmailView(
+        Long id,
+        String email
+) {}
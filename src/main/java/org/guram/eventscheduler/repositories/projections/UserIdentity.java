@@ -0,0 +1,6 @@
+package org.guram.eventscheduler.repositories.projections;
+
+public record UserIdentity(
+        Long id,
+        String email
+) {}
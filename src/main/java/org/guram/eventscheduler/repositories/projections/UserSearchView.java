@@ -0,0 +1,9 @@
+package org.guram.eventscheduler.repositories.projections;
+
+public record UserSearchView(
+        Long id,
+        String firstName,
+        String lastName,
+        String email,
+        String profilePictureUrl
+) {}
@@ -0,0 +1,9 @@
+package org.guram.eventscheduler.repositories.projections;
+
+public record UserStatsCounts(
+        Long userId,
+        long attended,
+        long organized,
+        long withdrawn,
+        long kicked
+) {}
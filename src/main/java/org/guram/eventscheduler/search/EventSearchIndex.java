@@ -0,0 +1,104 @@
+package org.guram.eventscheduler.search;
+
+import org.guram.eventscheduler.models.RecurrenceRule;
+import org.guram.eventscheduler.repositories.EventRepository;
+import org.guram.eventscheduler.repositories.projections.EventSearchView;
+import org.guram.eventscheduler.utils.RecurrenceExpander;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Component
+public class EventSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(EventSearchIndex.class);
+    private static final int REBUILD_CHUNK_SIZE = 5000;
+
+    private final EventRepository eventRepository;
+    private volatile InvertedIndex<IndexedEvent> index = newIndex();
+    private volatile InvertedIndex<IndexedEvent> rebuilding;
+
+    @Autowired
+    public EventSearchIndex(EventRepository eventRepository) {
+        this.eventRepository = eventRepository;
+    }
+
+
+    public void index(EventSearchView event) {
+        put(index, event);
+        InvertedIndex<IndexedEvent> pending = rebuilding;
+        if (pending != null)
+            put(pending, event);
+    }
+
+    public void remove(Long eventId) {
+        index.remove(eventId);
+        InvertedIndex<IndexedEvent> pending = rebuilding;
+        if (pending != null)
+            pending.remove(eventId);
+    }
+
+    public SearchResults<Long> search(String query, LocalDateTime from, LocalDateTime to,
+                                      boolean includeCancelled, int offset, int limit) {
+        SearchResults<IndexedEvent> results = index.search(query,
+                event -> (includeCancelled || !event.cancelled()) && occursBetween(event, from, to),
+                offset, limit);
+        List<SearchHit<Long>> hits = results.hits().stream()
+                .map(hit -> new SearchHit<>(hit.document().id(), hit.score()))
+                .toList();
+        return new SearchResults<>(hits, results.hasMore());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${events.search.rebuild-cron:0 45 4 * * *}")
+    public synchronized void rebuild() {
+        InvertedIndex<IndexedEvent> fresh = newIndex();
+        rebuilding = fresh;
+        try {
+            long afterId = 0;
+            while (true) {
+                List<EventSearchView> events = eventRepository.findSearchViewsAfter(afterId, Limit.of(REBUILD_CHUNK_SIZE));
+                if (events.isEmpty())
+                    break;
+
+                events.forEach(event -> put(fresh, event));
+                afterId = events.get(events.size() - 1).id();
+            }
+            index = fresh;
+        } finally {
+            rebuilding = null;
+        }
+
+        log.info("Indexed {} events for search", fresh.size());
+    }
+
+    private static boolean occursBetween(IndexedEvent event, LocalDateTime from, LocalDateTime to) {
+        if (event.recurrence() == null)
+            return (from == null || !event.dateTime().isBefore(from)) && (to == null || !event.dateTime().isAfter(to));
+
+        LocalDateTime after = (from == null ? event.dateTime() : from).minusNanos(1);
+        return !RecurrenceExpander.occurrencesBetween(event.recurrence(), event.dateTime(), after,
+                to == null ? LocalDateTime.MAX : to, 1).isEmpty();
+    }
+
+    private static void put(InvertedIndex<IndexedEvent> target, EventSearchView event) {
+        RecurrenceRule recurrence = event.frequency() == null ? null
+                : new RecurrenceRule(event.frequency(), event.interval(), event.until(), event.count());
+        target.put(event.id(), new IndexedEvent(event.id(), event.dateTime(), event.cancelled(), recurrence),
+                event.title(), event.location(), event.description());
+    }
+
+    private static InvertedIndex<IndexedEvent> newIndex() {
+        return new InvertedIndex<>(1.0, 0.75, 0.5);
+    }
+
+    private record IndexedEvent(Long id, LocalDateTime dateTime, boolean cancelled, RecurrenceRule recurrence) {}
+
+}
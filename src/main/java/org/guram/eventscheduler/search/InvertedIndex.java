@@ -0,0 +1,224 @@
+package org.guram.eventscheduler.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+public class InvertedIndex<D> {
+
+    private static final double MIN_MATCH_RATIO = 0.6;
+    private static final Comparator<Scored> BEST_FIRST = Comparator.comparingDouble(Scored::score).reversed()
+            .thenComparingInt(Scored::ordinal);
+
+    private final double[] fieldWeights;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private final List<Entry<D>> entries = new ArrayList<>();
+
+    public InvertedIndex(double... fieldWeights) {
+        this.fieldWeights = fieldWeights;
+    }
+
+
+    public void put(long id, D document, String... fields) {
+        if (fields.length != fieldWeights.length)
+            throw new IllegalArgumentException("Expected " + fieldWeights.length + " fields but got " + fields.length + ".");
+
+        String[][] tokens = new String[fields.length][];
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i < fields.length; i++) {
+            tokens[i] = TextAnalyzer.tokenize(fields[i]);
+            grams.addAll(TextAnalyzer.documentGrams(tokens[i]));
+        }
+
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.get(id);
+            if (ordinal == null) {
+                ordinal = entries.size();
+                entries.add(null);
+                ordinals.put(id, ordinal);
+            } else {
+                unindex(ordinal);
+            }
+
+            entries.set(ordinal, new Entry<>(document, tokens, grams.toArray(String[]::new)));
+            for (String gram : grams)
+                postings.computeIfAbsent(gram, key -> new PostingList()).add(ordinal);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.remove(id);
+            if (ordinal == null)
+                return;
+
+            unindex(ordinal);
+            entries.set(ordinal, null);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public SearchResults<D> search(String query, Predicate<D> filter, int offset, int limit) {
+        String[] queryTokens = TextAnalyzer.tokenize(query);
+        List<String> grams = TextAnalyzer.queryGrams(queryTokens);
+        if (grams.isEmpty() || limit <= 0)
+            return new SearchResults<>(List.of(), false);
+
+        int wanted = offset + limit + 1;
+        lock.readLock().lock();
+        try {
+            List<PostingList> lists = grams.stream()
+                    .map(gram -> postings.getOrDefault(gram, PostingList.EMPTY))
+                    .sorted(Comparator.comparingInt(PostingList::size))
+                    .toList();
+            int required = Math.max(1, (int) Math.ceil(lists.size() * MIN_MATCH_RATIO));
+            // A document matching `required` grams must appear in at least one of the smallest
+            // (lists - required + 1) posting lists, so only those are enumerated.
+            int candidateLists = lists.size() - required + 1;
+
+            int[] candidates = candidates(lists, candidateLists);
+            PriorityQueue<Scored> top = new PriorityQueue<>(BEST_FIRST.reversed());
+            for (int start = 0, end; start < candidates.length; start = end) {
+                int ordinal = candidates[start];
+                end = start + 1;
+                while (end < candidates.length && candidates[end] == ordinal)
+                    end++;
+
+                int matched = end - start;
+                for (int i = candidateLists; i < lists.size() && matched < lists.size(); i++)
+                    if (lists.get(i).contains(ordinal))
+                        matched++;
+                if (matched < required)
+                    continue;
+
+                Entry<D> entry = entries.get(ordinal);
+                if (filter != null && !filter.test(entry.document()))
+                    continue;
+
+                top.add(new Scored(ordinal, (double) matched / lists.size() + prefixScore(entry.tokens(), queryTokens)));
+                if (top.size() > wanted)
+                    top.poll();
+            }
+
+            List<Scored> ranked = new ArrayList<>(top);
+            ranked.sort(BEST_FIRST);
+            List<SearchHit<D>> hits = ranked.subList(Math.min(offset, ranked.size()), Math.min(offset + limit, ranked.size()))
+                    .stream()
+                    .map(scored -> new SearchHit<>(entries.get(scored.ordinal()).document(), scored.score()))
+                    .toList();
+            return new SearchResults<>(hits, ranked.size() > offset + limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static int[] candidates(List<PostingList> lists, int candidateLists) {
+        if (candidateLists == 1)
+            return Arrays.copyOf(lists.get(0).ordinals, lists.get(0).size());
+
+        int total = 0;
+        for (int i = 0; i < candidateLists; i++)
+            total += lists.get(i).size();
+
+        int[] candidates = new int[total];
+        int position = 0;
+        for (int i = 0; i < candidateLists; i++) {
+            PostingList list = lists.get(i);
+            System.arraycopy(list.ordinals, 0, candidates, position, list.size());
+            position += list.size();
+        }
+        Arrays.sort(candidates);
+        return candidates;
+    }
+
+    private double prefixScore(String[][] fieldTokens, String[] queryTokens) {
+        double score = 0;
+        for (String queryToken : queryTokens) {
+            double best = 0;
+            for (int field = 0; field < fieldTokens.length; field++)
+                for (String token : fieldTokens[field])
+                    if (token.startsWith(queryToken)) {
+                        best = Math.max(best, fieldWeights[field]);
+                        break;
+                    }
+            score += best;
+        }
+        return score / queryTokens.length;
+    }
+
+    private void unindex(int ordinal) {
+        for (String gram : entries.get(ordinal).grams()) {
+            PostingList list = postings.get(gram);
+            list.remove(ordinal);
+            if (list.size() == 0)
+                postings.remove(gram);
+        }
+    }
+
+    private record Entry<D>(D document, String[][] tokens, String[] grams) {}
+
+    private record Scored(int ordinal, double score) {}
+
+    private static final class PostingList {
+
+        static final PostingList EMPTY = new PostingList();
+
+        private int[] ordinals = new int[4];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        boolean contains(int ordinal) {
+            return Arrays.binarySearch(ordinals, 0, size, ordinal) >= 0;
+        }
+
+        void add(int ordinal) {
+            int index = Arrays.binarySearch(ordinals, 0, size, ordinal);
+            if (index >= 0)
+                return;
+
+            index = -index - 1;
+            if (size == ordinals.length)
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+            System.arraycopy(ordinals, index, ordinals, index + 1, size - index);
+            ordinals[index] = ordinal;
+            size++;
+        }
+
+        void remove(int ordinal) {
+            int index = Arrays.binarySearch(ordinals, 0, size, ordinal);
+            if (index < 0)
+                return;
+
+            System.arraycopy(ordinals, index + 1, ordinals, index, size - index - 1);
+            size--;
+        }
+    }
+}
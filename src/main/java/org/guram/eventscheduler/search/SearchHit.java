@@ -0,0 +1,6 @@
+package org.guram.eventscheduler.search;
+
+public record SearchHit<D>(
+        D document,
+        double score
+) {}
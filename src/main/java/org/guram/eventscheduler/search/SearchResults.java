@@ -0,0 +1,8 @@
+package org.guram.eventscheduler.search;
+
+import java.util.List;
+
+public record SearchResults<D>(
+        List<SearchHit<D>> hits,
+        boolean hasMore
+) {}
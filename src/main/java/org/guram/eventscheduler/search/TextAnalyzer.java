@@ -0,0 +1,53 @@
+package org.guram.eventscheduler.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+public class TextAnalyzer {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final char START = '^';
+    private static final char END = '$';
+
+    public static String[] tokenize(String text) {
+        if (text == null || text.isBlank())
+            return new String[0];
+
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        return SEPARATORS.splitAsStream(normalized)
+                .filter(token -> !token.isEmpty())
+                .toArray(String[]::new);
+    }
+
+    public static Set<String> documentGrams(String[] tokens) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (String token : tokens) {
+            grams.add(START + token.substring(0, 1));
+            addTrigrams(START + token + END, grams);
+        }
+        return grams;
+    }
+
+    public static List<String> queryGrams(String[] tokens) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (String token : tokens) {
+            if (token.length() == 1)
+                grams.add(START + token);
+            else
+                addTrigrams(START + token, grams);
+        }
+        return new ArrayList<>(grams);
+    }
+
+    private static void addTrigrams(String padded, Set<String> grams) {
+        for (int i = 0; i + 3 <= padded.length(); i++)
+            grams.add(padded.substring(i, i + 3));
+    }
+}
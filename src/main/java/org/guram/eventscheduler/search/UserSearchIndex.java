@@ -0,0 +1,82 @@
+package org.guram.eventscheduler.search;
+
+import org.guram.eventscheduler.repositories.UserRepository;
+import org.guram.eventscheduler.repositories.projections.UserSearchView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.util.List;
+
+@Component
+public class UserSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(UserSearchIndex.class);
+    private static final int REBUILD_CHUNK_SIZE = 5000;
+
+    private final UserRepository userRepository;
+    private volatile InvertedIndex<UserSearchView> index = newIndex();
+    private volatile InvertedIndex<UserSearchView> rebuilding;
+
+    @Autowired
+    public UserSearchIndex(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+
+    public void index(UserSearchView user) {
+        put(index, user);
+        InvertedIndex<UserSearchView> pending = rebuilding;
+        if (pending != null)
+            put(pending, user);
+    }
+
+    public void remove(Long userId) {
+        index.remove(userId);
+        InvertedIndex<UserSearchView> pending = rebuilding;
+        if (pending != null)
+            pending.remove(userId);
+    }
+
+    public SearchResults<UserSearchView> search(String query, int offset, int limit) {
+        return index.search(query, null, offset, limit);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${users.search.rebuild-cron:0 15 4 * * *}")
+    public synchronized void rebuild() {
+        InvertedIndex<UserSearchView> fresh = newIndex();
+        rebuilding = fresh;
+        try {
+            long afterId = 0;
+            while (true) {
+                List<UserSearchView> users = userRepository.findSearchViewsAfter(afterId, Limit.of(REBUILD_CHUNK_SIZE));
+                if (users.isEmpty())
+                    break;
+
+                users.forEach(user -> put(fresh, user));
+                afterId = users.get(users.size() - 1).id();
+            }
+            index = fresh;
+        } finally {
+            rebuilding = null;
+        }
+
+        log.info("Indexed {} users for search", fresh.size());
+    }
+
+    private static void put(InvertedIndex<UserSearchView> target, UserSearchView user) {
+        String email = user.email();
+        String emailLocalPart = email.contains("@") ? email.substring(0, email.indexOf('@')) : email;
+        target.put(user.id(), user, user.firstName() + " " + user.lastName(), emailLocalPart);
+    }
+
+    private static InvertedIndex<UserSearchView> newIndex() {
+        return new InvertedIndex<>(1.0, 0.5);
+    }
+
+}
@@ -1,50 +1,84 @@
 package org.guram.eventscheduler.services;
 
 import org.guram.eventscheduler.dtos.attendanceDtos.AttendanceResponseDto;
+import org.guram.eventscheduler.dtos.eventDtos.ScheduleConflictDto;
 import org.guram.eventscheduler.exceptions.ConflictException;
 import org.guram.eventscheduler.exceptions.EventNotFoundException;
+import org.guram.eventscheduler.exceptions.ForbiddenOperationException;
 import org.guram.eventscheduler.exceptions.ResourceNotFoundException;
 import org.guram.eventscheduler.models.Attendance;
 import org.guram.eventscheduler.models.AttendanceRole;
 import org.guram.eventscheduler.models.AttendanceStatus;
 import org.guram.eventscheduler.models.Event;
+import org.guram.eventscheduler.models.NotificationType;
 import org.guram.eventscheduler.models.User;
 import org.guram.eventscheduler.repositories.AttendanceRepository;
 import org.guram.eventscheduler.repositories.EventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import static org.guram.eventscheduler.utils.EntityToDtoMappings.mapAttendanceToResponseDto;
 
 @Service
 public class AttendanceService {
 
+    private static final Logger log = LoggerFactory.getLogger(AttendanceService.class);
+    private static final int RECONCILE_CHUNK_SIZE = 1000;
+
     private final AttendanceRepository attendanceRepo;
     private final EventRepository eventRepo;
+    private final UserStatsService userStatsService;
+    private final NotificationService notificationService;
+    private final UserScheduleService userScheduleService;
+    private final UserTimelineService userTimelineService;
+    private final TransactionTemplate transactionTemplate;
 
     @Autowired
-    public AttendanceService(AttendanceRepository attendanceRepo, EventRepository eventRepo) {
+    public AttendanceService(AttendanceRepository attendanceRepo, EventRepository eventRepo,
+                             UserStatsService userStatsService, NotificationService notificationService,
+                             UserScheduleService userScheduleService, UserTimelineService userTimelineService,
+                             TransactionTemplate transactionTemplate) {
         this.attendanceRepo = attendanceRepo;
         this.eventRepo = eventRepo;
+        this.userStatsService = userStatsService;
+        this.notificationService = notificationService;
+        this.userScheduleService = userScheduleService;
+        this.userTimelineService = userTimelineService;
+        this.transactionTemplate = transactionTemplate;
     }
 
 
     @Transactional
-    public void registerUser(User user, Event event) {
+    public List<ScheduleConflictDto> registerUser(User user, Event event) {
+        List<ScheduleConflictDto> conflicts = userScheduleService.findConflicts(user.getId(), event);
+
         Optional<Attendance> existingAttendance = attendanceRepo.findByUserAndEvent(user, event);
         if (existingAttendance.isPresent()) {
             Attendance attendance = existingAttendance.get();
-            if (attendance.getStatus() == AttendanceStatus.REGISTERED) {
+            if (attendance.getStatus() == AttendanceStatus.REGISTERED ||
+                    attendance.getStatus() == AttendanceStatus.WAITLISTED) {
                 mapAttendanceToResponseDto(attendance);
-                return;
+                return conflicts;
             }
             if (attendance.getStatus() == AttendanceStatus.WITHDRAWN ||
                     attendance.getStatus() == AttendanceStatus.KICKED) {
-                attendance.setStatus(AttendanceStatus.REGISTERED);
+                AttendanceStatus previousStatus = attendance.getStatus();
+                allocateSeat(attendance);
                 Attendance updated = attendanceRepo.save(attendance);
+                userStatsService.recordTransition(updated, previousStatus, updated.getRole());
+                userTimelineService.record(updated);
+                addToSchedule(updated);
                 mapAttendanceToResponseDto(updated);
-                return;
+                return conflicts;
             }
             throw new ConflictException("User (ID=" + user.getId() + ") already has an attendance record for event (ID=" + event.getId() + ") with status " + attendance.getStatus() + ".");
         }
@@ -53,13 +87,16 @@ public class AttendanceService {
         newAttendance.setUser(user);
         newAttendance.setEvent(event);
         newAttendance.setRole(AttendanceRole.ATTENDEE);
-        newAttendance.setStatus(AttendanceStatus.REGISTERED);
+        allocateSeat(newAttendance);
 
         user.getAttendances().add(newAttendance);
         event.getAttendances().add(newAttendance);
 
         Attendance savedAttendance = attendanceRepo.save(newAttendance);
+        userTimelineService.record(savedAttendance);
+        addToSchedule(savedAttendance);
         mapAttendanceToResponseDto(savedAttendance);
+        return conflicts;
     }
 
     @Transactional
@@ -70,11 +107,73 @@ public class AttendanceService {
         Attendance attendance = attendanceRepo.findByUserAndEvent(currentUser, event)
                 .orElseThrow(() -> new ConflictException("No attendance record to withdraw from."));
 
+        AttendanceStatus previousStatus = attendance.getStatus();
         attendance.setStatus(AttendanceStatus.WITHDRAWN);
+        attendance.setWaitlistedAt(null);
         Attendance cancelledAttendance = attendanceRepo.save(attendance);
+        userStatsService.recordTransition(cancelledAttendance, previousStatus, cancelledAttendance.getRole());
+        userScheduleService.remove(currentUser.getId(), event);
+        userTimelineService.record(cancelledAttendance);
+
+        if (previousStatus == AttendanceStatus.REGISTERED)
+            releaseSeat(event);
+
         return mapAttendanceToResponseDto(cancelledAttendance);
     }
 
+    @Transactional
+    public void releaseSeat(Event event) {
+        eventRepo.releaseSeat(event.getId());
+        promoteFromWaitlist(event);
+    }
+
+    @Transactional
+    public int promoteFromWaitlist(Event event) {
+        int promoted = 0;
+        while (true) {
+            List<Attendance> next = attendanceRepo.lockNextWaitlisted(event.getId(), Limit.of(1));
+            if (next.isEmpty() || eventRepo.reserveSeat(event.getId()) == 0)
+                return promoted;
+
+            Attendance attendance = next.get(0);
+            attendance.setStatus(AttendanceStatus.REGISTERED);
+            attendance.setWaitlistedAt(null);
+            Attendance promotedAttendance = attendanceRepo.save(attendance);
+            userStatsService.recordTransition(promotedAttendance, AttendanceStatus.WAITLISTED, promotedAttendance.getRole());
+            userScheduleService.add(promotedAttendance.getUser().getId(), event);
+            userTimelineService.record(promotedAttendance);
+
+            String message = notificationService.generatePromotedFromWaitlistMessage(event);
+            notificationService.createNotification(promotedAttendance.getUser(), message, NotificationType.PROMOTED_FROM_WAITLIST);
+            promoted++;
+        }
+    }
+
+    // Events created before seat tracking existed start at zero reserved seats, while every event created since
+    // holds at least its organizer's seat, so only zero-seat events are recounted. The event rows are locked
+    // first so reservations in flight on other nodes commit before the count is taken
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileReservedSeats() {
+        long afterId = 0;
+        int reconciled = 0;
+
+        while (true) {
+            List<Long> eventIds = eventRepo.findIdsWithoutReservedSeatsAfter(afterId, Limit.of(RECONCILE_CHUNK_SIZE));
+            if (eventIds.isEmpty())
+                break;
+
+            transactionTemplate.executeWithoutResult(status -> {
+                eventRepo.lockByIdIn(eventIds);
+                eventRepo.reconcileReservedSeats(eventIds);
+            });
+            reconciled += eventIds.size();
+            afterId = eventIds.get(eventIds.size() - 1);
+        }
+
+        if (reconciled > 0)
+            log.info("Reconciled reserved seats for {} events", reconciled);
+    }
+
     public AttendanceRole getAttendanceRole(User user, Event event) {
         Attendance attendance = attendanceRepo.findByUserAndEvent(user, event)
                 .orElseThrow(() -> new ResourceNotFoundException(user.getId() + "is not attending the event: " + event.getId() + "."));
@@ -82,4 +181,27 @@ public class AttendanceService {
         return attendance.getRole();
     }
 
+    public void checkIsOrganizer(Long actorUserId, Event event) {
+        boolean actorIsOrganizer = attendanceRepo.existsByEvent_IdAndUser_IdAndRole(
+                event.getId(), actorUserId, AttendanceRole.ORGANIZER);
+
+        if (!actorIsOrganizer)
+            throw new ForbiddenOperationException("User (ID=" + actorUserId + ") is not an organizer for this event.");
+    }
+
+    private void addToSchedule(Attendance attendance) {
+        if (attendance.getStatus() == AttendanceStatus.REGISTERED)
+            userScheduleService.add(attendance.getUser().getId(), attendance.getEvent());
+    }
+
+    private void allocateSeat(Attendance attendance) {
+        if (eventRepo.reserveSeat(attendance.getEvent().getId()) == 1) {
+            attendance.setStatus(AttendanceStatus.REGISTERED);
+            attendance.setWaitlistedAt(null);
+        } else {
+            attendance.setStatus(AttendanceStatus.WAITLISTED);
+            attendance.setWaitlistedAt(LocalDateTime.now());
+        }
+    }
+
 }
@@ -1,11 +1,22 @@
 package org.guram.eventscheduler.services;
 
+import jakarta.persistence.EntityManager;
+import org.guram.eventscheduler.dtos.attendanceDtos.BulkCheckInRequestDto;
+import org.guram.eventscheduler.dtos.attendanceDtos.BulkCheckInResponseDto;
+import org.guram.eventscheduler.dtos.attendanceDtos.BulkCheckInResultDto;
+import org.guram.eventscheduler.dtos.attendanceDtos.ParticipantPageDto;
+import org.guram.eventscheduler.dtos.eventDtos.EventPageDto;
 import org.guram.eventscheduler.dtos.eventDtos.EventRequestDto;
 import org.guram.eventscheduler.dtos.eventDtos.EventResponseDto;
+import org.guram.eventscheduler.dtos.eventDtos.EventResponseView;
+import org.guram.eventscheduler.dtos.eventDtos.EventSearchPageDto;
+import org.guram.eventscheduler.dtos.eventDtos.EventSearchResultDto;
 import org.guram.eventscheduler.dtos.eventDtos.EventWithRoleDto;
+import org.guram.eventscheduler.dtos.eventDtos.RecurrenceRuleDto;
+import org.guram.eventscheduler.dtos.eventDtos.ScheduleConflictDto;
+import org.guram.eventscheduler.exceptions.BadRequestException;
 import org.guram.eventscheduler.exceptions.ConflictException;
 import org.guram.eventscheduler.exceptions.EventNotFoundException;
-import org.guram.eventscheduler.exceptions.ForbiddenOperationException;
 import org.guram.eventscheduler.exceptions.InvalidStatusTransitionException;
 import org.guram.eventscheduler.exceptions.ResourceNotFoundException;
 import org.guram.eventscheduler.exceptions.UserNotFoundException;
@@ -13,50 +24,110 @@ import org.guram.eventscheduler.models.Attendance;
 import org.guram.eventscheduler.models.AttendanceRole;
 import org.guram.eventscheduler.models.AttendanceStatus;
 import org.guram.eventscheduler.models.Event;
-import org.guram.eventscheduler.models.Invitation;
-import org.guram.eventscheduler.models.InvitationStatus;
 import org.guram.eventscheduler.models.NotificationType;
+import org.guram.eventscheduler.models.RecurrenceRule;
 import org.guram.eventscheduler.models.User;
 import org.guram.eventscheduler.repositories.AttendanceRepository;
 import org.guram.eventscheduler.repositories.EventRepository;
 import org.guram.eventscheduler.repositories.UserRepository;
+import org.guram.eventscheduler.repositories.projections.EventAttendanceView;
+import org.guram.eventscheduler.repositories.projections.EventParticipantView;
+import org.guram.eventscheduler.repositories.projections.EventSearchView;
+import org.guram.eventscheduler.search.EventSearchIndex;
+import org.guram.eventscheduler.search.SearchHit;
+import org.guram.eventscheduler.search.SearchResults;
+import org.guram.eventscheduler.utils.EntityToDtoMappings;
+import org.guram.eventscheduler.utils.KeysetCursor;
+import org.guram.eventscheduler.utils.ParticipantCursor;
+import org.guram.eventscheduler.utils.RecurrenceExpander;
+import org.guram.eventscheduler.utils.TransactionUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import static org.guram.eventscheduler.utils.EntityToDtoMappings.mapEventToResponseDto;
+import static org.guram.eventscheduler.utils.EntityToDtoMappings.mapEventToSearchResultDto;
+import static org.guram.eventscheduler.utils.EntityToDtoMappings.mapOccurrenceToResponseDto;
 
 @Service
 public class EventService {
 
+    private static final int PRELOAD_CHUNK_SIZE = 500;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final Duration RECURRENCE_WINDOW = Duration.ofDays(90);
+    private static final int MAX_OCCURRENCES_PER_SERIES = 500;
+    private static final int MAX_SEARCH_OFFSET = 1000;
+    private static final int MAX_SEARCH_QUERY_LENGTH = 100;
+    private static final int PARTICIPANT_PREVIEW_SIZE = 10;
+    private static final int BULK_CHUNK_SIZE = 1000;
+    private static final Set<AttendanceStatus> ACTIVE_PARTICIPANT_STATUSES =
+            Set.of(AttendanceStatus.REGISTERED, AttendanceStatus.ATTENDED);
+
     private final EventRepository eventRepo;
     private final UserRepository userRepo;
     private final AttendanceRepository attendanceRepo;
-    private final NotificationService notificationService;
     private final AttendanceService attendanceService;
+    private final NotificationService notificationService;
+    private final UserStatsService userStatsService;
+    private final UserScheduleService userScheduleService;
+    private final UserTimelineService userTimelineService;
+    private final EventSearchIndex eventSearchIndex;
+    private final EntityManager entityManager;
 
     @Autowired
     public EventService(EventRepository eventRepo,
                         UserRepository userRepo,
                         AttendanceRepository attendanceRepo,
+                        AttendanceService attendanceService,
                         NotificationService notificationService,
-                        AttendanceService attendanceService) {
+                        UserStatsService userStatsService,
+                        UserScheduleService userScheduleService,
+                        UserTimelineService userTimelineService,
+                        EventSearchIndex eventSearchIndex,
+                        EntityManager entityManager) {
         this.eventRepo = eventRepo;
         this.userRepo = userRepo;
         this.attendanceRepo = attendanceRepo;
-        this.notificationService = notificationService;
         this.attendanceService = attendanceService;
+        this.notificationService = notificationService;
+        this.userStatsService = userStatsService;
+        this.userScheduleService = userScheduleService;
+        this.userTimelineService = userTimelineService;
+        this.eventSearchIndex = eventSearchIndex;
+        this.entityManager = entityManager;
     }
 
 
     @Transactional
     public EventResponseDto createEvent(User organizer, EventRequestDto eventRequestDto) {
+        LocalDateTime endDateTime = UserScheduleService.resolveEndDateTime(
+                eventRequestDto.dateTime(), eventRequestDto.endDateTime());
+        List<ScheduleConflictDto> conflicts = userScheduleService.findConflicts(
+                organizer.getId(), eventRequestDto.dateTime(), endDateTime, null);
+
         Event event = new Event();
         event.setTitle(eventRequestDto.title());
         event.setDescription(eventRequestDto.description());
         event.setDateTime(eventRequestDto.dateTime());
+        event.setEndDateTime(endDateTime);
         event.setLocation(eventRequestDto.location());
+        event.setCapacity(eventRequestDto.capacity());
+        event.setRecurrence(mapRecurrenceRule(eventRequestDto.recurrence()));
+        event.setReservedSeats(1);
 
         Attendance organizerAttendance = new Attendance(organizer, event, AttendanceRole.ORGANIZER);
 
@@ -64,14 +135,17 @@ public class EventService {
         organizer.getAttendances().add(organizerAttendance);
 
         Event savedEvent = eventRepo.save(event);
-        return mapEventToResponseDto(savedEvent);
+        userScheduleService.add(organizer.getId(), savedEvent);
+        userTimelineService.record(organizerAttendance);
+        reindexForSearch(savedEvent);
+        return mapEventToResponseDto(savedEvent, conflicts);
     }
 
     @Transactional
-    public EventResponseDto makeAttendeeOrganizer(User actorUser, Long newOrgUserId, Long eventId) {
+    public EventResponseDto makeAttendeeOrganizer(User actorUser, Long newOrgUserId, Long eventId, EventResponseView view) {
         Event event = findEventById(eventId);
 
-        checkIsOrganizer(actorUser.getId(), event);
+        attendanceService.checkIsOrganizer(actorUser.getId(), event);
 
         User newOrgUser = userRepo.findById(newOrgUserId)
                 .orElseThrow(() -> new UserNotFoundException(newOrgUserId));
@@ -80,46 +154,50 @@ public class EventService {
                 .orElseThrow(() -> new ResourceNotFoundException("Attendance", newOrgUserId));
 
         if (newOrganizerAttendance.getRole() == AttendanceRole.ORGANIZER)
-            return mapEventToResponseDto(event);
+            return toResponseDto(event, view);
 
         newOrganizerAttendance.setRole(AttendanceRole.ORGANIZER);
+        userStatsService.recordTransition(newOrganizerAttendance, newOrganizerAttendance.getStatus(), AttendanceRole.ATTENDEE);
+        userTimelineService.record(newOrganizerAttendance);
 
         String message = notificationService.generateAddedAsOrganizerMessage(actorUser, event);
         notificationService.createNotification(newOrgUser, message, NotificationType.ADDED_AS_ORGANIZER);
 
-        return mapEventToResponseDto(event);
+        return toResponseDto(event, view);
     }
 
     @Transactional
-    public EventResponseDto removeOrganizerRole(User actorUser, Long removeUserId, Long eventId) {
+    public EventResponseDto removeOrganizerRole(User actorUser, Long removeUserId, Long eventId, EventResponseView view) {
         Event event = findEventById(eventId);
 
-        checkIsOrganizer(actorUser.getId(), event);
+        attendanceService.checkIsOrganizer(actorUser.getId(), event);
 
         User orgToRemove = userRepo.findById(removeUserId)
                 .orElseThrow(() -> new UserNotFoundException(removeUserId));
 
-        checkIsOrganizer(removeUserId, event);
+        attendanceService.checkIsOrganizer(removeUserId, event);
 
         Attendance removeOrgAttendance = attendanceRepo.findByUserAndEvent(orgToRemove, event)
                 .orElseThrow(() -> new ResourceNotFoundException("Attendance", removeUserId));
 
         if (removeOrgAttendance.getRole() == AttendanceRole.ATTENDEE)
-            return mapEventToResponseDto(event);
+            return toResponseDto(event, view);
 
         removeOrgAttendance.setRole(AttendanceRole.ATTENDEE);
+        userStatsService.recordTransition(removeOrgAttendance, removeOrgAttendance.getStatus(), AttendanceRole.ORGANIZER);
+        userTimelineService.record(removeOrgAttendance);
 
         String message = notificationService.generateRemovedAsOrganizerMessage(actorUser, event);
         notificationService.createNotification(orgToRemove, message, NotificationType.REMOVED_AS_ORGANIZER);
 
-        return mapEventToResponseDto(event);
+        return toResponseDto(event, view);
     }
 
     @Transactional
-    public EventResponseDto kickUserFromEvent(User organizer, Long userToKickId, Long eventId) {
+    public EventResponseDto kickUserFromEvent(User organizer, Long userToKickId, Long eventId, EventResponseView view) {
         Event event = findEventById(eventId);
 
-        checkIsOrganizer(organizer.getId(), event);
+        attendanceService.checkIsOrganizer(organizer.getId(), event);
 
         User userToKick = userRepo.findById(userToKickId)
                 .orElseThrow(() -> new UserNotFoundException(userToKickId));
@@ -127,110 +205,457 @@ public class EventService {
         Attendance kickUserAttendance = attendanceRepo.findByUserAndEvent(userToKick, event)
                 .orElseThrow(() -> new ResourceNotFoundException("User (ID=" + userToKickId + ") is not attending this event (ID=" + eventId + ")."));
 
+        AttendanceStatus previousStatus = kickUserAttendance.getStatus();
         kickUserAttendance.setStatus(AttendanceStatus.KICKED);
+        kickUserAttendance.setWaitlistedAt(null);
+        userStatsService.recordTransition(kickUserAttendance, previousStatus, kickUserAttendance.getRole());
+        userScheduleService.remove(userToKickId, event);
+        userTimelineService.record(kickUserAttendance);
+
+        if (previousStatus == AttendanceStatus.REGISTERED)
+            attendanceService.releaseSeat(event);
 
         String message = notificationService.generateKickedOutFromEventMessage(organizer, event);
         notificationService.createNotification(userToKick, message, NotificationType.REMOVED_AS_ORGANIZER);
 
-        return mapEventToResponseDto(event);
+        return toResponseDto(event, view);
     }
 
     @Transactional
-    public EventResponseDto editEvent(Long eventId, Long actorUserId,
-                                      EventRequestDto eventRequestDto, boolean notifyParticipants) {
+    public EventResponseDto editEvent(Long eventId, Long actorUserId, EventRequestDto eventRequestDto,
+                                      boolean notifyParticipants, EventResponseView view) {
         Event event = findEventById(eventId);
 
-        checkIsOrganizer(actorUserId, event);
+        attendanceService.checkIsOrganizer(actorUserId, event);
+
+        if (eventRequestDto.capacity() != null) {
+            if (eventRepo.updateCapacity(eventId, eventRequestDto.capacity()) == 0)
+                throw new ConflictException("Capacity cannot be lower than the seats already reserved for this event.");
+            event.setCapacity(eventRequestDto.capacity());
+        }
 
         event.setTitle(eventRequestDto.title());
         event.setDescription(eventRequestDto.description());
         event.setDateTime(eventRequestDto.dateTime());
+        event.setEndDateTime(UserScheduleService.resolveEndDateTime(
+                eventRequestDto.dateTime(), eventRequestDto.endDateTime()));
         event.setLocation(eventRequestDto.location());
+        if (event.getSeries() == null)
+            event.setRecurrence(mapRecurrenceRule(eventRequestDto.recurrence()));
 
         Event editedEvent = eventRepo.save(event);
+        userScheduleService.reschedule(editedEvent);
+        userTimelineService.updateEvent(editedEvent);
+        reindexForSearch(editedEvent);
+        attendanceService.promoteFromWaitlist(editedEvent);
 
         if (notifyParticipants) {
             String message = notificationService.generateEventUpdatedMessage(editedEvent);
-            attendanceRepo.findByEventAndStatusOrderByEvent_DateTimeAsc(editedEvent, AttendanceStatus.REGISTERED).stream()
-                    .map(Attendance::getUser)
-                    .forEach(user -> notificationService.createNotification(user, message, NotificationType.EVENT_DETAILS_UPDATED));
-
-            editedEvent.getInvitations().stream()
-                    .filter(inv -> inv.getStatus() == InvitationStatus.PENDING)
-                    .map(Invitation::getInvitee)
-                    .forEach(user -> notificationService.createNotification(user, message, NotificationType.EVENT_DETAILS_UPDATED));
+            notificationService.notifyEventParticipants(editedEvent, message, NotificationType.EVENT_DETAILS_UPDATED);
         }
 
-        return mapEventToResponseDto(editedEvent);
+        return toResponseDto(editedEvent, view);
     }
 
     @Transactional
     public void cancelEvent(Long eventId, Long actorUserId) {
         Event event = findEventById(eventId);
 
-        checkIsOrganizer(actorUserId, event);
+        attendanceService.checkIsOrganizer(actorUserId, event);
 
         event.setCancelled(true);
+        userScheduleService.removeEvent(event);
+        userTimelineService.updateEvent(event);
+        reindexForSearch(event);
 
         String message = notificationService.generateEventCancelledMessage(event);
-        attendanceRepo.findByEventAndStatusOrderByEvent_DateTimeAsc(event, AttendanceStatus.REGISTERED).stream()
-                .map(Attendance::getUser)
-                .forEach(user -> notificationService.createNotification(user, message, NotificationType.EVENT_CANCELLED));
-
-        event.getInvitations().stream()
-                .filter(inv -> inv.getStatus() == InvitationStatus.PENDING)
-                .map(Invitation::getInvitee)
-                .forEach(user -> notificationService.createNotification(user, message, NotificationType.EVENT_CANCELLED));
+        notificationService.notifyEventParticipants(event, message, NotificationType.EVENT_CANCELLED);
 
         eventRepo.save(event);
     }
 
+    @Transactional(readOnly = true)
+    public EventSearchPageDto searchEvents(String query, LocalDateTime from, LocalDateTime to,
+                                           boolean includeCancelled, int offset, int limit) {
+        if (query == null || query.isBlank())
+            throw new BadRequestException("Search query must not be blank.");
+        if (query.length() > MAX_SEARCH_QUERY_LENGTH)
+            throw new BadRequestException("Search query cannot be longer than " + MAX_SEARCH_QUERY_LENGTH + " characters.");
+        if (from != null && to != null && to.isBefore(from))
+            throw new BadRequestException("'to' must not be before 'from'.");
+
+        int start = Math.min(Math.max(offset, 0), MAX_SEARCH_OFFSET);
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        SearchResults<Long> results = eventSearchIndex.search(query, from, to, includeCancelled, start, pageSize);
+
+        Map<Long, Event> events = eventRepo.findAllById(results.hits().stream().map(SearchHit::document).toList()).stream()
+                .collect(Collectors.toMap(Event::getId, Function.identity()));
+        LocalDateTime occurrencesFrom = from == null ? LocalDateTime.now() : from;
+
+        List<EventSearchResultDto> found = results.hits().stream()
+                .filter(hit -> events.containsKey(hit.document()))
+                .map(hit -> {
+                    Event event = events.get(hit.document());
+                    return mapEventToSearchResultDto(event, nextOccurrence(event, occurrencesFrom, to), hit.score());
+                })
+                .toList();
+        return new EventSearchPageDto(found, results.hasMore() ? start + pageSize : null);
+    }
+
+    @Transactional(readOnly = true)
     public List<EventWithRoleDto> getFilteredEventsWithRole(User user, AttendanceRole role,
                                                             String timeframe, boolean cancelled) {
-        if (!timeframe.equals("UPCOMING") && !timeframe.equals("PAST"))
-            throw new IllegalArgumentException("Timeframe must be either UPCOMING or PAST.");
-
-        boolean upcoming = timeframe.equals("UPCOMING");
-        return eventRepo.findByUserAndRoleAndDateTimeAndStatus(user, role, upcoming, cancelled).stream()
-                .map(event -> new EventWithRoleDto(
-                        mapEventToResponseDto(event),
-                        attendanceService.getAttendanceRole(user, event))
-                )
-                .collect(Collectors.toList());
+        boolean upcoming = isUpcoming(timeframe);
+        List<EventAttendanceView> rows = new ArrayList<>(
+                userTimelineService.findEvents(user.getId(), role, upcoming, cancelled, null, Limit.unlimited()));
+        if (upcoming)
+            rows.addAll(userTimelineService.findActiveSeries(user.getId(), role, cancelled));
+
+        List<EventAttendanceView> seriesRows = rows.stream()
+                .filter(row -> row.event().getRecurrence() != null)
+                .toList();
+        if (seriesRows.isEmpty())
+            return mapWithRoles(rows);
+
+        List<EventAttendanceView> singleRows = rows.stream()
+                .filter(row -> row.event().getRecurrence() == null)
+                .toList();
+        List<EventWithRoleDto> events = new ArrayList<>(mapWithRoles(singleRows));
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime from = upcoming ? now : now.minus(RECURRENCE_WINDOW);
+        LocalDateTime to = upcoming ? now.plus(RECURRENCE_WINDOW) : now;
+        Set<Long> listedIds = singleRows.stream()
+                .map(row -> row.event().getId())
+                .collect(Collectors.toSet());
+        events.addAll(expandOccurrences(seriesRows, from, to, cancelled, listedIds));
+
+        events.sort(Comparator.comparing(dto -> dto.event().dateTime()));
+        return events;
     }
 
     @Transactional
-    public EventResponseDto markAttended(User organizer, Long attendeeUserId, Long eventId) {
+    public EventResponseDto materializeOccurrence(User actorUser, Long seriesId, LocalDateTime occurrenceStart) {
+        Event series = findEventById(seriesId);
+
+        if (series.getRecurrence() == null)
+            throw new BadRequestException("Event (ID=" + seriesId + ") is not a recurring event.");
+
+        attendanceService.checkIsOrganizer(actorUser.getId(), series);
+
+        if (!occurrenceStart.isAfter(LocalDateTime.now()))
+            throw new BadRequestException("Only upcoming occurrences can be materialized.");
+
+        if (!RecurrenceExpander.isOccurrence(series.getRecurrence(), series.getDateTime(), occurrenceStart))
+            throw new BadRequestException(occurrenceStart + " is not an occurrence of event series (ID=" + seriesId + ").");
+
+        Event occurrence = eventRepo.findBySeriesAndOccurrenceStart(series, occurrenceStart)
+                .orElseGet(() -> createOccurrence(series, occurrenceStart));
+        return mapEventToResponseDto(occurrence);
+    }
+
+    // Series are listed once as their master row; expanding them would break the (dateTime, id) keyset
+    @Transactional(readOnly = true)
+    public EventPageDto getFilteredEventsWithRolePage(User user, AttendanceRole role, String timeframe,
+                                                      boolean cancelled, String cursor, int limit) {
+        boolean upcoming = isUpcoming(timeframe);
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+
+        List<EventAttendanceView> rows = userTimelineService.findEvents(
+                user.getId(), role, upcoming, cancelled, after, Limit.of(pageSize + 1));
+
+        if (rows.size() <= pageSize)
+            return new EventPageDto(mapWithRoles(rows), null);
+
+        List<EventAttendanceView> page = rows.subList(0, pageSize);
+        Event last = page.get(pageSize - 1).event();
+        String nextCursor = new KeysetCursor(last.getDateTime(), last.getId()).encode();
+        return new EventPageDto(mapWithRoles(page), nextCursor);
+    }
+
+    @Transactional(readOnly = true)
+    public ParticipantPageDto getParticipantsPage(Long eventId, Long viewerUserId, AttendanceRole role,
+                                                  AttendanceStatus status, String cursor, int limit) {
+        if (!eventRepo.existsById(eventId))
+            throw new EventNotFoundException(eventId);
+        // Waitlisted, withdrawn and kicked users are only visible to organizers
+        if (status != null && !ACTIVE_PARTICIPANT_STATUSES.contains(status))
+            attendanceService.checkIsOrganizer(viewerUserId, eventRepo.getReferenceById(eventId));
+
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        ParticipantCursor after = ParticipantCursor.decode(cursor);
+        Set<AttendanceRole> roles = role != null ? Set.of(role) : EnumSet.allOf(AttendanceRole.class);
+        Set<AttendanceStatus> statuses = status != null ? Set.of(status) : ACTIVE_PARTICIPANT_STATUSES;
+
+        List<EventParticipantView> rows = after == null
+                ? attendanceRepo.findParticipantPage(eventId, roles, statuses, Limit.of(pageSize + 1))
+                : attendanceRepo.findParticipantPageAfter(eventId, roles, statuses,
+                        after.lastName(), after.firstName(), after.userId(), Limit.of(pageSize + 1));
+
+        if (rows.size() <= pageSize)
+            return new ParticipantPageDto(rows.stream().map(EntityToDtoMappings::mapParticipantToDto).toList(), null);
+
+        List<EventParticipantView> page = rows.subList(0, pageSize);
+        EventParticipantView last = page.get(pageSize - 1);
+        String nextCursor = new ParticipantCursor(last.lastName(), last.firstName(), last.userId()).encode();
+        return new ParticipantPageDto(page.stream().map(EntityToDtoMappings::mapParticipantToDto).toList(), nextCursor);
+    }
+
+    // Like the paged listing, series are streamed once as their master row
+    @Transactional(readOnly = true)
+    public void streamFilteredEventsWithRole(User user, AttendanceRole role, String timeframe,
+                                             boolean cancelled, Consumer<EventWithRoleDto> consumer) {
+        boolean upcoming = isUpcoming(timeframe);
+
+        try (Stream<EventAttendanceView> rows =
+                     userTimelineService.streamEvents(user.getId(), role, upcoming, cancelled)) {
+            Iterator<EventAttendanceView> iterator = rows.iterator();
+            List<EventAttendanceView> chunk = new ArrayList<>(PRELOAD_CHUNK_SIZE);
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == PRELOAD_CHUNK_SIZE || !iterator.hasNext()) {
+                    mapWithRoles(chunk).forEach(consumer);
+                    chunk.clear();
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+
+    @Transactional
+    public EventResponseDto markAttended(User organizer, Long attendeeUserId, Long eventId, EventResponseView view) {
         Event event = eventRepo.findById(eventId)
                 .orElseThrow(() -> new EventNotFoundException(eventId));
 
-        checkIsOrganizer(organizer.getId(), event);
+        attendanceService.checkIsOrganizer(organizer.getId(), event);
 
-        User attendee = userRepo.findById(attendeeUserId)
-                .orElseThrow(() -> new UserNotFoundException(attendeeUserId));
+        if (!userRepo.existsById(attendeeUserId))
+            throw new UserNotFoundException(attendeeUserId);
 
-        Attendance attendance = attendanceRepo.findByUserAndEvent(attendee, event)
-                .orElseThrow(() -> new ConflictException("No attendance record for this user/event."));
+        Map<Long, AttendanceStatus> previousStatuses = new HashMap<>();
+        markRegisteredAsAttended(eventId, List.of(attendeeUserId), previousStatuses);
 
-        if (attendance.getStatus() != AttendanceStatus.REGISTERED) {
+        AttendanceStatus previousStatus = previousStatuses.get(attendeeUserId);
+        if (previousStatus == null)
+            throw new ConflictException("No attendance record for this user/event.");
+        if (previousStatus != AttendanceStatus.REGISTERED) {
             throw new InvalidStatusTransitionException(
-                    "Cannot mark attendance because current status is " + attendance.getStatus());
+                    "Cannot mark attendance because current status is " + previousStatus);
         }
 
-        attendance.setStatus(AttendanceStatus.ATTENDED);
-        return mapEventToResponseDto(event);
+        return toResponseDto(event, view);
+    }
+
+    @Transactional
+    public EventResponseDto markAllAttended(User organizer, Long eventId, EventResponseView view) {
+        Event event = eventRepo.findById(eventId)
+                .orElseThrow(() -> new EventNotFoundException(eventId));
+
+        attendanceService.checkIsOrganizer(organizer.getId(), event);
+
+        List<Long> registered = attendanceRepo.findUserIdsByEventIdAndStatus(eventId, AttendanceStatus.REGISTERED);
+        markRegisteredAsAttended(eventId, registered, new HashMap<>());
+        return toResponseDto(event, view);
     }
 
     @Transactional
-    public EventResponseDto markAllAttended(User organizer, Long eventId) {
+    public BulkCheckInResponseDto checkInAttendees(User organizer, BulkCheckInRequestDto request) {
+        Long eventId = request.eventId();
         Event event = eventRepo.findById(eventId)
                 .orElseThrow(() -> new EventNotFoundException(eventId));
 
-        checkIsOrganizer(organizer.getId(), event);
+        attendanceService.checkIsOrganizer(organizer.getId(), event);
+
+        List<Long> userIds = request.userIds().stream().distinct().toList();
+        Map<Long, AttendanceStatus> previousStatuses = new HashMap<>();
+        List<Long> checkedIn = markRegisteredAsAttended(eventId, userIds, previousStatuses);
+
+        if (!checkedIn.isEmpty()) {
+            String message = notificationService.generateCheckedInMessage(event);
+            notificationService.notifyUsers(checkedIn, message, NotificationType.CHECKED_IN);
+        }
+
+        List<BulkCheckInResultDto> results = userIds.stream()
+                .map(userId -> new BulkCheckInResultDto(userId, checkInOutcome(previousStatuses.get(userId))))
+                .toList();
+        Map<BulkCheckInResultDto.Outcome, Long> outcomes = results.stream()
+                .collect(Collectors.groupingBy(BulkCheckInResultDto::outcome, Collectors.counting()));
+        return new BulkCheckInResponseDto(eventId,
+                outcomes.getOrDefault(BulkCheckInResultDto.Outcome.CHECKED_IN, 0L).intValue(),
+                outcomes.getOrDefault(BulkCheckInResultDto.Outcome.ALREADY_CHECKED_IN, 0L).intValue(),
+                outcomes.getOrDefault(BulkCheckInResultDto.Outcome.NOT_REGISTERED, 0L).intValue(),
+                outcomes.getOrDefault(BulkCheckInResultDto.Outcome.NOT_PARTICIPANT, 0L).intValue(),
+                results);
+    }
 
-        attendanceRepo.markAllAsAttended(event);
+    // Every check-in path goes through here, so stats and timeline are only bumped for rows this call flipped
+    private List<Long> markRegisteredAsAttended(Long eventId, List<Long> userIds,
+                                                Map<Long, AttendanceStatus> previousStatuses) {
+        List<Long> checkedIn = new ArrayList<>();
+        for (int from = 0; from < userIds.size(); from += BULK_CHUNK_SIZE) {
+            List<Long> chunk = userIds.subList(from, Math.min(from + BULK_CHUNK_SIZE, userIds.size()));
+
+            // Concurrent check-ins of the same users wait here, then see ATTENDED and are reported as already checked in
+            List<Attendance> locked = attendanceRepo.lockByEventIdAndUserIdIn(eventId, chunk);
+            locked.forEach(attendance -> previousStatuses.put(attendance.getUser().getId(), attendance.getStatus()));
+
+            List<Long> registered = chunk.stream()
+                    .filter(userId -> previousStatuses.get(userId) == AttendanceStatus.REGISTERED)
+                    .toList();
+            if (!registered.isEmpty()) {
+                userStatsService.recordAttended(eventId, registered);
+                int updated = attendanceRepo.markAsAttended(eventId, registered);
+                if (updated != registered.size())
+                    throw new IllegalStateException("Checked in " + updated + " of " + registered.size()
+                            + " locked registered attendances of event (ID=" + eventId + ").");
+                userTimelineService.recordAttended(eventId, registered);
+                checkedIn.addAll(registered);
+            }
+
+            // The locked copies are stale after the bulk update and are not needed past this chunk
+            locked.forEach(entityManager::detach);
+        }
+        return checkedIn;
+    }
 
-        return mapEventToResponseDto(event);
+    private static BulkCheckInResultDto.Outcome checkInOutcome(AttendanceStatus previousStatus) {
+        if (previousStatus == null)
+            return BulkCheckInResultDto.Outcome.NOT_PARTICIPANT;
+        return switch (previousStatus) {
+            case REGISTERED -> BulkCheckInResultDto.Outcome.CHECKED_IN;
+            case ATTENDED -> BulkCheckInResultDto.Outcome.ALREADY_CHECKED_IN;
+            default -> BulkCheckInResultDto.Outcome.NOT_REGISTERED;
+        };
+    }
+
+    private List<EventWithRoleDto> expandOccurrences(List<EventAttendanceView> seriesRows, LocalDateTime from,
+                                                     LocalDateTime to, boolean cancelled, Set<Long> listedIds) {
+        List<Event> series = seriesRows.stream().map(EventAttendanceView::event).toList();
+        preloadParticipants(series);
+
+        List<Event> materialized = eventRepo.findBySeriesInAndOccurrenceStartBetween(series, from, to);
+        preloadParticipants(materialized);
+        Map<OccurrenceKey, Event> materializedBySlot = materialized.stream()
+                .collect(Collectors.toMap(
+                        occurrence -> new OccurrenceKey(occurrence.getSeries().getId(), occurrence.getOccurrenceStart()),
+                        Function.identity()));
+
+        List<EventWithRoleDto> occurrences = new ArrayList<>();
+        for (EventAttendanceView row : seriesRows) {
+            Event master = row.event();
+            List<LocalDateTime> starts = RecurrenceExpander.occurrencesBetween(
+                    master.getRecurrence(), master.getDateTime(), from, to, MAX_OCCURRENCES_PER_SERIES);
+            if (starts.isEmpty())
+                continue;
+
+            EventResponseDto seriesDto = mapEventToResponseDto(master);
+            for (LocalDateTime start : starts) {
+                Event occurrence = materializedBySlot.get(new OccurrenceKey(master.getId(), start));
+                if (occurrence == null)
+                    occurrences.add(new EventWithRoleDto(mapOccurrenceToResponseDto(seriesDto, start), row.role()));
+                else if (!listedIds.contains(occurrence.getId()) && (cancelled || !occurrence.isCancelled()))
+                    occurrences.add(new EventWithRoleDto(mapEventToResponseDto(occurrence), row.role()));
+            }
+        }
+        return occurrences;
+    }
+
+    private Event createOccurrence(Event series, LocalDateTime occurrenceStart) {
+        Event occurrence = new Event(series.getTitle(), occurrenceStart, series.getLocation());
+        occurrence.setDescription(series.getDescription());
+        if (series.getEndDateTime() != null)
+            occurrence.setEndDateTime(occurrenceStart.plus(Duration.between(series.getDateTime(), series.getEndDateTime())));
+        occurrence.setCapacity(series.getCapacity());
+        occurrence.setCancelled(series.isCancelled());
+        occurrence.setSeries(series);
+        occurrence.setOccurrenceStart(occurrenceStart);
+
+        // Everyone on the series roster holds a seat in each of its occurrences
+        series.getAttendances().stream()
+                .filter(attendance -> ACTIVE_PARTICIPANT_STATUSES.contains(attendance.getStatus()))
+                .forEach(attendance -> occurrence.getAttendances()
+                        .add(new Attendance(attendance.getUser(), occurrence, attendance.getRole())));
+        occurrence.setReservedSeats(occurrence.getAttendances().size());
+
+        Event savedOccurrence = eventRepo.save(occurrence);
+        userScheduleService.addAll(savedOccurrence.getAttendances().stream()
+                .map(attendance -> attendance.getUser().getId())
+                .toList(), savedOccurrence);
+        userTimelineService.recordAll(savedOccurrence.getAttendances());
+        return savedOccurrence;
+    }
+
+    private static RecurrenceRule mapRecurrenceRule(RecurrenceRuleDto recurrence) {
+        if (recurrence == null)
+            return null;
+
+        return new RecurrenceRule(
+                recurrence.frequency(),
+                recurrence.interval() == null ? 1 : recurrence.interval(),
+                recurrence.until(),
+                recurrence.count()
+        );
+    }
+
+    private static LocalDateTime nextOccurrence(Event event, LocalDateTime from, LocalDateTime to) {
+        if (event.getRecurrence() == null)
+            return null;
+
+        return RecurrenceExpander.occurrencesBetween(event.getRecurrence(), event.getDateTime(),
+                        from.minusNanos(1), to == null ? LocalDateTime.MAX : to, 1).stream()
+                .findFirst()
+                .orElse(null);
+    }
+
+    private void reindexForSearch(Event event) {
+        if (event.getSeries() != null)
+            return;
+
+        RecurrenceRule recurrence = event.getRecurrence();
+        EventSearchView view = new EventSearchView(event.getId(), event.getTitle(), event.getDescription(),
+                event.getLocation(), event.getDateTime(), event.isCancelled(),
+                recurrence == null ? null : recurrence.getFrequency(),
+                recurrence == null ? null : recurrence.getInterval(),
+                recurrence == null ? null : recurrence.getUntil(),
+                recurrence == null ? null : recurrence.getCount());
+        TransactionUtils.afterCommit(() -> eventSearchIndex.index(view));
+    }
+
+    private List<EventWithRoleDto> mapWithRoles(List<EventAttendanceView> rows) {
+        preloadParticipants(rows.stream().map(EventAttendanceView::event).toList());
+
+        return rows.stream()
+                .map(row -> new EventWithRoleDto(mapEventToResponseDto(row.event()), row.role()))
+                .collect(Collectors.toList());
+    }
+
+    private void preloadParticipants(List<Event> events) {
+        for (int from = 0; from < events.size(); from += PRELOAD_CHUNK_SIZE) {
+            int to = Math.min(from + PRELOAD_CHUNK_SIZE, events.size());
+            eventRepo.fetchAttendancesWithUsers(events.subList(from, to));
+        }
+    }
+
+    private static boolean isUpcoming(String timeframe) {
+        if (!timeframe.equals("UPCOMING") && !timeframe.equals("PAST"))
+            throw new BadRequestException("Timeframe must be either UPCOMING or PAST.");
+
+        return timeframe.equals("UPCOMING");
+    }
+
+    private EventResponseDto toResponseDto(Event event, EventResponseView view) {
+        return switch (view) {
+            case FULL -> mapEventToResponseDto(event);
+            case SUMMARY -> mapEventToResponseDto(event, attendanceRepo.countParticipants(event.getId()), List.of());
+            case PREVIEW -> {
+                List<EventParticipantView> participants = new ArrayList<>(
+                        attendanceRepo.findParticipantViews(event.getId(), AttendanceRole.ORGANIZER, Limit.of(PARTICIPANT_PREVIEW_SIZE)));
+                participants.addAll(
+                        attendanceRepo.findParticipantViews(event.getId(), AttendanceRole.ATTENDEE, Limit.of(PARTICIPANT_PREVIEW_SIZE)));
+                yield mapEventToResponseDto(event, attendanceRepo.countParticipants(event.getId()), participants);
+            }
+        };
     }
 
     private Event findEventById(Long eventId) {
@@ -238,13 +663,6 @@ public class EventService {
                 .orElseThrow(() -> new EventNotFoundException(eventId));
     }
 
-    public static void checkIsOrganizer(Long actorUserId, Event event) {
-        boolean actorIsOrganizer = event.getAttendances().stream()
-                .filter(att -> att.getRole() == AttendanceRole.ORGANIZER)
-                .anyMatch(att -> att.getUser().getId().equals(actorUserId));
-
-        if (!actorIsOrganizer)
-            throw new ForbiddenOperationException("User (ID=" + actorUserId + ") is not an organizer for this event.");
-    }
+    private record OccurrenceKey(Long seriesId, LocalDateTime start) {}
 
 }
@@ -1,14 +1,17 @@
 package org.guram.eventscheduler.services;
 
+import org.guram.eventscheduler.dtos.eventDtos.ScheduleConflictDto;
+import org.guram.eventscheduler.dtos.invitationDtos.BulkInvitationRequestDto;
+import org.guram.eventscheduler.dtos.invitationDtos.BulkInvitationResponseDto;
+import org.guram.eventscheduler.dtos.invitationDtos.BulkInvitationResultDto;
 import org.guram.eventscheduler.dtos.invitationDtos.InvitationResponseDto;
+import org.guram.eventscheduler.exceptions.BadRequestException;
 import org.guram.eventscheduler.exceptions.ConflictException;
 import org.guram.eventscheduler.exceptions.EventNotFoundException;
 import org.guram.eventscheduler.exceptions.ForbiddenOperationException;
 import org.guram.eventscheduler.exceptions.InvalidStatusTransitionException;
 import org.guram.eventscheduler.exceptions.ResourceNotFoundException;
 import org.guram.eventscheduler.exceptions.UserNotFoundException;
-import org.guram.eventscheduler.models.Attendance;
-import org.guram.eventscheduler.models.AttendanceRole;
 import org.guram.eventscheduler.models.Event;
 import org.guram.eventscheduler.models.Invitation;
 import org.guram.eventscheduler.models.InvitationStatus;
@@ -17,36 +20,57 @@ import org.guram.eventscheduler.models.User;
 import org.guram.eventscheduler.repositories.EventRepository;
 import org.guram.eventscheduler.repositories.InvitationRepository;
 import org.guram.eventscheduler.repositories.UserRepository;
+import org.guram.eventscheduler.repositories.projections.InvitationInviteeView;
 import org.guram.eventscheduler.utils.EntityToDtoMappings;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
-import static org.guram.eventscheduler.services.EventService.checkIsOrganizer;
 import static org.guram.eventscheduler.utils.EntityToDtoMappings.mapInvitationToResponseDto;
 
 @Service
 public class InvitationService {
 
+    private static final int BULK_CHUNK_SIZE = 1000;
+
     private final InvitationRepository invitationRepository;
     private final UserRepository userRepository;
     private final EventRepository eventRepository;
     private final AttendanceService attendanceService;
     private final NotificationService notificationService;
+    private final UserScheduleService userScheduleService;
+    private final TransactionTemplate chunkTransaction;
 
     @Autowired
     public InvitationService(InvitationRepository invitationRepository,
                              UserRepository userRepository,
                              EventRepository eventRepository,
                              AttendanceService attendanceService,
-                             NotificationService notificationService) {
+                             NotificationService notificationService,
+                             UserScheduleService userScheduleService,
+                             PlatformTransactionManager transactionManager) {
         this.invitationRepository = invitationRepository;
         this.userRepository = userRepository;
         this.eventRepository = eventRepository;
         this.attendanceService = attendanceService;
         this.notificationService = notificationService;
+        this.userScheduleService = userScheduleService;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
     }
 
 
@@ -61,7 +85,7 @@ public class InvitationService {
         User invitee = userRepository.findById(inviteeId)
                 .orElseThrow(() -> new UserNotFoundException(inviteeId));
 
-        checkIsOrganizer(invitorId, event);
+        attendanceService.checkIsOrganizer(invitorId, event);
 
         Optional<Invitation> existingInvitation = invitationRepository.findByInviteeAndEvent(invitee, event);
         if (existingInvitation.isPresent()) {
@@ -83,7 +107,64 @@ public class InvitationService {
         String message = notificationService.generateInvitationMessage(savedInvitation.getEvent());
         notificationService.createNotification(savedInvitation.getInvitee(), message, NotificationType.EVENT_INVITATION_RECEIVED);
 
-        return mapInvitationToResponseDto(savedInvitation);
+        List<ScheduleConflictDto> conflicts = userScheduleService.findConflicts(inviteeId, event);
+        return mapInvitationToResponseDto(savedInvitation, conflicts);
+    }
+
+    @Transactional
+    public BulkInvitationResponseDto sendInvitations(Long invitorId, BulkInvitationRequestDto request) {
+        Long eventId = request.eventId();
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new EventNotFoundException(eventId));
+
+        attendanceService.checkIsOrganizer(invitorId, event);
+
+        List<Long> requestedIds = request.inviteeIds() == null ? List.of() : request.inviteeIds().stream().distinct().toList();
+        List<String> requestedEmails = request.inviteeEmails() == null ? List.of() : request.inviteeEmails().stream().distinct().toList();
+        if (requestedIds.isEmpty() && requestedEmails.isEmpty())
+            throw new BadRequestException("At least one invitee ID or email is required.");
+
+        Map<Long, String> emailsById = new LinkedHashMap<>();
+        Map<String, Long> idsByEmail = new HashMap<>();
+        inChunks(requestedIds, userRepository::findEmailViewsByIdIn)
+                .forEach(user -> emailsById.put(user.id(), user.email()));
+        inChunks(requestedEmails, userRepository::findEmailViewsByEmailIn)
+                .forEach(user -> {
+                    emailsById.put(user.id(), user.email());
+                    idsByEmail.put(user.email(), user.id());
+                });
+
+        Set<Long> alreadyInvited = inChunks(List.copyOf(emailsById.keySet()),
+                chunk -> invitationRepository.findInviteeViewsByEventIdAndInviteeIdIn(eventId, chunk)).stream()
+                .map(InvitationInviteeView::inviteeId)
+                .collect(Collectors.toSet());
+
+        List<Long> toInvite = emailsById.keySet().stream()
+                .filter(inviteeId -> !alreadyInvited.contains(inviteeId))
+                .toList();
+
+        LocalDateTime sentAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        Map<Long, Long> invitationIds = inChunks(toInvite, chunk -> insertPending(eventId, invitorId, chunk, sentAt)).stream()
+                .collect(Collectors.toMap(InvitationInviteeView::inviteeId, InvitationInviteeView::invitationId));
+
+        if (!invitationIds.isEmpty()) {
+            String message = notificationService.generateInvitationMessage(event);
+            notificationService.notifyUsers(invitationIds.keySet(), message, NotificationType.EVENT_INVITATION_RECEIVED);
+        }
+
+        List<BulkInvitationResultDto> results = new ArrayList<>(requestedIds.size() + requestedEmails.size());
+        requestedIds.forEach(inviteeId ->
+                results.add(bulkInvitationResult(inviteeId, emailsById.get(inviteeId), invitationIds)));
+        requestedEmails.forEach(email ->
+                results.add(bulkInvitationResult(idsByEmail.get(email), email, invitationIds)));
+
+        Map<BulkInvitationResultDto.Outcome, Long> outcomes = results.stream()
+                .collect(Collectors.groupingBy(BulkInvitationResultDto::outcome, Collectors.counting()));
+        return new BulkInvitationResponseDto(eventId,
+                outcomes.getOrDefault(BulkInvitationResultDto.Outcome.INVITED, 0L).intValue(),
+                outcomes.getOrDefault(BulkInvitationResultDto.Outcome.ALREADY_INVITED, 0L).intValue(),
+                outcomes.getOrDefault(BulkInvitationResultDto.Outcome.USER_NOT_FOUND, 0L).intValue(),
+                results);
     }
 
     @Transactional
@@ -103,29 +184,22 @@ public class InvitationService {
         String message = notificationService.generateInvitationResponseMessage(
                 invitation.getInvitee(), invitation.getEvent(), response);
 
+        List<ScheduleConflictDto> conflicts = List.of();
         if (response == InvitationStatus.ACCEPTED) {
             invitation.setStatus(InvitationStatus.ACCEPTED);
-            attendanceService.registerUser(invitation.getInvitee(), invitation.getEvent());
-            invitation.getEvent().getAttendances().stream()
-                    .filter(attendance -> attendance.getRole() == AttendanceRole.ORGANIZER)
-                    .map(Attendance::getUser)
-                    .forEach(organizer -> notificationService.createNotification(
-                            organizer, message, NotificationType.INVITATION_ACCEPTED));
+            conflicts = attendanceService.registerUser(invitation.getInvitee(), invitation.getEvent());
+            notificationService.notifyEventOrganizers(invitation.getEvent(), message, NotificationType.INVITATION_ACCEPTED);
         }
         else if (response == InvitationStatus.DECLINED) {
             invitation.setStatus(InvitationStatus.DECLINED);
-            invitation.getEvent().getAttendances().stream()
-                    .filter(attendance -> attendance.getRole() == AttendanceRole.ORGANIZER)
-                    .map(Attendance::getUser)
-                    .forEach(organizer -> notificationService.createNotification(
-                            organizer, message, NotificationType.INVITATION_DECLINED));
+            notificationService.notifyEventOrganizers(invitation.getEvent(), message, NotificationType.INVITATION_DECLINED);
         }
         else {
             throw new InvalidStatusTransitionException("Invalid response type. Must be ACCEPTED or DECLINED.");
         }
 
         Invitation updatedInvitation = invitationRepository.save(invitation);
-        return mapInvitationToResponseDto(updatedInvitation);
+        return mapInvitationToResponseDto(updatedInvitation, conflicts);
     }
 
     public List<InvitationResponseDto> listInvitationsReceivedByUserByStatus(User user, InvitationStatus status) {
@@ -135,4 +209,49 @@ public class InvitationService {
                 .collect(Collectors.toList());
     }
 
+    private static BulkInvitationResultDto bulkInvitationResult(Long inviteeId, String email, Map<Long, Long> invitationIds) {
+        if (inviteeId == null || email == null)
+            return new BulkInvitationResultDto(inviteeId, email, BulkInvitationResultDto.Outcome.USER_NOT_FOUND, null);
+
+        Long invitationId = invitationIds.get(inviteeId);
+        return invitationId == null
+                ? new BulkInvitationResultDto(inviteeId, email, BulkInvitationResultDto.Outcome.ALREADY_INVITED, null)
+                : new BulkInvitationResultDto(inviteeId, email, BulkInvitationResultDto.Outcome.INVITED, invitationId);
+    }
+
+    // Each chunk commits on its own, so an invite made concurrently for one of its invitees rolls back only this
+    // chunk. It is then retried one invitee at a time, and whoever still clashes is reported as already invited
+    private List<InvitationInviteeView> insertPending(Long eventId, Long invitorId, List<Long> inviteeIds,
+                                                      LocalDateTime sentAt) {
+        try {
+            return chunkTransaction.execute(status -> insertPendingChunk(eventId, invitorId, inviteeIds, sentAt));
+        } catch (DataIntegrityViolationException e) {
+            List<InvitationInviteeView> inserted = new ArrayList<>();
+            for (Long inviteeId : inviteeIds) {
+                try {
+                    inserted.addAll(chunkTransaction.execute(status ->
+                            insertPendingChunk(eventId, invitorId, List.of(inviteeId), sentAt)));
+                } catch (DataIntegrityViolationException alreadyInvited) {
+                    // Invited by a request that had not committed yet when this one looked
+                }
+            }
+            return inserted;
+        }
+    }
+
+    // Rows are told apart from earlier invitations by invitor and send time
+    private List<InvitationInviteeView> insertPendingChunk(Long eventId, Long invitorId, List<Long> inviteeIds,
+                                                           LocalDateTime sentAt) {
+        if (invitationRepository.insertPendingForUsers(eventId, invitorId, inviteeIds, sentAt) == 0)
+            return List.of();
+        return invitationRepository.findInviteeViewsSentTogether(eventId, invitorId, sentAt, inviteeIds);
+    }
+
+    private static <T, R> List<R> inChunks(List<T> values, Function<List<T>, List<R>> query) {
+        List<R> results = new ArrayList<>();
+        for (int from = 0; from < values.size(); from += BULK_CHUNK_SIZE)
+            results.addAll(query.apply(values.subList(from, Math.min(from + BULK_CHUNK_SIZE, values.size()))));
+        return results;
+    }
+
 }
@@ -0,0 +1,158 @@
+package org.guram.eventscheduler.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.guram.eventscheduler.models.NotificationOutbox;
+import org.guram.eventscheduler.repositories.NotificationOutboxRepository;
+import org.guram.eventscheduler.repositories.NotificationRepository;
+import org.guram.eventscheduler.repositories.projections.DispatchedOutboxView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class NotificationOutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationOutboxDispatcher.class);
+    private static final int RECIPIENT_CHUNK_SIZE = 1000;
+
+    private final NotificationOutboxRepository outboxRepo;
+    private final NotificationRepository notificationRepo;
+    private final NotificationPushService pushService;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor dispatchExecutor;
+    private final Timer dispatchLag;
+    private final Counter dispatchFailures;
+    private final int batchSize;
+    private final int maxAttempts;
+
+    @Autowired
+    public NotificationOutboxDispatcher(NotificationOutboxRepository outboxRepo,
+                                        NotificationRepository notificationRepo,
+                                        NotificationPushService pushService,
+                                        TransactionTemplate transactionTemplate,
+                                        @Qualifier("notificationDispatchExecutor") Executor dispatchExecutor,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${notifications.outbox.batch-size:100}") int batchSize,
+                                        @Value("${notifications.outbox.max-attempts:10}") int maxAttempts) {
+        this.outboxRepo = outboxRepo;
+        this.notificationRepo = notificationRepo;
+        this.pushService = pushService;
+        this.transactionTemplate = transactionTemplate;
+        this.dispatchExecutor = dispatchExecutor;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.dispatchLag = Timer.builder("notifications.outbox.dispatch.lag")
+                .description("Time between an outbox entry being written and its notifications being created")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.dispatchFailures = Counter.builder("notifications.outbox.dispatch.failures")
+                .register(meterRegistry);
+    }
+
+
+    public void requestDispatch() {
+        dispatchExecutor.execute(this::dispatchPending);
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.outbox.poll-interval-ms:1000}")
+    public void pollOutbox() {
+        dispatchPending();
+    }
+
+    public int dispatchPending() {
+        int dispatched = 0;
+        long afterId = 0;
+        List<DispatchedOutboxView> dispatchedEntries = new ArrayList<>();
+
+        while (dispatched < batchSize) {
+            long cursor = afterId;
+            AtomicLong claimedId = new AtomicLong(-1);
+            DispatchedOutboxView dispatchedEntry = null;
+            try {
+                dispatchedEntry = transactionTemplate.execute(status -> {
+                    List<NotificationOutbox> next = outboxRepo.lockNextPending(cursor, maxAttempts, Limit.of(1));
+                    if (next.isEmpty())
+                        return null;
+
+                    NotificationOutbox entry = next.get(0);
+                    claimedId.set(entry.getId());
+                    dispatch(entry);
+                    return new DispatchedOutboxView(entry.getId(), entry.getIdempotencyKey(), entry.getDispatchedAt());
+                });
+                if (dispatchedEntry == null)
+                    break;
+                dispatched++;
+            } catch (RuntimeException e) {
+                if (claimedId.get() < 0)
+                    throw e;
+                dispatchFailures.increment();
+                log.warn("Failed to dispatch notification outbox entry (ID={})", claimedId.get(), e);
+                outboxRepo.recordFailure(claimedId.get(), truncate(e.getMessage()));
+            }
+            afterId = claimedId.get();
+
+            if (dispatchedEntry != null)
+                dispatchedEntries.add(dispatchedEntry);
+        }
+
+        if (!dispatchedEntries.isEmpty())
+            publish(dispatchedEntries);
+        return dispatched;
+    }
+
+    private void dispatch(NotificationOutbox entry) {
+        switch (entry.getAudience()) {
+            case USERS -> {
+                List<Long> recipientIds = entry.getRecipientIdList();
+                for (int from = 0; from < recipientIds.size(); from += RECIPIENT_CHUNK_SIZE) {
+                    List<Long> chunk = recipientIds.subList(from, Math.min(from + RECIPIENT_CHUNK_SIZE, recipientIds.size()));
+                    notificationRepo.insertForUsers(chunk, entry.getMessage(), entry.getType(),
+                            entry.getCreatedAt(), entry.getIdempotencyKey());
+                }
+            }
+            case EVENT_PARTICIPANTS -> {
+                notificationRepo.insertForRegisteredAttendees(entry.getEventId(), entry.getMessage(), entry.getType(),
+                        entry.getCreatedAt(), entry.getIdempotencyKey());
+                notificationRepo.insertForPendingInvitees(entry.getEventId(), entry.getMessage(), entry.getType(),
+                        entry.getCreatedAt(), entry.getIdempotencyKey());
+            }
+            case EVENT_ORGANIZERS -> notificationRepo.insertForOrganizers(entry.getEventId(), entry.getMessage(),
+                    entry.getType(), entry.getCreatedAt(), entry.getIdempotencyKey());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        entry.setDispatchedAt(now);
+        entry.setAttempts(entry.getAttempts() + 1);
+        entry.setLastError(null);
+        dispatchLag.record(Duration.between(entry.getCreatedAt(), now));
+    }
+
+    private void publish(List<DispatchedOutboxView> entries) {
+        try {
+            pushService.publish(entries);
+        } catch (RuntimeException e) {
+            log.warn("Failed to push notifications for {} dispatched outbox entries", entries.size(), e);
+        }
+    }
+
+    private static String truncate(String message) {
+        if (message == null || message.length() <= 1000)
+            return message;
+        return message.substring(0, 1000);
+    }
+
+}
@@ -0,0 +1,294 @@
+package org.guram.eventscheduler.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.guram.eventscheduler.dtos.notificationDtos.NotificationResponseDto;
+import org.guram.eventscheduler.exceptions.ConnectionLimitExceededException;
+import org.guram.eventscheduler.models.Notification;
+import org.guram.eventscheduler.models.User;
+import org.guram.eventscheduler.repositories.NotificationOutboxRepository;
+import org.guram.eventscheduler.repositories.NotificationRepository;
+import org.guram.eventscheduler.repositories.projections.DispatchedOutboxView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.guram.eventscheduler.utils.EntityToDtoMappings.mapNotificationToResponseDto;
+
+@Service
+public class NotificationPushService {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationPushService.class);
+    private static final String EVENT_NAME = "notification";
+    private static final int REPLAY_LIMIT = 500;
+    private static final int RECIPIENT_CHUNK_SIZE = 1000;
+    private static final int RELAY_BATCH_SIZE = 500;
+    private static final int MAX_PENDING_WRITES = 64;
+
+    private final NotificationRepository notificationRepo;
+    private final NotificationOutboxRepository outboxRepo;
+    private final Map<Long, Set<Connection>> subscribers = new ConcurrentHashMap<>();
+    private final Map<Long, LocalDateTime> relayedEntries = new ConcurrentHashMap<>();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private final Counter droppedWrites;
+    private final Executor pushExecutor;
+    private final int maxConnections;
+    private final long emitterTimeoutMs;
+    private final long writeTimeoutNanos;
+    private final Duration relayLookback;
+    private volatile LocalDateTime relayedUpTo = LocalDateTime.now();
+
+    @Autowired
+    public NotificationPushService(NotificationRepository notificationRepo,
+                                   NotificationOutboxRepository outboxRepo,
+                                   @Qualifier("notificationPushExecutor") Executor pushExecutor,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${notifications.sse.max-connections:50000}") int maxConnections,
+                                   @Value("${notifications.sse.timeout-ms:1800000}") long emitterTimeoutMs,
+                                   @Value("${notifications.sse.write-timeout-ms:10000}") long writeTimeoutMs,
+                                   @Value("${notifications.sse.relay-lookback-ms:30000}") long relayLookbackMs) {
+        this.notificationRepo = notificationRepo;
+        this.outboxRepo = outboxRepo;
+        this.pushExecutor = pushExecutor;
+        this.maxConnections = maxConnections;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.writeTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(writeTimeoutMs);
+        this.relayLookback = Duration.ofMillis(relayLookbackMs);
+        Gauge.builder("notifications.sse.connections", connectionCount, AtomicInteger::get)
+                .register(meterRegistry);
+        this.droppedWrites = Counter.builder("notifications.sse.writes.dropped")
+                .description("Stream writes discarded because their stream stalled or fell too far behind")
+                .register(meterRegistry);
+    }
+
+
+    public SseEmitter subscribe(User user, Long lastEventId) {
+        if (connectionCount.incrementAndGet() > maxConnections) {
+            connectionCount.decrementAndGet();
+            throw new ConnectionLimitExceededException("Notification stream connection limit reached on this node. Retry later.");
+        }
+
+        Long userId = user.getId();
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Connection connection = new Connection(userId, emitter);
+        subscribers.compute(userId, (id, connections) -> {
+            Set<Connection> userConnections = connections == null ? ConcurrentHashMap.newKeySet() : connections;
+            userConnections.add(connection);
+            return userConnections;
+        });
+
+        emitter.onCompletion(() -> unsubscribe(connection));
+        emitter.onTimeout(() -> unsubscribe(connection));
+        emitter.onError(e -> unsubscribe(connection));
+
+        if (lastEventId != null) {
+            notificationRepo.findWithRecipientAfterId(user, lastEventId, Limit.of(REPLAY_LIMIT))
+                    .forEach(notification -> send(connection, notificationEvent(mapNotificationToResponseDto(notification))));
+        }
+
+        return emitter;
+    }
+
+    // The dispatching node pushes right after its commit; the relay pass below skips entries already pushed here.
+    // Notifications for all given entries are looked up together, one query per chunk of connected recipients
+    public void publish(List<DispatchedOutboxView> entries) {
+        List<String> idempotencyKeys = entries.stream()
+                .filter(entry -> relayedEntries.putIfAbsent(entry.id(), entry.dispatchedAt()) == null)
+                .map(DispatchedOutboxView::idempotencyKey)
+                .toList();
+        if (idempotencyKeys.isEmpty())
+            return;
+
+        List<Long> connectedIds = List.copyOf(subscribers.keySet());
+        for (int from = 0; from < connectedIds.size(); from += RECIPIENT_CHUNK_SIZE) {
+            List<Long> chunk = connectedIds.subList(from, Math.min(from + RECIPIENT_CHUNK_SIZE, connectedIds.size()));
+            for (Notification notification : notificationRepo.findWithRecipientByIdempotencyKeyInAndRecipientIdIn(idempotencyKeys, chunk)) {
+                Set<Connection> connections = subscribers.get(notification.getRecipient().getId());
+                if (connections == null)
+                    continue;
+
+                NotificationResponseDto notificationDto = mapNotificationToResponseDto(notification);
+                connections.forEach(connection -> enqueue(connection, notificationEvent(notificationDto)));
+            }
+        }
+    }
+
+    // Any node may drain an outbox entry, so every node tails the dispatched entries for its own subscribers.
+    // The lookback re-reads recent entries to cover clock skew between nodes and commits that land late
+    @Scheduled(fixedDelayString = "${notifications.sse.relay-interval-ms:1000}")
+    public void relayDispatched() {
+        LocalDateTime since = relayedUpTo.minus(relayLookback);
+        relayedUpTo = LocalDateTime.now();
+        relayedEntries.values().removeIf(dispatchedAt -> !dispatchedAt.isAfter(since));
+        if (subscribers.isEmpty())
+            return;
+
+        List<DispatchedOutboxView> batch = outboxRepo.findDispatchedSince(since, null, null, Limit.of(RELAY_BATCH_SIZE));
+        while (!batch.isEmpty()) {
+            publish(batch);
+            if (batch.size() < RELAY_BATCH_SIZE)
+                break;
+
+            DispatchedOutboxView last = batch.get(batch.size() - 1);
+            batch = outboxRepo.findDispatchedSince(since, last.dispatchedAt(), last.id(), Limit.of(RELAY_BATCH_SIZE));
+        }
+    }
+
+    // A stream with writes still queued is kept alive by them, so heartbeats never pile up behind a slow client
+    @Scheduled(fixedRateString = "${notifications.sse.heartbeat-ms:25000}")
+    public void sendHeartbeats() {
+        subscribers.values().forEach(connections -> connections.forEach(connection -> {
+            if (connection.pendingCount.get() == 0)
+                enqueue(connection, SseEmitter.event().comment("heartbeat"));
+        }));
+    }
+
+    // A blocked write cannot be interrupted and keeps its push thread until the socket times out, but the stream
+    // is dropped so nothing else is queued behind it
+    @Scheduled(fixedDelayString = "${notifications.sse.write-check-ms:1000}")
+    public void dropStalledStreams() {
+        long now = System.nanoTime();
+        subscribers.values().forEach(connections -> connections.forEach(connection -> {
+            long writeStartedAt = connection.writeStartedAt;
+            if (writeStartedAt != 0 && now - writeStartedAt > writeTimeoutNanos)
+                drop(connection, "its write stalled");
+        }));
+    }
+
+    public int getConnectionCount() {
+        return connectionCount.get();
+    }
+
+    @PreDestroy
+    public void completeAll() {
+        subscribers.values().forEach(connections -> connections.forEach(connection -> connection.emitter.complete()));
+        subscribers.clear();
+        connectionCount.set(0);
+    }
+
+    private static SseEmitter.SseEventBuilder notificationEvent(NotificationResponseDto notificationDto) {
+        return SseEmitter.event()
+                .id(String.valueOf(notificationDto.id()))
+                .name(EVENT_NAME)
+                .data(notificationDto, MediaType.APPLICATION_JSON);
+    }
+
+    // Each stream drains its own queue on at most one push thread, so a client that stops reading holds up only
+    // its own writes and the push queue never holds more than one task per stream
+    private void enqueue(Connection connection, SseEmitter.SseEventBuilder event) {
+        if (connection.closed.get())
+            return;
+        if (connection.pendingCount.incrementAndGet() > MAX_PENDING_WRITES) {
+            connection.pendingCount.decrementAndGet();
+            droppedWrites.increment();
+            drop(connection, "it fell " + MAX_PENDING_WRITES + " writes behind");
+            return;
+        }
+
+        connection.pending.add(event);
+        scheduleDrain(connection);
+    }
+
+    private void scheduleDrain(Connection connection) {
+        if (!connection.draining.compareAndSet(false, true))
+            return;
+        try {
+            pushExecutor.execute(() -> drain(connection));
+        } catch (RejectedExecutionException e) {
+            connection.draining.set(false);
+            if (!connection.closed.get())
+                drop(connection, "the push queue is full");
+        }
+    }
+
+    private void drain(Connection connection) {
+        SseEmitter.SseEventBuilder event;
+        while (!connection.closed.get() && (event = connection.pending.poll()) != null) {
+            connection.pendingCount.decrementAndGet();
+            connection.writeStartedAt = System.nanoTime();
+            send(connection, event);
+            connection.writeStartedAt = 0;
+        }
+
+        if (connection.closed.get()) {
+            if (connection.completed.compareAndSet(false, true))
+                connection.emitter.complete();
+            return;
+        }
+        connection.draining.set(false);
+        if (!connection.pending.isEmpty())
+            scheduleDrain(connection);
+    }
+
+    private void send(Connection connection, SseEmitter.SseEventBuilder event) {
+        try {
+            connection.emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping notification stream for user (ID={})", connection.userId, e);
+            connection.completed.set(true);
+            connection.closed.set(true);
+            unsubscribe(connection);
+        }
+    }
+
+    private void drop(Connection connection, String reason) {
+        if (!connection.closed.compareAndSet(false, true))
+            return;
+
+        int discarded = connection.pendingCount.getAndSet(0);
+        connection.pending.clear();
+        droppedWrites.increment(discarded);
+        log.warn("Dropping notification stream for user (ID={}) because {}; discarded {} queued writes",
+                connection.userId, reason, discarded);
+        unsubscribe(connection);
+        scheduleDrain(connection);
+    }
+
+    private void unsubscribe(Connection connection) {
+        subscribers.computeIfPresent(connection.userId, (id, connections) -> {
+            if (connections.remove(connection))
+                connectionCount.decrementAndGet();
+            return connections.isEmpty() ? null : connections;
+        });
+    }
+
+    private static final class Connection {
+
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final Queue<SseEmitter.SseEventBuilder> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final AtomicBoolean completed = new AtomicBoolean();
+        private volatile long writeStartedAt;
+
+        private Connection(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+    }
+
+}
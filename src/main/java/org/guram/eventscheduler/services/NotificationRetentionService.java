@@ -0,0 +1,190 @@
+package org.guram.eventscheduler.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.guram.eventscheduler.repositories.NotificationOutboxRepository;
+import org.guram.eventscheduler.repositories.NotificationRepository;
+import org.guram.eventscheduler.repositories.projections.NotificationArchiveView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+
+@Service
+public class NotificationRetentionService {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationRetentionService.class);
+    private static final DateTimeFormatter ARCHIVE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmssSSS");
+
+    private final NotificationRepository notificationRepo;
+    private final NotificationOutboxRepository outboxRepo;
+    private final ObjectMapper objectMapper;
+    private final Duration readTtl;
+    private final Duration outboxTtl;
+    private final Duration deadLetterTtl;
+    private final int maxAttempts;
+    private final int batchSize;
+    private final String archiveDir;
+    private final Counter deletedCounter;
+    private final Counter outboxDeletedCounter;
+    private final Counter archivedCounter;
+    private final Timer batchTimer;
+    private final AtomicLong deletedInRun = new AtomicLong();
+
+    @Autowired
+    public NotificationRetentionService(NotificationRepository notificationRepo,
+                                        NotificationOutboxRepository outboxRepo,
+                                        ObjectMapper objectMapper,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${notifications.retention.read-ttl-days:30}") long readTtlDays,
+                                        @Value("${notifications.retention.outbox-ttl-days:7}") long outboxTtlDays,
+                                        @Value("${notifications.retention.dead-letter-ttl-days:30}") long deadLetterTtlDays,
+                                        @Value("${notifications.outbox.max-attempts:10}") int maxAttempts,
+                                        @Value("${notifications.retention.batch-size:1000}") int batchSize,
+                                        @Value("${notifications.retention.archive-dir:}") String archiveDir) {
+        this.notificationRepo = notificationRepo;
+        this.outboxRepo = outboxRepo;
+        this.objectMapper = objectMapper;
+        this.readTtl = Duration.ofDays(readTtlDays);
+        this.outboxTtl = Duration.ofDays(outboxTtlDays);
+        this.deadLetterTtl = Duration.ofDays(deadLetterTtlDays);
+        this.maxAttempts = maxAttempts;
+        this.batchSize = batchSize;
+        this.archiveDir = archiveDir;
+        this.deletedCounter = Counter.builder("notifications.retention.deleted")
+                .description("Read notifications deleted by the retention job")
+                .register(meterRegistry);
+        this.outboxDeletedCounter = Counter.builder("notifications.retention.outbox.deleted")
+                .description("Dispatched and dead-lettered outbox entries deleted by the retention job")
+                .register(meterRegistry);
+        this.archivedCounter = Counter.builder("notifications.retention.archived")
+                .description("Read notifications written to the archive before deletion")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("notifications.retention.batch")
+                .description("Time to archive and delete one batch of read notifications")
+                .register(meterRegistry);
+        Gauge.builder("notifications.retention.run.deleted", deletedInRun, AtomicLong::get)
+                .description("Read notifications deleted so far by the current or last retention run")
+                .register(meterRegistry);
+    }
+
+
+    @Scheduled(cron = "${notifications.retention.cron:0 30 5 * * *}")
+    public long purgeReadNotifications() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(readTtl);
+        deletedInRun.set(0);
+
+        List<NotificationArchiveView> batch = notificationRepo.findReadCreatedBefore(cutoff, null, null, Limit.of(batchSize));
+        if (batch.isEmpty())
+            return 0;
+
+        try (Archive archive = openArchive()) {
+            while (!batch.isEmpty()) {
+                long startedAt = System.nanoTime();
+                if (archive != null) {
+                    for (NotificationArchiveView notification : batch)
+                        archive.writer().write(objectMapper.writeValueAsString(notification) + "\n");
+                    archive.sync();
+                    archivedCounter.increment(batch.size());
+                }
+
+                // Each batch is its own short transaction, so row locks are held only briefly
+                int deleted = notificationRepo.deleteByIdIn(batch.stream().map(NotificationArchiveView::id).toList());
+                deletedCounter.increment(deleted);
+                deletedInRun.addAndGet(deleted);
+                batchTimer.record(Duration.ofNanos(System.nanoTime() - startedAt));
+
+                if (batch.size() < batchSize)
+                    break;
+                NotificationArchiveView last = batch.get(batch.size() - 1);
+                batch = notificationRepo.findReadCreatedBefore(cutoff, last.createdAt(), last.id(), Limit.of(batchSize));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to archive read notifications", e);
+        }
+
+        log.info("Deleted {} read notifications created before {}", deletedInRun.get(), cutoff);
+        return deletedInRun.get();
+    }
+
+    // Dispatched entries are only re-read by the push relay's short lookback; dead-lettered ones are kept longer for inspection
+    @Scheduled(cron = "${notifications.retention.outbox-cron:0 45 5 * * *}")
+    public long purgeOutbox() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime dispatchedCutoff = now.minus(outboxTtl);
+        LocalDateTime deadLetterCutoff = now.minus(deadLetterTtl);
+
+        long deleted = deleteOutboxInBatches(limit -> outboxRepo.findIdsDispatchedBefore(dispatchedCutoff, limit))
+                + deleteOutboxInBatches(limit -> outboxRepo.findDeadLetteredIdsCreatedBefore(maxAttempts, deadLetterCutoff, limit));
+
+        log.info("Deleted {} notification outbox entries", deleted);
+        return deleted;
+    }
+
+    private long deleteOutboxInBatches(Function<Limit, List<Long>> nextBatch) {
+        long deleted = 0;
+        while (true) {
+            List<Long> ids = nextBatch.apply(Limit.of(batchSize));
+            if (ids.isEmpty())
+                break;
+
+            int batchDeleted = outboxRepo.deleteByIdIn(ids);
+            outboxDeletedCounter.increment(batchDeleted);
+            deleted += batchDeleted;
+            if (ids.size() < batchSize)
+                break;
+        }
+        return deleted;
+    }
+
+    private Archive openArchive() throws IOException {
+        if (archiveDir == null || archiveDir.isBlank())
+            return null;
+
+        Path directory = Files.createDirectories(Path.of(archiveDir));
+        Path file = directory.resolve("notifications-" + LocalDateTime.now().format(ARCHIVE_TIMESTAMP) + ".ndjson.gz");
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        GZIPOutputStream gzip = new GZIPOutputStream(Channels.newOutputStream(channel), true);
+        return new Archive(new BufferedWriter(new OutputStreamWriter(gzip, StandardCharsets.UTF_8)), channel);
+    }
+
+    private record Archive(Writer writer, FileChannel channel) implements Closeable {
+
+        // A sync flush only hands the batch to the OS; forcing the channel puts it on disk before its rows are deleted
+        void sync() throws IOException {
+            writer.flush();
+            channel.force(false);
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+
+}
@@ -1,38 +1,92 @@
 package org.guram.eventscheduler.services;
 
+import jakarta.persistence.EntityManager;
+import org.guram.eventscheduler.dtos.notificationDtos.NotificationPageDto;
 import org.guram.eventscheduler.dtos.notificationDtos.NotificationResponseDto;
+import org.guram.eventscheduler.dtos.notificationDtos.UnreadCountDto;
+import org.guram.eventscheduler.exceptions.BadRequestException;
 import org.guram.eventscheduler.exceptions.ForbiddenOperationException;
 import org.guram.eventscheduler.exceptions.ResourceNotFoundException;
 import org.guram.eventscheduler.models.Event;
 import org.guram.eventscheduler.models.InvitationStatus;
 import org.guram.eventscheduler.models.Notification;
+import org.guram.eventscheduler.models.NotificationAudience;
+import org.guram.eventscheduler.models.NotificationOutbox;
 import org.guram.eventscheduler.models.NotificationType;
 import org.guram.eventscheduler.models.User;
+import org.guram.eventscheduler.repositories.NotificationOutboxRepository;
 import org.guram.eventscheduler.repositories.NotificationRepository;
 import org.guram.eventscheduler.utils.EntityToDtoMappings;
+import org.guram.eventscheduler.utils.KeysetCursor;
+import org.guram.eventscheduler.utils.PersistenceContextUtils;
+import org.guram.eventscheduler.utils.TransactionUtils;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.UUID;
 
 @Service
 public class NotificationService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final String UNREAD_SEGMENT = "u";
+    private static final String READ_SEGMENT = "r";
+    private static final String SEGMENT_SEPARATOR = ".";
+
     private final NotificationRepository notificationRepo;
+    private final NotificationOutboxRepository outboxRepo;
+    private final NotificationOutboxDispatcher outboxDispatcher;
+    private final EntityManager entityManager;
 
     @Autowired
-    public NotificationService(NotificationRepository notificationRepo) {
+    public NotificationService(NotificationRepository notificationRepo,
+                               NotificationOutboxRepository outboxRepo,
+                               NotificationOutboxDispatcher outboxDispatcher,
+                               EntityManager entityManager) {
         this.notificationRepo = notificationRepo;
+        this.outboxRepo = outboxRepo;
+        this.outboxDispatcher = outboxDispatcher;
+        this.entityManager = entityManager;
     }
 
 
     @Transactional
     public void createNotification(User recipient, String message, NotificationType type) {
-        Notification notification = new Notification();
-        notification.setRecipient(recipient);
-        notification.setMessage(message);
-        notification.setType(type);
-        notificationRepo.save(notification);
+        enqueue(NotificationAudience.USERS, null, List.of(recipient.getId()), message, type);
+    }
+
+    @Transactional
+    public void notifyUsers(Collection<Long> recipientIds, String message, NotificationType type) {
+        enqueue(NotificationAudience.USERS, null, recipientIds, message, type);
+    }
+
+    @Transactional
+    public void notifyEventParticipants(Event event, String message, NotificationType type) {
+        enqueue(NotificationAudience.EVENT_PARTICIPANTS, event.getId(), List.of(), message, type);
+    }
+
+    @Transactional
+    public void notifyEventOrganizers(Event event, String message, NotificationType type) {
+        enqueue(NotificationAudience.EVENT_ORGANIZERS, event.getId(), List.of(), message, type);
+    }
+
+    private void enqueue(NotificationAudience audience, Long eventId, Collection<Long> recipientIds,
+                         String message, NotificationType type) {
+        NotificationOutbox entry = new NotificationOutbox();
+        entry.setIdempotencyKey(UUID.randomUUID().toString());
+        entry.setAudience(audience);
+        entry.setEventId(eventId);
+        entry.setRecipientIdList(recipientIds);
+        entry.setMessage(message);
+        entry.setType(type);
+        outboxRepo.save(entry);
+
+        TransactionUtils.afterCommit(outboxDispatcher::requestDispatch);
     }
 
     public List<NotificationResponseDto> getNotificationsForUser(User user) {
@@ -41,6 +95,70 @@ public class NotificationService {
                 .toList();
     }
 
+    @Transactional(readOnly = true)
+    public NotificationPageDto getNotificationFeed(User user, boolean unreadOnly, String cursor, int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        boolean readSegment = false;
+        KeysetCursor before = null;
+
+        if (cursor != null && !cursor.isBlank()) {
+            int separatorIndex = cursor.indexOf(SEGMENT_SEPARATOR);
+            String segment = separatorIndex < 0 ? "" : cursor.substring(0, separatorIndex);
+            if (!segment.equals(UNREAD_SEGMENT) && !(segment.equals(READ_SEGMENT) && !unreadOnly))
+                throw new BadRequestException("Invalid cursor: " + cursor);
+
+            readSegment = segment.equals(READ_SEGMENT);
+            before = KeysetCursor.decode(cursor.substring(separatorIndex + 1));
+        }
+
+        List<Notification> page = new ArrayList<>(pageSize);
+        if (!readSegment) {
+            List<Notification> unread = findFeedSegment(user, false, before, pageSize + 1);
+            if (unread.size() > pageSize) {
+                List<Notification> unreadPage = unread.subList(0, pageSize);
+                return toPage(unreadPage, segmentCursor(UNREAD_SEGMENT, unreadPage.get(pageSize - 1)));
+            }
+            page.addAll(unread);
+            if (unreadOnly)
+                return toPage(page, null);
+            before = null;
+        }
+
+        int remaining = pageSize - page.size();
+        List<Notification> read = findFeedSegment(user, true, before, remaining + 1);
+        if (read.size() <= remaining) {
+            page.addAll(read);
+            return toPage(page, null);
+        }
+
+        page.addAll(read.subList(0, remaining));
+        String nextCursor = remaining == 0
+                ? READ_SEGMENT + SEGMENT_SEPARATOR
+                : segmentCursor(READ_SEGMENT, page.get(pageSize - 1));
+        return toPage(page, nextCursor);
+    }
+
+    public UnreadCountDto getUnreadCount(User user) {
+        return new UnreadCountDto(notificationRepo.countByRecipientAndReadFalse(user));
+    }
+
+    private List<Notification> findFeedSegment(User user, boolean read, KeysetCursor before, int limit) {
+        return notificationRepo.findFeedPage(user, read,
+                before == null ? null : before.timestamp(),
+                before == null ? null : before.id(),
+                Limit.of(limit));
+    }
+
+    private static String segmentCursor(String segment, Notification last) {
+        return segment + SEGMENT_SEPARATOR + new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+    }
+
+    private static NotificationPageDto toPage(List<Notification> notifications, String nextCursor) {
+        return new NotificationPageDto(
+                notifications.stream().map(EntityToDtoMappings::mapNotificationToResponseDto).toList(),
+                nextCursor);
+    }
+
     public void markNotificationAsRead(Long notificationId, User user) {
         Notification notification = notificationRepo.getNotificationById(notificationId)
                 .orElseThrow(() -> new ResourceNotFoundException("Notification", notificationId));
@@ -55,8 +173,13 @@ public class NotificationService {
         notificationRepo.save(notification);
     }
 
-    public void markAllNotificationAsRead(User user) {
-        notificationRepo.markAllAsReadForUser(user);
+    @Transactional
+    public int markAllNotificationAsRead(User user) {
+        int updated = notificationRepo.markAllAsReadForUser(user);
+        if (updated > 0 && Hibernate.isInitialized(user))
+            PersistenceContextUtils.refreshLoaded(entityManager, user.getNotifications(),
+                    notification -> !notification.isRead());
+        return updated;
     }
 
     public String generateInvitationMessage(Event event) {
@@ -92,5 +215,11 @@ public class NotificationService {
                 organizer.getLastName(),
                 event.getTitle());
     }
+    public String generatePromotedFromWaitlistMessage(Event event) {
+        return String.format("A seat opened up for you at '%s'", event.getTitle());
+    }
+    public String generateCheckedInMessage(Event event) {
+        return String.format("You have been checked in to '%s'", event.getTitle());
+    }
 
 }
@@ -0,0 +1,251 @@
+package org.guram.eventscheduler.services;
+
+import org.guram.eventscheduler.dtos.eventDtos.ScheduleConflictDto;
+import org.guram.eventscheduler.dtos.userDtos.BusyIntervalDto;
+import org.guram.eventscheduler.exceptions.BadRequestException;
+import org.guram.eventscheduler.exceptions.ForbiddenOperationException;
+import org.guram.eventscheduler.models.Event;
+import org.guram.eventscheduler.models.User;
+import org.guram.eventscheduler.models.UserScheduleEntry;
+import org.guram.eventscheduler.repositories.AttendanceRepository;
+import org.guram.eventscheduler.repositories.EventRepository;
+import org.guram.eventscheduler.repositories.UserRepository;
+import org.guram.eventscheduler.repositories.UserScheduleRepository;
+import org.guram.eventscheduler.repositories.UserTimelineFilter;
+import org.guram.eventscheduler.repositories.UserTimelineRepository;
+import org.guram.eventscheduler.repositories.projections.EventAttendanceView;
+import org.guram.eventscheduler.repositories.projections.ScheduleEntryView;
+import org.guram.eventscheduler.utils.RecurrenceExpander;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class UserScheduleService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserScheduleService.class);
+
+    public static final Duration DEFAULT_EVENT_DURATION = Duration.ofHours(1);
+    public static final Duration MAX_EVENT_DURATION = Duration.ofDays(7);
+    private static final Duration MAX_FREE_BUSY_RANGE = Duration.ofDays(366);
+    private static final int MAX_OCCURRENCES_PER_SERIES = 500;
+    private static final int RECONCILE_CHUNK_SIZE = 500;
+
+    private final UserScheduleRepository scheduleRepo;
+    private final UserTimelineRepository userTimelineRepo;
+    private final EventRepository eventRepo;
+    private final AttendanceRepository attendanceRepo;
+    private final UserRepository userRepo;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public UserScheduleService(UserScheduleRepository scheduleRepo,
+                               UserTimelineRepository userTimelineRepo,
+                               EventRepository eventRepo,
+                               AttendanceRepository attendanceRepo,
+                               UserRepository userRepo,
+                               TransactionTemplate transactionTemplate) {
+        this.scheduleRepo = scheduleRepo;
+        this.userTimelineRepo = userTimelineRepo;
+        this.eventRepo = eventRepo;
+        this.attendanceRepo = attendanceRepo;
+        this.userRepo = userRepo;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+
+    @Transactional
+    public void add(Long userId, Event event) {
+        addAll(List.of(userId), event);
+    }
+
+    @Transactional
+    public void addAll(Collection<Long> userIds, Event event) {
+        if (event.isCancelled() || userIds.isEmpty())
+            return;
+
+        LocalDateTime end = endOf(event);
+        scheduleRepo.saveAll(userIds.stream()
+                .map(userId -> new UserScheduleEntry(userId, event.getId(), event.getDateTime(), end))
+                .toList());
+    }
+
+    @Transactional
+    public void remove(Long userId, Event event) {
+        scheduleRepo.deleteByUserIdAndEventId(userId, event.getId());
+    }
+
+    @Transactional
+    public void delete(Long userId) {
+        scheduleRepo.deleteByUserIdIn(List.of(userId));
+    }
+
+    @Transactional
+    public void reschedule(Event event) {
+        if (event.isCancelled())
+            scheduleRepo.deleteByEventId(event.getId());
+        else
+            scheduleRepo.rescheduleByEventId(event.getId(), event.getDateTime(), endOf(event));
+    }
+
+    @Transactional
+    public void removeEvent(Event event) {
+        scheduleRepo.deleteByEventId(event.getId());
+    }
+
+    public List<ScheduleConflictDto> findConflicts(Long userId, Event event) {
+        return findConflicts(userId, event.getDateTime(), endOf(event), event.getId());
+    }
+
+    public List<ScheduleConflictDto> findConflicts(Long userId, LocalDateTime start, LocalDateTime end, Long excludeEventId) {
+        return findOverlapping(userId, start, end, excludeEventId).stream()
+                .map(entry -> new ScheduleConflictDto(entry.eventId(), entry.title(), entry.startsAt(), entry.endsAt()))
+                .toList();
+    }
+
+    public List<BusyIntervalDto> getBusyIntervals(User viewer, Long userId, LocalDateTime from, LocalDateTime to) {
+        if (!viewer.getId().equals(userId) && !attendanceRepo.existsSharedEvent(viewer.getId(), userId))
+            throw new ForbiddenOperationException("User (ID=" + viewer.getId() + ") is not authorized to view the schedule of user (ID=" + userId + ").");
+        if (!from.isBefore(to))
+            throw new BadRequestException("The 'from' date must be before the 'to' date.");
+        if (Duration.between(from, to).compareTo(MAX_FREE_BUSY_RANGE) > 0)
+            throw new BadRequestException("Free/busy range cannot exceed " + MAX_FREE_BUSY_RANGE.toDays() + " days.");
+
+        List<ScheduleEntryView> entries = findOverlapping(userId, from, to, null);
+
+        List<BusyIntervalDto> busy = new ArrayList<>();
+        LocalDateTime currentStart = null;
+        LocalDateTime currentEnd = null;
+        for (ScheduleEntryView entry : entries) {
+            if (currentEnd != null && !entry.startsAt().isAfter(currentEnd)) {
+                if (entry.endsAt().isAfter(currentEnd))
+                    currentEnd = entry.endsAt();
+                continue;
+            }
+            if (currentEnd != null)
+                busy.add(clip(currentStart, currentEnd, from, to));
+            currentStart = entry.startsAt();
+            currentEnd = entry.endsAt();
+        }
+        if (currentEnd != null)
+            busy.add(clip(currentStart, currentEnd, from, to));
+        return busy;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (scheduleRepo.count() == 0 && attendanceRepo.count() > 0)
+            reconcileAll();
+    }
+
+    @Scheduled(cron = "${users.schedule.reconcile-cron:0 15 4 * * *}")
+    public void reconcileAll() {
+        long afterId = 0;
+        int reconciled = 0;
+
+        while (true) {
+            List<Long> userIds = userRepo.findIdsAfter(afterId, Limit.of(RECONCILE_CHUNK_SIZE));
+            if (userIds.isEmpty())
+                break;
+
+            transactionTemplate.executeWithoutResult(status -> {
+                scheduleRepo.deleteByUserIdIn(userIds);
+                scheduleRepo.insertFromAttendances(userIds);
+            });
+            reconciled += userIds.size();
+            afterId = userIds.get(userIds.size() - 1);
+        }
+
+        log.info("Reconciled schedules for {} users", reconciled);
+    }
+
+    public static LocalDateTime resolveEndDateTime(LocalDateTime start, LocalDateTime end) {
+        if (end == null)
+            return start.plus(DEFAULT_EVENT_DURATION);
+        if (!end.isAfter(start))
+            throw new BadRequestException("Event end date must be after its start date.");
+        if (Duration.between(start, end).compareTo(MAX_EVENT_DURATION) > 0)
+            throw new BadRequestException("Event cannot last longer than " + MAX_EVENT_DURATION.toDays() + " days.");
+        return end;
+    }
+
+    // Only the first occurrence of a series is indexed, later ones are expanded from its recurrence rule.
+    // A materialized occurrence is indexed on its own for the users on its roster; anyone who joined the
+    // series after it was materialized still attends it through the series
+    private List<ScheduleEntryView> findOverlapping(Long userId, LocalDateTime start, LocalDateTime end, Long excludeEventId) {
+        LocalDateTime earliestStart = start.minus(MAX_EVENT_DURATION);
+        List<ScheduleEntryView> entries = new ArrayList<>(
+                scheduleRepo.findOverlapping(userId, earliestStart, start, end, excludeEventId));
+
+        List<Event> series = userTimelineRepo.findTimeline(
+                        UserTimelineFilter.seriesOverlapping(userId, earliestStart, end), Limit.unlimited()).stream()
+                .map(EventAttendanceView::event)
+                .filter(master -> !master.getId().equals(excludeEventId))
+                .toList();
+        if (series.isEmpty())
+            return entries;
+
+        Map<OccurrenceKey, Event> materialized = eventRepo.findBySeriesInAndOccurrenceStartBetween(series, earliestStart, end).stream()
+                .collect(Collectors.toMap(
+                        occurrence -> new OccurrenceKey(occurrence.getSeries().getId(), occurrence.getOccurrenceStart()),
+                        Function.identity()));
+        Set<Long> rostered = materialized.isEmpty() ? Set.of()
+                : Set.copyOf(attendanceRepo.findEventIdsByUserIdAndEventIdIn(userId,
+                        materialized.values().stream().map(Event::getId).toList()));
+
+        for (Event master : series) {
+            Duration duration = Duration.between(master.getDateTime(), endOf(master));
+            for (LocalDateTime occurrenceStart : RecurrenceExpander.occurrencesBetween(master.getRecurrence(),
+                    master.getDateTime(), earliestStart, end, MAX_OCCURRENCES_PER_SERIES)) {
+                if (occurrenceStart.equals(master.getDateTime()))
+                    continue;
+
+                Event occurrence = materialized.get(new OccurrenceKey(master.getId(), occurrenceStart));
+                ScheduleEntryView entry;
+                if (occurrence == null)
+                    entry = new ScheduleEntryView(master.getId(), master.getTitle(),
+                            occurrenceStart, occurrenceStart.plus(duration));
+                else if (occurrence.isCancelled() || rostered.contains(occurrence.getId())
+                        || occurrence.getId().equals(excludeEventId))
+                    continue;
+                else
+                    entry = new ScheduleEntryView(occurrence.getId(), occurrence.getTitle(),
+                            occurrence.getDateTime(), endOf(occurrence));
+
+                if (entry.startsAt().isBefore(end) && entry.endsAt().isAfter(start))
+                    entries.add(entry);
+            }
+        }
+
+        entries.sort(Comparator.comparing(ScheduleEntryView::startsAt));
+        return entries;
+    }
+
+    private static BusyIntervalDto clip(LocalDateTime start, LocalDateTime end, LocalDateTime from, LocalDateTime to) {
+        return new BusyIntervalDto(start.isBefore(from) ? from : start, end.isAfter(to) ? to : end);
+    }
+
+    private static LocalDateTime endOf(Event event) {
+        return event.getEndDateTime() != null ? event.getEndDateTime() : event.getDateTime().plus(DEFAULT_EVENT_DURATION);
+    }
+
+    private record OccurrenceKey(Long seriesId, LocalDateTime occurrenceStart) {}
+
+}
@@ -6,32 +6,59 @@ import org.guram.eventscheduler.dtos.userDtos.ProfilePictureUploadDto;
 import org.guram.eventscheduler.dtos.userDtos.UserCreateDto;
 import org.guram.eventscheduler.dtos.userDtos.UserProfileEditDto;
 import org.guram.eventscheduler.dtos.userDtos.UserResponseDto;
+import org.guram.eventscheduler.dtos.userDtos.UserSearchPageDto;
+import org.guram.eventscheduler.dtos.userDtos.UserSearchResultDto;
+import org.guram.eventscheduler.exceptions.BadRequestException;
 import org.guram.eventscheduler.exceptions.ConflictException;
 import org.guram.eventscheduler.exceptions.UserNotFoundException;
 import org.guram.eventscheduler.models.User;
+import org.guram.eventscheduler.models.UserStats;
 import org.guram.eventscheduler.repositories.UserRepository;
-import org.guram.eventscheduler.utils.EntityToDtoMappings;
+import org.guram.eventscheduler.repositories.projections.UserIdentity;
+import org.guram.eventscheduler.repositories.projections.UserSearchView;
+import org.guram.eventscheduler.search.SearchResults;
+import org.guram.eventscheduler.search.UserSearchIndex;
+import org.guram.eventscheduler.security.UserIdentityCache;
+import org.guram.eventscheduler.utils.TransactionUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import static org.guram.eventscheduler.utils.EntityToDtoMappings.mapUserToResponseDto;
 
 @Service
 public class UserService {
 
+    private static final int MAX_SEARCH_PAGE_SIZE = 50;
+    private static final int MAX_SEARCH_OFFSET = 1000;
+    private static final int MAX_SEARCH_QUERY_LENGTH = 100;
+
     private final UserRepository userRepo;
     private final PasswordEncoder passwordEncoder;
     private final CloudinaryService cloudinaryService;
+    private final UserIdentityCache userIdentityCache;
+    private final UserStatsService userStatsService;
+    private final UserSearchIndex userSearchIndex;
+    private final UserTimelineService userTimelineService;
+    private final UserScheduleService userScheduleService;
 
     @Autowired
-    public UserService(UserRepository userRepo, PasswordEncoder passwordEncoder, CloudinaryService cloudinaryService) {
+    public UserService(UserRepository userRepo, PasswordEncoder passwordEncoder,
+                       CloudinaryService cloudinaryService, UserIdentityCache userIdentityCache,
+                       UserStatsService userStatsService, UserSearchIndex userSearchIndex,
+                       UserTimelineService userTimelineService, UserScheduleService userScheduleService) {
         this.userRepo = userRepo;
         this.passwordEncoder = passwordEncoder;
         this.cloudinaryService = cloudinaryService;
+        this.userIdentityCache = userIdentityCache;
+        this.userStatsService = userStatsService;
+        this.userSearchIndex = userSearchIndex;
+        this.userTimelineService = userTimelineService;
+        this.userScheduleService = userScheduleService;
     }
 
 
@@ -51,12 +78,20 @@ public class UserService {
         user.setPassword(hashed);
 
         User newUser = userRepo.save(user);
-        return mapUserToResponseDto(newUser);
+        userStatsService.initialize(newUser);
+        reindexForSearch(newUser);
+        return mapUserToResponseDto(newUser, null);
     }
 
     @Transactional
     public void deleteUser(User currentUser) {
-        userRepo.deleteById(currentUser.getId());
+        Long userId = currentUser.getId();
+        userRepo.deleteById(userId);
+        userStatsService.delete(userId);
+        userTimelineService.delete(userId);
+        userScheduleService.delete(userId);
+        evictIdentity(currentUser);
+        TransactionUtils.afterCommit(() -> userSearchIndex.remove(userId));
     }
 
     @Transactional
@@ -66,13 +101,17 @@ public class UserService {
         user.setBio(userProfileEditDto.bio());
 
         User updatedUser = userRepo.save(user);
-        return mapUserToResponseDto(updatedUser);
+        evictIdentity(updatedUser);
+        reindexForSearch(updatedUser);
+        return mapUserToResponseDto(updatedUser, userStatsService.getStats(updatedUser));
     }
 
     @Transactional
     public void updateProfilePicture(User user, ProfilePictureUploadDto profilePictureUploadDto) {
         user.setProfilePictureUrl(profilePictureUploadDto.imageUrl());
         userRepo.save(user);
+        evictIdentity(user);
+        reindexForSearch(user);
     }
 
     @Transactional
@@ -81,6 +120,8 @@ public class UserService {
 
         user.setProfilePictureUrl(null);
         userRepo.save(user);
+        evictIdentity(user);
+        reindexForSearch(user);
 
         if (existingImageUrl != null && !existingImageUrl.isEmpty()) {
             cloudinaryService.deleteImage(existingImageUrl);
@@ -98,28 +139,74 @@ public class UserService {
         String hashedPassword = passwordEncoder.encode(passwordChangeDto.newPassword());
         user.setPassword(hashedPassword);
         userRepo.save(user);
+        evictIdentity(user);
     }
 
     public UserResponseDto findUserByEmail(String email) {
         User user = findByEmail(email)
                 .orElseThrow(() -> new UserNotFoundException("User with email '" + email + "' not found"));
-        return mapUserToResponseDto(user);
+        return mapUserToResponseDto(user, userStatsService.getStats(user));
+    }
+
+    public UserResponseDto getUserProfile(User user) {
+        return mapUserToResponseDto(user, userStatsService.getStats(user));
     }
 
     public User getCurrentUser(UserDetails userDetails) {
         String email = userDetails.getUsername();
-        return findByEmail(email)
+        Long userId = userIdentityCache.findByEmail(email)
+                .map(UserIdentity::id)
                 .orElseThrow(() -> new UserNotFoundException("User not found with email: " + email + ". This should not happen for an authenticated user."));
+        // The cached id may belong to a user deleted through another node
+        return userRepo.findById(userId).orElseThrow(() -> {
+            userIdentityCache.evict(email);
+            return new UserNotFoundException(userId);
+        });
     }
 
     public List<UserResponseDto> findUsersByName(String firstName, String lastName) {
-        return userRepo.findByFirstNameIgnoreCaseAndLastNameIgnoreCaseOrderByEmailAsc(firstName, lastName).stream()
-                .map(EntityToDtoMappings::mapUserToResponseDto)
+        List<User> users = userRepo.findByFirstNameIgnoreCaseAndLastNameIgnoreCaseOrderByEmailAsc(firstName, lastName);
+        Map<Long, UserStats> stats = userStatsService.getStats(users);
+        return users.stream()
+                .map(user -> mapUserToResponseDto(user, stats.get(user.getId())))
                 .toList();
     }
 
+    public UserSearchPageDto searchUsers(String query, int offset, int limit) {
+        if (query == null || query.isBlank())
+            throw new BadRequestException("Search query must not be blank.");
+        if (query.length() > MAX_SEARCH_QUERY_LENGTH)
+            throw new BadRequestException("Search query cannot be longer than " + MAX_SEARCH_QUERY_LENGTH + " characters.");
+
+        int from = Math.min(Math.max(offset, 0), MAX_SEARCH_OFFSET);
+        int pageSize = Math.min(Math.max(limit, 1), MAX_SEARCH_PAGE_SIZE);
+        SearchResults<UserSearchView> results = userSearchIndex.search(query, from, pageSize);
+
+        List<UserSearchResultDto> users = results.hits().stream()
+                .map(hit -> new UserSearchResultDto(
+                        hit.document().id(),
+                        hit.document().firstName(),
+                        hit.document().lastName(),
+                        hit.document().email(),
+                        hit.document().profilePictureUrl(),
+                        hit.score()))
+                .toList();
+        return new UserSearchPageDto(users, results.hasMore() ? from + pageSize : null);
+    }
+
     public Optional<User> findByEmail(String email) {
         return userRepo.findByEmail(email);
     }
 
+    private void reindexForSearch(User user) {
+        UserSearchView view = new UserSearchView(user.getId(), user.getFirstName(), user.getLastName(),
+                user.getEmail(), user.getProfilePictureUrl());
+        TransactionUtils.afterCommit(() -> userSearchIndex.index(view));
+    }
+
+    private void evictIdentity(User user) {
+        String email = user.getEmail();
+        TransactionUtils.afterCommit(() -> userIdentityCache.evict(email));
+    }
+
 }
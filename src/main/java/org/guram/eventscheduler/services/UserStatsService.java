@@ -0,0 +1,189 @@
+package org.guram.eventscheduler.services;
+
+import org.guram.eventscheduler.models.Attendance;
+import org.guram.eventscheduler.models.AttendanceRole;
+import org.guram.eventscheduler.models.AttendanceStatus;
+import org.guram.eventscheduler.models.User;
+import org.guram.eventscheduler.models.UserStats;
+import org.guram.eventscheduler.repositories.AttendanceRepository;
+import org.guram.eventscheduler.repositories.UserRepository;
+import org.guram.eventscheduler.repositories.UserStatsRepository;
+import org.guram.eventscheduler.repositories.projections.UserStatsCounts;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class UserStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserStatsService.class);
+    private static final int RECONCILE_CHUNK_SIZE = 500;
+
+    private final UserStatsRepository userStatsRepo;
+    private final AttendanceRepository attendanceRepo;
+    private final UserRepository userRepo;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public UserStatsService(UserStatsRepository userStatsRepo,
+                            AttendanceRepository attendanceRepo,
+                            UserRepository userRepo,
+                            TransactionTemplate transactionTemplate) {
+        this.userStatsRepo = userStatsRepo;
+        this.attendanceRepo = attendanceRepo;
+        this.userRepo = userRepo;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+
+    @Transactional
+    public void initialize(User user) {
+        userStatsRepo.save(new UserStats(user.getId()));
+    }
+
+    @Transactional
+    public void delete(Long userId) {
+        userStatsRepo.deleteById(userId);
+    }
+
+    @Transactional
+    public void recordTransition(Attendance attendance, AttendanceStatus previousStatus, AttendanceRole previousRole) {
+        Counters delta = Counters.of(attendance.getStatus(), attendance.getRole())
+                .minus(Counters.of(previousStatus, previousRole));
+        if (delta.isZero())
+            return;
+
+        Long userId = attendance.getUser().getId();
+        int updated = userStatsRepo.applyDelta(userId, delta.attended(), delta.organized(),
+                delta.withdrawn(), delta.kicked());
+        if (updated == 0)
+            rebuild(List.of(userId));
+    }
+
+    @Transactional
+    public void recordAttended(Long eventId, Collection<Long> userIds) {
+        userStatsRepo.incrementAttendedForRegisteredUsers(eventId, userIds);
+        userStatsRepo.incrementOrganizedForRegisteredOrganizerUsers(eventId, userIds);
+    }
+
+    public UserStats getStats(User user) {
+        return userStatsRepo.findById(user.getId())
+                .orElseGet(() -> countStats(List.of(user.getId())).get(0));
+    }
+
+    public Map<Long, UserStats> getStats(Collection<User> users) {
+        List<Long> userIds = users.stream().map(User::getId).toList();
+        if (userIds.isEmpty())
+            return Map.of();
+
+        Map<Long, UserStats> stats = userStatsRepo.findByUserIdIn(userIds).stream()
+                .collect(Collectors.toMap(UserStats::getUserId, Function.identity()));
+        List<Long> missing = userIds.stream().filter(userId -> !stats.containsKey(userId)).toList();
+        if (!missing.isEmpty())
+            countStats(missing).forEach(userStats -> stats.put(userStats.getUserId(), userStats));
+
+        return stats;
+    }
+
+    // Users registered before statistics were tracked have no row yet
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillMissing() {
+        long afterId = 0;
+        int backfilled = 0;
+
+        while (true) {
+            List<Long> userIds = userRepo.findIdsWithoutStatsAfter(afterId, Limit.of(RECONCILE_CHUNK_SIZE));
+            if (userIds.isEmpty())
+                break;
+
+            transactionTemplate.executeWithoutResult(status -> rebuild(userIds));
+            backfilled += userIds.size();
+            afterId = userIds.get(userIds.size() - 1);
+        }
+
+        if (backfilled > 0)
+            log.info("Backfilled statistics for {} users", backfilled);
+    }
+
+    @Scheduled(cron = "${users.stats.reconcile-cron:0 30 3 * * *}")
+    public void reconcileAll() {
+        long afterId = 0;
+        int reconciled = 0;
+
+        while (true) {
+            List<Long> userIds = userRepo.findIdsAfter(afterId, Limit.of(RECONCILE_CHUNK_SIZE));
+            if (userIds.isEmpty())
+                break;
+
+            transactionTemplate.executeWithoutResult(status -> rebuild(userIds));
+            reconciled += userIds.size();
+            afterId = userIds.get(userIds.size() - 1);
+        }
+
+        log.info("Reconciled statistics for {} users", reconciled);
+    }
+
+    private void rebuild(List<Long> userIds) {
+        Map<Long, UserStats> existing = userStatsRepo.lockByUserIdIn(userIds).stream()
+                .collect(Collectors.toMap(UserStats::getUserId, Function.identity()));
+        userStatsRepo.saveAll(countStats(userIds, existing));
+    }
+
+    private List<UserStats> countStats(List<Long> userIds) {
+        return countStats(userIds, Map.of());
+    }
+
+    private List<UserStats> countStats(List<Long> userIds, Map<Long, UserStats> existing) {
+        Map<Long, UserStatsCounts> counts = attendanceRepo.countStatsByUserIds(userIds).stream()
+                .collect(Collectors.toMap(UserStatsCounts::userId, Function.identity()));
+
+        return userIds.stream()
+                .map(userId -> {
+                    UserStats stats = existing.getOrDefault(userId, new UserStats(userId));
+                    UserStatsCounts userCounts = counts.get(userId);
+                    stats.setAttendedCount(userCounts == null ? 0 : (int) userCounts.attended());
+                    stats.setOrganizedCount(userCounts == null ? 0 : (int) userCounts.organized());
+                    stats.setWithdrawnCount(userCounts == null ? 0 : (int) userCounts.withdrawn());
+                    stats.setKickedCount(userCounts == null ? 0 : (int) userCounts.kicked());
+                    return stats;
+                })
+                .toList();
+    }
+
+    private record Counters(int attended, int organized, int withdrawn, int kicked) {
+
+        static Counters of(AttendanceStatus status, AttendanceRole role) {
+            if (status == null)
+                return new Counters(0, 0, 0, 0);
+
+            return switch (status) {
+                case ATTENDED -> new Counters(1, role == AttendanceRole.ORGANIZER ? 1 : 0, 0, 0);
+                case WITHDRAWN -> new Counters(0, 0, 1, 0);
+                case KICKED -> new Counters(0, 0, 0, 1);
+                default -> new Counters(0, 0, 0, 0);
+            };
+        }
+
+        Counters minus(Counters other) {
+            return new Counters(attended - other.attended, organized - other.organized,
+                    withdrawn - other.withdrawn, kicked - other.kicked);
+        }
+
+        boolean isZero() {
+            return attended == 0 && organized == 0 && withdrawn == 0 && kicked == 0;
+        }
+    }
+
+}
@@ -0,0 +1,143 @@
+package org.guram.eventscheduler.services;
+
+import org.guram.eventscheduler.models.Attendance;
+import org.guram.eventscheduler.models.AttendanceRole;
+import org.guram.eventscheduler.models.Event;
+import org.guram.eventscheduler.models.UserTimelineEntry;
+import org.guram.eventscheduler.repositories.AttendanceRepository;
+import org.guram.eventscheduler.repositories.UserRepository;
+import org.guram.eventscheduler.repositories.UserTimelineFilter;
+import org.guram.eventscheduler.repositories.UserTimelineRepository;
+import org.guram.eventscheduler.repositories.projections.EventAttendanceView;
+import org.guram.eventscheduler.utils.KeysetCursor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Service
+public class UserTimelineService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserTimelineService.class);
+    private static final int RECONCILE_CHUNK_SIZE = 500;
+    private static final LocalDateTime END_OF_TIME = LocalDateTime.of(9999, 12, 31, 23, 59);
+
+    private final UserTimelineRepository userTimelineRepo;
+    private final AttendanceRepository attendanceRepo;
+    private final UserRepository userRepo;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public UserTimelineService(UserTimelineRepository userTimelineRepo,
+                               AttendanceRepository attendanceRepo,
+                               UserRepository userRepo,
+                               TransactionTemplate transactionTemplate) {
+        this.userTimelineRepo = userTimelineRepo;
+        this.attendanceRepo = attendanceRepo;
+        this.userRepo = userRepo;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+
+    @Transactional
+    public void record(Attendance attendance) {
+        Long userId = attendance.getUser().getId();
+        Event event = attendance.getEvent();
+
+        UserTimelineEntry entry = userTimelineRepo.findByUserIdAndEventId(userId, event.getId())
+                .orElseGet(() -> new UserTimelineEntry(userId, event.getId()));
+        entry.setRole(attendance.getRole());
+        entry.setStatus(attendance.getStatus());
+        entry.setDateTime(event.getDateTime());
+        entry.setCancelled(event.isCancelled());
+        entry.setSeriesUntil(seriesUntil(event));
+        userTimelineRepo.save(entry);
+    }
+
+    @Transactional
+    public void recordAll(Collection<Attendance> attendances) {
+        attendances.forEach(this::record);
+    }
+
+    @Transactional
+    public void delete(Long userId) {
+        userTimelineRepo.deleteByUserIdIn(List.of(userId));
+    }
+
+    @Transactional
+    public void updateEvent(Event event) {
+        userTimelineRepo.updateEvent(event.getId(), event.getDateTime(), event.isCancelled(), seriesUntil(event));
+    }
+
+    @Transactional
+    public void recordAttended(Long eventId, Collection<Long> userIds) {
+        userTimelineRepo.markAsAttended(eventId, userIds);
+    }
+
+    public List<EventAttendanceView> findEvents(Long userId, AttendanceRole role, boolean upcoming,
+                                                boolean cancelled, KeysetCursor after, Limit limit) {
+        return userTimelineRepo.findTimeline(timeframe(userId, role, upcoming, cancelled, after), limit);
+    }
+
+    public List<EventAttendanceView> findActiveSeries(Long userId, AttendanceRole role, boolean cancelled) {
+        return userTimelineRepo.findTimeline(
+                UserTimelineFilter.activeSeries(userId, role, cancelled, LocalDateTime.now()), Limit.unlimited());
+    }
+
+    public Stream<EventAttendanceView> streamEvents(Long userId, AttendanceRole role, boolean upcoming, boolean cancelled) {
+        return userTimelineRepo.streamTimeline(timeframe(userId, role, upcoming, cancelled, null));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (userTimelineRepo.count() == 0 && attendanceRepo.count() > 0)
+            reconcileAll();
+    }
+
+    @Scheduled(cron = "${users.timeline.reconcile-cron:0 0 4 * * *}")
+    public void reconcileAll() {
+        long afterId = 0;
+        int reconciled = 0;
+
+        while (true) {
+            List<Long> userIds = userRepo.findIdsAfter(afterId, Limit.of(RECONCILE_CHUNK_SIZE));
+            if (userIds.isEmpty())
+                break;
+
+            transactionTemplate.executeWithoutResult(status -> {
+                userTimelineRepo.deleteByUserIdIn(userIds);
+                userTimelineRepo.insertFromAttendances(userIds, END_OF_TIME);
+            });
+            reconciled += userIds.size();
+            afterId = userIds.get(userIds.size() - 1);
+        }
+
+        log.info("Reconciled timelines for {} users", reconciled);
+    }
+
+    private static UserTimelineFilter timeframe(Long userId, AttendanceRole role, boolean upcoming,
+                                                boolean cancelled, KeysetCursor after) {
+        LocalDateTime now = LocalDateTime.now();
+        return upcoming
+                ? UserTimelineFilter.range(userId, role, cancelled, now, null, after)
+                : UserTimelineFilter.range(userId, role, cancelled, null, now, after);
+    }
+
+    private static LocalDateTime seriesUntil(Event event) {
+        if (event.getRecurrence() == null)
+            return null;
+
+        return event.getRecurrence().getUntil() == null ? END_OF_TIME : event.getRecurrence().getUntil();
+    }
+
+}
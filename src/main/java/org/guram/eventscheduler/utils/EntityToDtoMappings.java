@@ -1,8 +1,12 @@
 package org.guram.eventscheduler.utils;
 
 import org.guram.eventscheduler.dtos.attendanceDtos.AttendanceResponseDto;
+import org.guram.eventscheduler.dtos.attendanceDtos.ParticipantDto;
 import org.guram.eventscheduler.dtos.eventDtos.EventResponseDto;
+import org.guram.eventscheduler.dtos.eventDtos.EventSearchResultDto;
 import org.guram.eventscheduler.dtos.eventDtos.EventSummaryDto;
+import org.guram.eventscheduler.dtos.eventDtos.RecurrenceRuleDto;
+import org.guram.eventscheduler.dtos.eventDtos.ScheduleConflictDto;
 import org.guram.eventscheduler.dtos.invitationDtos.InvitationResponseDto;
 import org.guram.eventscheduler.dtos.notificationDtos.NotificationResponseDto;
 import org.guram.eventscheduler.dtos.userDtos.UserResponseDto;
@@ -13,7 +17,13 @@ import org.guram.eventscheduler.models.AttendanceStatus;
 import org.guram.eventscheduler.models.Event;
 import org.guram.eventscheduler.models.Invitation;
 import org.guram.eventscheduler.models.Notification;
+import org.guram.eventscheduler.models.RecurrenceRule;
 import org.guram.eventscheduler.models.User;
+import org.guram.eventscheduler.models.UserStats;
+import org.guram.eventscheduler.repositories.projections.EventParticipantView;
+import org.guram.eventscheduler.repositories.projections.ParticipantCounts;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -22,6 +32,10 @@ import java.util.Map;
 public class EntityToDtoMappings {
 
     public static EventResponseDto mapEventToResponseDto(Event event) {
+        return mapEventToResponseDto(event, List.of());
+    }
+
+    public static EventResponseDto mapEventToResponseDto(Event event, List<ScheduleConflictDto> scheduleConflicts) {
         List<UserSummaryDto> attendees = new ArrayList<>();
         List<UserSummaryDto> organizers = new ArrayList<>();
         Map<Long, AttendanceStatus> userAttendanceStatusMap = new HashMap<>();
@@ -53,36 +67,129 @@ public class EntityToDtoMappings {
                 event.getTitle(),
                 event.getDescription(),
                 event.getDateTime(),
+                event.getEndDateTime(),
                 event.getLocation(),
                 event.isCancelled(),
+                event.getCapacity(),
+                event.getReservedSeats(),
+                event.getSeries() != null ? event.getSeries().getId()
+                        : event.getRecurrence() != null ? event.getId() : null,
+                mapRecurrenceToDto(event.getRecurrence()),
+                attendees.size(),
+                organizers.size(),
                 attendees,
                 organizers,
-                userAttendanceStatusMap
+                userAttendanceStatusMap,
+                scheduleConflicts
         );
     }
 
-    public static UserResponseDto mapUserToResponseDto(User user) {
-        var everyAttendance = user.getAttendances();
+    public static EventResponseDto mapEventToResponseDto(Event event, ParticipantCounts counts,
+                                                         List<EventParticipantView> participants) {
+        List<UserSummaryDto> attendees = new ArrayList<>();
+        List<UserSummaryDto> organizers = new ArrayList<>();
+        Map<Long, AttendanceStatus> userAttendanceStatusMap = new HashMap<>();
 
-        long attendedEventsCount = everyAttendance.stream()
-                .filter(att -> att.getStatus() == AttendanceStatus.ATTENDED)
-                .count();
+        for (EventParticipantView participant : participants) {
+            UserSummaryDto userSummary = mapParticipantToUserSummaryDto(participant);
 
-        long organizedEventsCount = everyAttendance.stream()
-                .filter(att ->
-                        att.getStatus() == AttendanceStatus.ATTENDED &&
-                        att.getRole() == AttendanceRole.ORGANIZER
-                )
-                .count();
+            if (participant.role() == AttendanceRole.ATTENDEE)
+                attendees.add(userSummary);
+            else if (participant.role() == AttendanceRole.ORGANIZER)
+                organizers.add(userSummary);
 
-        long withdrawnFromEventsCount = everyAttendance.stream()
-                .filter(att -> att.getStatus() == AttendanceStatus.WITHDRAWN)
-                .count();
+            userAttendanceStatusMap.put(participant.userId(), participant.status());
+        }
 
-        long kickedOutFromEventsCount = everyAttendance.stream()
-                .filter(att -> att.getStatus() == AttendanceStatus.KICKED)
-                .count();
+        return new EventResponseDto(
+                event.getId(),
+                event.getTitle(),
+                event.getDescription(),
+                event.getDateTime(),
+                event.getEndDateTime(),
+                event.getLocation(),
+                event.isCancelled(),
+                event.getCapacity(),
+                event.getReservedSeats(),
+                event.getSeries() != null ? event.getSeries().getId()
+                        : event.getRecurrence() != null ? event.getId() : null,
+                mapRecurrenceToDto(event.getRecurrence()),
+                (int) counts.attendees(),
+                (int) counts.organizers(),
+                attendees,
+                organizers,
+                userAttendanceStatusMap,
+                List.of()
+        );
+    }
+
+    public static ParticipantDto mapParticipantToDto(EventParticipantView participant) {
+        return new ParticipantDto(mapParticipantToUserSummaryDto(participant), participant.role(), participant.status());
+    }
 
+    private static UserSummaryDto mapParticipantToUserSummaryDto(EventParticipantView participant) {
+        return new UserSummaryDto(
+                participant.userId(),
+                participant.firstName(),
+                participant.lastName(),
+                participant.email(),
+                participant.bio(),
+                participant.profilePictureUrl()
+        );
+    }
+
+    // Virtual occurrences share the roster of their series, so the series is mapped once and reused for each slot
+    public static EventResponseDto mapOccurrenceToResponseDto(EventResponseDto seriesDto, LocalDateTime occurrenceStart) {
+        return new EventResponseDto(
+                null,
+                seriesDto.title(),
+                seriesDto.description(),
+                occurrenceStart,
+                seriesDto.endDateTime() == null ? null
+                        : occurrenceStart.plus(Duration.between(seriesDto.dateTime(), seriesDto.endDateTime())),
+                seriesDto.location(),
+                seriesDto.isCancelled(),
+                seriesDto.capacity(),
+                seriesDto.attendeeCount() + seriesDto.organizerCount(),
+                seriesDto.id(),
+                null,
+                seriesDto.attendeeCount(),
+                seriesDto.organizerCount(),
+                seriesDto.attendees(),
+                seriesDto.organizers(),
+                Map.of(),
+                List.of()
+        );
+    }
+
+    public static EventSearchResultDto mapEventToSearchResultDto(Event event, LocalDateTime nextOccurrence, double score) {
+        return new EventSearchResultDto(
+                event.getId(),
+                event.getTitle(),
+                event.getDescription(),
+                event.getDateTime(),
+                event.getEndDateTime(),
+                event.getLocation(),
+                event.isCancelled(),
+                mapRecurrenceToDto(event.getRecurrence()),
+                nextOccurrence,
+                score
+        );
+    }
+
+    public static RecurrenceRuleDto mapRecurrenceToDto(RecurrenceRule recurrence) {
+        if (recurrence == null)
+            return null;
+
+        return new RecurrenceRuleDto(
+                recurrence.getFrequency(),
+                recurrence.getInterval(),
+                recurrence.getUntil(),
+                recurrence.getCount()
+        );
+    }
+
+    public static UserResponseDto mapUserToResponseDto(User user, UserStats stats) {
         return new UserResponseDto(
                 user.getId(),
                 user.getFirstName(),
@@ -90,10 +197,10 @@ public class EntityToDtoMappings {
                 user.getEmail(),
                 user.getBio(),
                 user.getProfilePictureUrl(),
-                (int) attendedEventsCount,
-                (int) organizedEventsCount,
-                (int) withdrawnFromEventsCount,
-                (int) kickedOutFromEventsCount
+                stats == null ? 0 : stats.getAttendedCount(),
+                stats == null ? 0 : stats.getOrganizedCount(),
+                stats == null ? 0 : stats.getWithdrawnCount(),
+                stats == null ? 0 : stats.getKickedCount()
         );
     }
 
@@ -128,6 +235,11 @@ public class EntityToDtoMappings {
     }
 
     public static InvitationResponseDto mapInvitationToResponseDto(Invitation invitation) {
+        return mapInvitationToResponseDto(invitation, List.of());
+    }
+
+    public static InvitationResponseDto mapInvitationToResponseDto(Invitation invitation,
+                                                                   List<ScheduleConflictDto> scheduleConflicts) {
         User invitee = invitation.getInvitee();
         UserSummaryDto inviteeSummary = new UserSummaryDto(
                 invitee.getId(),
@@ -156,7 +268,8 @@ public class EntityToDtoMappings {
                 invitorSummary,
                 eventResponseDto,
                 invitation.getInvitationSentDate(),
-                invitation.getStatus()
+                invitation.getStatus(),
+                scheduleConflicts
         );
     }
 
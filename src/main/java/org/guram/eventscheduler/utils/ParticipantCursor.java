@@ -0,0 +1,30 @@
+package org.guram.eventscheduler.utils;
+
+import org.guram.eventscheduler.exceptions.BadRequestException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public record ParticipantCursor(String lastName, String firstName, Long userId) {
+
+    private static final String SEPARATOR = "\u001F";
+
+    public String encode() {
+        String raw = lastName + SEPARATOR + firstName + SEPARATOR + userId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ParticipantCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank())
+            return null;
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(SEPARATOR, -1);
+            if (parts.length != 3)
+                throw new IllegalArgumentException();
+            return new ParticipantCursor(parts[0], parts[1], Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package org.guram.eventscheduler.utils;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
+import java.util.Collection;
+import java.util.function.Predicate;
+
+public class PersistenceContextUtils {
+
+    // Bulk updates bypass the persistence context, so re-read only the already loaded entities they touched
+    public static <T> void refreshLoaded(EntityManager entityManager, Collection<T> entities, Predicate<T> touched) {
+        if (!Hibernate.isInitialized(entities))
+            return;
+
+        entities.stream()
+                .filter(touched)
+                .filter(entityManager::contains)
+                .forEach(entityManager::refresh);
+    }
+}
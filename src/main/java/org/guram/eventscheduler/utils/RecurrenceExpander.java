@@ -0,0 +1,50 @@
+package org.guram.eventscheduler.utils;
+
+import org.guram.eventscheduler.models.RecurrenceRule;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+public class RecurrenceExpander {
+
+    public static List<LocalDateTime> occurrencesBetween(RecurrenceRule rule, LocalDateTime first,
+                                                         LocalDateTime from, LocalDateTime to, int limit) {
+        List<LocalDateTime> occurrences = new ArrayList<>();
+        long index = first.isBefore(from) ? Math.max(0, unitsBetween(rule, first, from) / interval(rule) - 1) : 0;
+
+        while (occurrences.size() < limit && (rule.getCount() == null || index < rule.getCount())) {
+            LocalDateTime occurrence = occurrenceAt(rule, first, index++);
+            if (occurrence.isAfter(to) || (rule.getUntil() != null && occurrence.isAfter(rule.getUntil())))
+                break;
+            if (occurrence.isAfter(from))
+                occurrences.add(occurrence);
+        }
+        return occurrences;
+    }
+
+    public static boolean isOccurrence(RecurrenceRule rule, LocalDateTime first, LocalDateTime candidate) {
+        return !occurrencesBetween(rule, first, candidate.minusNanos(1), candidate, 1).isEmpty();
+    }
+
+    private static LocalDateTime occurrenceAt(RecurrenceRule rule, LocalDateTime first, long index) {
+        long step = index * interval(rule);
+        return switch (rule.getFrequency()) {
+            case DAILY -> first.plusDays(step);
+            case WEEKLY -> first.plusWeeks(step);
+            case MONTHLY -> first.plusMonths(step);
+        };
+    }
+
+    private static long unitsBetween(RecurrenceRule rule, LocalDateTime first, LocalDateTime to) {
+        return switch (rule.getFrequency()) {
+            case DAILY -> ChronoUnit.DAYS.between(first, to);
+            case WEEKLY -> ChronoUnit.WEEKS.between(first, to);
+            case MONTHLY -> ChronoUnit.MONTHS.between(first, to);
+        };
+    }
+
+    private static int interval(RecurrenceRule rule) {
+        return rule.getInterval() == null ? 1 : rule.getInterval();
+    }
+}
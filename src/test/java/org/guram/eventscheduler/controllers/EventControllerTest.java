@@ -1,10 +1,22 @@
 package org.guram.eventscheduler.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.guram.eventscheduler.dtos.attendanceDtos.BulkCheckInRequestDto;
+import org.guram.eventscheduler.dtos.attendanceDtos.BulkCheckInResponseDto;
+import org.guram.eventscheduler.dtos.attendanceDtos.BulkCheckInResultDto;
+import org.guram.eventscheduler.dtos.attendanceDtos.ParticipantDto;
+import org.guram.eventscheduler.dtos.attendanceDtos.ParticipantPageDto;
+import org.guram.eventscheduler.dtos.eventDtos.EventPageDto;
 import org.guram.eventscheduler.dtos.eventDtos.EventRequestDto;
 import org.guram.eventscheduler.dtos.eventDtos.EventResponseDto;
+import org.guram.eventscheduler.dtos.eventDtos.EventResponseView;
+import org.guram.eventscheduler.dtos.eventDtos.EventSearchPageDto;
+import org.guram.eventscheduler.dtos.eventDtos.EventSearchResultDto;
 import org.guram.eventscheduler.dtos.eventDtos.EventWithRoleDto;
+import org.guram.eventscheduler.dtos.userDtos.UserSummaryDto;
+import org.guram.eventscheduler.exceptions.BadRequestException;
 import org.guram.eventscheduler.models.AttendanceRole;
+import org.guram.eventscheduler.models.AttendanceStatus;
 import org.guram.eventscheduler.models.User;
 import org.guram.eventscheduler.security.CustomUserDetailsService;
 import org.guram.eventscheduler.services.EventService;
@@ -17,13 +29,18 @@ import org.springframework.http.MediaType;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
@@ -73,7 +90,7 @@ class EventControllerTest {
     void getEvents_shouldReturnEventsList_whenAuthenticated() throws Exception {
         var eventDateTime = LocalDateTime.now().plusDays(1);
         var eventResponseDto = new EventResponseDto(1L, "Team Meeting", "Weekly sync meeting",
-                eventDateTime, "Conference Room A", false, List.of(), List.of(), Map.of());
+                eventDateTime, null, "Conference Room A", false, null, 0, null, null, 0, 0, List.of(), List.of(), Map.of(), List.of());
         var eventWithRoleDto = new EventWithRoleDto(eventResponseDto, AttendanceRole.ATTENDEE);
         
         when(eventService.getFilteredEventsWithRole(authenticatedUser, null, "UPCOMING", false))
@@ -95,13 +112,143 @@ class EventControllerTest {
                 .andExpect(status().isUnauthorized());
     }
 
+    @Test
+    void getEventsPage_shouldReturnEventsAndNextCursor_whenAuthenticated() throws Exception {
+        var eventResponseDto = new EventResponseDto(1L, "Team Meeting", "Weekly sync meeting",
+                LocalDateTime.now().plusDays(1), null, "Conference Room A", false, null, 0, null, null, 0, 0, List.of(), List.of(), Map.of(), List.of());
+        var page = new EventPageDto(List.of(new EventWithRoleDto(eventResponseDto, AttendanceRole.ATTENDEE)), "next");
+
+        when(eventService.getFilteredEventsWithRolePage(authenticatedUser, null, "PAST", false, "abc", 10))
+                .thenReturn(page);
+
+        mockMvc.perform(get("/events/page")
+                        .param("timeframe", "PAST")
+                        .param("cursor", "abc")
+                        .param("limit", "10")
+                        .with(user(authUserEmail)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.events", hasSize(1)))
+                .andExpect(jsonPath("$.events[0].event.id").value(1L))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
+    @Test
+    void getEventsPage_shouldReturn400BadRequest_whenCursorInvalid() throws Exception {
+        when(eventService.getFilteredEventsWithRolePage(authenticatedUser, null, "UPCOMING", false, "bad", 20))
+                .thenThrow(new BadRequestException("Invalid cursor: bad"));
+
+        mockMvc.perform(get("/events/page")
+                        .param("cursor", "bad")
+                        .with(user(authUserEmail)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getParticipants_shouldReturnParticipantPage_whenAuthenticated() throws Exception {
+        var participant = new ParticipantDto(new UserSummaryDto(4L, "jane", "doe", "jane.doe@email.com", null, null),
+                AttendanceRole.ATTENDEE, AttendanceStatus.REGISTERED);
+        var page = new ParticipantPageDto(List.of(participant), "next");
+
+        when(eventService.getParticipantsPage(5L, 1L, AttendanceRole.ATTENDEE, null, "abc", 10)).thenReturn(page);
+
+        mockMvc.perform(get("/events/5/participants")
+                        .param("role", "ATTENDEE")
+                        .param("cursor", "abc")
+                        .param("limit", "10")
+                        .with(user(authUserEmail)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.participants", hasSize(1)))
+                .andExpect(jsonPath("$.participants[0].user.id").value(4L))
+                .andExpect(jsonPath("$.participants[0].status").value("REGISTERED"))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
+    @Test
+    void checkInAttendees_shouldReturn200WithPerUserOutcomes_whenValidInput() throws Exception {
+        var request = new BulkCheckInRequestDto(3L, List.of(10L, 11L));
+        var response = new BulkCheckInResponseDto(3L, 1, 0, 0, 1, List.of(
+                new BulkCheckInResultDto(10L, BulkCheckInResultDto.Outcome.CHECKED_IN),
+                new BulkCheckInResultDto(11L, BulkCheckInResultDto.Outcome.NOT_PARTICIPANT)));
+
+        when(eventService.checkInAttendees(authenticatedUser, request)).thenReturn(response);
+
+        mockMvc.perform(put("/events/check-in")
+                        .with(user(authUserEmail))
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.checkedIn").value(1))
+                .andExpect(jsonPath("$.results", hasSize(2)))
+                .andExpect(jsonPath("$.results[1].outcome").value("NOT_PARTICIPANT"));
+    }
+
+    @Test
+    void checkInAttendees_shouldReturn400BadRequest_whenUserIdsAreEmpty() throws Exception {
+        mockMvc.perform(put("/events/check-in")
+                        .with(user(authUserEmail))
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BulkCheckInRequestDto(3L, List.of()))))
+                .andExpect(status().isBadRequest());
+
+        verify(eventService, never()).checkInAttendees(any(), any());
+    }
+
+    @Test
+    void searchEvents_shouldReturnRankedPage_whenAuthenticated() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2030, 5, 10, 18, 0);
+        var page = new EventSearchPageDto(List.of(new EventSearchResultDto(3L, "Jazz night", null, start, null,
+                "Tbilisi", false, null, null, 1.5)), null);
+
+        when(eventService.searchEvents("jazz", start.minusDays(1), null, false, 0, 20)).thenReturn(page);
+
+        mockMvc.perform(get("/events/search")
+                        .param("q", "jazz")
+                        .param("from", "2030-05-09T18:00:00")
+                        .with(user(authUserEmail)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results", hasSize(1)))
+                .andExpect(jsonPath("$.results[0].id").value(3L))
+                .andExpect(jsonPath("$.nextOffset").doesNotExist());
+    }
+
+    @Test
+    void streamEvents_shouldWriteOneJsonObjectPerLine_whenAuthenticated() throws Exception {
+        var first = new EventResponseDto(1L, "First", null,
+                LocalDateTime.now().plusDays(1), null, "Tbilisi", false, null, 0, null, null, 0, 0, List.of(), List.of(), Map.of(), List.of());
+        var second = new EventResponseDto(2L, "Second", null,
+                LocalDateTime.now().plusDays(2), null, "Batumi", false, null, 0, null, null, 0, 0, List.of(), List.of(), Map.of(), List.of());
+
+        doAnswer(invocation -> {
+            Consumer<EventWithRoleDto> consumer = invocation.getArgument(4);
+            consumer.accept(new EventWithRoleDto(first, AttendanceRole.ATTENDEE));
+            consumer.accept(new EventWithRoleDto(second, AttendanceRole.ORGANIZER));
+            return null;
+        }).when(eventService).streamFilteredEventsWithRole(eq(authenticatedUser), eq(null), eq("UPCOMING"), eq(false), any());
+
+        MvcResult mvcResult = mockMvc.perform(get("/events/stream")
+                        .with(user(authUserEmail)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.strip().split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readValue(lines[1], EventWithRoleDto.class).event().title()).isEqualTo("Second");
+    }
+
     @Test
     void createEvent_shouldReturn201Created_andLocationHeader_whenValidInput() throws Exception {
         var eventDateTime = LocalDateTime.now().plusDays(2);
         var eventRequestDto = new EventRequestDto("Company Retreat", "Annual team building event",
-                eventDateTime, "Mountain Resort");
+                eventDateTime, null, "Mountain Resort", null, null);
         var eventResponseDto = new EventResponseDto(10L, "Company Retreat", "Annual team building event", 
-                eventDateTime, "Mountain Resort", false, List.of(), List.of(), Map.of());
+                eventDateTime, null, "Mountain Resort", false, null, 0, null, null, 0, 0, List.of(), List.of(), Map.of(), List.of());
         
         when(eventService.createEvent(authenticatedUser, eventRequestDto)).thenReturn(eventResponseDto);
 
@@ -122,7 +269,7 @@ class EventControllerTest {
     void createEvent_shouldReturn401Unauthorized_whenNotAuthenticated() throws Exception {
         var eventDateTime = LocalDateTime.now().plusDays(2);
         var validEventDto = new EventRequestDto("Company Retreat", "Annual team building event", 
-                eventDateTime, "Mountain Resort");
+                eventDateTime, null, "Mountain Resort", null, null);
 
         mockMvc.perform(post("/events/create")
                         .with(csrf())
@@ -136,11 +283,11 @@ class EventControllerTest {
         Long eventId = 10L;
         var eventDateTime = LocalDateTime.now().plusDays(3);
         var editRequestDto = new EventRequestDto("Updated Meeting", "Updated description", 
-                eventDateTime, "New Location");
+                eventDateTime, null, "New Location", null, null);
         var editResponseDto = new EventResponseDto(eventId, "Updated Meeting", "Updated description", 
-                eventDateTime, "New Location", false, List.of(), List.of(), Map.of());
+                eventDateTime, null, "New Location", false, null, 0, null, null, 0, 0, List.of(), List.of(), Map.of(), List.of());
         
-        when(eventService.editEvent(eventId, 1L, editRequestDto, true)).thenReturn(editResponseDto);
+        when(eventService.editEvent(eventId, 1L, editRequestDto, true, EventResponseView.FULL)).thenReturn(editResponseDto);
 
         mockMvc.perform(put("/events/10/edit")
                         .with(user(authUserEmail))
@@ -151,14 +298,14 @@ class EventControllerTest {
                 .andExpect(jsonPath("$.id").value(eventId))
                 .andExpect(jsonPath("$.title").value("Updated Meeting"));
 
-        verify(eventService).editEvent(eventId, 1L, editRequestDto, true);
+        verify(eventService).editEvent(eventId, 1L, editRequestDto, true, EventResponseView.FULL);
     }
 
     @Test
     void editEvent_shouldReturn401Unauthorized_whenNotAuthenticated() throws Exception {
         var eventDateTime = LocalDateTime.now().plusDays(3);
         var validEditDto = new EventRequestDto("Updated Meeting", "Updated description", 
-                eventDateTime, "New Location");
+                eventDateTime, null, "New Location", null, null);
 
         mockMvc.perform(put("/events/10/edit")
                         .with(csrf())
@@ -186,15 +333,34 @@ class EventControllerTest {
                 .andExpect(status().isUnauthorized());
     }
 
+    @Test
+    void materializeOccurrence_shouldReturn200Ok_whenAuthenticated() throws Exception {
+        var occurrenceStart = LocalDateTime.of(2030, 3, 4, 18, 0);
+        var occurrenceDto = new EventResponseDto(42L, "Team Meeting", "Weekly sync meeting",
+                occurrenceStart, null, "Conference Room A", false, null, 1, 10L, null, 0, 0, List.of(), List.of(), Map.of(), List.of());
+
+        when(eventService.materializeOccurrence(authenticatedUser, 10L, occurrenceStart)).thenReturn(occurrenceDto);
+
+        mockMvc.perform(post("/events/10/occurrences")
+                        .with(user(authUserEmail))
+                        .with(csrf())
+                        .param("start", "2030-03-04T18:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(42))
+                .andExpect(jsonPath("$.seriesId").value(10));
+
+        verify(eventService).materializeOccurrence(authenticatedUser, 10L, occurrenceStart);
+    }
+
     @Test
     void addAsOrganizer_shouldReturn200Ok_whenAuthenticated() throws Exception {
         Long eventId = 10L;
         Long newOrganizerUserId = 9L;
         var eventDateTime = LocalDateTime.now().plusDays(1);
         var eventResponseDto = new EventResponseDto(eventId, "Team Meeting", "Weekly sync meeting", 
-                eventDateTime, "Conference Room A", false, List.of(), List.of(), Map.of());
+                eventDateTime, null, "Conference Room A", false, null, 0, null, null, 0, 0, List.of(), List.of(), Map.of(), List.of());
         
-        when(eventService.makeAttendeeOrganizer(authenticatedUser, newOrganizerUserId, eventId))
+        when(eventService.makeAttendeeOrganizer(authenticatedUser, newOrganizerUserId, eventId, EventResponseView.FULL))
                 .thenReturn(eventResponseDto);
 
         mockMvc.perform(put("/events/10/add-organizer")
@@ -204,7 +370,25 @@ class EventControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(eventId));
 
-        verify(eventService).makeAttendeeOrganizer(authenticatedUser, newOrganizerUserId, eventId);
+        verify(eventService).makeAttendeeOrganizer(authenticatedUser, newOrganizerUserId, eventId, EventResponseView.FULL);
+    }
+
+    @Test
+    void kickOutAttendee_shouldPassRequestedResponseView() throws Exception {
+        var eventResponseDto = new EventResponseDto(10L, "Team Meeting", "Weekly sync meeting",
+                LocalDateTime.now().plusDays(1), null, "Conference Room A", false, null, 0, null, null, 9999, 1, List.of(), List.of(), Map.of(), List.of());
+
+        when(eventService.kickUserFromEvent(authenticatedUser, 9L, 10L, EventResponseView.SUMMARY))
+                .thenReturn(eventResponseDto);
+
+        mockMvc.perform(put("/events/10/kickout-attendee")
+                        .with(user(authUserEmail))
+                        .with(csrf())
+                        .param("removeUserId", "9")
+                        .param("view", "SUMMARY"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.attendeeCount").value(9999))
+                .andExpect(jsonPath("$.attendees", hasSize(0)));
     }
 
     @Test
@@ -221,9 +405,9 @@ class EventControllerTest {
         Long removeUserId = 9L;
         var eventDateTime = LocalDateTime.now().plusDays(1);
         var eventResponseDto = new EventResponseDto(eventId, "Team Meeting", "Weekly sync meeting", 
-                eventDateTime, "Conference Room A", false, List.of(), List.of(), Map.of());
+                eventDateTime, null, "Conference Room A", false, null, 0, null, null, 0, 0, List.of(), List.of(), Map.of(), List.of());
         
-        when(eventService.removeOrganizerRole(authenticatedUser, removeUserId, eventId))
+        when(eventService.removeOrganizerRole(authenticatedUser, removeUserId, eventId, EventResponseView.FULL))
                 .thenReturn(eventResponseDto);
 
         mockMvc.perform(put("/events/10/remove-organizer")
@@ -233,7 +417,7 @@ class EventControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(eventId));
 
-        verify(eventService).removeOrganizerRole(authenticatedUser, removeUserId, eventId);
+        verify(eventService).removeOrganizerRole(authenticatedUser, removeUserId, eventId, EventResponseView.FULL);
     }
 
     @Test
@@ -250,9 +434,9 @@ class EventControllerTest {
         Long removeUserId = 9L;
         var eventDateTime = LocalDateTime.now().plusDays(1);
         var eventResponseDto = new EventResponseDto(eventId, "Team Meeting", "Weekly sync meeting", 
-                eventDateTime, "Conference Room A", false, List.of(), List.of(), Map.of());
+                eventDateTime, null, "Conference Room A", false, null, 0, null, null, 0, 0, List.of(), List.of(), Map.of(), List.of());
         
-        when(eventService.kickUserFromEvent(authenticatedUser, removeUserId, eventId))
+        when(eventService.kickUserFromEvent(authenticatedUser, removeUserId, eventId, EventResponseView.FULL))
                 .thenReturn(eventResponseDto);
 
         mockMvc.perform(put("/events/10/kickout-attendee")
@@ -262,7 +446,7 @@ class EventControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(eventId));
 
-        verify(eventService).kickUserFromEvent(authenticatedUser, removeUserId, eventId);
+        verify(eventService).kickUserFromEvent(authenticatedUser, removeUserId, eventId, EventResponseView.FULL);
     }
 
     @Test
@@ -279,9 +463,9 @@ class EventControllerTest {
         Long attendeeUserId = 7L;
         var eventDateTime = LocalDateTime.now().plusDays(1);
         var eventResponseDto = new EventResponseDto(eventId, "Team Meeting", "Weekly sync meeting", 
-                eventDateTime, "Conference Room A", false, List.of(), List.of(), Map.of());
+                eventDateTime, null, "Conference Room A", false, null, 0, null, null, 0, 0, List.of(), List.of(), Map.of(), List.of());
         
-        when(eventService.markAttended(authenticatedUser, attendeeUserId, eventId))
+        when(eventService.markAttended(authenticatedUser, attendeeUserId, eventId, EventResponseView.FULL))
                 .thenReturn(eventResponseDto);
 
         mockMvc.perform(put("/events/mark-attended")
@@ -292,7 +476,7 @@ class EventControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(eventId));
 
-        verify(eventService).markAttended(authenticatedUser, attendeeUserId, eventId);
+        verify(eventService).markAttended(authenticatedUser, attendeeUserId, eventId, EventResponseView.FULL);
     }
 
     @Test
@@ -309,9 +493,9 @@ class EventControllerTest {
         Long eventId = 10L;
         var eventDateTime = LocalDateTime.now().plusDays(1);
         var eventResponseDto = new EventResponseDto(eventId, "Team Meeting", "Weekly sync meeting", 
-                eventDateTime, "Conference Room A", false, List.of(), List.of(), Map.of());
+                eventDateTime, null, "Conference Room A", false, null, 0, null, null, 0, 0, List.of(), List.of(), Map.of(), List.of());
         
-        when(eventService.markAllAttended(authenticatedUser, eventId)).thenReturn(eventResponseDto);
+        when(eventService.markAllAttended(authenticatedUser, eventId, EventResponseView.FULL)).thenReturn(eventResponseDto);
 
         mockMvc.perform(put("/events/mark-all-attended")
                         .with(user(authUserEmail))
@@ -320,7 +504,7 @@ class EventControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(eventId));
 
-        verify(eventService).markAllAttended(authenticatedUser, eventId);
+        verify(eventService).markAllAttended(authenticatedUser, eventId, EventResponseView.FULL);
     }
 
     @Test
@@ -1,5 +1,9 @@
 package org.guram.eventscheduler.controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.guram.eventscheduler.dtos.invitationDtos.BulkInvitationRequestDto;
+import org.guram.eventscheduler.dtos.invitationDtos.BulkInvitationResponseDto;
+import org.guram.eventscheduler.dtos.invitationDtos.BulkInvitationResultDto;
 import org.guram.eventscheduler.dtos.invitationDtos.InvitationResponseDto;
 import org.guram.eventscheduler.models.InvitationStatus;
 import org.guram.eventscheduler.models.User;
@@ -10,6 +14,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
@@ -19,6 +24,7 @@ import java.util.List;
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
@@ -32,6 +38,9 @@ class InvitationControllerTest {
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @MockitoBean
     private InvitationService invitationService;
 
@@ -67,7 +76,7 @@ class InvitationControllerTest {
         Long inviteeId = 2L;
         Long eventId = 3L;
         var invitationResponseDto = new InvitationResponseDto(5L, null, null, null,
-                null, InvitationStatus.PENDING);
+                null, InvitationStatus.PENDING, List.of());
         
         when(invitationService.sendInvitation(inviterId, inviteeId, eventId)).thenReturn(invitationResponseDto);
 
@@ -115,7 +124,7 @@ class InvitationControllerTest {
     void respondToInvitation_shouldReturn200Ok_whenAcceptedStatus() throws Exception {
         Long invitationId = 5L;
         var invitationResponseDto = new InvitationResponseDto(invitationId, null, null, null,
-                null, InvitationStatus.ACCEPTED);
+                null, InvitationStatus.ACCEPTED, List.of());
         
         when(invitationService.respondToInvitation(1L, invitationId, InvitationStatus.ACCEPTED))
                 .thenReturn(invitationResponseDto);
@@ -135,7 +144,7 @@ class InvitationControllerTest {
     void respondToInvitation_shouldReturn200Ok_whenDeclinedStatus() throws Exception {
         Long invitationId = 5L;
         var invitationResponseDto = new InvitationResponseDto(invitationId, null, null,
-                null, null, InvitationStatus.DECLINED);
+                null, null, InvitationStatus.DECLINED, List.of());
         
         when(invitationService.respondToInvitation(1L, invitationId, InvitationStatus.DECLINED))
                 .thenReturn(invitationResponseDto);
@@ -169,8 +178,8 @@ class InvitationControllerTest {
 
     @Test
     void getInvitationsByStatus_shouldReturnInvitationsList_whenPendingStatus() throws Exception {
-        var invitation1 = new InvitationResponseDto(5L, null, null, null, null, InvitationStatus.PENDING);
-        var invitation2 = new InvitationResponseDto(6L, null, null, null, null, InvitationStatus.PENDING);
+        var invitation1 = new InvitationResponseDto(5L, null, null, null, null, InvitationStatus.PENDING, List.of());
+        var invitation2 = new InvitationResponseDto(6L, null, null, null, null, InvitationStatus.PENDING, List.of());
         var invitationsList = List.of(invitation1, invitation2);
         
         when(invitationService.listInvitationsReceivedByUserByStatus(authenticatedUser, InvitationStatus.PENDING))
@@ -213,7 +222,7 @@ class InvitationControllerTest {
 
     @Test
     void getInvitationsByStatus_shouldReturnPendingInvitations_whenMissingStatusParameter() throws Exception {
-        var invitation1 = new InvitationResponseDto(1L, null, null, null, null, InvitationStatus.PENDING);
+        var invitation1 = new InvitationResponseDto(1L, null, null, null, null, InvitationStatus.PENDING, List.of());
         var pendingInvitationsList = List.of(invitation1);
 
         when(invitationService.listInvitationsReceivedByUserByStatus(authenticatedUser, null))
@@ -226,4 +235,40 @@ class InvitationControllerTest {
                 .andExpect(jsonPath("$[0].status").value("PENDING"));
     }
 
+    @Test
+    void inviteUsers_shouldReturn200WithPerInviteeResults_whenValidInput() throws Exception {
+        var request = new BulkInvitationRequestDto(3L, List.of(2L, 4L), List.of("jane.ear@email.com"));
+        var response = new BulkInvitationResponseDto(3L, 2, 0, 1, List.of(
+                new BulkInvitationResultDto(2L, "carol.brown@email.com", BulkInvitationResultDto.Outcome.INVITED, 10L),
+                new BulkInvitationResultDto(4L, null, BulkInvitationResultDto.Outcome.USER_NOT_FOUND, null),
+                new BulkInvitationResultDto(5L, "jane.ear@email.com", BulkInvitationResultDto.Outcome.INVITED, 11L)));
+
+        when(invitationService.sendInvitations(1L, request)).thenReturn(response);
+
+        mockMvc.perform(post("/invitations/invite-bulk")
+                        .with(user(authUserEmail))
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.invited").value(2))
+                .andExpect(jsonPath("$.notFound").value(1))
+                .andExpect(jsonPath("$.results", hasSize(3)))
+                .andExpect(jsonPath("$.results[1].outcome").value("USER_NOT_FOUND"));
+    }
+
+    @Test
+    void inviteUsers_shouldReturn400BadRequest_whenEmailIsInvalid() throws Exception {
+        var request = new BulkInvitationRequestDto(3L, null, List.of("not-an-email"));
+
+        mockMvc.perform(post("/invitations/invite-bulk")
+                        .with(user(authUserEmail))
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+
+        verify(invitationService, never()).sendInvitations(any(), any());
+    }
+
 }
\ No newline at end of file
@@ -1,19 +1,26 @@
 package org.guram.eventscheduler.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.guram.eventscheduler.dtos.notificationDtos.NotificationPageDto;
 import org.guram.eventscheduler.dtos.notificationDtos.NotificationResponseDto;
+import org.guram.eventscheduler.dtos.notificationDtos.UnreadCountDto;
+import org.guram.eventscheduler.exceptions.BadRequestException;
+import org.guram.eventscheduler.exceptions.ConnectionLimitExceededException;
 import org.guram.eventscheduler.models.NotificationType;
 import org.guram.eventscheduler.models.User;
 import org.guram.eventscheduler.security.CustomUserDetailsService;
+import org.guram.eventscheduler.services.NotificationPushService;
 import org.guram.eventscheduler.services.NotificationService;
 import org.guram.eventscheduler.services.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -30,6 +37,7 @@ import static org.springframework.security.test.web.servlet.request.SecurityMock
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(NotificationController.class)
@@ -41,6 +49,9 @@ class NotificationControllerTest {
     @MockitoBean
     private NotificationService notificationService;
 
+    @MockitoBean
+    private NotificationPushService notificationPushService;
+
     @MockitoBean
     private UserService userService;
 
@@ -110,6 +121,80 @@ class NotificationControllerTest {
                 .andExpect(status().isUnauthorized());
     }
 
+    @Test
+    void getNotificationFeed_shouldReturnPage_whenAuthenticated() throws Exception {
+        var notification = new NotificationResponseDto(1L, null, "Event cancelled", NotificationType.EVENT_CANCELLED, LocalDateTime.now(), false);
+        when(notificationService.getNotificationFeed(authenticatedUser, true, "u.abc", 10))
+                .thenReturn(new NotificationPageDto(List.of(notification), "u.def"));
+
+        mockMvc.perform(get("/notifications/feed")
+                        .param("unreadOnly", "true")
+                        .param("cursor", "u.abc")
+                        .param("limit", "10")
+                        .with(user(authUserEmail)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.notifications", hasSize(1)))
+                .andExpect(jsonPath("$.notifications[0].id").value(1L))
+                .andExpect(jsonPath("$.nextCursor").value("u.def"));
+    }
+
+    @Test
+    void getNotificationFeed_shouldReturn400BadRequest_whenCursorIsInvalid() throws Exception {
+        when(notificationService.getNotificationFeed(eq(authenticatedUser), eq(false), eq("bad"), eq(20)))
+                .thenThrow(new BadRequestException("Invalid cursor: bad"));
+
+        mockMvc.perform(get("/notifications/feed")
+                        .param("cursor", "bad")
+                        .with(user(authUserEmail)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void streamNotifications_shouldSubscribeWithLastEventId_whenAuthenticated() throws Exception {
+        when(notificationPushService.subscribe(authenticatedUser, 42L)).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/notifications/stream")
+                        .header("Last-Event-ID", "42")
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .with(user(authUserEmail)))
+                .andExpect(request().asyncStarted());
+
+        verify(notificationPushService).subscribe(authenticatedUser, 42L);
+    }
+
+    @Test
+    void streamNotifications_shouldReturn503ServiceUnavailable_whenConnectionLimitReached() throws Exception {
+        when(notificationPushService.subscribe(authenticatedUser, null))
+                .thenThrow(new ConnectionLimitExceededException("limit reached"));
+
+        mockMvc.perform(get("/notifications/stream")
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .with(user(authUserEmail)))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    void streamNotifications_shouldReturn401Unauthorized_whenNotAuthenticated() throws Exception {
+        mockMvc.perform(get("/notifications/stream"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void getUnreadCount_shouldReturnCount_whenAuthenticated() throws Exception {
+        when(notificationService.getUnreadCount(authenticatedUser)).thenReturn(new UnreadCountDto(4));
+
+        mockMvc.perform(get("/notifications/unread-count")
+                        .with(user(authUserEmail)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.unread").value(4));
+    }
+
+    @Test
+    void getUnreadCount_shouldReturn401Unauthorized_whenNotAuthenticated() throws Exception {
+        mockMvc.perform(get("/notifications/unread-count"))
+                .andExpect(status().isUnauthorized());
+    }
+
     @Test
     void markAsRead_shouldReturn204NoContent_whenAuthenticated() throws Exception {
         Long notificationId = 10L;
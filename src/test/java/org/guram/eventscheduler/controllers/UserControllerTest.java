@@ -1,14 +1,19 @@
 package org.guram.eventscheduler.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.guram.eventscheduler.dtos.userDtos.BusyIntervalDto;
 import org.guram.eventscheduler.dtos.userDtos.PasswordChangeDto;
 import org.guram.eventscheduler.dtos.userDtos.ProfilePictureUploadDto;
 import org.guram.eventscheduler.dtos.userDtos.UserProfileEditDto;
 import org.guram.eventscheduler.dtos.userDtos.UserResponseDto;
+import org.guram.eventscheduler.dtos.userDtos.UserSearchPageDto;
+import org.guram.eventscheduler.dtos.userDtos.UserSearchResultDto;
 import org.guram.eventscheduler.exceptions.ConflictException;
+import org.guram.eventscheduler.exceptions.ForbiddenOperationException;
 import org.guram.eventscheduler.exceptions.UserNotFoundException;
 import org.guram.eventscheduler.models.User;
 import org.guram.eventscheduler.security.CustomUserDetailsService;
+import org.guram.eventscheduler.services.UserScheduleService;
 import org.guram.eventscheduler.services.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -18,6 +23,7 @@ import org.springframework.http.MediaType;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -45,6 +51,9 @@ class UserControllerTest {
     @MockitoBean
     private UserService userService;
 
+    @MockitoBean
+    private UserScheduleService userScheduleService;
+
     @MockitoBean
     private CustomUserDetailsService customUserDetailsService;
 
@@ -72,16 +81,50 @@ class UserControllerTest {
 
     @Test
     void getCurrentUserInfo_shouldReturnUserInfo_whenAuthenticated() throws Exception {
+        when(userService.getUserProfile(authenticatedUser)).thenReturn(new UserResponseDto(
+                3L, "john", "wick", "john.wick@email.com", null, null, 4, 1, 0, 0));
+
         mockMvc.perform(get("/users/me")
                         .with(user(authUserEmail)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.email").value("john.wick@email.com"))
                 .andExpect(jsonPath("$.firstName").value("john"))
-                .andExpect(jsonPath("$.lastName").value("wick"));
+                .andExpect(jsonPath("$.lastName").value("wick"))
+                .andExpect(jsonPath("$.attendedEventsCount").value(4));
 
         verify(userService).getCurrentUser(any(UserDetails.class));
     }
 
+    @Test
+    void getBusyIntervals_shouldReturnMergedIntervals_whenAuthenticated() throws Exception {
+        var from = LocalDateTime.of(2030, 5, 10, 0, 0);
+        var to = LocalDateTime.of(2030, 5, 11, 0, 0);
+        when(userScheduleService.getBusyIntervals(authenticatedUser, 7L, from, to)).thenReturn(List.of(
+                new BusyIntervalDto(LocalDateTime.of(2030, 5, 10, 9, 0), LocalDateTime.of(2030, 5, 10, 11, 0))));
+
+        mockMvc.perform(get("/users/7/busy")
+                        .with(user(authUserEmail))
+                        .param("from", "2030-05-10T00:00:00")
+                        .param("to", "2030-05-11T00:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].start").value("2030-05-10T09:00:00"));
+    }
+
+    @Test
+    void getBusyIntervals_shouldReturn403Forbidden_whenViewerIsNotCoParticipant() throws Exception {
+        var from = LocalDateTime.of(2030, 5, 10, 0, 0);
+        var to = LocalDateTime.of(2030, 5, 11, 0, 0);
+        when(userScheduleService.getBusyIntervals(authenticatedUser, 7L, from, to))
+                .thenThrow(new ForbiddenOperationException("not authorized"));
+
+        mockMvc.perform(get("/users/7/busy")
+                        .with(user(authUserEmail))
+                        .param("from", "2030-05-10T00:00:00")
+                        .param("to", "2030-05-11T00:00:00"))
+                .andExpect(status().isForbidden());
+    }
+
     @Test
     void getCurrentUserInfo_shouldReturn401Unauthorized_whenNotAuthenticated() throws Exception {
         mockMvc.perform(get("/users/me"))
@@ -143,6 +186,23 @@ class UserControllerTest {
         verify(userService).findUsersByName("joe", "pesci");
     }
 
+    @Test
+    void searchUsers_shouldReturnRankedPage_whenQueryGiven() throws Exception {
+        var page = new UserSearchPageDto(List.of(new UserSearchResultDto(
+                1L, "Joe", "Pesci", "joe.pesci@email.com", null, 1.75)), 20);
+        when(userService.searchUsers("pes", 0, 20)).thenReturn(page);
+
+        mockMvc.perform(get("/users/search")
+                        .with(user(authUserEmail))
+                        .param("q", "pes"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results", hasSize(1)))
+                .andExpect(jsonPath("$.results[0].id").value(1L))
+                .andExpect(jsonPath("$.nextOffset").value(20));
+
+        verify(userService).searchUsers("pes", 0, 20);
+    }
+
     @Test
     void getUsersByName_shouldReturnEmptyList_whenUsersNotFound() throws Exception {
         when(userService.findUsersByName("non", "existent")).thenReturn(Collections.emptyList());
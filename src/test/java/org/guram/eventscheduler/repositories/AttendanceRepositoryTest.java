@@ -5,14 +5,20 @@ import org.guram.eventscheduler.models.AttendanceRole;
 import org.guram.eventscheduler.models.AttendanceStatus;
 import org.guram.eventscheduler.models.Event;
 import org.guram.eventscheduler.models.User;
+import org.guram.eventscheduler.repositories.projections.EventParticipantView;
+import org.guram.eventscheduler.repositories.projections.ParticipantCounts;
+import org.guram.eventscheduler.utils.PersistenceContextUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 @DataJpaTest
 public class AttendanceRepositoryTest {
@@ -26,6 +32,9 @@ public class AttendanceRepositoryTest {
     @Autowired
     private EventRepository eventRepository;
 
+    @Autowired
+    private TestEntityManager entityManager;
+
     private User user1;
     private User user2;
     private Event event1;
@@ -92,11 +101,129 @@ public class AttendanceRepositoryTest {
     }
 
     @Test
-    void markAllAsAttended_shouldUpdateOnlyRegisteredAttendancesForSpecificEvent_whenCalled() {
-        attendanceRepository.markAllAsAttended(event1);
+    void findUserIdsByEventIdAndStatus_shouldReturnMatchingUsersInIdOrder() {
+        assertThat(attendanceRepository.findUserIdsByEventIdAndStatus(event1.getId(), AttendanceStatus.REGISTERED))
+                .containsExactly(user1.getId(), user2.getId());
+        assertThat(attendanceRepository.findUserIdsByEventIdAndStatus(event2.getId(), AttendanceStatus.REGISTERED))
+                .isEmpty();
+    }
+
+    @Test
+    void markAsAttended_shouldFlushPendingChanges_andLeaveLoadedEntitiesForRefresh() {
+        Attendance rejoined = attendanceRepository.findByUserAndEvent(user1, event2).orElseThrow();
+        rejoined.setStatus(AttendanceStatus.REGISTERED);
+
+        int updated = attendanceRepository.markAsAttended(event2.getId(), List.of(user1.getId()));
+
+        assertThat(updated).isEqualTo(1);
+        assertThat(rejoined.getStatus()).isEqualTo(AttendanceStatus.REGISTERED);
+
+        PersistenceContextUtils.refreshLoaded(entityManager.getEntityManager(), List.of(rejoined),
+                attendance -> attendance.getStatus() == AttendanceStatus.REGISTERED);
+
+        assertThat(rejoined.getStatus()).isEqualTo(AttendanceStatus.ATTENDED);
+    }
+
+    @Test
+    void existsByEvent_IdAndUser_IdAndRole_shouldMatchOnlyTheGivenRole() {
+        assertThat(attendanceRepository.existsByEvent_IdAndUser_IdAndRole(event2.getId(), user1.getId(), AttendanceRole.ORGANIZER)).isTrue();
+        assertThat(attendanceRepository.existsByEvent_IdAndUser_IdAndRole(event1.getId(), user1.getId(), AttendanceRole.ORGANIZER)).isFalse();
+        assertThat(attendanceRepository.existsByEvent_IdAndUser_IdAndRole(event2.getId(), user2.getId(), AttendanceRole.ORGANIZER)).isFalse();
+    }
+
+    @Test
+    void lockNextWaitlisted_shouldReturnEarliestWaitlistedAttendanceOfEvent() {
+        Attendance first = attendanceRepository.findByUserAndEvent(user1, event1).orElseThrow();
+        Attendance second = attendanceRepository.findByUserAndEvent(user2, event1).orElseThrow();
+        first.setStatus(AttendanceStatus.WAITLISTED);
+        first.setWaitlistedAt(LocalDateTime.now().minusMinutes(1));
+        second.setStatus(AttendanceStatus.WAITLISTED);
+        second.setWaitlistedAt(LocalDateTime.now().minusMinutes(5));
+        attendanceRepository.saveAll(List.of(first, second));
+
+        List<Attendance> next = attendanceRepository.lockNextWaitlisted(event1.getId(), Limit.of(1));
+
+        assertThat(next).containsExactly(second);
+    }
+
+    @Test
+    void countParticipants_shouldCountRegisteredAndAttendedByRole() {
+        assertThat(attendanceRepository.countParticipants(event1.getId())).isEqualTo(new ParticipantCounts(2, 0));
+        assertThat(attendanceRepository.countParticipants(event2.getId())).isEqualTo(new ParticipantCounts(0, 0));
+    }
+
+    @Test
+    void findParticipantViews_shouldReturnFirstParticipantsOfRole_upToLimit() {
+        assertThat(attendanceRepository.findParticipantViews(event1.getId(), AttendanceRole.ATTENDEE, Limit.of(1)))
+                .extracting(EventParticipantView::userId, EventParticipantView::email, EventParticipantView::status)
+                .containsExactly(tuple(user1.getId(), "john.wick@email.com", AttendanceStatus.REGISTERED));
+        assertThat(attendanceRepository.findParticipantViews(event2.getId(), AttendanceRole.ORGANIZER, Limit.of(10)))
+                .isEmpty();
+    }
 
-        assertThat(event1.getAttendances())
-                .allMatch(a -> a.getStatus() == AttendanceStatus.ATTENDED);
+    @Test
+    void findParticipantPage_shouldOrderByName_andFilterByRoleAndStatus() {
+        List<AttendanceStatus> active = List.of(AttendanceStatus.REGISTERED, AttendanceStatus.ATTENDED);
+
+        assertThat(attendanceRepository.findParticipantPage(event1.getId(), List.of(AttendanceRole.ATTENDEE), active,
+                Limit.of(10)))
+                .extracting(EventParticipantView::lastName)
+                .containsExactly("ear", "wick");
+        assertThat(attendanceRepository.findParticipantPage(event2.getId(), List.of(AttendanceRole.ORGANIZER), active,
+                Limit.of(10)))
+                .isEmpty();
+        assertThat(attendanceRepository.findParticipantPage(event2.getId(), List.of(AttendanceRole.ORGANIZER),
+                List.of(AttendanceStatus.WITHDRAWN), Limit.of(10)))
+                .extracting(EventParticipantView::userId)
+                .containsExactly(user1.getId());
+    }
+
+    @Test
+    void findParticipantPageAfter_shouldContinueAfterNameCursor() {
+        User sameName = userRepository.save(new User("jane", "ear", "jane.ear2@email.com", "<PASSWORD>"));
+        attendanceRepository.save(new Attendance(sameName, event1, AttendanceRole.ATTENDEE));
+        List<AttendanceRole> roles = List.of(AttendanceRole.ATTENDEE, AttendanceRole.ORGANIZER);
+        List<AttendanceStatus> active = List.of(AttendanceStatus.REGISTERED, AttendanceStatus.ATTENDED);
+
+        assertThat(attendanceRepository.findParticipantPageAfter(event1.getId(), roles, active,
+                "ear", "jane", user2.getId(), Limit.of(10)))
+                .extracting(EventParticipantView::userId)
+                .containsExactly(sameName.getId(), user1.getId());
+        assertThat(attendanceRepository.findParticipantPageAfter(event1.getId(), roles, active,
+                "ear", "jane", sameName.getId(), Limit.of(1)))
+                .extracting(EventParticipantView::userId)
+                .containsExactly(user1.getId());
     }
 
+    @Test
+    void findEventIdsByUserIdAndEventIdIn_shouldReturnListedEventsTheUserHasAttendancesFor() {
+        assertThat(attendanceRepository.findEventIdsByUserIdAndEventIdIn(user2.getId(), List.of(event1.getId(), event2.getId())))
+                .containsExactly(event1.getId());
+        assertThat(attendanceRepository.findEventIdsByUserIdAndEventIdIn(user1.getId(), List.of(event2.getId())))
+                .containsExactly(event2.getId());
+    }
+
+    @Test
+    void lockByEventIdAndUserIdIn_shouldReturnListedAttendancesOfEventOnly() {
+        entityManager.clear();
+
+        assertThat(attendanceRepository.lockByEventIdAndUserIdIn(event1.getId(), List.of(user1.getId(), -1L)))
+                .extracting(attendance -> attendance.getUser().getId(), Attendance::getStatus)
+                .containsExactly(tuple(user1.getId(), AttendanceStatus.REGISTERED));
+        assertThat(attendanceRepository.lockByEventIdAndUserIdIn(event2.getId(), List.of(user1.getId(), user2.getId())))
+                .extracting(Attendance::getStatus)
+                .containsExactly(AttendanceStatus.WITHDRAWN);
+    }
+
+    @Test
+    void markAsAttended_shouldUpdateOnlyListedRegisteredAttendances() {
+        int updated = attendanceRepository.markAsAttended(event1.getId(), List.of(user1.getId(), user2.getId(), -1L));
+        int withdrawn = attendanceRepository.markAsAttended(event2.getId(), List.of(user1.getId()));
+
+        assertThat(updated).isEqualTo(2);
+        assertThat(withdrawn).isZero();
+        entityManager.clear();
+        assertThat(attendanceRepository.findByUserAndEvent(user1, event1))
+                .hasValueSatisfying(attendance -> assertThat(attendance.getStatus()).isEqualTo(AttendanceStatus.ATTENDED));
+    }
 }
@@ -2,12 +2,19 @@ package org.guram.eventscheduler.repositories;
 
 import org.guram.eventscheduler.models.Attendance;
 import org.guram.eventscheduler.models.AttendanceRole;
+import org.guram.eventscheduler.models.AttendanceStatus;
 import org.guram.eventscheduler.models.Event;
+import org.guram.eventscheduler.models.RecurrenceFrequency;
+import org.guram.eventscheduler.models.RecurrenceRule;
 import org.guram.eventscheduler.models.User;
+import org.guram.eventscheduler.repositories.projections.EventSearchView;
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import java.time.LocalDateTime;
 import java.util.List;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -24,6 +31,9 @@ public class EventRepositoryTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private TestEntityManager entityManager;
+
     private User user1;
     private User user2;
     private Event event1;
@@ -46,52 +56,128 @@ public class EventRepositoryTest {
 
 
     @Test
-    void findByUserAndRoleAndDateTimeAndStatus_shouldReturnUpcomingEvents_whenRoleNullAndUpcomingTrue() {
-        List<Event> foundEvents = eventRepository.findByUserAndRoleAndDateTimeAndStatus(user1, null, true, false);
+    void findBySeriesInAndOccurrenceStartBetween_shouldReturnMaterializedOccurrencesInWindow() {
+        LocalDateTime firstStart = LocalDateTime.now().plusDays(1).withNano(0);
+        Event series = new Event("weekly sync", firstStart, "tbilisi");
+        series.setRecurrence(new RecurrenceRule(RecurrenceFrequency.WEEKLY, 1, null, null));
+        eventRepository.save(series);
+
+        Event inWindow = new Event("weekly sync", firstStart.plusWeeks(1), "tbilisi");
+        inWindow.setSeries(series);
+        inWindow.setOccurrenceStart(firstStart.plusWeeks(1));
+        Event outOfWindow = new Event("weekly sync", firstStart.plusWeeks(20), "tbilisi");
+        outOfWindow.setSeries(series);
+        outOfWindow.setOccurrenceStart(firstStart.plusWeeks(20));
+        eventRepository.saveAll(List.of(inWindow, outOfWindow));
+
+        List<Event> found = eventRepository.findBySeriesInAndOccurrenceStartBetween(
+                List.of(series), firstStart, firstStart.plusWeeks(4));
+
+        assertThat(found).extracting(Event::getId).containsExactly(inWindow.getId());
+        assertThat(eventRepository.findBySeriesAndOccurrenceStart(series, firstStart.plusWeeks(20)))
+                .hasValueSatisfying(event -> assertThat(event.getId()).isEqualTo(outOfWindow.getId()));
+    }
 
-        assertThat(foundEvents)
-                .extracting(Event::getTitle)
-                .containsExactly("future event one", "future event two");
+    @Test
+    void findSearchViewsAfter_shouldReturnSeriesAndSingleEvents_butNotMaterializedOccurrences() {
+        LocalDateTime firstStart = LocalDateTime.now().plusDays(1).withNano(0);
+        Event series = new Event("weekly sync", firstStart, "tbilisi");
+        series.setRecurrence(new RecurrenceRule(RecurrenceFrequency.WEEKLY, 2, null, 10));
+        eventRepository.save(series);
+
+        Event occurrence = new Event("weekly sync", firstStart.plusWeeks(2), "tbilisi");
+        occurrence.setSeries(series);
+        occurrence.setOccurrenceStart(firstStart.plusWeeks(2));
+        eventRepository.save(occurrence);
+
+        List<EventSearchView> views = eventRepository.findSearchViewsAfter(0L, Limit.of(10));
+
+        assertThat(views).extracting(EventSearchView::id)
+                .containsExactly(event1.getId(), event1.getId() + 1, series.getId());
+        assertThat(views.get(2))
+                .extracting(EventSearchView::frequency, EventSearchView::interval, EventSearchView::count)
+                .containsExactly(RecurrenceFrequency.WEEKLY, 2, 10);
+        assertThat(eventRepository.findSearchViewsAfter(series.getId(), Limit.of(10))).isEmpty();
     }
 
     @Test
-    void findByUserAndRoleAndDateTimeAndStatus_shouldFilterByRole_whenRoleProvided() {
-        List<Event> foundEvents = eventRepository.findByUserAndRoleAndDateTimeAndStatus(user1, AttendanceRole.ORGANIZER, true, false);
+    void fetchAttendancesWithUsers_shouldInitializeAttendancesAndUsers() {
+        entityManager.flush();
+        entityManager.clear();
+
+        Event managedEvent = eventRepository.findById(event1.getId()).orElseThrow();
+        assertThat(Hibernate.isInitialized(managedEvent.getAttendances())).isFalse();
+
+        eventRepository.fetchAttendancesWithUsers(List.of(managedEvent));
 
-        assertThat(foundEvents)
-                .extracting(Event::getTitle)
-                .containsExactly("future event two");
+        assertThat(Hibernate.isInitialized(managedEvent.getAttendances())).isTrue();
+        assertThat(managedEvent.getAttendances())
+                .allMatch(attendance -> Hibernate.isInitialized(attendance.getUser()))
+                .extracting(attendance -> attendance.getUser().getEmail())
+                .containsExactly("john.wick@email.com");
     }
 
     @Test
-    void findByUserAndRoleAndDateTimeAndStatus_shouldReturnEmptyList_whenUserHasNoAttendances() {
-        List<Event> foundEvents = eventRepository.findByUserAndRoleAndDateTimeAndStatus(user2, null, true, false);
+    void reserveSeat_shouldStopAtCapacity_andReleaseSeatShouldFreeOne() {
+        event1.setCapacity(2);
+        eventRepository.saveAndFlush(event1);
 
-        assertThat(foundEvents).isEmpty();
+        assertThat(eventRepository.reserveSeat(event1.getId())).isEqualTo(1);
+        assertThat(eventRepository.reserveSeat(event1.getId())).isEqualTo(1);
+        assertThat(eventRepository.reserveSeat(event1.getId())).isZero();
+
+        assertThat(eventRepository.releaseSeat(event1.getId())).isEqualTo(1);
+        assertThat(eventRepository.reserveSeat(event1.getId())).isEqualTo(1);
     }
 
     @Test
-    void findByUserAndRoleAndDateTimeAndStatus_shouldIncludeCancelledEvents_whenCancelledTrue() {
-        event1.setCancelled(true);
-        eventRepository.save(event1);
+    void updateCapacity_shouldRefuseCapacityBelowReservedSeats() {
+        entityManager.flush();
+        eventRepository.reserveSeat(event1.getId());
+        eventRepository.reserveSeat(event1.getId());
+
+        assertThat(eventRepository.updateCapacity(event1.getId(), 1)).isZero();
+        assertThat(eventRepository.updateCapacity(event1.getId(), 2)).isEqualTo(1);
+        entityManager.clear();
 
-        List<Event> foundEvents = eventRepository.findByUserAndRoleAndDateTimeAndStatus(user1, null, true, true);
+        assertThat(eventRepository.findById(event1.getId()))
+                .hasValueSatisfying(event -> assertThat(event.getCapacity()).isEqualTo(2));
+    }
 
-        assertThat(foundEvents)
-                .extracting(Event::getTitle)
-                .containsExactly("future event one", "future event two");
+    @Test
+    void reservedSeats_shouldNotBeOverwritten_whenEventEntityIsSaved() {
+        eventRepository.reserveSeat(event1.getId());
+        event1.setTitle("renamed");
+        eventRepository.saveAndFlush(event1);
+        entityManager.clear();
+
+        assertThat(eventRepository.findById(event1.getId()))
+                .hasValueSatisfying(event -> assertThat(event.getReservedSeats()).isEqualTo(1));
     }
 
     @Test
-    void findByUserAndRoleAndDateTimeAndStatus_shouldExcludeCancelledEvents_whenCancelledFalse() {
-        event1.setCancelled(true);
-        eventRepository.save(event1);
+    void reconcileReservedSeats_shouldCountRegisteredAndAttendedAttendances() {
+        Attendance withdrawn = new Attendance(user2, event1, AttendanceRole.ATTENDEE);
+        withdrawn.setStatus(AttendanceStatus.WITHDRAWN);
+        attendanceRepository.save(withdrawn);
+        entityManager.flush();
+
+        int updated = eventRepository.reconcileReservedSeats(List.of(event1.getId()));
+        entityManager.clear();
+
+        assertThat(updated).isEqualTo(1);
+        assertThat(eventRepository.findById(event1.getId()))
+                .hasValueSatisfying(event -> assertThat(event.getReservedSeats()).isEqualTo(1));
+    }
 
-        List<Event> foundEvents = eventRepository.findByUserAndRoleAndDateTimeAndStatus(user1, null, true, false);
+    @Test
+    void findIdsWithoutReservedSeatsAfter_shouldSkipEventsThatAlreadyHoldSeats() {
+        entityManager.flush();
+        eventRepository.reserveSeat(event1.getId());
+        entityManager.clear();
 
-        assertThat(foundEvents)
-                .extracting(Event::getTitle)
-                .containsExactly("future event two");
+        assertThat(eventRepository.findIdsWithoutReservedSeatsAfter(0L, Limit.of(10)))
+                .containsExactly(event1.getId() + 1);
     }
 
 }
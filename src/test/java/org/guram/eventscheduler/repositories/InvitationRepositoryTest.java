@@ -4,11 +4,13 @@ import org.guram.eventscheduler.models.Event;
 import org.guram.eventscheduler.models.Invitation;
 import org.guram.eventscheduler.models.InvitationStatus;
 import org.guram.eventscheduler.models.User;
+import org.guram.eventscheduler.repositories.projections.InvitationInviteeView;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -99,4 +101,33 @@ public class InvitationRepositoryTest {
         assertThat(declinedInvitations).isEmpty();
     }
 
+    @Test
+    void insertPendingForUsers_shouldSkipInviteesThatAlreadyHaveAnInvitation() {
+        int inserted = invitationRepository.insertPendingForUsers(event1.getId(), user1.getId(),
+                List.of(user2.getId(), user3.getId(), user1.getId()), LocalDateTime.now());
+
+        assertThat(inserted).isEqualTo(1);
+        assertThat(invitationRepository.findByInviteeAndEvent(user1, event1))
+                .hasValueSatisfying(invitation -> assertThat(invitation.getStatus()).isEqualTo(InvitationStatus.PENDING));
+    }
+
+    @Test
+    void findInviteeViewsByEventIdAndInviteeIdIn_shouldReturnOnlyInvitationsForThatEvent() {
+        List<InvitationInviteeView> views = invitationRepository.findInviteeViewsByEventIdAndInviteeIdIn(
+                event2.getId(), List.of(user2.getId(), user3.getId()));
+
+        assertThat(views).extracting(InvitationInviteeView::inviteeId).containsExactly(user2.getId());
+    }
+
+    @Test
+    void findInviteeViewsSentTogether_shouldIgnoreInvitationsFromOtherRequests() {
+        LocalDateTime sentAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        invitationRepository.insertPendingForUsers(event1.getId(), user1.getId(), List.of(user1.getId()), sentAt);
+
+        List<InvitationInviteeView> views = invitationRepository.findInviteeViewsSentTogether(
+                event1.getId(), user1.getId(), sentAt, List.of(user1.getId(), user2.getId(), user3.getId()));
+
+        assertThat(views).extracting(InvitationInviteeView::inviteeId).containsExactly(user1.getId());
+    }
+
 }
@@ -0,0 +1,93 @@
+package org.guram.eventscheduler.repositories;
+
+import org.guram.eventscheduler.models.NotificationAudience;
+import org.guram.eventscheduler.models.NotificationOutbox;
+import org.guram.eventscheduler.models.NotificationType;
+import org.guram.eventscheduler.repositories.projections.DispatchedOutboxView;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import java.time.LocalDateTime;
+import java.util.List;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+public class NotificationOutboxRepositoryTest {
+
+    @Autowired
+    private NotificationOutboxRepository outboxRepository;
+
+    private NotificationOutbox outboxEntry(String key) {
+        NotificationOutbox entry = new NotificationOutbox();
+        entry.setIdempotencyKey(key);
+        entry.setAudience(NotificationAudience.USERS);
+        entry.setRecipientIdList(List.of(1L, 2L));
+        entry.setMessage("message");
+        entry.setType(NotificationType.EVENT_CANCELLED);
+        return entry;
+    }
+
+    @Test
+    void lockNextPending_shouldReturnOldestUndispatchedEntryAfterCursor() {
+        NotificationOutbox dispatched = outboxEntry("key-1");
+        dispatched.setDispatchedAt(LocalDateTime.now());
+        NotificationOutbox exhausted = outboxEntry("key-2");
+        exhausted.setAttempts(10);
+        NotificationOutbox pending = outboxEntry("key-3");
+        NotificationOutbox laterPending = outboxEntry("key-4");
+        outboxRepository.saveAll(List.of(dispatched, exhausted, pending, laterPending));
+
+        List<NotificationOutbox> first = outboxRepository.lockNextPending(0L, 10, Limit.of(1));
+        List<NotificationOutbox> afterFirst = outboxRepository.lockNextPending(pending.getId(), 10, Limit.of(1));
+
+        assertThat(first).extracting(NotificationOutbox::getIdempotencyKey).containsExactly("key-3");
+        assertThat(afterFirst).extracting(NotificationOutbox::getIdempotencyKey).containsExactly("key-4");
+        assertThat(first.get(0).getRecipientIdList()).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void findDispatchedSince_shouldReturnEntriesDispatchedAfterCutoff_inKeysetOrder() {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        NotificationOutbox old = outboxEntry("key-1");
+        old.setDispatchedAt(now.minusMinutes(5));
+        NotificationOutbox first = outboxEntry("key-2");
+        first.setDispatchedAt(now.minusSeconds(2));
+        NotificationOutbox second = outboxEntry("key-3");
+        second.setDispatchedAt(now.minusSeconds(2));
+        NotificationOutbox pending = outboxEntry("key-4");
+        outboxRepository.saveAll(List.of(old, first, second, pending));
+
+        List<DispatchedOutboxView> page = outboxRepository.findDispatchedSince(now.minusMinutes(1), null, null, Limit.of(1));
+        List<DispatchedOutboxView> next = outboxRepository.findDispatchedSince(now.minusMinutes(1),
+                page.get(0).dispatchedAt(), page.get(0).id(), Limit.of(10));
+
+        assertThat(page).extracting(DispatchedOutboxView::idempotencyKey).containsExactly("key-2");
+        assertThat(next).extracting(DispatchedOutboxView::idempotencyKey).containsExactly("key-3");
+    }
+
+    @Test
+    void purgeQueries_shouldFindOldDispatchedAndDeadLetteredEntries_andDeleteThem() {
+        LocalDateTime now = LocalDateTime.now();
+        NotificationOutbox oldDispatched = outboxEntry("key-1");
+        oldDispatched.setDispatchedAt(now.minusDays(8));
+        NotificationOutbox recentDispatched = outboxEntry("key-2");
+        recentDispatched.setDispatchedAt(now.minusDays(1));
+        NotificationOutbox deadLettered = outboxEntry("key-3");
+        deadLettered.setAttempts(10);
+        NotificationOutbox retrying = outboxEntry("key-4");
+        retrying.setAttempts(3);
+        outboxRepository.saveAll(List.of(oldDispatched, recentDispatched, deadLettered, retrying));
+
+        List<Long> dispatchedIds = outboxRepository.findIdsDispatchedBefore(now.minusDays(7), Limit.of(10));
+        List<Long> deadLetteredIds = outboxRepository.findDeadLetteredIdsCreatedBefore(10, now.plusMinutes(1), Limit.of(10));
+        int deleted = outboxRepository.deleteByIdIn(List.of(oldDispatched.getId(), deadLettered.getId()));
+
+        assertThat(dispatchedIds).containsExactly(oldDispatched.getId());
+        assertThat(deadLetteredIds).containsExactly(deadLettered.getId());
+        assertThat(deleted).isEqualTo(2);
+        assertThat(outboxRepository.findAll()).extracting(NotificationOutbox::getIdempotencyKey)
+                .containsExactlyInAnyOrder("key-2", "key-4");
+    }
+
+}
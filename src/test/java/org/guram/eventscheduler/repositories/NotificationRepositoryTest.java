@@ -1,15 +1,25 @@
 package org.guram.eventscheduler.repositories;
 
+import org.guram.eventscheduler.models.Attendance;
+import org.guram.eventscheduler.models.AttendanceRole;
+import org.guram.eventscheduler.models.AttendanceStatus;
+import org.guram.eventscheduler.models.Event;
+import org.guram.eventscheduler.models.Invitation;
 import org.guram.eventscheduler.models.Notification;
 import org.guram.eventscheduler.models.NotificationType;
 import org.guram.eventscheduler.models.User;
+import org.guram.eventscheduler.repositories.projections.NotificationArchiveView;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 @DataJpaTest
 public class NotificationRepositoryTest {
@@ -20,6 +30,18 @@ public class NotificationRepositoryTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+
+    @Autowired
+    private InvitationRepository invitationRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
     private User user1;
 
     @BeforeEach
@@ -96,13 +118,155 @@ public class NotificationRepositoryTest {
         assertThat(optionalNotification).isEmpty();
     }
 
+    @Test
+    void findFeedPage_shouldWalkSegmentNewestFirstUsingKeyset() {
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Notification> firstPage = notificationRepository.findFeedPage(user1, false, null, null, Limit.of(1));
+        Notification last = firstPage.get(0);
+        List<Notification> secondPage = notificationRepository.findFeedPage(
+                user1, false, last.getCreatedAt(), last.getId(), Limit.of(1));
+        List<Notification> readSegment = notificationRepository.findFeedPage(user1, true, null, null, Limit.of(10));
+
+        assertThat(firstPage).hasSize(1);
+        assertThat(secondPage).hasSize(1).doesNotContain(last);
+        assertThat(secondPage.get(0).getCreatedAt()).isBeforeOrEqualTo(last.getCreatedAt());
+        assertThat(List.of(last, secondPage.get(0))).noneMatch(Notification::isRead);
+        assertThat(secondPage.get(0).getId()).isNotEqualTo(last.getId());
+        assertThat(readSegment)
+                .extracting(Notification::getMessage)
+                .containsExactly("notification message two");
+    }
+
+    @Test
+    void countByRecipientAndReadFalse_shouldCountOnlyUnreadNotificationsOfRecipient() {
+        assertThat(notificationRepository.countByRecipientAndReadFalse(user1)).isEqualTo(2);
+    }
+
     @Test
     void markAllAsReadForUser_shouldUpdateOnlyUnreadNotificationsForSpecificUser_whenCalled() {
-        notificationRepository.markAllAsReadForUser(user1);
+        int updated = notificationRepository.markAllAsReadForUser(user1);
 
         List<Notification> notifications = user1.getNotifications();
 
+        assertThat(updated).isEqualTo(2);
         assertThat(notifications).allMatch(Notification::isRead);
+        assertThat(notificationRepository.countByRecipientAndReadFalse(user1)).isZero();
+    }
+
+    @Test
+    void findReadCreatedBefore_shouldReturnOnlyReadNotificationsPastCutoff_inKeysetOrder() {
+        LocalDateTime cutoff = LocalDateTime.now().plusMinutes(1);
+
+        List<NotificationArchiveView> firstPage = notificationRepository.findReadCreatedBefore(cutoff, null, null, Limit.of(10));
+        NotificationArchiveView last = firstPage.get(0);
+
+        assertThat(firstPage).extracting(NotificationArchiveView::message, NotificationArchiveView::recipientId)
+                .containsExactly(tuple("notification message two", user1.getId()));
+        assertThat(notificationRepository.findReadCreatedBefore(cutoff, last.createdAt(), last.id(), Limit.of(10)))
+                .isEmpty();
+        assertThat(notificationRepository.findReadCreatedBefore(LocalDateTime.now().minusDays(1), null, null, Limit.of(10)))
+                .isEmpty();
+    }
+
+    @Test
+    void deleteByIdIn_shouldRemoveOnlyGivenNotifications() {
+        LocalDateTime cutoff = LocalDateTime.now().plusMinutes(1);
+        List<Long> ids = notificationRepository.findReadCreatedBefore(cutoff, null, null, Limit.of(10)).stream()
+                .map(NotificationArchiveView::id)
+                .toList();
+
+        int deleted = notificationRepository.deleteByIdIn(ids);
+
+        assertThat(deleted).isEqualTo(1);
+        assertThat(notificationRepository.findAll()).hasSize(3).noneMatch(Notification::isRead);
+    }
+
+    @Test
+    void insertForRegisteredAttendeesAndPendingInvitees_shouldCreateOneNotificationPerRecipient() {
+        User attendee = new User("carol", "brown", "carol.brown@email.com", "<PASSWORD>");
+        User withdrawn = new User("dave", "green", "dave.green@email.com", "<PASSWORD>");
+        User invitee = new User("erin", "black", "erin.black@email.com", "<PASSWORD>");
+        userRepository.saveAll(List.of(attendee, withdrawn, invitee));
+
+        Event event = eventRepository.save(new Event("party", LocalDateTime.now().plusDays(1), "tbilisi"));
+
+        Attendance withdrawnAttendance = new Attendance(withdrawn, event, AttendanceRole.ATTENDEE);
+        withdrawnAttendance.setStatus(AttendanceStatus.WITHDRAWN);
+        attendanceRepository.saveAll(List.of(new Attendance(attendee, event, AttendanceRole.ATTENDEE), withdrawnAttendance));
+
+        Invitation invitation = new Invitation();
+        invitation.setInvitor(user1);
+        invitation.setInvitee(invitee);
+        invitation.setEvent(event);
+        invitationRepository.save(invitation);
+
+        LocalDateTime createdAt = LocalDateTime.now();
+        int attendeesNotified = notificationRepository.insertForRegisteredAttendees(
+                event.getId(), "cancelled", NotificationType.EVENT_CANCELLED, createdAt, "key-1");
+        int inviteesNotified = notificationRepository.insertForPendingInvitees(
+                event.getId(), "cancelled", NotificationType.EVENT_CANCELLED, createdAt, "key-1");
+
+        assertThat(attendeesNotified).isEqualTo(1);
+        assertThat(inviteesNotified).isEqualTo(1);
+        assertThat(notificationRepository.findByRecipientOrderByCreatedAtDesc(attendee))
+                .singleElement()
+                .satisfies(n -> {
+                    assertThat(n.getMessage()).isEqualTo("cancelled");
+                    assertThat(n.getType()).isEqualTo(NotificationType.EVENT_CANCELLED);
+                    assertThat(n.getIdempotencyKey()).isEqualTo("key-1");
+                    assertThat(n.isRead()).isFalse();
+                });
+        assertThat(notificationRepository.findByRecipientOrderByCreatedAtDesc(invitee)).hasSize(1);
+        assertThat(notificationRepository.findByRecipientOrderByCreatedAtDesc(withdrawn)).isEmpty();
+    }
+
+    @Test
+    void insertForOrganizers_shouldNotifyOnlyOrganizers() {
+        User attendee = new User("carol", "brown", "carol.brown@email.com", "<PASSWORD>");
+        userRepository.save(attendee);
+
+        Event event = eventRepository.save(new Event("party", LocalDateTime.now().plusDays(1), "tbilisi"));
+        attendanceRepository.saveAll(List.of(
+                new Attendance(user1, event, AttendanceRole.ORGANIZER),
+                new Attendance(attendee, event, AttendanceRole.ATTENDEE)));
+
+        int notified = notificationRepository.insertForOrganizers(
+                event.getId(), "accepted", NotificationType.INVITATION_ACCEPTED, LocalDateTime.now(), "key-2");
+
+        assertThat(notified).isEqualTo(1);
+        assertThat(notificationRepository.findByRecipientOrderByCreatedAtDesc(attendee)).isEmpty();
+    }
+
+    @Test
+    void insertForUsers_shouldSkipRecipientsAlreadyNotifiedWithSameKey() {
+        LocalDateTime createdAt = LocalDateTime.now();
+
+        int firstDelivery = notificationRepository.insertForUsers(
+                List.of(user1.getId()), "hello", NotificationType.ADDED_AS_ORGANIZER, createdAt, "key-3");
+        int redelivery = notificationRepository.insertForUsers(
+                List.of(user1.getId()), "hello", NotificationType.ADDED_AS_ORGANIZER, createdAt, "key-3");
+
+        assertThat(firstDelivery).isEqualTo(1);
+        assertThat(redelivery).isZero();
+    }
+
+    @Test
+    void findWithRecipientByIdempotencyKeyInAndRecipientIdIn_shouldReturnOnlyGivenKeysAndRecipients() {
+        User user2 = userRepository.findByEmail("jane.ear@email.com").orElseThrow();
+        notificationRepository.insertForUsers(List.of(user1.getId(), user2.getId()), "hello",
+                NotificationType.ADDED_AS_ORGANIZER, LocalDateTime.now(), "key-4");
+        notificationRepository.insertForUsers(List.of(user2.getId()), "again",
+                NotificationType.ADDED_AS_ORGANIZER, LocalDateTime.now(), "key-5");
+        notificationRepository.insertForUsers(List.of(user2.getId()), "ignored",
+                NotificationType.ADDED_AS_ORGANIZER, LocalDateTime.now(), "key-6");
+
+        List<Notification> found = notificationRepository.findWithRecipientByIdempotencyKeyInAndRecipientIdIn(
+                List.of("key-4", "key-5"), List.of(user2.getId()));
+
+        assertThat(found).extracting(Notification::getMessage).containsExactly("hello", "again");
+        assertThat(found).extracting(n -> n.getRecipient().getEmail()).containsOnly("jane.ear@email.com");
     }
 
 }
@@ -0,0 +1,170 @@
+package org.guram.eventscheduler.repositories;
+
+import org.guram.eventscheduler.models.AttendanceRole;
+import org.guram.eventscheduler.models.AttendanceStatus;
+import org.guram.eventscheduler.utils.KeysetCursor;
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(QueryPlanTest.StatementCaptureConfig.class)
+public class QueryPlanTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Autowired
+    private UserTimelineRepository userTimelineRepository;
+
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private StatementCapture statementCapture;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    // Runs the repository call, then EXPLAINs the last statement Hibernate generated for it
+    private String explain(Runnable repositoryCall) {
+        statementCapture.clear();
+        repositoryCall.run();
+        String sql = statementCapture.last();
+
+        return entityManager.getEntityManager().unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                ParameterMetaData parameters = statement.getParameterMetaData();
+                for (int i = 1; i <= parameters.getParameterCount(); i++)
+                    bindSample(statement, i, parameters.getParameterType(i));
+                try (ResultSet plan = statement.executeQuery()) {
+                    plan.next();
+                    return plan.getString(1);
+                }
+            }
+        });
+    }
+
+    private static void bindSample(PreparedStatement statement, int index, int sqlType) throws SQLException {
+        switch (sqlType) {
+            case Types.BIGINT, Types.INTEGER -> statement.setLong(index, 1L);
+            case Types.BOOLEAN -> statement.setBoolean(index, false);
+            case Types.TIMESTAMP -> statement.setTimestamp(index, Timestamp.valueOf(NOW));
+            default -> statement.setString(index, AttendanceStatus.REGISTERED.name());
+        }
+    }
+
+
+    @Test
+    void upcomingTimelineRange_shouldUseUserDateTimeIndex() {
+        String plan = explain(() -> userTimelineRepository.findTimeline(
+                UserTimelineFilter.range(1L, null, false, NOW, null, null), Limit.of(21)));
+
+        assertThat(plan).contains("IDX_USER_TIMELINE_USER_DATE_TIME");
+    }
+
+    @Test
+    void pastTimelinePage_shouldUseUserDateTimeIndex_withRoleAndKeysetCursor() {
+        String plan = explain(() -> userTimelineRepository.findTimeline(
+                UserTimelineFilter.range(1L, AttendanceRole.ORGANIZER, false, null, NOW,
+                        new KeysetCursor(NOW.minusYears(1), 10L)), Limit.of(21)));
+
+        assertThat(plan).contains("IDX_USER_TIMELINE_USER_DATE_TIME");
+    }
+
+    @Test
+    void timelineIncludingCancelled_shouldUseUserDateTimeIndex() {
+        String plan = explain(() -> userTimelineRepository.streamTimeline(
+                UserTimelineFilter.range(1L, AttendanceRole.ATTENDEE, true, NOW, null, null)).close());
+
+        assertThat(plan).contains("IDX_USER_TIMELINE_USER_DATE_TIME");
+    }
+
+    @Test
+    void activeSeries_shouldUseAUserTimelineIndex() {
+        String plan = explain(() -> userTimelineRepository.findTimeline(
+                UserTimelineFilter.activeSeries(1L, null, false, NOW), Limit.unlimited()));
+
+        assertThat(plan).containsAnyOf("IDX_USER_TIMELINE_USER_DATE_TIME", "IDX_USER_TIMELINE_USER_SERIES_UNTIL");
+    }
+
+    @Test
+    void sharedEventLookup_shouldUseUserStatusRoleIndex() {
+        String plan = explain(() -> attendanceRepository.existsSharedEvent(1L, 2L));
+
+        assertThat(plan).contains("IDX_ATTENDANCES_USER_STATUS_ROLE");
+    }
+
+    @Test
+    void participantPage_shouldUseEventRoleStatusIndex() {
+        String plan = explain(() -> attendanceRepository.findParticipantPage(1L,
+                List.of(AttendanceRole.ATTENDEE), List.of(AttendanceStatus.REGISTERED, AttendanceStatus.ATTENDED),
+                Limit.of(21)));
+
+        assertThat(plan).contains("IDX_ATTENDANCES_EVENT_ROLE_STATUS");
+    }
+
+    @Test
+    void expiredReadNotifications_shouldUseReadCreatedIndex() {
+        String plan = explain(() -> notificationRepository.findReadCreatedBefore(NOW, null, null, Limit.of(1000)));
+
+        assertThat(plan).contains("IDX_NOTIFICATIONS_READ_CREATED");
+    }
+
+
+    @TestConfiguration
+    static class StatementCaptureConfig {
+
+        @Bean
+        StatementCapture statementCapture() {
+            return new StatementCapture();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer statementCaptureProperties(StatementCapture statementCapture) {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, statementCapture);
+        }
+    }
+
+    static class StatementCapture implements StatementInspector {
+
+        private final List<String> statements = new ArrayList<>();
+
+        @Override
+        public synchronized String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+
+        synchronized void clear() {
+            statements.clear();
+        }
+
+        synchronized String last() {
+            assertThat(statements).as("statements generated by the repository call").isNotEmpty();
+            return statements.get(statements.size() - 1);
+        }
+    }
+
+}
@@ -0,0 +1,165 @@
+package org.guram.eventscheduler.repositories;
+
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.guram.eventscheduler.config.HibernateCacheConfig;
+import org.guram.eventscheduler.models.Attendance;
+import org.guram.eventscheduler.models.AttendanceRole;
+import org.guram.eventscheduler.models.AttendanceStatus;
+import org.guram.eventscheduler.models.Event;
+import org.guram.eventscheduler.models.Notification;
+import org.guram.eventscheduler.models.NotificationType;
+import org.guram.eventscheduler.models.User;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDateTime;
+import java.util.List;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(HibernateCacheConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class SecondLevelCacheTest {
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+    private User organizer;
+    private User attendee;
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            organizer = userRepository.save(new User("john", "wick", "john.wick@email.com", "<PASSWORD>"));
+            attendee = userRepository.save(new User("jane", "doe", "jane.doe@email.com", "<PASSWORD>"));
+
+            event = new Event("meetup", LocalDateTime.now().plusDays(1), "tbilisi");
+            event.getAttendances().add(new Attendance(organizer, event, AttendanceRole.ORGANIZER));
+            event.getAttendances().add(new Attendance(attendee, event, AttendanceRole.ATTENDEE));
+            eventRepository.save(event);
+        });
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            notificationRepository.deleteAll();
+            eventRepository.deleteAll();
+            userRepository.deleteAll();
+        });
+    }
+
+    private List<AttendanceStatus> attendanceStatuses() {
+        return transactionTemplate.execute(status -> eventRepository.findById(event.getId()).orElseThrow()
+                .getAttendances().stream()
+                .map(Attendance::getStatus)
+                .toList());
+    }
+
+
+    @Test
+    void findById_shouldServeEventAndAttendancesFromCache_withoutQueryingDatabase() {
+        attendanceStatuses();
+        long statementsAfterWarmUp = statistics.getPrepareStatementCount();
+
+        assertThat(attendanceStatuses()).hasSize(2);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statementsAfterWarmUp);
+        assertThat(statistics.getSecondLevelCacheHitCount()).isPositive();
+        assertThat(statistics.getCollectionStatistics(Event.class.getName() + ".attendances").getCacheHitCount())
+                .isPositive();
+    }
+
+    @Test
+    void markAsAttended_shouldInvalidateCachedAttendances() {
+        attendanceStatuses();
+
+        transactionTemplate.executeWithoutResult(status ->
+                attendanceRepository.markAsAttended(event.getId(), List.of(organizer.getId(), attendee.getId())));
+
+        assertThat(attendanceStatuses()).containsOnly(AttendanceStatus.ATTENDED);
+    }
+
+    @Test
+    void savingAttendanceDirectly_shouldEvictCachedAttendanceCollection() {
+        attendanceStatuses();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            User latecomer = userRepository.save(new User("late", "comer", "late.comer@email.com", "<PASSWORD>"));
+            attendanceRepository.save(new Attendance(latecomer, eventRepository.getReferenceById(event.getId()),
+                    AttendanceRole.ATTENDEE));
+        });
+
+        assertThat(attendanceStatuses()).hasSize(3);
+    }
+
+    @Test
+    void markAllAsReadForUser_shouldKeepUserCached_andExposeReadNotifications() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Notification notification = new Notification();
+            notification.setRecipient(userRepository.getReferenceById(attendee.getId()));
+            notification.setMessage("hello");
+            notification.setType(NotificationType.EVENT_INVITATION_RECEIVED);
+            notificationRepository.save(notification);
+        });
+        transactionTemplate.executeWithoutResult(status -> userRepository.findById(attendee.getId()));
+
+        transactionTemplate.executeWithoutResult(status ->
+                notificationRepository.markAllAsReadForUser(userRepository.getReferenceById(attendee.getId())));
+        long missesBefore = statistics.getEntityStatistics(User.class.getName()).getCacheMissCount();
+
+        transactionTemplate.executeWithoutResult(status -> userRepository.findById(attendee.getId()));
+
+        assertThat(statistics.getEntityStatistics(User.class.getName()).getCacheMissCount()).isEqualTo(missesBefore);
+        assertThat(notificationRepository.findAll()).extracting(Notification::isRead).containsOnly(true);
+    }
+
+    @Test
+    void reserveSeat_shouldEvictOnlyTheTouchedEvent() {
+        Event other = transactionTemplate.execute(status ->
+                eventRepository.save(new Event("workshop", LocalDateTime.now().plusDays(2), "batumi")));
+        transactionTemplate.executeWithoutResult(status -> {
+            eventRepository.findById(event.getId());
+            eventRepository.findById(other.getId());
+        });
+        Cache cache = entityManagerFactory.getCache();
+
+        transactionTemplate.executeWithoutResult(status -> eventRepository.reserveSeat(event.getId()));
+
+        assertThat(cache.contains(Event.class, other.getId())).isTrue();
+        assertThat(cache.contains(Event.class, event.getId())).isFalse();
+        Integer reservedSeats = transactionTemplate.execute(status ->
+                eventRepository.findById(event.getId()).orElseThrow().getReservedSeats());
+        assertThat(reservedSeats).isEqualTo(1);
+    }
+
+}
@@ -1,10 +1,13 @@
 package org.guram.eventscheduler.repositories;
 
 import org.guram.eventscheduler.models.User;
+import org.guram.eventscheduler.repositories.projections.UserIdentity;
+import org.guram.eventscheduler.repositories.projections.UserSearchView;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
 import java.util.List;
 import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -39,6 +42,29 @@ public class UserRepositoryTest {
     }
 
 
+    @Test
+    void findIdentityByEmail_shouldReturnIdAndEmail_whenEmailExistsInDb() {
+        Optional<UserIdentity> identity = userRepository.findIdentityByEmail("john.cena@email.com");
+
+        assertThat(identity).isPresent();
+        assertThat(identity.get().id()).isNotNull();
+        assertThat(identity.get().email()).isEqualTo("john.cena@email.com");
+        assertThat(userRepository.findIdentityByEmail("non-existent@email.com")).isEmpty();
+    }
+
+
+    @Test
+    void findSearchViewsAfter_shouldPageThroughUsersInIdOrder() {
+        List<UserSearchView> firstPage = userRepository.findSearchViewsAfter(0L, Limit.of(2));
+        List<UserSearchView> rest = userRepository.findSearchViewsAfter(firstPage.get(1).id(), Limit.of(100));
+
+        assertThat(firstPage).hasSize(2);
+        assertThat(firstPage.get(0).id()).isLessThan(firstPage.get(1).id());
+        assertThat(rest).extracting(UserSearchView::id).allMatch(id -> id > firstPage.get(1).id());
+        assertThat(firstPage.size() + rest.size()).isEqualTo((int) userRepository.count());
+    }
+
+
     @Test
     void findByEmail_shouldReturnEmptyOptional_whenEmailNotExistsInDb() {
         Optional<User> optionalUserByEmail = userRepository.findByEmail("non-existent@email.com");
@@ -0,0 +1,131 @@
+package org.guram.eventscheduler.repositories;
+
+import org.guram.eventscheduler.models.Attendance;
+import org.guram.eventscheduler.models.AttendanceRole;
+import org.guram.eventscheduler.models.AttendanceStatus;
+import org.guram.eventscheduler.models.Event;
+import org.guram.eventscheduler.models.User;
+import org.guram.eventscheduler.models.UserScheduleEntry;
+import org.guram.eventscheduler.repositories.projections.ScheduleEntryView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import java.time.LocalDateTime;
+import java.util.List;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+public class UserScheduleRepositoryTest {
+
+    @Autowired
+    private UserScheduleRepository scheduleRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private LocalDateTime start;
+    private Event morning;
+    private Event afternoon;
+
+    @BeforeEach
+    void setUp() {
+        start = LocalDateTime.now().plusDays(1).withHour(9).withMinute(0).withSecond(0).withNano(0);
+        morning = new Event("morning", start, "tbilisi");
+        afternoon = new Event("afternoon", start.plusHours(5), "batumi");
+        eventRepository.saveAll(List.of(morning, afternoon));
+
+        scheduleRepository.saveAll(List.of(
+                new UserScheduleEntry(1L, morning.getId(), start, start.plusHours(2)),
+                new UserScheduleEntry(1L, afternoon.getId(), start.plusHours(5), start.plusHours(6)),
+                new UserScheduleEntry(2L, morning.getId(), start, start.plusHours(2))));
+    }
+
+
+    @Test
+    void findOverlapping_shouldReturnOnlyIntersectingEntriesOfUser() {
+        List<ScheduleEntryView> overlapping = scheduleRepository.findOverlapping(
+                1L, start.minusDays(7), start.plusHours(1), start.plusHours(3), null);
+
+        assertThat(overlapping).extracting(ScheduleEntryView::title).containsExactly("morning");
+    }
+
+    @Test
+    void findOverlapping_shouldTreatTouchingIntervalsAsFree_andExcludeGivenEvent() {
+        assertThat(scheduleRepository.findOverlapping(
+                1L, start.minusDays(7), start.plusHours(2), start.plusHours(5), null)).isEmpty();
+        assertThat(scheduleRepository.findOverlapping(
+                1L, start.minusDays(7), start, start.plusHours(6), morning.getId()))
+                .extracting(ScheduleEntryView::eventId).containsExactly(afternoon.getId());
+    }
+
+    @Test
+    void rescheduleByEventId_shouldMoveEveryParticipantsEntry() {
+        int updated = scheduleRepository.rescheduleByEventId(morning.getId(), start.plusDays(1), start.plusDays(1).plusHours(1));
+        entityManager.clear();
+
+        assertThat(updated).isEqualTo(2);
+        assertThat(scheduleRepository.findOverlapping(2L, start.minusDays(7), start, start.plusHours(2), null)).isEmpty();
+    }
+
+    @Test
+    void deleteByUserIdAndEventId_shouldRemoveSingleEntry() {
+        int deleted = scheduleRepository.deleteByUserIdAndEventId(1L, morning.getId());
+
+        assertThat(deleted).isEqualTo(1);
+        assertThat(scheduleRepository.count()).isEqualTo(2);
+        assertThat(scheduleRepository.deleteByEventId(morning.getId())).isEqualTo(1);
+    }
+
+    @Test
+    void deleteAndInsertFromAttendances_shouldIndexActiveAttendancesWithDefaultDuration() {
+        User user = userRepository.save(new User("john", "wick", "john.wick@email.com", "<PASSWORD>"));
+        Event cancelled = new Event("cancelled", start.plusDays(2), "tbilisi");
+        cancelled.setCancelled(true);
+        eventRepository.save(cancelled);
+        Attendance withdrawn = new Attendance(user, afternoon, AttendanceRole.ATTENDEE);
+        withdrawn.setStatus(AttendanceStatus.WITHDRAWN);
+        attendanceRepository.saveAll(List.of(
+                new Attendance(user, morning, AttendanceRole.ATTENDEE),
+                withdrawn,
+                new Attendance(user, cancelled, AttendanceRole.ATTENDEE)));
+        entityManager.flush();
+
+        scheduleRepository.deleteByUserIdIn(List.of(user.getId()));
+        int inserted = scheduleRepository.insertFromAttendances(List.of(user.getId()));
+
+        assertThat(inserted).isEqualTo(1);
+        assertThat(scheduleRepository.findOverlapping(user.getId(), start.minusDays(7), start, start.plusDays(3), null))
+                .containsExactly(new ScheduleEntryView(morning.getId(), "morning", start, start.plusHours(1)));
+    }
+
+    @Test
+    void existsSharedEvent_shouldRequireBothUsersToBeActiveParticipants() {
+        User john = new User("john", "wick", "john.wick@email.com", "<PASSWORD>");
+        User jane = new User("jane", "ear", "jane.ear@email.com", "<PASSWORD>");
+        userRepository.saveAll(List.of(john, jane));
+        Attendance kicked = new Attendance(jane, afternoon, AttendanceRole.ATTENDEE);
+        kicked.setStatus(AttendanceStatus.KICKED);
+        attendanceRepository.saveAll(List.of(
+                new Attendance(john, afternoon, AttendanceRole.ORGANIZER),
+                kicked));
+
+        assertThat(attendanceRepository.existsSharedEvent(john.getId(), jane.getId())).isFalse();
+
+        attendanceRepository.save(new Attendance(jane, morning, AttendanceRole.ATTENDEE));
+        attendanceRepository.save(new Attendance(john, morning, AttendanceRole.ATTENDEE));
+
+        assertThat(attendanceRepository.existsSharedEvent(john.getId(), jane.getId())).isTrue();
+    }
+
+}
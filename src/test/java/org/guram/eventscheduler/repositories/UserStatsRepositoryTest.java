@@ -0,0 +1,105 @@
+package org.guram.eventscheduler.repositories;
+
+import org.guram.eventscheduler.models.Attendance;
+import org.guram.eventscheduler.models.AttendanceRole;
+import org.guram.eventscheduler.models.AttendanceStatus;
+import org.guram.eventscheduler.models.Event;
+import org.guram.eventscheduler.models.User;
+import org.guram.eventscheduler.models.UserStats;
+import org.guram.eventscheduler.repositories.projections.UserStatsCounts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import java.time.LocalDateTime;
+import java.util.List;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+public class UserStatsRepositoryTest {
+
+    @Autowired
+    private UserStatsRepository userStatsRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private User organizer;
+    private User attendee;
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        organizer = new User("john", "wick", "john.wick@email.com", "<PASSWORD>");
+        attendee = new User("jane", "ear", "jane.ear@email.com", "<PASSWORD>");
+        userRepository.saveAll(List.of(organizer, attendee));
+        userStatsRepository.saveAll(List.of(new UserStats(organizer.getId()), new UserStats(attendee.getId())));
+
+        event = eventRepository.save(new Event("party", LocalDateTime.now().plusDays(1), "tbilisi"));
+        attendanceRepository.saveAll(List.of(
+                new Attendance(organizer, event, AttendanceRole.ORGANIZER),
+                new Attendance(attendee, event, AttendanceRole.ATTENDEE)));
+    }
+
+    @Test
+    void applyDelta_shouldAdjustCountersInPlace() {
+        int updated = userStatsRepository.applyDelta(attendee.getId(), 1, 0, 2, -1);
+        int missing = userStatsRepository.applyDelta(-1L, 1, 0, 0, 0);
+        entityManager.clear();
+
+        UserStats stats = userStatsRepository.findById(attendee.getId()).orElseThrow();
+        assertThat(updated).isEqualTo(1);
+        assertThat(missing).isZero();
+        assertThat(stats.getAttendedCount()).isEqualTo(1);
+        assertThat(stats.getWithdrawnCount()).isEqualTo(2);
+        assertThat(stats.getKickedCount()).isEqualTo(-1);
+    }
+
+    @Test
+    void countStatsByUserIds_shouldAggregatePerUser() {
+        attendanceRepository.markAsAttended(event.getId(), List.of(organizer.getId(), attendee.getId()));
+        Event other = eventRepository.save(new Event("other", LocalDateTime.now().plusDays(1), "batumi"));
+        Attendance withdrawn = new Attendance(attendee, other, AttendanceRole.ATTENDEE);
+        withdrawn.setStatus(AttendanceStatus.WITHDRAWN);
+        attendanceRepository.save(withdrawn);
+        entityManager.clear();
+
+        List<UserStatsCounts> counts = attendanceRepository.countStatsByUserIds(List.of(organizer.getId(), attendee.getId()));
+
+        assertThat(counts).containsExactlyInAnyOrder(
+                new UserStatsCounts(organizer.getId(), 1, 1, 0, 0),
+                new UserStatsCounts(attendee.getId(), 1, 0, 1, 0));
+    }
+
+    @Test
+    void incrementForRegisteredUsers_shouldOnlyCountListedUsers() {
+        userStatsRepository.incrementAttendedForRegisteredUsers(event.getId(), List.of(organizer.getId()));
+        userStatsRepository.incrementOrganizedForRegisteredOrganizerUsers(event.getId(), List.of(organizer.getId()));
+        entityManager.clear();
+
+        UserStats organizerStats = userStatsRepository.findById(organizer.getId()).orElseThrow();
+        UserStats attendeeStats = userStatsRepository.findById(attendee.getId()).orElseThrow();
+        assertThat(organizerStats.getAttendedCount()).isEqualTo(1);
+        assertThat(organizerStats.getOrganizedCount()).isEqualTo(1);
+        assertThat(attendeeStats.getAttendedCount()).isZero();
+    }
+
+    @Test
+    void findIdsWithoutStatsAfter_shouldSkipUsersThatHaveARow() {
+        User newcomer = userRepository.save(new User("sam", "fisher", "sam.fisher@email.com", "<PASSWORD>"));
+
+        assertThat(userRepository.findIdsWithoutStatsAfter(0L, Limit.of(10))).containsExactly(newcomer.getId());
+        assertThat(userRepository.findIdsWithoutStatsAfter(newcomer.getId(), Limit.of(10))).isEmpty();
+    }
+}
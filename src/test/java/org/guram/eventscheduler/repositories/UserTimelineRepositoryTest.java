@@ -0,0 +1,213 @@
+package org.guram.eventscheduler.repositories;
+
+import org.guram.eventscheduler.models.Attendance;
+import org.guram.eventscheduler.models.AttendanceRole;
+import org.guram.eventscheduler.models.AttendanceStatus;
+import org.guram.eventscheduler.models.Event;
+import org.guram.eventscheduler.models.RecurrenceFrequency;
+import org.guram.eventscheduler.models.RecurrenceRule;
+import org.guram.eventscheduler.models.User;
+import org.guram.eventscheduler.models.UserTimelineEntry;
+import org.guram.eventscheduler.repositories.projections.EventAttendanceView;
+import org.guram.eventscheduler.utils.KeysetCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.Stream;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJpaTest
+public class UserTimelineRepositoryTest {
+
+    private static final LocalDateTime END_OF_TIME = LocalDateTime.of(9999, 12, 31, 23, 59);
+
+    @Autowired
+    private UserTimelineRepository timelineRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private LocalDateTime now;
+    private User user;
+    private Event eventOne;
+    private Event eventTwo;
+
+    @BeforeEach
+    void setUp() {
+        now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        user = userRepository.save(new User("john", "wick", "john.wick@email.com", "<PASSWORD>"));
+
+        eventOne = new Event("future event one", now.plusHours(1), "tbilisi");
+        eventTwo = new Event("future event two", now.plusHours(3), "batumi");
+        eventRepository.saveAll(List.of(eventOne, eventTwo));
+
+        timelineRepository.saveAll(List.of(
+                entry(eventOne, AttendanceRole.ATTENDEE, AttendanceStatus.REGISTERED, now.plusHours(1)),
+                entry(eventTwo, AttendanceRole.ORGANIZER, AttendanceStatus.REGISTERED, now.plusHours(3))));
+    }
+
+    private UserTimelineEntry entry(Event event, AttendanceRole role, AttendanceStatus status, LocalDateTime dateTime) {
+        UserTimelineEntry entry = new UserTimelineEntry(user.getId(), event.getId());
+        entry.setRole(role);
+        entry.setStatus(status);
+        entry.setDateTime(dateTime);
+        return entry;
+    }
+
+    private List<EventAttendanceView> upcoming(AttendanceRole role, boolean includeCancelled) {
+        return timelineRepository.findTimeline(
+                UserTimelineFilter.range(user.getId(), role, includeCancelled, now, null, null), Limit.unlimited());
+    }
+
+
+    @Test
+    void findTimeline_shouldReturnUpcomingEventsInOrder_withRoleAndStatus() {
+        assertThat(upcoming(null, false))
+                .extracting(view -> view.event().getTitle(), EventAttendanceView::role, EventAttendanceView::status)
+                .containsExactly(
+                        tuple("future event one", AttendanceRole.ATTENDEE, AttendanceStatus.REGISTERED),
+                        tuple("future event two", AttendanceRole.ORGANIZER, AttendanceStatus.REGISTERED));
+    }
+
+    @Test
+    void findTimeline_shouldFilterByRole() {
+        assertThat(upcoming(AttendanceRole.ORGANIZER, false))
+                .extracting(view -> view.event().getTitle())
+                .containsExactly("future event two");
+    }
+
+    @Test
+    void findTimeline_shouldReturnEmptyList_whenUserHasNoTimeline() {
+        assertThat(timelineRepository.findTimeline(
+                UserTimelineFilter.range(user.getId() + 1, null, true, now, null, null), Limit.unlimited())).isEmpty();
+    }
+
+    @Test
+    void findTimeline_shouldExcludeCancelledEvents_unlessRequested() {
+        timelineRepository.updateEvent(eventOne.getId(), now.plusHours(1), true, null);
+
+        assertThat(upcoming(null, false))
+                .extracting(view -> view.event().getTitle())
+                .containsExactly("future event two");
+        assertThat(upcoming(null, true))
+                .extracting(view -> view.event().getTitle())
+                .containsExactly("future event one", "future event two");
+    }
+
+    @Test
+    void findTimeline_shouldSkipWithdrawnAndWaitlistedEntries() {
+        Event withdrawn = eventRepository.save(new Event("withdrawn", now.plusHours(2), "tbilisi"));
+        Event waitlisted = eventRepository.save(new Event("waitlisted", now.plusHours(2), "tbilisi"));
+        timelineRepository.saveAll(List.of(
+                entry(withdrawn, AttendanceRole.ATTENDEE, AttendanceStatus.WITHDRAWN, now.plusHours(2)),
+                entry(waitlisted, AttendanceRole.ATTENDEE, AttendanceStatus.WAITLISTED, now.plusHours(2))));
+
+        assertThat(upcoming(null, true))
+                .extracting(view -> view.event().getTitle())
+                .containsExactly("future event one", "future event two");
+    }
+
+    @Test
+    void findTimeline_shouldReturnRowsAfterCursorInKeysetOrder() {
+        List<EventAttendanceView> firstPage = timelineRepository.findTimeline(
+                UserTimelineFilter.range(user.getId(), null, false, now, null, null), Limit.of(1));
+
+        assertThat(firstPage).extracting(view -> view.event().getTitle()).containsExactly("future event one");
+
+        Event last = firstPage.get(0).event();
+        List<EventAttendanceView> secondPage = timelineRepository.findTimeline(
+                UserTimelineFilter.range(user.getId(), null, false, now, null,
+                        new KeysetCursor(last.getDateTime(), last.getId())), Limit.of(1));
+
+        assertThat(secondPage).extracting(view -> view.event().getTitle()).containsExactly("future event two");
+    }
+
+    @Test
+    void findTimeline_shouldSplitPastAndUpcomingAtNow() {
+        Event past = eventRepository.save(new Event("past event", now.plusHours(1), "tbilisi"));
+        timelineRepository.save(entry(past, AttendanceRole.ATTENDEE, AttendanceStatus.ATTENDED, now.minusDays(1)));
+
+        assertThat(timelineRepository.findTimeline(
+                UserTimelineFilter.range(user.getId(), null, false, null, now, null), Limit.unlimited()))
+                .extracting(view -> view.event().getTitle())
+                .containsExactly("past event");
+        assertThat(upcoming(null, false)).hasSize(2);
+    }
+
+    @Test
+    void streamTimeline_shouldStreamMatchingRowsInOrder() {
+        try (Stream<EventAttendanceView> rows = timelineRepository.streamTimeline(
+                UserTimelineFilter.range(user.getId(), null, false, now, null, null))) {
+            assertThat(rows)
+                    .extracting(view -> view.event().getTitle())
+                    .containsExactly("future event one", "future event two");
+        }
+    }
+
+    @Test
+    void findTimeline_shouldReturnActiveSeriesWhoseFirstOccurrenceHasPassed() {
+        Event series = eventRepository.save(new Event("weekly sync", now.plusHours(2), "tbilisi"));
+        Event endedSeries = eventRepository.save(new Event("ended sync", now.plusHours(2), "tbilisi"));
+        UserTimelineEntry active = entry(series, AttendanceRole.ORGANIZER, AttendanceStatus.REGISTERED, now.minusWeeks(2));
+        active.setSeriesUntil(END_OF_TIME);
+        UserTimelineEntry ended = entry(endedSeries, AttendanceRole.ORGANIZER, AttendanceStatus.REGISTERED, now.minusWeeks(2));
+        ended.setSeriesUntil(now.minusDays(1));
+        timelineRepository.saveAll(List.of(active, ended));
+
+        assertThat(timelineRepository.findTimeline(
+                UserTimelineFilter.activeSeries(user.getId(), null, false, now), Limit.unlimited()))
+                .extracting(view -> view.event().getTitle())
+                .containsExactly("weekly sync");
+    }
+
+    @Test
+    void markAsAttended_shouldOnlyTouchListedUsersOfEvent() {
+        assertThat(timelineRepository.markAsAttended(eventOne.getId(), List.of(-1L))).isZero();
+        assertThat(timelineRepository.markAsAttended(eventOne.getId(), List.of(user.getId()))).isEqualTo(1);
+        entityManager.clear();
+
+        assertThat(timelineRepository.findByUserIdAndEventId(user.getId(), eventOne.getId()))
+                .hasValueSatisfying(entry -> assertThat(entry.getStatus()).isEqualTo(AttendanceStatus.ATTENDED));
+        assertThat(timelineRepository.findByUserIdAndEventId(user.getId(), eventTwo.getId()))
+                .hasValueSatisfying(entry -> assertThat(entry.getStatus()).isEqualTo(AttendanceStatus.REGISTERED));
+    }
+
+    @Test
+    void insertFromAttendances_shouldRebuildEntriesForUsers() {
+        Event series = new Event("weekly sync", now.plusDays(1), "tbilisi");
+        series.setRecurrence(new RecurrenceRule(RecurrenceFrequency.WEEKLY, 1, null, null));
+        eventRepository.save(series);
+        attendanceRepository.saveAll(List.of(
+                new Attendance(user, eventOne, AttendanceRole.ATTENDEE),
+                new Attendance(user, series, AttendanceRole.ORGANIZER)));
+        entityManager.flush();
+
+        timelineRepository.deleteByUserIdIn(List.of(user.getId()));
+        int inserted = timelineRepository.insertFromAttendances(List.of(user.getId()), END_OF_TIME);
+        entityManager.clear();
+
+        assertThat(inserted).isEqualTo(2);
+        assertThat(timelineRepository.findAll())
+                .extracting(UserTimelineEntry::getEventId, UserTimelineEntry::getRole, UserTimelineEntry::getSeriesUntil)
+                .containsExactlyInAnyOrder(
+                        tuple(eventOne.getId(), AttendanceRole.ATTENDEE, null),
+                        tuple(series.getId(), AttendanceRole.ORGANIZER, END_OF_TIME));
+    }
+
+}
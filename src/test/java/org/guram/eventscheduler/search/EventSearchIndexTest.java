@@ -0,0 +1,104 @@
+package org.guram.eventscheduler.search;
+
+import org.guram.eventscheduler.models.RecurrenceFrequency;
+import org.guram.eventscheduler.repositories.EventRepository;
+import org.guram.eventscheduler.repositories.projections.EventSearchView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import java.time.LocalDateTime;
+import java.util.List;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class EventSearchIndexTest {
+
+    private static final LocalDateTime MAY_10 = LocalDateTime.of(2030, 5, 10, 18, 0);
+
+    @Mock
+    private EventRepository eventRepository;
+
+    private EventSearchIndex eventSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        eventSearchIndex = new EventSearchIndex(eventRepository);
+    }
+
+    private static EventSearchView event(Long id, String title, String description, String location,
+                                         LocalDateTime dateTime, boolean cancelled) {
+        return new EventSearchView(id, title, description, location, dateTime, cancelled, null, null, null, null);
+    }
+
+    private static List<Long> ids(SearchResults<Long> results) {
+        return results.hits().stream().map(SearchHit::document).toList();
+    }
+
+    @Test
+    void search_shouldMatchTitleDescriptionAndLocation_rankingTitleFirst() {
+        eventSearchIndex.index(event(1L, "Team offsite", "Hiking near Kazbegi", "Stepantsminda", MAY_10, false));
+        eventSearchIndex.index(event(2L, "Kazbegi hike", null, "Tbilisi", MAY_10, false));
+        eventSearchIndex.index(event(3L, "Board games", null, "Kazbegi Avenue 12", MAY_10, false));
+
+        assertThat(ids(eventSearchIndex.search("kazbegi", null, null, false, 0, 10))).containsExactly(2L, 3L, 1L);
+        assertThat(ids(eventSearchIndex.search("stepan", null, null, false, 0, 10))).containsExactly(1L);
+    }
+
+    @Test
+    void search_shouldFilterByDateRangeAndCancelledState() {
+        eventSearchIndex.index(event(1L, "Jazz night", null, "Tbilisi", MAY_10, false));
+        eventSearchIndex.index(event(2L, "Jazz night", null, "Tbilisi", MAY_10.plusMonths(1), false));
+        eventSearchIndex.index(event(3L, "Jazz night", null, "Tbilisi", MAY_10, true));
+
+        assertThat(ids(eventSearchIndex.search("jazz", MAY_10.minusDays(1), MAY_10.plusDays(1), false, 0, 10)))
+                .containsExactly(1L);
+        assertThat(ids(eventSearchIndex.search("jazz", MAY_10.minusDays(1), MAY_10.plusDays(1), true, 0, 10)))
+                .containsExactlyInAnyOrder(1L, 3L);
+        assertThat(ids(eventSearchIndex.search("jazz", MAY_10.plusDays(1), null, false, 0, 10)))
+                .containsExactly(2L);
+    }
+
+    @Test
+    void search_shouldMatchRecurringSeries_whenAnyOccurrenceFallsInRange() {
+        eventSearchIndex.index(new EventSearchView(1L, "Weekly standup", null, "Office", MAY_10, false,
+                RecurrenceFrequency.WEEKLY, 1, MAY_10.plusWeeks(4), null));
+
+        assertThat(ids(eventSearchIndex.search("standup", MAY_10.plusWeeks(2).minusHours(1),
+                MAY_10.plusWeeks(2).plusHours(1), false, 0, 10))).containsExactly(1L);
+        assertThat(ids(eventSearchIndex.search("standup", MAY_10.plusWeeks(2).plusHours(1),
+                MAY_10.plusWeeks(3).minusHours(1), false, 0, 10))).isEmpty();
+        assertThat(ids(eventSearchIndex.search("standup", MAY_10.plusWeeks(5), null, false, 0, 10))).isEmpty();
+    }
+
+    @Test
+    void indexAndRemove_shouldApplyEditsAndCancellation() {
+        eventSearchIndex.index(event(1L, "Jazz night", null, "Tbilisi", MAY_10, false));
+        eventSearchIndex.index(event(1L, "Blues night", null, "Tbilisi", MAY_10, true));
+
+        assertThat(ids(eventSearchIndex.search("jazz", null, null, true, 0, 10))).isEmpty();
+        assertThat(ids(eventSearchIndex.search("blues", null, null, false, 0, 10))).isEmpty();
+        assertThat(ids(eventSearchIndex.search("blues", null, null, true, 0, 10))).containsExactly(1L);
+
+        eventSearchIndex.remove(1L);
+
+        assertThat(ids(eventSearchIndex.search("blues", null, null, true, 0, 10))).isEmpty();
+    }
+
+    @Test
+    void rebuild_shouldLoadAllEventsInChunks() {
+        when(eventRepository.findSearchViewsAfter(eq(0L), any(Limit.class)))
+                .thenReturn(List.of(event(3L, "Jazz night", null, "Tbilisi", MAY_10, false)));
+        when(eventRepository.findSearchViewsAfter(eq(3L), any(Limit.class))).thenReturn(List.of());
+
+        eventSearchIndex.rebuild();
+
+        assertThat(ids(eventSearchIndex.search("jazz", null, null, false, 0, 10))).containsExactly(3L);
+    }
+
+}
@@ -0,0 +1,105 @@
+package org.guram.eventscheduler.search;
+
+import org.guram.eventscheduler.repositories.UserRepository;
+import org.guram.eventscheduler.repositories.projections.UserSearchView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import java.util.List;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class UserSearchIndexTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserSearchIndex userSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        userSearchIndex = new UserSearchIndex(userRepository);
+    }
+
+    private static UserSearchView user(Long id, String firstName, String lastName, String email) {
+        return new UserSearchView(id, firstName, lastName, email, null);
+    }
+
+    private static List<Long> ids(SearchResults<UserSearchView> results) {
+        return results.hits().stream().map(hit -> hit.document().id()).toList();
+    }
+
+    @Test
+    void search_shouldMatchPrefixesAcrossNameAndEmail() {
+        userSearchIndex.index(user(1L, "John", "Wick", "john.wick@email.com"));
+        userSearchIndex.index(user(2L, "Jonathan", "Smith", "jsmith@email.com"));
+        userSearchIndex.index(user(3L, "Helen", "Wick", "hw@email.com"));
+
+        assertThat(ids(userSearchIndex.search("wic", 0, 10))).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(ids(userSearchIndex.search("jo", 0, 10))).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(ids(userSearchIndex.search("jsmi", 0, 10))).containsExactly(2L);
+        assertThat(ids(userSearchIndex.search("john wick", 0, 10)).get(0)).isEqualTo(1L);
+    }
+
+    @Test
+    void search_shouldIgnoreCaseAndDiacritics_andTolerateTypos() {
+        userSearchIndex.index(user(1L, "Zoë", "Müller", "zoe@email.com"));
+        userSearchIndex.index(user(2L, "Peter", "Parker", "pp@email.com"));
+
+        assertThat(ids(userSearchIndex.search("MULLER", 0, 10))).containsExactly(1L);
+        assertThat(ids(userSearchIndex.search("mullre", 0, 10))).containsExactly(1L);
+        assertThat(ids(userSearchIndex.search("xyz", 0, 10))).isEmpty();
+    }
+
+    @Test
+    void search_shouldRankPrefixMatchesFirst_andPaginate() {
+        userSearchIndex.index(user(1L, "Anna", "Banna", "a1@email.com"));
+        userSearchIndex.index(user(2L, "Hanna", "Ann", "a2@email.com"));
+        userSearchIndex.index(user(3L, "Anna", "Smith", "a3@email.com"));
+
+        SearchResults<UserSearchView> firstPage = userSearchIndex.search("ann", 0, 2);
+        SearchResults<UserSearchView> secondPage = userSearchIndex.search("ann", 2, 2);
+
+        assertThat(firstPage.hits()).hasSize(2);
+        assertThat(firstPage.hasMore()).isTrue();
+        assertThat(firstPage.hits().get(0).score()).isGreaterThanOrEqualTo(firstPage.hits().get(1).score());
+        assertThat(secondPage.hits()).hasSize(1);
+        assertThat(secondPage.hasMore()).isFalse();
+        assertThat(ids(firstPage)).doesNotContainAnyElementsOf(ids(secondPage));
+    }
+
+    @Test
+    void indexAndRemove_shouldReplaceStaleEntries() {
+        userSearchIndex.index(user(1L, "John", "Wick", "john.wick@email.com"));
+        userSearchIndex.index(user(1L, "John", "Constantine", "john.wick@email.com"));
+
+        assertThat(ids(userSearchIndex.search("constan", 0, 10))).containsExactly(1L);
+        assertThat(ids(userSearchIndex.search("wic", 0, 10))).containsExactly(1L);
+        assertThat(ids(userSearchIndex.search("wick constantine", 0, 10))).containsExactly(1L);
+
+        userSearchIndex.remove(1L);
+
+        assertThat(ids(userSearchIndex.search("john", 0, 10))).isEmpty();
+    }
+
+    @Test
+    void rebuild_shouldLoadAllUsersInChunks_andReplaceIndex() {
+        userSearchIndex.index(user(99L, "Stale", "Entry", "stale@email.com"));
+        when(userRepository.findSearchViewsAfter(eq(0L), any(Limit.class)))
+                .thenReturn(List.of(user(1L, "John", "Wick", "john.wick@email.com"),
+                        user(2L, "Helen", "Wick", "hw@email.com")));
+        when(userRepository.findSearchViewsAfter(eq(2L), any(Limit.class))).thenReturn(List.of());
+
+        userSearchIndex.rebuild();
+
+        assertThat(ids(userSearchIndex.search("wick", 0, 10))).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(ids(userSearchIndex.search("stale", 0, 10))).isEmpty();
+    }
+
+}
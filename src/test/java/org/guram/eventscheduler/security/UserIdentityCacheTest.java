@@ -0,0 +1,67 @@
+package org.guram.eventscheduler.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.guram.eventscheduler.repositories.UserRepository;
+import org.guram.eventscheduler.repositories.projections.UserIdentity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import java.util.Optional;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class UserIdentityCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private UserIdentityCache userIdentityCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        userIdentityCache = new UserIdentityCache(userRepository, meterRegistry, 100, 60);
+    }
+
+    @Test
+    void findByEmail_shouldLoadOnce_andServeRepeatedLookupsFromCache() {
+        UserIdentity identity = new UserIdentity(1L, "john.wick@email.com");
+        when(userRepository.findIdentityByEmail("john.wick@email.com")).thenReturn(Optional.of(identity));
+
+        assertThat(userIdentityCache.findByEmail("john.wick@email.com")).contains(identity);
+        assertThat(userIdentityCache.findByEmail("john.wick@email.com")).contains(identity);
+
+        verify(userRepository, times(1)).findIdentityByEmail("john.wick@email.com");
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "userIdentity").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void findByEmail_shouldNotCacheMissingUsers() {
+        when(userRepository.findIdentityByEmail("ghost@email.com")).thenReturn(Optional.empty());
+
+        assertThat(userIdentityCache.findByEmail("ghost@email.com")).isEmpty();
+        assertThat(userIdentityCache.findByEmail("ghost@email.com")).isEmpty();
+
+        verify(userRepository, times(2)).findIdentityByEmail("ghost@email.com");
+    }
+
+    @Test
+    void evict_shouldForceReload() {
+        UserIdentity identity = new UserIdentity(1L, "john.wick@email.com");
+        when(userRepository.findIdentityByEmail("john.wick@email.com")).thenReturn(Optional.of(identity));
+
+        userIdentityCache.findByEmail("john.wick@email.com");
+        userIdentityCache.evict("john.wick@email.com");
+        userIdentityCache.findByEmail("john.wick@email.com");
+
+        verify(userRepository, times(2)).findIdentityByEmail("john.wick@email.com");
+    }
+
+}
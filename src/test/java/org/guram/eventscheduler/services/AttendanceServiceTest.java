@@ -1,26 +1,38 @@
 package org.guram.eventscheduler.services;
 
 import org.guram.eventscheduler.dtos.attendanceDtos.AttendanceResponseDto;
+import org.guram.eventscheduler.dtos.eventDtos.ScheduleConflictDto;
 import org.guram.eventscheduler.exceptions.ConflictException;
 import org.guram.eventscheduler.exceptions.EventNotFoundException;
+import org.guram.eventscheduler.exceptions.ForbiddenOperationException;
 import org.guram.eventscheduler.exceptions.ResourceNotFoundException;
 import org.guram.eventscheduler.models.Attendance;
 import org.guram.eventscheduler.models.AttendanceRole;
 import org.guram.eventscheduler.models.AttendanceStatus;
 import org.guram.eventscheduler.models.Event;
+import org.guram.eventscheduler.models.NotificationType;
 import org.guram.eventscheduler.models.User;
 import org.guram.eventscheduler.repositories.AttendanceRepository;
 import org.guram.eventscheduler.repositories.EventRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -34,6 +46,21 @@ public class AttendanceServiceTest {
     @Mock
     private EventRepository eventRepo;
 
+    @Mock
+    private UserStatsService userStatsService;
+
+    @Mock
+    private NotificationService notificationService;
+
+    @Mock
+    private UserScheduleService userScheduleService;
+
+    @Mock
+    private UserTimelineService userTimelineService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
     @InjectMocks
     private AttendanceService attendanceService;
 
@@ -42,8 +69,10 @@ public class AttendanceServiceTest {
     void registerUser_shouldSucceed_whenNoExistingAttendance() {
         User user = new User("john", "wick", "john.wick@email.com", "<PASSWORD>");
         Event event = new Event();
+        event.setId(1L);
 
         when(attendanceRepo.findByUserAndEvent(user, event)).thenReturn(Optional.empty());
+        when(eventRepo.reserveSeat(1L)).thenReturn(1);
         when(attendanceRepo.save(any(Attendance.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         attendanceService.registerUser(user, event);
@@ -56,6 +85,26 @@ public class AttendanceServiceTest {
         assertThat(savedAttendance.getEvent()).isEqualTo(event);
         assertThat(savedAttendance.getRole()).isEqualTo(AttendanceRole.ATTENDEE);
         assertThat(savedAttendance.getStatus()).isEqualTo(AttendanceStatus.REGISTERED);
+        verify(userTimelineService).record(savedAttendance);
+    }
+
+    @Test
+    void registerUser_shouldIndexSchedule_andReturnConflicts_whenRegistered() {
+        User user = new User("john", "wick", "john.wick@email.com", "<PASSWORD>");
+        user.setId(3L);
+        Event event = new Event();
+        event.setId(1L);
+        var conflict = new ScheduleConflictDto(9L, "overlapping", LocalDateTime.now(), LocalDateTime.now().plusHours(1));
+
+        when(userScheduleService.findConflicts(3L, event)).thenReturn(List.of(conflict));
+        when(attendanceRepo.findByUserAndEvent(user, event)).thenReturn(Optional.empty());
+        when(eventRepo.reserveSeat(1L)).thenReturn(1);
+        when(attendanceRepo.save(any(Attendance.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<ScheduleConflictDto> conflicts = attendanceService.registerUser(user, event);
+
+        assertThat(conflicts).containsExactly(conflict);
+        verify(userScheduleService).add(3L, event);
     }
 
     @Test
@@ -76,10 +125,12 @@ public class AttendanceServiceTest {
     void registerUser_shouldReactivate_whenPreviouslyWithdrawn() {
         User user = new User("john", "wick", "john.wick@email.com", "<PASSWORD>");
         Event event = new Event();
+        event.setId(1L);
         Attendance existingAttendance = new Attendance(user, event, AttendanceRole.ATTENDEE);
         existingAttendance.setStatus(AttendanceStatus.WITHDRAWN);
 
         when(attendanceRepo.findByUserAndEvent(user, event)).thenReturn(Optional.of(existingAttendance));
+        when(eventRepo.reserveSeat(1L)).thenReturn(1);
         when(attendanceRepo.save(any(Attendance.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         attendanceService.registerUser(user, event);
@@ -88,6 +139,40 @@ public class AttendanceServiceTest {
         assertThat(existingAttendance.getStatus()).isEqualTo(AttendanceStatus.REGISTERED);
     }
 
+    @Test
+    void registerUser_shouldWaitlist_whenEventIsFull() {
+        User user = new User("john", "wick", "john.wick@email.com", "<PASSWORD>");
+        Event event = new Event();
+        event.setId(1L);
+
+        when(attendanceRepo.findByUserAndEvent(user, event)).thenReturn(Optional.empty());
+        when(eventRepo.reserveSeat(1L)).thenReturn(0);
+        when(attendanceRepo.save(any(Attendance.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        attendanceService.registerUser(user, event);
+
+        ArgumentCaptor<Attendance> attendanceArgumentCaptor = ArgumentCaptor.forClass(Attendance.class);
+        verify(attendanceRepo).save(attendanceArgumentCaptor.capture());
+        assertThat(attendanceArgumentCaptor.getValue().getStatus()).isEqualTo(AttendanceStatus.WAITLISTED);
+        assertThat(attendanceArgumentCaptor.getValue().getWaitlistedAt()).isNotNull();
+        verify(userScheduleService, never()).add(any(), any());
+    }
+
+    @Test
+    void registerUser_shouldDoNothing_whenAlreadyWaitlisted() {
+        User user = new User("john", "wick", "john.wick@email.com", "<PASSWORD>");
+        Event event = new Event();
+        Attendance existingAttendance = new Attendance(user, event, AttendanceRole.ATTENDEE);
+        existingAttendance.setStatus(AttendanceStatus.WAITLISTED);
+
+        when(attendanceRepo.findByUserAndEvent(user, event)).thenReturn(Optional.of(existingAttendance));
+
+        attendanceService.registerUser(user, event);
+
+        verify(eventRepo, never()).reserveSeat(any());
+        verify(attendanceRepo, never()).save(any(Attendance.class));
+    }
+
     @Test
     void registerUser_shouldThrowException_whenAlreadyAttended() {
         User user = new User("john", "wick", "john.wick@email.com", "<PASSWORD>");
@@ -119,6 +204,68 @@ public class AttendanceServiceTest {
         assertThat(result).isNotNull();
         assertThat(attendance.getStatus()).isEqualTo(AttendanceStatus.WITHDRAWN);
         verify(attendanceRepo).save(attendance);
+        verify(userStatsService).recordTransition(attendance, AttendanceStatus.REGISTERED, AttendanceRole.ATTENDEE);
+        verify(eventRepo).releaseSeat(1L);
+    }
+
+    @Test
+    void withdrawFromEvent_shouldPromoteNextWaitlistedUser_whenSeatIsReleased() {
+        User user = new User("jane", "ear", "jane.ear@email.com", "<PASSWORD>");
+        User waitlistedUser = new User("john", "wick", "john.wick@email.com", "<PASSWORD>");
+        Event event = new Event();
+        event.setId(1L);
+        Attendance attendance = new Attendance(user, event, AttendanceRole.ATTENDEE);
+        Attendance waitlisted = new Attendance(waitlistedUser, event, AttendanceRole.ATTENDEE);
+        waitlisted.setStatus(AttendanceStatus.WAITLISTED);
+
+        when(eventRepo.findById(1L)).thenReturn(Optional.of(event));
+        when(attendanceRepo.findByUserAndEvent(user, event)).thenReturn(Optional.of(attendance));
+        when(attendanceRepo.save(any(Attendance.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(attendanceRepo.lockNextWaitlisted(eq(1L), any(Limit.class)))
+                .thenReturn(List.of(waitlisted))
+                .thenReturn(List.of());
+        when(eventRepo.reserveSeat(1L)).thenReturn(1);
+
+        attendanceService.withdrawFromEvent(user, 1L);
+
+        assertThat(waitlisted.getStatus()).isEqualTo(AttendanceStatus.REGISTERED);
+        verify(userStatsService).recordTransition(waitlisted, AttendanceStatus.WAITLISTED, AttendanceRole.ATTENDEE);
+        verify(notificationService).createNotification(eq(waitlistedUser), any(), eq(NotificationType.PROMOTED_FROM_WAITLIST));
+    }
+
+    @Test
+    void withdrawFromEvent_shouldNotReleaseSeat_whenUserWasWaitlisted() {
+        User user = new User("jane", "ear", "jane.ear@email.com", "<PASSWORD>");
+        Event event = new Event();
+        event.setId(1L);
+        Attendance attendance = new Attendance(user, event, AttendanceRole.ATTENDEE);
+        attendance.setStatus(AttendanceStatus.WAITLISTED);
+
+        when(eventRepo.findById(1L)).thenReturn(Optional.of(event));
+        when(attendanceRepo.findByUserAndEvent(user, event)).thenReturn(Optional.of(attendance));
+        when(attendanceRepo.save(any(Attendance.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        attendanceService.withdrawFromEvent(user, 1L);
+
+        verify(eventRepo, never()).releaseSeat(any());
+        verify(attendanceRepo, never()).lockNextWaitlisted(any(), any());
+    }
+
+    @Test
+    void promoteFromWaitlist_shouldStop_whenNoSeatIsLeft() {
+        Event event = new Event();
+        event.setId(1L);
+        Attendance waitlisted = new Attendance(new User(), event, AttendanceRole.ATTENDEE);
+        waitlisted.setStatus(AttendanceStatus.WAITLISTED);
+
+        when(attendanceRepo.lockNextWaitlisted(eq(1L), any(Limit.class))).thenReturn(List.of(waitlisted));
+        when(eventRepo.reserveSeat(1L)).thenReturn(0);
+
+        int promoted = attendanceService.promoteFromWaitlist(event);
+
+        assertThat(promoted).isZero();
+        assertThat(waitlisted.getStatus()).isEqualTo(AttendanceStatus.WAITLISTED);
+        verify(notificationService, never()).createNotification(any(), any(), any());
     }
 
     @Test
@@ -166,4 +313,40 @@ public class AttendanceServiceTest {
         assertThrows(ResourceNotFoundException.class, () -> attendanceService.getAttendanceRole(user, event));
     }
 
+    @Test
+    void checkIsOrganizer_shouldPass_whenUserIsOrganizer() {
+        Event event = new Event();
+        event.setId(1L);
+
+        when(attendanceRepo.existsByEvent_IdAndUser_IdAndRole(1L, 2L, AttendanceRole.ORGANIZER)).thenReturn(true);
+
+        attendanceService.checkIsOrganizer(2L, event);
+    }
+
+    @Test
+    void checkIsOrganizer_shouldThrowException_whenUserIsNotOrganizer() {
+        Event event = new Event();
+        event.setId(1L);
+
+        when(attendanceRepo.existsByEvent_IdAndUser_IdAndRole(1L, 2L, AttendanceRole.ORGANIZER)).thenReturn(false);
+
+        assertThrows(ForbiddenOperationException.class, () -> attendanceService.checkIsOrganizer(2L, event));
+    }
+
+    @Test
+    void reconcileReservedSeats_shouldLockAndRecountZeroSeatEventsInChunks() {
+        doAnswer(invocation -> {
+            invocation.<Consumer<Object>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(eventRepo.findIdsWithoutReservedSeatsAfter(eq(0L), any(Limit.class))).thenReturn(List.of(1L, 2L));
+        when(eventRepo.findIdsWithoutReservedSeatsAfter(eq(2L), any(Limit.class))).thenReturn(List.of());
+
+        attendanceService.reconcileReservedSeats();
+
+        InOrder inOrder = inOrder(eventRepo);
+        inOrder.verify(eventRepo).lockByIdIn(List.of(1L, 2L));
+        inOrder.verify(eventRepo).reconcileReservedSeats(List.of(1L, 2L));
+    }
+
 }
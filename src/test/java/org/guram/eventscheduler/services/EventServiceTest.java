@@ -1,8 +1,19 @@
 package org.guram.eventscheduler.services;
 
+import jakarta.persistence.EntityManager;
+import org.guram.eventscheduler.dtos.attendanceDtos.BulkCheckInRequestDto;
+import org.guram.eventscheduler.dtos.attendanceDtos.BulkCheckInResponseDto;
+import org.guram.eventscheduler.dtos.attendanceDtos.BulkCheckInResultDto;
+import org.guram.eventscheduler.dtos.attendanceDtos.ParticipantDto;
+import org.guram.eventscheduler.dtos.attendanceDtos.ParticipantPageDto;
+import org.guram.eventscheduler.dtos.eventDtos.EventPageDto;
 import org.guram.eventscheduler.dtos.eventDtos.EventRequestDto;
 import org.guram.eventscheduler.dtos.eventDtos.EventResponseDto;
+import org.guram.eventscheduler.dtos.eventDtos.EventResponseView;
 import org.guram.eventscheduler.dtos.eventDtos.EventWithRoleDto;
+import org.guram.eventscheduler.dtos.eventDtos.ScheduleConflictDto;
+import org.guram.eventscheduler.dtos.userDtos.UserSummaryDto;
+import org.guram.eventscheduler.exceptions.BadRequestException;
 import org.guram.eventscheduler.exceptions.ConflictException;
 import org.guram.eventscheduler.exceptions.EventNotFoundException;
 import org.guram.eventscheduler.exceptions.ForbiddenOperationException;
@@ -13,28 +24,50 @@ import org.guram.eventscheduler.models.Attendance;
 import org.guram.eventscheduler.models.AttendanceRole;
 import org.guram.eventscheduler.models.AttendanceStatus;
 import org.guram.eventscheduler.models.Event;
-import org.guram.eventscheduler.models.Invitation;
-import org.guram.eventscheduler.models.InvitationStatus;
 import org.guram.eventscheduler.models.NotificationType;
+import org.guram.eventscheduler.models.RecurrenceFrequency;
+import org.guram.eventscheduler.models.RecurrenceRule;
 import org.guram.eventscheduler.models.User;
 import org.guram.eventscheduler.repositories.AttendanceRepository;
 import org.guram.eventscheduler.repositories.EventRepository;
 import org.guram.eventscheduler.repositories.UserRepository;
+import org.guram.eventscheduler.repositories.projections.EventAttendanceView;
+import org.guram.eventscheduler.repositories.projections.EventParticipantView;
+import org.guram.eventscheduler.repositories.projections.EventSearchView;
+import org.guram.eventscheduler.repositories.projections.ParticipantCounts;
+import org.guram.eventscheduler.search.EventSearchIndex;
+import org.guram.eventscheduler.search.SearchHit;
+import org.guram.eventscheduler.search.SearchResults;
+import org.guram.eventscheduler.utils.KeysetCursor;
+import org.guram.eventscheduler.utils.ParticipantCursor;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
-import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -50,20 +83,38 @@ public class EventServiceTest {
     @Mock
     private AttendanceRepository attendanceRepo;
 
+    @Mock
+    private AttendanceService attendanceService;
+
     @Mock
     private NotificationService notificationService;
 
     @Mock
-    private AttendanceService attendanceService;
+    private UserStatsService userStatsService;
+
+    @Mock
+    private UserScheduleService userScheduleService;
+
+    @Mock
+    private UserTimelineService userTimelineService;
+
+    @Mock
+    private EventSearchIndex eventSearchIndex;
+
+    @Mock
+    private EntityManager entityManager;
 
     @InjectMocks
     private EventService eventService;
 
+    @Captor
+    private ArgumentCaptor<Collection<Long>> userIdsCaptor;
+
 
     @Test
     void createEvent_shouldSucceed_whenValidInput() {
         User organizer = new User("john", "wick", "john.wick@email.com", "<PASSWORD>");
-        var eventRequestDto = new EventRequestDto("test event", "test description", LocalDateTime.now().plusDays(1), "tbilisi");
+        var eventRequestDto = new EventRequestDto("test event", "test description", LocalDateTime.now().plusDays(1), null, "tbilisi", null, null);
 
         when(eventRepo.save(any(Event.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
@@ -77,6 +128,37 @@ public class EventServiceTest {
         assertThat(savedEvent.getDescription()).isEqualTo("test description");
         assertThat(savedEvent.getLocation()).isEqualTo("tbilisi");
         assertThat(result).isNotNull();
+        verify(eventSearchIndex).index(new EventSearchView(null, "test event", "test description", "tbilisi",
+                savedEvent.getDateTime(), false, null, null, null, null));
+    }
+
+    @Test
+    void createEvent_shouldDefaultEndDateTime_indexOrganizerSchedule_andReturnConflicts() {
+        User organizer = new User("john", "wick", "john.wick@email.com", "<PASSWORD>");
+        organizer.setId(1L);
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        var eventRequestDto = new EventRequestDto("test event", null, start, null, "tbilisi", null, null);
+        var conflict = new ScheduleConflictDto(7L, "dentist", start.minusMinutes(30), start.plusMinutes(30));
+
+        when(userScheduleService.findConflicts(1L, start, start.plusHours(1), null)).thenReturn(List.of(conflict));
+        when(eventRepo.save(any(Event.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        EventResponseDto result = eventService.createEvent(organizer, eventRequestDto);
+
+        assertThat(result.endDateTime()).isEqualTo(start.plusHours(1));
+        assertThat(result.scheduleConflicts()).containsExactly(conflict);
+        verify(userScheduleService).add(any(), any(Event.class));
+        verify(userTimelineService).record(any(Attendance.class));
+    }
+
+    @Test
+    void createEvent_shouldThrowException_whenEndDateTimeNotAfterStart() {
+        User organizer = new User("john", "wick", "john.wick@email.com", "<PASSWORD>");
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        var eventRequestDto = new EventRequestDto("test event", null, start, start.minusHours(1), "tbilisi", null, null);
+
+        assertThrows(BadRequestException.class, () -> eventService.createEvent(organizer, eventRequestDto));
+        verify(eventRepo, never()).save(any());
     }
 
     @Test
@@ -95,13 +177,66 @@ public class EventServiceTest {
         when(userRepo.findById(2L)).thenReturn(Optional.of(newOrganizer));
         when(attendanceRepo.findByUserAndEvent(newOrganizer, event)).thenReturn(Optional.of(targetAttendance));
 
-        EventResponseDto result = eventService.makeAttendeeOrganizer(actor, 2L, 1L);
+        EventResponseDto result = eventService.makeAttendeeOrganizer(actor, 2L, 1L, EventResponseView.FULL);
 
         assertThat(result).isNotNull();
         assertThat(targetAttendance.getRole()).isEqualTo(AttendanceRole.ORGANIZER);
         verify(notificationService).createNotification(newOrganizer, notificationService.generateAddedAsOrganizerMessage(actor, event), NotificationType.ADDED_AS_ORGANIZER);
     }
 
+    @Test
+    void makeAttendeeOrganizer_shouldReturnCountsOnly_whenSummaryViewRequested() {
+        User actor = new User("john", "wick", "john.wick@email.com", "<PASSWORD>");
+        actor.setId(1L);
+        User newOrganizer = new User("jane", "ear", "jane.ear@email.com", "<PASSWORD>");
+        newOrganizer.setId(2L);
+        Event event = new Event();
+        event.setId(1L);
+        Attendance targetAttendance = new Attendance(newOrganizer, event, AttendanceRole.ATTENDEE);
+
+        when(eventRepo.findById(1L)).thenReturn(Optional.of(event));
+        when(userRepo.findById(2L)).thenReturn(Optional.of(newOrganizer));
+        when(attendanceRepo.findByUserAndEvent(newOrganizer, event)).thenReturn(Optional.of(targetAttendance));
+        when(attendanceRepo.countParticipants(1L)).thenReturn(new ParticipantCounts(9998, 2));
+
+        EventResponseDto result = eventService.makeAttendeeOrganizer(actor, 2L, 1L, EventResponseView.SUMMARY);
+
+        assertThat(result.attendeeCount()).isEqualTo(9998);
+        assertThat(result.organizerCount()).isEqualTo(2);
+        assertThat(result.attendees()).isEmpty();
+        assertThat(result.organizers()).isEmpty();
+        assertThat(result.userAttendanceStatus()).isEmpty();
+        verify(attendanceRepo, never()).findParticipantViews(any(), any(), any());
+    }
+
+    @Test
+    void markAttended_shouldReturnFirstParticipants_whenPreviewViewRequested() {
+        User organizer = new User("john", "wick", "john.wick@email.com", "<PASSWORD>");
+        organizer.setId(1L);
+        Event event = new Event();
+        event.setId(1L);
+
+        when(eventRepo.findById(1L)).thenReturn(Optional.of(event));
+        when(userRepo.existsById(2L)).thenReturn(true);
+        when(attendanceRepo.lockByEventIdAndUserIdIn(1L, List.of(2L)))
+                .thenReturn(List.of(attendanceOf(2L, event, AttendanceStatus.REGISTERED)));
+        when(attendanceRepo.markAsAttended(1L, List.of(2L))).thenReturn(1);
+        when(attendanceRepo.countParticipants(1L)).thenReturn(new ParticipantCounts(500, 1));
+        when(attendanceRepo.findParticipantViews(1L, AttendanceRole.ORGANIZER, Limit.of(10)))
+                .thenReturn(List.of(new EventParticipantView(1L, "john", "wick", "john.wick@email.com", null, null,
+                        AttendanceRole.ORGANIZER, AttendanceStatus.REGISTERED)));
+        when(attendanceRepo.findParticipantViews(1L, AttendanceRole.ATTENDEE, Limit.of(10)))
+                .thenReturn(List.of(new EventParticipantView(2L, "jane", "ear", "jane.ear@email.com", null, null,
+                        AttendanceRole.ATTENDEE, AttendanceStatus.ATTENDED)));
+
+        EventResponseDto result = eventService.markAttended(organizer, 2L, 1L, EventResponseView.PREVIEW);
+
+        assertThat(result.attendeeCount()).isEqualTo(500);
+        assertThat(result.attendees()).extracting(UserSummaryDto::id).containsExactly(2L);
+        assertThat(result.organizers()).extracting(UserSummaryDto::id).containsExactly(1L);
+        assertThat(result.userAttendanceStatus()).containsEntry(2L, AttendanceStatus.ATTENDED);
+    }
+
     @Test
     void makeAttendeeOrganizer_shouldReturnEvent_whenUserAlreadyOrganizer() {
         User actor = new User("john", "wick", "john.wick@email.com", "<PASSWORD>");
@@ -118,7 +253,7 @@ public class EventServiceTest {
         when(userRepo.findById(2L)).thenReturn(Optional.of(targetUser));
         when(attendanceRepo.findByUserAndEvent(targetUser, event)).thenReturn(Optional.of(targetAttendance));
 
-        EventResponseDto result = eventService.makeAttendeeOrganizer(actor, 2L, 1L);
+        EventResponseDto result = eventService.makeAttendeeOrganizer(actor, 2L, 1L, EventResponseView.FULL);
 
         assertThat(result).isNotNull();
         verify(notificationService, never()).createNotification(any(User.class), anyString(), any(NotificationType.class));
@@ -130,7 +265,7 @@ public class EventServiceTest {
 
         when(eventRepo.findById(1L)).thenReturn(Optional.empty());
 
-        assertThrows(EventNotFoundException.class, () -> eventService.makeAttendeeOrganizer(actor, 2L, 1L));
+        assertThrows(EventNotFoundException.class, () -> eventService.makeAttendeeOrganizer(actor, 2L, 1L, EventResponseView.FULL));
     }
 
     @Test
@@ -143,7 +278,8 @@ public class EventServiceTest {
 
         when(eventRepo.findById(1L)).thenReturn(Optional.of(event));
 
-        assertThrows(ForbiddenOperationException.class, () -> eventService.makeAttendeeOrganizer(actor, 2L, 1L));
+        doThrow(new ForbiddenOperationException("not an organizer")).when(attendanceService).checkIsOrganizer(1L, event);
+        assertThrows(ForbiddenOperationException.class, () -> eventService.makeAttendeeOrganizer(actor, 2L, 1L, EventResponseView.FULL));
     }
 
     @Test
@@ -158,7 +294,7 @@ public class EventServiceTest {
         when(eventRepo.findById(1L)).thenReturn(Optional.of(event));
         when(userRepo.findById(2L)).thenReturn(Optional.empty());
 
-        assertThrows(UserNotFoundException.class, () -> eventService.makeAttendeeOrganizer(actor, 2L, 1L));
+        assertThrows(UserNotFoundException.class, () -> eventService.makeAttendeeOrganizer(actor, 2L, 1L, EventResponseView.FULL));
     }
 
     @Test
@@ -176,7 +312,7 @@ public class EventServiceTest {
         when(userRepo.findById(2L)).thenReturn(Optional.of(targetUser));
         when(attendanceRepo.findByUserAndEvent(targetUser, event)).thenReturn(Optional.empty());
 
-        assertThrows(ResourceNotFoundException.class, () -> eventService.makeAttendeeOrganizer(actor, 2L, 1L));
+        assertThrows(ResourceNotFoundException.class, () -> eventService.makeAttendeeOrganizer(actor, 2L, 1L, EventResponseView.FULL));
     }
 
     @Test
@@ -196,7 +332,7 @@ public class EventServiceTest {
         when(userRepo.findById(2L)).thenReturn(Optional.of(targetUser));
         when(attendanceRepo.findByUserAndEvent(targetUser, event)).thenReturn(Optional.of(targetAttendance));
 
-        EventResponseDto result = eventService.removeOrganizerRole(actor, 2L, 1L);
+        EventResponseDto result = eventService.removeOrganizerRole(actor, 2L, 1L, EventResponseView.FULL);
 
         assertThat(result).isNotNull();
         assertThat(targetAttendance.getRole()).isEqualTo(AttendanceRole.ATTENDEE);
@@ -219,7 +355,9 @@ public class EventServiceTest {
         when(eventRepo.findById(1L)).thenReturn(Optional.of(event));
         when(userRepo.findById(2L)).thenReturn(Optional.of(targetUser));
 
-        assertThrows(ForbiddenOperationException.class, () -> eventService.removeOrganizerRole(actor, 2L, 1L));
+        doNothing().when(attendanceService).checkIsOrganizer(1L, event);
+        doThrow(new ForbiddenOperationException("not an organizer")).when(attendanceService).checkIsOrganizer(2L, event);
+        assertThrows(ForbiddenOperationException.class, () -> eventService.removeOrganizerRole(actor, 2L, 1L, EventResponseView.FULL));
     }
 
     @Test
@@ -228,7 +366,7 @@ public class EventServiceTest {
 
         when(eventRepo.findById(1L)).thenReturn(Optional.empty());
 
-        assertThrows(EventNotFoundException.class, () -> eventService.removeOrganizerRole(actor, 2L, 1L));
+        assertThrows(EventNotFoundException.class, () -> eventService.removeOrganizerRole(actor, 2L, 1L, EventResponseView.FULL));
     }
 
     @Test
@@ -239,7 +377,8 @@ public class EventServiceTest {
 
         when(eventRepo.findById(1L)).thenReturn(Optional.of(event));
 
-        assertThrows(ForbiddenOperationException.class, () -> eventService.removeOrganizerRole(actor, 2L, 1L));
+        doThrow(new ForbiddenOperationException("not an organizer")).when(attendanceService).checkIsOrganizer(1L, event);
+        assertThrows(ForbiddenOperationException.class, () -> eventService.removeOrganizerRole(actor, 2L, 1L, EventResponseView.FULL));
     }
 
     @Test
@@ -254,7 +393,7 @@ public class EventServiceTest {
         when(eventRepo.findById(1L)).thenReturn(Optional.of(event));
         when(userRepo.findById(2L)).thenReturn(Optional.empty());
 
-        assertThrows(UserNotFoundException.class, () -> eventService.removeOrganizerRole(actor, 2L, 1L));
+        assertThrows(UserNotFoundException.class, () -> eventService.removeOrganizerRole(actor, 2L, 1L, EventResponseView.FULL));
     }
 
     @Test
@@ -273,7 +412,7 @@ public class EventServiceTest {
         when(userRepo.findById(2L)).thenReturn(Optional.of(userToKick));
         when(attendanceRepo.findByUserAndEvent(userToKick, event)).thenReturn(Optional.of(kickAttendance));
 
-        EventResponseDto result = eventService.kickUserFromEvent(organizer, 2L, 1L);
+        EventResponseDto result = eventService.kickUserFromEvent(organizer, 2L, 1L, EventResponseView.FULL);
 
         assertThat(result).isNotNull();
         assertThat(kickAttendance.getStatus()).isEqualTo(AttendanceStatus.KICKED);
@@ -286,7 +425,7 @@ public class EventServiceTest {
 
         when(eventRepo.findById(1L)).thenReturn(Optional.empty());
 
-        assertThrows(EventNotFoundException.class, () -> eventService.kickUserFromEvent(organizer, 2L, 1L));
+        assertThrows(EventNotFoundException.class, () -> eventService.kickUserFromEvent(organizer, 2L, 1L, EventResponseView.FULL));
     }
 
     @Test
@@ -297,7 +436,8 @@ public class EventServiceTest {
 
         when(eventRepo.findById(1L)).thenReturn(Optional.of(event));
 
-        assertThrows(ForbiddenOperationException.class, () -> eventService.kickUserFromEvent(organizer, 2L, 1L));
+        doThrow(new ForbiddenOperationException("not an organizer")).when(attendanceService).checkIsOrganizer(1L, event);
+        assertThrows(ForbiddenOperationException.class, () -> eventService.kickUserFromEvent(organizer, 2L, 1L, EventResponseView.FULL));
     }
 
     @Test
@@ -312,7 +452,7 @@ public class EventServiceTest {
         when(eventRepo.findById(1L)).thenReturn(Optional.of(event));
         when(userRepo.findById(2L)).thenReturn(Optional.empty());
 
-        assertThrows(UserNotFoundException.class, () -> eventService.kickUserFromEvent(organizer, 2L, 1L));
+        assertThrows(UserNotFoundException.class, () -> eventService.kickUserFromEvent(organizer, 2L, 1L, EventResponseView.FULL));
     }
 
     @Test
@@ -330,7 +470,7 @@ public class EventServiceTest {
         when(userRepo.findById(2L)).thenReturn(Optional.of(userToKick));
         when(attendanceRepo.findByUserAndEvent(userToKick, event)).thenReturn(Optional.empty());
 
-        assertThrows(ResourceNotFoundException.class, () -> eventService.kickUserFromEvent(organizer, 2L, 1L));
+        assertThrows(ResourceNotFoundException.class, () -> eventService.kickUserFromEvent(organizer, 2L, 1L, EventResponseView.FULL));
     }
 
     @Test
@@ -345,8 +485,8 @@ public class EventServiceTest {
         when(eventRepo.findById(1L)).thenReturn(Optional.of(event));
         when(eventRepo.save(any(Event.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
-        var eventRequestDto = new EventRequestDto("updated title", "updated description", LocalDateTime.now().plusDays(2), "batumi");
-        EventResponseDto result = eventService.editEvent(1L, 1L, eventRequestDto, false);
+        var eventRequestDto = new EventRequestDto("updated title", "updated description", LocalDateTime.now().plusDays(2), null, "batumi", null, null);
+        EventResponseDto result = eventService.editEvent(1L, 1L, eventRequestDto, false, EventResponseView.FULL);
 
         assertThat(result).isNotNull();
         assertThat(event.getTitle()).isEqualTo("updated title");
@@ -354,46 +494,85 @@ public class EventServiceTest {
         assertThat(event.getLocation()).isEqualTo("batumi");
         verify(eventRepo).save(event);
         verify(notificationService, never()).createNotification(any(User.class), anyString(), any(NotificationType.class));
+        verify(notificationService, never()).notifyEventParticipants(any(Event.class), anyString(), any(NotificationType.class));
     }
 
     @Test
     void editEvent_shouldSucceed_whenValidInputWithNotifications() {
         User organizer = new User("john", "wick", "john.wick@email.com", "<PASSWORD>");
         organizer.setId(1L);
-        User attendee = new User("jane", "ear", "jane.ear@email.com", "<PASSWORD>");
-        User invitee = new User("bob", "smith", "bob.smith@email.com", "<PASSWORD>");
         Event event = new Event();
 
         Attendance organizerAttendance = new Attendance(organizer, event, AttendanceRole.ORGANIZER);
-        Attendance attendeeAttendance = new Attendance(attendee, event, AttendanceRole.ATTENDEE);
-        attendeeAttendance.setStatus(AttendanceStatus.REGISTERED);
         event.getAttendances().add(organizerAttendance);
 
-        Invitation invitation = new Invitation();
-        invitation.setInvitee(invitee);
-        invitation.setStatus(InvitationStatus.PENDING);
-        invitation.setEvent(event);
-        event.getInvitations().add(invitation);
-
         when(eventRepo.findById(1L)).thenReturn(Optional.of(event));
-        when(attendanceRepo.findByEventAndStatusOrderByEvent_DateTimeAsc(event, AttendanceStatus.REGISTERED)).thenReturn(List.of(attendeeAttendance));
         when(eventRepo.save(any(Event.class))).thenAnswer(invocation -> invocation.getArgument(0));
         when(notificationService.generateEventUpdatedMessage(any(Event.class))).thenReturn("Test event updated message");
 
-        var eventRequestDto = new EventRequestDto("updated title", "updated description", LocalDateTime.now().plusDays(2), "batumi");
-        EventResponseDto result = eventService.editEvent(1L, 1L, eventRequestDto, true);
+        var eventRequestDto = new EventRequestDto("updated title", "updated description", LocalDateTime.now().plusDays(2), null, "batumi", null, null);
+        EventResponseDto result = eventService.editEvent(1L, 1L, eventRequestDto, true, EventResponseView.FULL);
 
         assertThat(result).isNotNull();
         verify(eventRepo).save(event);
-        verify(notificationService, times(2)).createNotification(any(User.class), anyString(), any(NotificationType.class));
+        verify(notificationService).notifyEventParticipants(event, "Test event updated message", NotificationType.EVENT_DETAILS_UPDATED);
+        verify(notificationService, never()).createNotification(any(User.class), anyString(), any(NotificationType.class));
+    }
+
+    @Test
+    void editEvent_shouldKeepExistingCapacity_whenCapacityIsOmitted() {
+        Event event = new Event();
+        event.setCapacity(10);
+        event.setReservedSeats(10);
+
+        when(eventRepo.findById(1L)).thenReturn(Optional.of(event));
+        when(eventRepo.save(any(Event.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        var eventRequestDto = new EventRequestDto("title", null, LocalDateTime.now().plusDays(2), null, "batumi", null, null);
+        eventService.editEvent(1L, 1L, eventRequestDto, false, EventResponseView.FULL);
+
+        assertThat(event.getCapacity()).isEqualTo(10);
+    }
+
+    @Test
+    void editEvent_shouldApplyCapacityThroughConditionalUpdate() {
+        Event event = new Event();
+        event.setCapacity(10);
+        event.setReservedSeats(6);
+
+        when(eventRepo.findById(1L)).thenReturn(Optional.of(event));
+        when(eventRepo.updateCapacity(1L, 8)).thenReturn(1);
+        when(eventRepo.save(any(Event.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        var eventRequestDto = new EventRequestDto("title", null, LocalDateTime.now().plusDays(2), null, "batumi", 8, null);
+        eventService.editEvent(1L, 1L, eventRequestDto, false, EventResponseView.FULL);
+
+        verify(eventRepo).updateCapacity(1L, 8);
+        assertThat(event.getCapacity()).isEqualTo(8);
+    }
+
+    @Test
+    void editEvent_shouldThrowException_whenCapacityIsBelowReservedSeats() {
+        Event event = new Event();
+        event.setCapacity(10);
+        event.setReservedSeats(6);
+
+        when(eventRepo.findById(1L)).thenReturn(Optional.of(event));
+        when(eventRepo.updateCapacity(1L, 5)).thenReturn(0);
+
+        var eventRequestDto = new EventRequestDto("title", null, LocalDateTime.now().plusDays(2), null, "batumi", 5, null);
+        assertThrows(ConflictException.class, () -> eventService.editEvent(1L, 1L, eventRequestDto, false, EventResponseView.FULL));
+        assertThat(event.getCapacity()).isEqualTo(10);
+        verify(eventRepo, never()).save(any());
+        verify(attendanceService, never()).promoteFromWaitlist(any());
     }
 
     @Test
     void editEvent_shouldThrowException_whenEventNotFound() {
         when(eventRepo.findById(1L)).thenReturn(Optional.empty());
 
-        var eventRequestDto = new EventRequestDto("title", "description", LocalDateTime.now().plusDays(1), "location");
-        assertThrows(EventNotFoundException.class, () -> eventService.editEvent(1L, 1L, eventRequestDto, false));
+        var eventRequestDto = new EventRequestDto("title", "description", LocalDateTime.now().plusDays(1), null, "location", null, null);
+        assertThrows(EventNotFoundException.class, () -> eventService.editEvent(1L, 1L, eventRequestDto, false, EventResponseView.FULL));
     }
 
     @Test
@@ -404,31 +583,21 @@ public class EventServiceTest {
 
         when(eventRepo.findById(1L)).thenReturn(Optional.of(event));
 
-        var eventRequestDto = new EventRequestDto("title", "description", LocalDateTime.now().plusDays(1), "location");
-        assertThrows(ForbiddenOperationException.class, () -> eventService.editEvent(1L, 1L, eventRequestDto, false));
+        var eventRequestDto = new EventRequestDto("title", "description", LocalDateTime.now().plusDays(1), null, "location", null, null);
+        doThrow(new ForbiddenOperationException("not an organizer")).when(attendanceService).checkIsOrganizer(1L, event);
+        assertThrows(ForbiddenOperationException.class, () -> eventService.editEvent(1L, 1L, eventRequestDto, false, EventResponseView.FULL));
     }
 
     @Test
     void cancelEvent_shouldSucceed_whenValidInput() {
         User organizer = new User("john", "wick", "john.wick@email.com", "<PASSWORD>");
         organizer.setId(1L);
-        User attendee = new User("jane", "ear", "jane.ear@email.com", "<PASSWORD>");
-        User invitee = new User("bob", "smith", "bob.smith@email.com", "<PASSWORD>");
         Event event = new Event();
 
         Attendance organizerAttendance = new Attendance(organizer, event, AttendanceRole.ORGANIZER);
-        Attendance attendeeAttendance = new Attendance(attendee, event, AttendanceRole.ATTENDEE);
-        attendeeAttendance.setStatus(AttendanceStatus.REGISTERED);
         event.getAttendances().add(organizerAttendance);
 
-        Invitation invitation = new Invitation();
-        invitation.setInvitee(invitee);
-        invitation.setStatus(InvitationStatus.PENDING);
-        invitation.setEvent(event);
-        event.getInvitations().add(invitation);
-
         when(eventRepo.findById(1L)).thenReturn(Optional.of(event));
-        when(attendanceRepo.findByEventAndStatusOrderByEvent_DateTimeAsc(event, AttendanceStatus.REGISTERED)).thenReturn(List.of(attendeeAttendance));
         when(eventRepo.save(any(Event.class))).thenAnswer(invocation -> invocation.getArgument(0));
         when(notificationService.generateEventCancelledMessage(any(Event.class))).thenReturn("Test event cancelled message");
 
@@ -436,7 +605,8 @@ public class EventServiceTest {
 
         assertThat(event.isCancelled()).isTrue();
         verify(eventRepo).save(event);
-        verify(notificationService, times(2)).createNotification(any(User.class), anyString(), any(NotificationType.class));
+        verify(notificationService).notifyEventParticipants(event, "Test event cancelled message", NotificationType.EVENT_CANCELLED);
+        verify(notificationService, never()).createNotification(any(User.class), anyString(), any(NotificationType.class));
     }
 
     @Test
@@ -454,6 +624,7 @@ public class EventServiceTest {
 
         when(eventRepo.findById(1L)).thenReturn(Optional.of(event));
 
+        doThrow(new ForbiddenOperationException("not an organizer")).when(attendanceService).checkIsOrganizer(1L, event);
         assertThrows(ForbiddenOperationException.class, () -> eventService.cancelEvent(1L, 1L));
     }
 
@@ -462,13 +633,15 @@ public class EventServiceTest {
         User user = new User("john", "wick", "john.wick@email.com", "<PASSWORD>");
         Event event = new Event();
 
-        when(eventRepo.findByUserAndRoleAndDateTimeAndStatus(user, null, true, false)).thenReturn(List.of(event));
-        when(attendanceService.getAttendanceRole(user, event)).thenReturn(AttendanceRole.ATTENDEE);
+        when(userTimelineService.findEvents(user.getId(), null, true, false, null, Limit.unlimited()))
+                .thenReturn(List.of(new EventAttendanceView(event, AttendanceRole.ATTENDEE, AttendanceStatus.REGISTERED)));
 
         List<EventWithRoleDto> result = eventService.getFilteredEventsWithRole(user, null, "UPCOMING", false);
 
         assertThat(result).hasSize(1);
-        verify(eventRepo).findByUserAndRoleAndDateTimeAndStatus(user, null, true, false);
+        assertThat(result.get(0).role()).isEqualTo(AttendanceRole.ATTENDEE);
+        verify(eventRepo).fetchAttendancesWithUsers(List.of(event));
+        verify(userTimelineService).findEvents(user.getId(), null, true, false, null, Limit.unlimited());
     }
 
     @Test
@@ -476,43 +649,447 @@ public class EventServiceTest {
         User user = new User("john", "wick", "john.wick@email.com", "<PASSWORD>");
         Event event = new Event();
 
-        when(eventRepo.findByUserAndRoleAndDateTimeAndStatus(user, AttendanceRole.ORGANIZER, false, true)).thenReturn(List.of(event));
-        when(attendanceService.getAttendanceRole(user, event)).thenReturn(AttendanceRole.ORGANIZER);
+        when(userTimelineService.findEvents(user.getId(), AttendanceRole.ORGANIZER, false, true, null, Limit.unlimited()))
+                .thenReturn(List.of(new EventAttendanceView(event, AttendanceRole.ORGANIZER, AttendanceStatus.ATTENDED)));
 
         List<EventWithRoleDto> result = eventService.getFilteredEventsWithRole(user, AttendanceRole.ORGANIZER, "PAST", true);
 
         assertThat(result).hasSize(1);
-        verify(eventRepo).findByUserAndRoleAndDateTimeAndStatus(user, AttendanceRole.ORGANIZER, false, true);
+        assertThat(result.get(0).role()).isEqualTo(AttendanceRole.ORGANIZER);
+        verify(userTimelineService).findEvents(user.getId(), AttendanceRole.ORGANIZER, false, true, null, Limit.unlimited());
+    }
+
+    @Test
+    void getFilteredEventsWithRole_shouldSkipParticipantPreload_whenNoEventsFound() {
+        User user = new User("john", "wick", "john.wick@email.com", "<PASSWORD>");
+
+        when(userTimelineService.findEvents(user.getId(), null, true, false, null, Limit.unlimited())).thenReturn(List.of());
+
+        List<EventWithRoleDto> result = eventService.getFilteredEventsWithRole(user, null, "UPCOMING", false);
+
+        assertThat(result).isEmpty();
+        verify(eventRepo, never()).fetchAttendancesWithUsers(any());
+    }
+
+    @Test
+    void getFilteredEventsWithRolePage_shouldReturnNextCursor_whenMoreRowsAvailable() {
+        User user = new User("john", "wick", "john.wick@email.com", "<PASSWORD>");
+        Event first = new Event("first", LocalDateTime.of(2030, 1, 1, 10, 0), "tbilisi");
+        first.setId(1L);
+        Event second = new Event("second", LocalDateTime.of(2030, 1, 2, 10, 0), "tbilisi");
+        second.setId(2L);
+        Event third = new Event("third", LocalDateTime.of(2030, 1, 3, 10, 0), "tbilisi");
+        third.setId(3L);
+
+        when(userTimelineService.findEvents(user.getId(), null, true, false, null, Limit.of(3)))
+                .thenReturn(List.of(
+                        new EventAttendanceView(first, AttendanceRole.ATTENDEE, AttendanceStatus.REGISTERED),
+                        new EventAttendanceView(second, AttendanceRole.ORGANIZER, AttendanceStatus.REGISTERED),
+                        new EventAttendanceView(third, AttendanceRole.ATTENDEE, AttendanceStatus.REGISTERED)));
+
+        EventPageDto result = eventService.getFilteredEventsWithRolePage(user, null, "UPCOMING", false, null, 2);
+
+        assertThat(result.events()).extracting(dto -> dto.event().title()).containsExactly("first", "second");
+        assertThat(KeysetCursor.decode(result.nextCursor())).isEqualTo(new KeysetCursor(second.getDateTime(), 2L));
+    }
+
+    @Test
+    void getFilteredEventsWithRolePage_shouldContinueAfterCursor_andReturnNoCursorOnLastPage() {
+        User user = new User("john", "wick", "john.wick@email.com", "<PASSWORD>");
+        Event event = new Event("last", LocalDateTime.of(2030, 1, 3, 10, 0), "tbilisi");
+        event.setId(3L);
+        var cursor = new KeysetCursor(LocalDateTime.of(2030, 1, 2, 10, 0), 2L);
+
+        when(userTimelineService.findEvents(user.getId(), null, false, false, cursor, Limit.of(3)))
+                .thenReturn(List.of(new EventAttendanceView(event, AttendanceRole.ATTENDEE, AttendanceStatus.ATTENDED)));
+
+        EventPageDto result = eventService.getFilteredEventsWithRolePage(user, null, "PAST", false, cursor.encode(), 2);
+
+        assertThat(result.events()).hasSize(1);
+        assertThat(result.nextCursor()).isNull();
+    }
+
+    @Test
+    void getFilteredEventsWithRolePage_shouldThrowException_whenCursorInvalid() {
+        User user = new User("john", "wick", "john.wick@email.com", "<PASSWORD>");
+
+        assertThrows(BadRequestException.class,
+                () -> eventService.getFilteredEventsWithRolePage(user, null, "UPCOMING", false, "not-a-cursor", 20));
+    }
+
+    @Test
+    void getParticipantsPage_shouldReturnActiveParticipantsSortedByName_withNextCursor() {
+        var adams = new EventParticipantView(7L, "amy", "adams", "amy@email.com", null, null,
+                AttendanceRole.ORGANIZER, AttendanceStatus.REGISTERED);
+        var baker = new EventParticipantView(3L, "bob", "baker", "bob@email.com", null, null,
+                AttendanceRole.ATTENDEE, AttendanceStatus.ATTENDED);
+        var clark = new EventParticipantView(5L, "cat", "clark", "cat@email.com", null, null,
+                AttendanceRole.ATTENDEE, AttendanceStatus.REGISTERED);
+
+        when(eventRepo.existsById(1L)).thenReturn(true);
+        when(attendanceRepo.findParticipantPage(1L, EnumSet.allOf(AttendanceRole.class),
+                Set.of(AttendanceStatus.REGISTERED, AttendanceStatus.ATTENDED), Limit.of(3)))
+                .thenReturn(List.of(adams, baker, clark));
+
+        ParticipantPageDto result = eventService.getParticipantsPage(1L, 9L, null, null, null, 2);
+
+        assertThat(result.participants()).extracting(dto -> dto.user().id(), ParticipantDto::role)
+                .containsExactly(tuple(7L, AttendanceRole.ORGANIZER), tuple(3L, AttendanceRole.ATTENDEE));
+        assertThat(ParticipantCursor.decode(result.nextCursor())).isEqualTo(new ParticipantCursor("baker", "bob", 3L));
+        verify(attendanceService, never()).checkIsOrganizer(any(), any());
+    }
+
+    @Test
+    void getParticipantsPage_shouldContinueAfterCursor_andReturnNoCursorOnLastPage() {
+        var clark = new EventParticipantView(5L, "cat", "clark", "cat@email.com", null, null,
+                AttendanceRole.ATTENDEE, AttendanceStatus.REGISTERED);
+        var cursor = new ParticipantCursor("baker", "bob", 3L);
+
+        when(eventRepo.existsById(1L)).thenReturn(true);
+        when(attendanceRepo.findParticipantPageAfter(1L, Set.of(AttendanceRole.ATTENDEE),
+                Set.of(AttendanceStatus.REGISTERED, AttendanceStatus.ATTENDED), "baker", "bob", 3L, Limit.of(3)))
+                .thenReturn(List.of(clark));
+
+        ParticipantPageDto result = eventService.getParticipantsPage(1L, 9L, AttendanceRole.ATTENDEE, null,
+                cursor.encode(), 2);
+
+        assertThat(result.participants()).extracting(dto -> dto.user().lastName()).containsExactly("clark");
+        assertThat(result.nextCursor()).isNull();
+    }
+
+    @Test
+    void getParticipantsPage_shouldRequireOrganizer_whenListingInactiveStatus() {
+        Event event = new Event();
+        event.setId(1L);
+
+        when(eventRepo.existsById(1L)).thenReturn(true);
+        when(eventRepo.getReferenceById(1L)).thenReturn(event);
+        doThrow(new ForbiddenOperationException("not an organizer"))
+                .when(attendanceService).checkIsOrganizer(9L, event);
+
+        assertThrows(ForbiddenOperationException.class,
+                () -> eventService.getParticipantsPage(1L, 9L, null, AttendanceStatus.WAITLISTED, null, 20));
+        verify(attendanceRepo, never()).findParticipantPage(any(), any(), any(), any());
+    }
+
+    @Test
+    void getParticipantsPage_shouldThrowException_whenEventNotFound() {
+        when(eventRepo.existsById(1L)).thenReturn(false);
+
+        assertThrows(EventNotFoundException.class,
+                () -> eventService.getParticipantsPage(1L, 9L, null, null, null, 20));
+    }
+
+    @Test
+    void checkInAttendees_shouldMarkRegisteredUsers_andReportPerUserOutcomes() {
+        User organizer = new User("john", "wick", "john.wick@email.com", "<PASSWORD>");
+        organizer.setId(1L);
+        Event event = new Event("conference", LocalDateTime.now().plusHours(1), "tbilisi");
+        event.setId(3L);
+
+        when(eventRepo.findById(3L)).thenReturn(Optional.of(event));
+        when(attendanceRepo.lockByEventIdAndUserIdIn(3L, List.of(10L, 11L, 12L, 13L)))
+                .thenReturn(List.of(
+                        attendanceOf(10L, event, AttendanceStatus.REGISTERED),
+                        attendanceOf(11L, event, AttendanceStatus.ATTENDED),
+                        attendanceOf(12L, event, AttendanceStatus.WAITLISTED)));
+        when(attendanceRepo.markAsAttended(3L, List.of(10L))).thenReturn(1);
+        when(notificationService.generateCheckedInMessage(event)).thenReturn("checked in");
+
+        BulkCheckInResponseDto result = eventService.checkInAttendees(organizer,
+                new BulkCheckInRequestDto(3L, List.of(10L, 11L, 12L, 13L, 10L)));
+
+        assertThat(result.checkedIn()).isEqualTo(1);
+        assertThat(result.alreadyCheckedIn()).isEqualTo(1);
+        assertThat(result.notRegistered()).isEqualTo(1);
+        assertThat(result.notParticipant()).isEqualTo(1);
+        assertThat(result.results()).extracting(BulkCheckInResultDto::userId, BulkCheckInResultDto::outcome)
+                .containsExactly(
+                        tuple(10L, BulkCheckInResultDto.Outcome.CHECKED_IN),
+                        tuple(11L, BulkCheckInResultDto.Outcome.ALREADY_CHECKED_IN),
+                        tuple(12L, BulkCheckInResultDto.Outcome.NOT_REGISTERED),
+                        tuple(13L, BulkCheckInResultDto.Outcome.NOT_PARTICIPANT));
+
+        InOrder inOrder = inOrder(userStatsService, attendanceRepo);
+        inOrder.verify(attendanceRepo).lockByEventIdAndUserIdIn(3L, List.of(10L, 11L, 12L, 13L));
+        inOrder.verify(userStatsService).recordAttended(3L, List.of(10L));
+        inOrder.verify(attendanceRepo).markAsAttended(3L, List.of(10L));
+        verify(userTimelineService).recordAttended(3L, List.of(10L));
+        verify(notificationService).notifyUsers(List.of(10L), "checked in", NotificationType.CHECKED_IN);
+    }
+
+    @Test
+    void checkInAttendees_shouldSkipUpdatesAndNotification_whenNobodyIsRegistered() {
+        User organizer = new User("john", "wick", "john.wick@email.com", "<PASSWORD>");
+        organizer.setId(1L);
+        Event event = new Event("conference", LocalDateTime.now().plusHours(1), "tbilisi");
+        event.setId(3L);
+
+        when(eventRepo.findById(3L)).thenReturn(Optional.of(event));
+        when(attendanceRepo.lockByEventIdAndUserIdIn(3L, List.of(11L)))
+                .thenReturn(List.of(attendanceOf(11L, event, AttendanceStatus.ATTENDED)));
+
+        BulkCheckInResponseDto result = eventService.checkInAttendees(organizer, new BulkCheckInRequestDto(3L, List.of(11L)));
+
+        assertThat(result.alreadyCheckedIn()).isEqualTo(1);
+        verify(attendanceRepo, never()).markAsAttended(any(), any());
+        verify(notificationService, never()).notifyUsers(any(), any(), any());
+    }
+
+    @Test
+    void checkInAttendees_shouldRollBack_whenUpdateMissesLockedRegisteredUsers() {
+        User organizer = new User("john", "wick", "john.wick@email.com", "<PASSWORD>");
+        organizer.setId(1L);
+        Event event = new Event("conference", LocalDateTime.now().plusHours(1), "tbilisi");
+        event.setId(3L);
+
+        when(eventRepo.findById(3L)).thenReturn(Optional.of(event));
+        when(attendanceRepo.lockByEventIdAndUserIdIn(3L, List.of(10L)))
+                .thenReturn(List.of(attendanceOf(10L, event, AttendanceStatus.REGISTERED)));
+        when(attendanceRepo.markAsAttended(3L, List.of(10L))).thenReturn(0);
+
+        assertThrows(IllegalStateException.class,
+                () -> eventService.checkInAttendees(organizer, new BulkCheckInRequestDto(3L, List.of(10L))));
+        verify(userTimelineService, never()).recordAttended(any(), any());
+        verify(notificationService, never()).notifyUsers(any(), any(), any());
+    }
+
+    @Test
+    void checkInAttendees_shouldThrowException_whenActorIsNotOrganizer() {
+        User organizer = new User("john", "wick", "john.wick@email.com", "<PASSWORD>");
+        organizer.setId(1L);
+        Event event = new Event("conference", LocalDateTime.now().plusHours(1), "tbilisi");
+        event.setId(3L);
+
+        when(eventRepo.findById(3L)).thenReturn(Optional.of(event));
+        doThrow(new ForbiddenOperationException("not an organizer"))
+                .when(attendanceService).checkIsOrganizer(1L, event);
+
+        assertThrows(ForbiddenOperationException.class,
+                () -> eventService.checkInAttendees(organizer, new BulkCheckInRequestDto(3L, List.of(10L))));
+        verify(attendanceRepo, never()).markAsAttended(any(), any());
+    }
+
+    @Test
+    void streamFilteredEventsWithRole_shouldEmitEveryRow_andClearPersistenceContext() {
+        User user = new User("john", "wick", "john.wick@email.com", "<PASSWORD>");
+        Event first = new Event("first", LocalDateTime.now().plusDays(1), "tbilisi");
+        Event second = new Event("second", LocalDateTime.now().plusDays(2), "batumi");
+
+        when(userTimelineService.streamEvents(user.getId(), null, true, false))
+                .thenReturn(Stream.of(
+                        new EventAttendanceView(first, AttendanceRole.ATTENDEE, AttendanceStatus.REGISTERED),
+                        new EventAttendanceView(second, AttendanceRole.ORGANIZER, AttendanceStatus.REGISTERED)));
+
+        List<EventWithRoleDto> emitted = new ArrayList<>();
+        eventService.streamFilteredEventsWithRole(user, null, "UPCOMING", false, emitted::add);
+
+        assertThat(emitted).extracting(dto -> dto.event().title()).containsExactly("first", "second");
+        verify(eventRepo).fetchAttendancesWithUsers(List.of(first, second));
+        verify(entityManager).clear();
     }
 
     @Test
     void getFilteredEventsWithRole_shouldThrowException_whenInvalidTimeframe() {
         User user = new User("john", "wick", "john.wick@email.com", "<PASSWORD>");
 
-        assertThrows(IllegalArgumentException.class, () -> eventService.getFilteredEventsWithRole(user, null, "INVALID", false));
+        assertThrows(BadRequestException.class, () -> eventService.getFilteredEventsWithRole(user, null, "INVALID", false));
     }
 
     @Test
-    void markAttended_shouldSucceed_whenValidInput() {
+    void getFilteredEventsWithRole_shouldExpandRecurringSeriesWithinWindow_andPreferMaterializedOccurrences() {
+        User user = new User("john", "wick", "john.wick@email.com", "<PASSWORD>");
+        LocalDateTime firstStart = LocalDateTime.now().plusDays(1).withNano(0);
+        Event series = new Event("weekly sync", firstStart, "tbilisi");
+        series.setId(1L);
+        series.setRecurrence(new RecurrenceRule(RecurrenceFrequency.WEEKLY, 1, null, null));
+        Event single = new Event("one-off", firstStart.plusDays(1), "batumi");
+        single.setId(2L);
+        Event moved = new Event("moved sync", firstStart.plusDays(9), "kutaisi");
+        moved.setId(3L);
+        moved.setSeries(series);
+        moved.setOccurrenceStart(firstStart.plusWeeks(1));
+
+        when(userTimelineService.findEvents(user.getId(), null, true, false, null, Limit.unlimited()))
+                .thenReturn(List.of(
+                        new EventAttendanceView(series, AttendanceRole.ORGANIZER, AttendanceStatus.REGISTERED),
+                        new EventAttendanceView(single, AttendanceRole.ATTENDEE, AttendanceStatus.REGISTERED)));
+        when(eventRepo.findBySeriesInAndOccurrenceStartBetween(any(), any(), any())).thenReturn(List.of(moved));
+
+        List<EventWithRoleDto> result = eventService.getFilteredEventsWithRole(user, null, "UPCOMING", false);
+
+        assertThat(result).hasSize(14);
+        assertThat(result).extracting(dto -> dto.event().title())
+                .startsWith("weekly sync", "one-off", "moved sync", "weekly sync");
+        assertThat(result).extracting(dto -> dto.event().dateTime()).isSorted();
+        assertThat(result.get(0).event().id()).isNull();
+        assertThat(result.get(0).event().seriesId()).isEqualTo(1L);
+        assertThat(result.get(0).role()).isEqualTo(AttendanceRole.ORGANIZER);
+        assertThat(result.get(2).event().id()).isEqualTo(3L);
+    }
+
+    @Test
+    void getFilteredEventsWithRole_shouldIncludeActiveSeriesFromTimeline_whenFirstOccurrenceHasPassed() {
+        User user = new User("john", "wick", "john.wick@email.com", "<PASSWORD>");
+        user.setId(7L);
+        LocalDateTime firstStart = LocalDateTime.now().minusWeeks(2).withNano(0);
+        Event series = new Event("weekly sync", firstStart, "tbilisi");
+        series.setId(1L);
+        series.setRecurrence(new RecurrenceRule(RecurrenceFrequency.WEEKLY, 1, firstStart.plusWeeks(4), null));
+        User attendee = new User("jane", "ear", "jane.ear@email.com", "<PASSWORD>");
+        attendee.setId(8L);
+        series.getAttendances().add(new Attendance(user, series, AttendanceRole.ORGANIZER));
+        series.getAttendances().add(new Attendance(attendee, series, AttendanceRole.ATTENDEE));
+
+        when(userTimelineService.findActiveSeries(7L, null, false))
+                .thenReturn(List.of(new EventAttendanceView(series, AttendanceRole.ORGANIZER, AttendanceStatus.REGISTERED)));
+
+        List<EventWithRoleDto> result = eventService.getFilteredEventsWithRole(user, null, "UPCOMING", false);
+
+        assertThat(result).extracting(dto -> dto.event().dateTime())
+                .containsExactly(firstStart.plusWeeks(3), firstStart.plusWeeks(4));
+        assertThat(result).allSatisfy(dto -> {
+            assertThat(dto.event().seriesId()).isEqualTo(1L);
+            assertThat(dto.event().reservedSeats()).isEqualTo(2);
+            assertThat(dto.event().attendees()).extracting(UserSummaryDto::id).containsExactly(8L);
+            assertThat(dto.event().organizers()).extracting(UserSummaryDto::id).containsExactly(7L);
+        });
+    }
+
+    @Test
+    void getFilteredEventsWithRole_shouldNotLookUpActiveSeries_whenPastTimeframe() {
+        User user = new User("john", "wick", "john.wick@email.com", "<PASSWORD>");
+
+        eventService.getFilteredEventsWithRole(user, null, "PAST", false);
+
+        verify(userTimelineService, never()).findActiveSeries(any(), any(), anyBoolean());
+    }
+
+    @Test
+    void getFilteredEventsWithRole_shouldHideCancelledOccurrence_andStopAtRecurrenceCount() {
+        User user = new User("john", "wick", "john.wick@email.com", "<PASSWORD>");
+        LocalDateTime firstStart = LocalDateTime.now().plusDays(1).withNano(0);
+        Event series = new Event("standup", firstStart, "tbilisi");
+        series.setId(1L);
+        series.setRecurrence(new RecurrenceRule(RecurrenceFrequency.DAILY, 2, null, 3));
+        Event cancelled = new Event("standup", firstStart.plusDays(2), "tbilisi");
+        cancelled.setId(5L);
+        cancelled.setSeries(series);
+        cancelled.setOccurrenceStart(firstStart.plusDays(2));
+        cancelled.setCancelled(true);
+
+        when(userTimelineService.findEvents(user.getId(), null, true, false, null, Limit.unlimited()))
+                .thenReturn(List.of(new EventAttendanceView(series, AttendanceRole.ATTENDEE, AttendanceStatus.REGISTERED)));
+        when(eventRepo.findBySeriesInAndOccurrenceStartBetween(any(), any(), any())).thenReturn(List.of(cancelled));
+
+        List<EventWithRoleDto> result = eventService.getFilteredEventsWithRole(user, null, "UPCOMING", false);
+
+        assertThat(result).extracting(dto -> dto.event().dateTime())
+                .containsExactly(firstStart, firstStart.plusDays(4));
+    }
+
+    @Test
+    void materializeOccurrence_shouldPersistOccurrenceWithSeriesRoster() {
         User organizer = new User("john", "wick", "john.wick@email.com", "<PASSWORD>");
         organizer.setId(1L);
         User attendee = new User("jane", "ear", "jane.ear@email.com", "<PASSWORD>");
         attendee.setId(2L);
+        User withdrawn = new User("jack", "reacher", "jack.reacher@email.com", "<PASSWORD>");
+        withdrawn.setId(3L);
+        LocalDateTime firstStart = LocalDateTime.now().plusDays(1).withNano(0);
+        Event series = new Event("weekly sync", firstStart, "tbilisi");
+        series.setId(10L);
+        series.setCapacity(20);
+        series.setRecurrence(new RecurrenceRule(RecurrenceFrequency.WEEKLY, 1, null, null));
+        series.getAttendances().add(new Attendance(organizer, series, AttendanceRole.ORGANIZER));
+        series.getAttendances().add(new Attendance(attendee, series, AttendanceRole.ATTENDEE));
+        Attendance withdrawnAttendance = new Attendance(withdrawn, series, AttendanceRole.ATTENDEE);
+        withdrawnAttendance.setStatus(AttendanceStatus.WITHDRAWN);
+        series.getAttendances().add(withdrawnAttendance);
+        LocalDateTime occurrenceStart = firstStart.plusWeeks(3);
+
+        when(eventRepo.findById(10L)).thenReturn(Optional.of(series));
+        when(eventRepo.findBySeriesAndOccurrenceStart(series, occurrenceStart)).thenReturn(Optional.empty());
+        when(eventRepo.save(any(Event.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        EventResponseDto result = eventService.materializeOccurrence(organizer, 10L, occurrenceStart);
+
+        ArgumentCaptor<Event> captor = ArgumentCaptor.forClass(Event.class);
+        verify(eventRepo).save(captor.capture());
+        Event occurrence = captor.getValue();
+        assertThat(occurrence.getSeries()).isSameAs(series);
+        assertThat(occurrence.getOccurrenceStart()).isEqualTo(occurrenceStart);
+        assertThat(occurrence.getRecurrence()).isNull();
+        assertThat(occurrence.getReservedSeats()).isEqualTo(2);
+        assertThat(occurrence.getAttendances())
+                .extracting(attendance -> attendance.getUser().getId(), Attendance::getRole, Attendance::getStatus)
+                .containsExactlyInAnyOrder(
+                        tuple(1L, AttendanceRole.ORGANIZER, AttendanceStatus.REGISTERED),
+                        tuple(2L, AttendanceRole.ATTENDEE, AttendanceStatus.REGISTERED));
+        verify(userScheduleService).addAll(userIdsCaptor.capture(), any(Event.class));
+        assertThat(userIdsCaptor.getValue()).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(result.dateTime()).isEqualTo(occurrenceStart);
+        assertThat(result.capacity()).isEqualTo(20);
+        assertThat(result.seriesId()).isEqualTo(10L);
+        assertThat(result.organizers()).extracting(UserSummaryDto::id).containsExactly(1L);
+        assertThat(result.attendees()).extracting(UserSummaryDto::id).containsExactly(2L);
+    }
+
+    @Test
+    void materializeOccurrence_shouldThrowException_whenStartIsNotAnOccurrence() {
+        User user = new User("john", "wick", "john.wick@email.com", "<PASSWORD>");
+        LocalDateTime firstStart = LocalDateTime.now().plusDays(1).withNano(0);
+        Event series = new Event("weekly sync", firstStart, "tbilisi");
+        series.setRecurrence(new RecurrenceRule(RecurrenceFrequency.WEEKLY, 1, null, null));
+
+        when(eventRepo.findById(10L)).thenReturn(Optional.of(series));
+
+        assertThrows(BadRequestException.class,
+                () -> eventService.materializeOccurrence(user, 10L, firstStart.plusDays(3)));
+        verify(eventRepo, never()).save(any());
+    }
+
+    @Test
+    void materializeOccurrence_shouldThrowException_whenUserNotOrganizer() {
+        User user = new User("john", "wick", "john.wick@email.com", "<PASSWORD>");
+        user.setId(4L);
+        LocalDateTime firstStart = LocalDateTime.now().plusDays(1).withNano(0);
+        Event series = new Event("weekly sync", firstStart, "tbilisi");
+        series.setRecurrence(new RecurrenceRule(RecurrenceFrequency.WEEKLY, 1, null, null));
+
+        when(eventRepo.findById(10L)).thenReturn(Optional.of(series));
+        doThrow(new ForbiddenOperationException("not an organizer"))
+                .when(attendanceService).checkIsOrganizer(4L, series);
+
+        assertThrows(ForbiddenOperationException.class,
+                () -> eventService.materializeOccurrence(user, 10L, firstStart.plusWeeks(1)));
+        verify(eventRepo, never()).save(any());
+    }
+
+    @Test
+    void markAttended_shouldSucceed_whenValidInput() {
+        User organizer = new User("john", "wick", "john.wick@email.com", "<PASSWORD>");
+        organizer.setId(1L);
         Event event = new Event();
 
         Attendance organizerAttendance = new Attendance(organizer, event, AttendanceRole.ORGANIZER);
-        Attendance attendeeAttendance = new Attendance(attendee, event, AttendanceRole.ATTENDEE);
-        attendeeAttendance.setStatus(AttendanceStatus.REGISTERED);
         event.getAttendances().add(organizerAttendance);
 
         when(eventRepo.findById(1L)).thenReturn(Optional.of(event));
-        when(userRepo.findById(2L)).thenReturn(Optional.of(attendee));
-        when(attendanceRepo.findByUserAndEvent(attendee, event)).thenReturn(Optional.of(attendeeAttendance));
+        when(userRepo.existsById(2L)).thenReturn(true);
+        when(attendanceRepo.lockByEventIdAndUserIdIn(1L, List.of(2L)))
+                .thenReturn(List.of(attendanceOf(2L, event, AttendanceStatus.REGISTERED)));
+        when(attendanceRepo.markAsAttended(1L, List.of(2L))).thenReturn(1);
 
-        EventResponseDto result = eventService.markAttended(organizer, 2L, 1L);
+        EventResponseDto result = eventService.markAttended(organizer, 2L, 1L, EventResponseView.FULL);
 
         assertThat(result).isNotNull();
-        assertThat(attendeeAttendance.getStatus()).isEqualTo(AttendanceStatus.ATTENDED);
+        InOrder inOrder = inOrder(userStatsService, attendanceRepo);
+        inOrder.verify(attendanceRepo).lockByEventIdAndUserIdIn(1L, List.of(2L));
+        inOrder.verify(userStatsService).recordAttended(1L, List.of(2L));
+        inOrder.verify(attendanceRepo).markAsAttended(1L, List.of(2L));
+        verify(userTimelineService).recordAttended(1L, List.of(2L));
+        verify(userStatsService, never()).recordTransition(any(), any(), any());
     }
 
     @Test
@@ -521,7 +1098,7 @@ public class EventServiceTest {
 
         when(eventRepo.findById(1L)).thenReturn(Optional.empty());
 
-        assertThrows(EventNotFoundException.class, () -> eventService.markAttended(organizer, 2L, 1L));
+        assertThrows(EventNotFoundException.class, () -> eventService.markAttended(organizer, 2L, 1L, EventResponseView.FULL));
     }
 
     @Test
@@ -532,7 +1109,8 @@ public class EventServiceTest {
 
         when(eventRepo.findById(1L)).thenReturn(Optional.of(event));
 
-        assertThrows(ForbiddenOperationException.class, () -> eventService.markAttended(organizer, 2L, 1L));
+        doThrow(new ForbiddenOperationException("not an organizer")).when(attendanceService).checkIsOrganizer(1L, event);
+        assertThrows(ForbiddenOperationException.class, () -> eventService.markAttended(organizer, 2L, 1L, EventResponseView.FULL));
     }
 
     @Test
@@ -545,47 +1123,60 @@ public class EventServiceTest {
         event.getAttendances().add(organizerAttendance);
 
         when(eventRepo.findById(1L)).thenReturn(Optional.of(event));
-        when(userRepo.findById(2L)).thenReturn(Optional.empty());
+        when(userRepo.existsById(2L)).thenReturn(false);
 
-        assertThrows(UserNotFoundException.class, () -> eventService.markAttended(organizer, 2L, 1L));
+        assertThrows(UserNotFoundException.class, () -> eventService.markAttended(organizer, 2L, 1L, EventResponseView.FULL));
     }
 
     @Test
     void markAttended_shouldThrowException_whenAttendanceNotFound() {
         User organizer = new User("john", "wick", "john.wick@email.com", "<PASSWORD>");
         organizer.setId(1L);
-        User attendee = new User("jane", "ear", "jane.ear@email.com", "<PASSWORD>");
-        attendee.setId(2L);
         Event event = new Event();
 
         Attendance organizerAttendance = new Attendance(organizer, event, AttendanceRole.ORGANIZER);
         event.getAttendances().add(organizerAttendance);
 
         when(eventRepo.findById(1L)).thenReturn(Optional.of(event));
-        when(userRepo.findById(2L)).thenReturn(Optional.of(attendee));
-        when(attendanceRepo.findByUserAndEvent(attendee, event)).thenReturn(Optional.empty());
+        when(userRepo.existsById(2L)).thenReturn(true);
+        when(attendanceRepo.lockByEventIdAndUserIdIn(1L, List.of(2L))).thenReturn(List.of());
 
-        assertThrows(ConflictException.class, () -> eventService.markAttended(organizer, 2L, 1L));
+        assertThrows(ConflictException.class, () -> eventService.markAttended(organizer, 2L, 1L, EventResponseView.FULL));
     }
 
     @Test
     void markAttended_shouldThrowException_whenInvalidStatus() {
         User organizer = new User("john", "wick", "john.wick@email.com", "<PASSWORD>");
         organizer.setId(1L);
-        User attendee = new User("jane", "ear", "jane.ear@email.com", "<PASSWORD>");
-        attendee.setId(2L);
         Event event = new Event();
 
         Attendance organizerAttendance = new Attendance(organizer, event, AttendanceRole.ORGANIZER);
-        Attendance attendeeAttendance = new Attendance(attendee, event, AttendanceRole.ATTENDEE);
-        attendeeAttendance.setStatus(AttendanceStatus.WITHDRAWN);
         event.getAttendances().add(organizerAttendance);
 
         when(eventRepo.findById(1L)).thenReturn(Optional.of(event));
-        when(userRepo.findById(2L)).thenReturn(Optional.of(attendee));
-        when(attendanceRepo.findByUserAndEvent(attendee, event)).thenReturn(Optional.of(attendeeAttendance));
+        when(userRepo.existsById(2L)).thenReturn(true);
+        when(attendanceRepo.lockByEventIdAndUserIdIn(1L, List.of(2L)))
+                .thenReturn(List.of(attendanceOf(2L, event, AttendanceStatus.WITHDRAWN)));
 
-        assertThrows(InvalidStatusTransitionException.class, () -> eventService.markAttended(organizer, 2L, 1L));
+        assertThrows(InvalidStatusTransitionException.class, () -> eventService.markAttended(organizer, 2L, 1L, EventResponseView.FULL));
+        verify(userStatsService, never()).recordAttended(any(), any());
+        verify(attendanceRepo, never()).markAsAttended(any(), any());
+    }
+
+    @Test
+    void markAttended_shouldNotCountTwice_whenConcurrentCheckInAlreadyMarkedAttendee() {
+        User organizer = new User("john", "wick", "john.wick@email.com", "<PASSWORD>");
+        organizer.setId(1L);
+        Event event = new Event();
+
+        when(eventRepo.findById(1L)).thenReturn(Optional.of(event));
+        when(userRepo.existsById(2L)).thenReturn(true);
+        when(attendanceRepo.lockByEventIdAndUserIdIn(1L, List.of(2L)))
+                .thenReturn(List.of(attendanceOf(2L, event, AttendanceStatus.ATTENDED)));
+
+        assertThrows(InvalidStatusTransitionException.class, () -> eventService.markAttended(organizer, 2L, 1L, EventResponseView.FULL));
+        verify(userStatsService, never()).recordAttended(any(), any());
+        verify(userTimelineService, never()).recordAttended(any(), any());
     }
 
     @Test
@@ -598,11 +1189,42 @@ public class EventServiceTest {
         event.getAttendances().add(organizerAttendance);
 
         when(eventRepo.findById(1L)).thenReturn(Optional.of(event));
+        when(attendanceRepo.findUserIdsByEventIdAndStatus(1L, AttendanceStatus.REGISTERED)).thenReturn(List.of(1L, 2L));
+        when(attendanceRepo.lockByEventIdAndUserIdIn(1L, List.of(1L, 2L)))
+                .thenReturn(List.of(
+                        attendanceOf(1L, event, AttendanceStatus.REGISTERED),
+                        attendanceOf(2L, event, AttendanceStatus.REGISTERED)));
+        when(attendanceRepo.markAsAttended(1L, List.of(1L, 2L))).thenReturn(2);
 
-        EventResponseDto result = eventService.markAllAttended(organizer, 1L);
+        EventResponseDto result = eventService.markAllAttended(organizer, 1L, EventResponseView.FULL);
 
         assertThat(result).isNotNull();
-        verify(attendanceRepo).markAllAsAttended(event);
+        InOrder inOrder = inOrder(userStatsService, attendanceRepo);
+        inOrder.verify(attendanceRepo).lockByEventIdAndUserIdIn(1L, List.of(1L, 2L));
+        inOrder.verify(userStatsService).recordAttended(1L, List.of(1L, 2L));
+        inOrder.verify(attendanceRepo).markAsAttended(1L, List.of(1L, 2L));
+        verify(userTimelineService).recordAttended(1L, List.of(1L, 2L));
+        verify(notificationService, never()).notifyUsers(any(), any(), any());
+    }
+
+    @Test
+    void markAllAttended_shouldSkipAttendeesCheckedInConcurrently() {
+        User organizer = new User("john", "wick", "john.wick@email.com", "<PASSWORD>");
+        organizer.setId(1L);
+        Event event = new Event();
+
+        when(eventRepo.findById(1L)).thenReturn(Optional.of(event));
+        when(attendanceRepo.findUserIdsByEventIdAndStatus(1L, AttendanceStatus.REGISTERED)).thenReturn(List.of(1L, 2L));
+        when(attendanceRepo.lockByEventIdAndUserIdIn(1L, List.of(1L, 2L)))
+                .thenReturn(List.of(
+                        attendanceOf(1L, event, AttendanceStatus.REGISTERED),
+                        attendanceOf(2L, event, AttendanceStatus.ATTENDED)));
+        when(attendanceRepo.markAsAttended(1L, List.of(1L))).thenReturn(1);
+
+        eventService.markAllAttended(organizer, 1L, EventResponseView.FULL);
+
+        verify(userStatsService).recordAttended(1L, List.of(1L));
+        verify(userTimelineService).recordAttended(1L, List.of(1L));
     }
 
     @Test
@@ -611,7 +1233,7 @@ public class EventServiceTest {
 
         when(eventRepo.findById(1L)).thenReturn(Optional.empty());
 
-        assertThrows(EventNotFoundException.class, () -> eventService.markAllAttended(organizer, 1L));
+        assertThrows(EventNotFoundException.class, () -> eventService.markAllAttended(organizer, 1L, EventResponseView.FULL));
     }
 
     @Test
@@ -622,7 +1244,46 @@ public class EventServiceTest {
 
         when(eventRepo.findById(1L)).thenReturn(Optional.of(event));
 
-        assertThrows(ForbiddenOperationException.class, () -> eventService.markAllAttended(organizer, 1L));
+        doThrow(new ForbiddenOperationException("not an organizer")).when(attendanceService).checkIsOrganizer(1L, event);
+        assertThrows(ForbiddenOperationException.class, () -> eventService.markAllAttended(organizer, 1L, EventResponseView.FULL));
+    }
+
+    @Test
+    void searchEvents_shouldHydrateHitsInRankOrder_andSkipDeletedEvents() {
+        LocalDateTime from = LocalDateTime.now().plusDays(1);
+        Event concert = new Event("jazz concert", from.plusDays(2), "tbilisi");
+        concert.setId(4L);
+        Event series = new Event("jazz jam", from.minusDays(3), "batumi");
+        series.setId(9L);
+        series.setRecurrence(new RecurrenceRule(RecurrenceFrequency.WEEKLY, 1, null, null));
+
+        when(eventSearchIndex.search("jazz", from, null, false, 0, 2)).thenReturn(new SearchResults<>(List.of(
+                new SearchHit<>(9L, 1.8), new SearchHit<>(5L, 1.5), new SearchHit<>(4L, 1.2)), true));
+        when(eventRepo.findAllById(List.of(9L, 5L, 4L))).thenReturn(List.of(concert, series));
+
+        var page = eventService.searchEvents("jazz", from, null, false, 0, 2);
+
+        assertThat(page.results()).extracting(result -> result.id()).containsExactly(9L, 4L);
+        assertThat(page.results().get(0).nextOccurrence()).isEqualTo(series.getDateTime().plusWeeks(1));
+        assertThat(page.results().get(1).nextOccurrence()).isNull();
+        assertThat(page.nextOffset()).isEqualTo(2);
+    }
+
+    @Test
+    void searchEvents_shouldThrowException_whenRangeIsInverted() {
+        LocalDateTime from = LocalDateTime.now().plusDays(2);
+
+        assertThrows(BadRequestException.class,
+                () -> eventService.searchEvents("jazz", from, from.minusDays(1), false, 0, 20));
+        verify(eventSearchIndex, never()).search(anyString(), any(), any(), anyBoolean(), anyInt(), anyInt());
+    }
+
+    private static Attendance attendanceOf(Long userId, Event event, AttendanceStatus status) {
+        User user = new User("user", String.valueOf(userId), "user" + userId + "@email.com", "<PASSWORD>");
+        user.setId(userId);
+        Attendance attendance = new Attendance(user, event, AttendanceRole.ATTENDEE);
+        attendance.setStatus(status);
+        return attendance;
     }
 
 }
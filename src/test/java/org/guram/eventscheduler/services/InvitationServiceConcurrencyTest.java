@@ -0,0 +1,123 @@
+package org.guram.eventscheduler.services;
+
+import org.guram.eventscheduler.dtos.invitationDtos.BulkInvitationRequestDto;
+import org.guram.eventscheduler.dtos.invitationDtos.BulkInvitationResponseDto;
+import org.guram.eventscheduler.models.Event;
+import org.guram.eventscheduler.models.User;
+import org.guram.eventscheduler.repositories.EventRepository;
+import org.guram.eventscheduler.repositories.InvitationRepository;
+import org.guram.eventscheduler.repositories.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(InvitationService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class InvitationServiceConcurrencyTest {
+
+    @Autowired
+    private InvitationService invitationService;
+
+    @Autowired
+    private InvitationRepository invitationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @MockitoBean
+    private AttendanceService attendanceService;
+
+    @MockitoBean
+    private NotificationService notificationService;
+
+    @MockitoBean
+    private UserScheduleService userScheduleService;
+
+    private User organizer;
+    private User bob;
+    private User carol;
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            organizer = userRepository.save(new User("john", "wick", "john.wick@email.com", "<PASSWORD>"));
+            bob = userRepository.save(new User("bob", "brown", "bob.brown@email.com", "<PASSWORD>"));
+            carol = userRepository.save(new User("carol", "white", "carol.white@email.com", "<PASSWORD>"));
+            event = eventRepository.save(new Event("meetup", LocalDateTime.now().plusDays(1), "tbilisi"));
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            invitationRepository.deleteAll();
+            eventRepository.deleteAll();
+            userRepository.deleteAll();
+        });
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+
+    @Test
+    void sendInvitations_shouldReportAlreadyInvited_whenSingleInviteCommitsDuringBulkInsert() throws Exception {
+        CountDownLatch singleInserted = new CountDownLatch(1);
+        CountDownLatch releaseSingle = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> single = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                invitationService.sendInvitation(organizer.getId(), carol.getId(), event.getId());
+                invitationRepository.flush();
+                singleInserted.countDown();
+                await(releaseSingle);
+            }));
+            assertThat(singleInserted.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // The bulk insert runs into the single invite's row while it is still uncommitted
+            executor.submit(() -> {
+                Thread.sleep(300);
+                releaseSingle.countDown();
+                return null;
+            });
+            BulkInvitationResponseDto result = invitationService.sendInvitations(organizer.getId(),
+                    new BulkInvitationRequestDto(event.getId(), List.of(bob.getId(), carol.getId()), null));
+            single.get(5, TimeUnit.SECONDS);
+
+            assertThat(result.invited()).isEqualTo(1);
+            assertThat(result.alreadyInvited()).isEqualTo(1);
+            assertThat(invitationRepository.count()).isEqualTo(2);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+}
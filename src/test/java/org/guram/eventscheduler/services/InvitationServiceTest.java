@@ -1,6 +1,11 @@
 package org.guram.eventscheduler.services;
 
+import org.guram.eventscheduler.dtos.eventDtos.ScheduleConflictDto;
+import org.guram.eventscheduler.dtos.invitationDtos.BulkInvitationRequestDto;
+import org.guram.eventscheduler.dtos.invitationDtos.BulkInvitationResponseDto;
+import org.guram.eventscheduler.dtos.invitationDtos.BulkInvitationResultDto;
 import org.guram.eventscheduler.dtos.invitationDtos.InvitationResponseDto;
+import org.guram.eventscheduler.exceptions.BadRequestException;
 import org.guram.eventscheduler.exceptions.ConflictException;
 import org.guram.eventscheduler.exceptions.EventNotFoundException;
 import org.guram.eventscheduler.exceptions.ForbiddenOperationException;
@@ -16,18 +21,28 @@ import org.guram.eventscheduler.models.User;
 import org.guram.eventscheduler.repositories.EventRepository;
 import org.guram.eventscheduler.repositories.InvitationRepository;
 import org.guram.eventscheduler.repositories.UserRepository;
+import org.guram.eventscheduler.repositories.projections.InvitationInviteeView;
+import org.guram.eventscheduler.repositories.projections.UserEmailView;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
@@ -48,6 +63,12 @@ public class InvitationServiceTest {
     @Mock
     private NotificationService notificationService;
 
+    @Mock
+    private UserScheduleService userScheduleService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private InvitationService invitationService;
 
@@ -83,6 +104,28 @@ public class InvitationServiceTest {
         verify(notificationService).createNotification(invitee, notificationService.generateInvitationMessage(event), NotificationType.EVENT_INVITATION_RECEIVED);
     }
 
+    @Test
+    void sendInvitation_shouldReturnInviteeScheduleConflicts() {
+        Event event = new Event("team sync", LocalDateTime.now().plusDays(1), "tbilisi");
+        event.setId(1L);
+        User invitor = new User("john", "wick", "john.wick@email.com", "<PASSWORD>");
+        invitor.setId(1L);
+        User invitee = new User("jane", "ear", "jane.ear@email.com", "<PASSWORD>");
+        invitee.setId(2L);
+        var conflict = new ScheduleConflictDto(8L, "dentist", event.getDateTime(), event.getDateTime().plusHours(1));
+
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(event));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(invitor));
+        when(userRepository.findById(2L)).thenReturn(Optional.of(invitee));
+        when(invitationRepository.findByInviteeAndEvent(invitee, event)).thenReturn(Optional.empty());
+        when(invitationRepository.save(any(Invitation.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(userScheduleService.findConflicts(2L, event)).thenReturn(List.of(conflict));
+
+        InvitationResponseDto result = invitationService.sendInvitation(1L, 2L, 1L);
+
+        assertThat(result.scheduleConflicts()).containsExactly(conflict);
+    }
+
     @Test
     void sendInvitation_shouldThrowException_whenEventNotFound() {
         when(eventRepository.findById(1L)).thenReturn(Optional.empty());
@@ -121,6 +164,7 @@ public class InvitationServiceTest {
         when(eventRepository.findById(1L)).thenReturn(Optional.of(event));
         when(userRepository.findById(1L)).thenReturn(Optional.of(invitor));
         when(userRepository.findById(2L)).thenReturn(Optional.of(invitee));
+        doThrow(new ForbiddenOperationException("not an organizer")).when(attendanceService).checkIsOrganizer(1L, event);
         
         assertThrows(ForbiddenOperationException.class, () -> invitationService.sendInvitation(1L, 2L, 1L));
     }
@@ -174,7 +218,7 @@ public class InvitationServiceTest {
         assertThat(result).isNotNull();
         assertThat(invitation.getStatus()).isEqualTo(InvitationStatus.ACCEPTED);
         verify(attendanceService).registerUser(invitee, event);
-        verify(notificationService).createNotification(organizer, notificationService.generateInvitationResponseMessage(invitee, event, InvitationStatus.ACCEPTED), NotificationType.INVITATION_ACCEPTED);
+        verify(notificationService).notifyEventOrganizers(event, notificationService.generateInvitationResponseMessage(invitee, event, InvitationStatus.ACCEPTED), NotificationType.INVITATION_ACCEPTED);
     }
 
     @Test
@@ -203,7 +247,7 @@ public class InvitationServiceTest {
         assertThat(result).isNotNull();
         assertThat(invitation.getStatus()).isEqualTo(InvitationStatus.DECLINED);
         verify(attendanceService, never()).registerUser(any(User.class), any(Event.class));
-        verify(notificationService).createNotification(organizer, notificationService.generateInvitationResponseMessage(invitee, event, InvitationStatus.DECLINED), NotificationType.INVITATION_DECLINED);
+        verify(notificationService).notifyEventOrganizers(event, notificationService.generateInvitationResponseMessage(invitee, event, InvitationStatus.DECLINED), NotificationType.INVITATION_DECLINED);
     }
 
     @Test
@@ -259,4 +303,124 @@ public class InvitationServiceTest {
         verify(invitationRepository).findByInviteeAndStatusOrderByInvitationSentDateAsc(user, InvitationStatus.PENDING);
     }
 
+    @Test
+    void sendInvitations_shouldInviteNewUsersAndReportPerInviteeOutcome() {
+        Event event = new Event();
+        event.setId(1L);
+        var request = new BulkInvitationRequestDto(1L, List.of(2L, 3L, 99L), List.of("dave@email.com"));
+
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(event));
+        when(userRepository.findEmailViewsByIdIn(List.of(2L, 3L, 99L))).thenReturn(List.of(
+                new UserEmailView(2L, "bob@email.com"), new UserEmailView(3L, "carol@email.com")));
+        when(userRepository.findEmailViewsByEmailIn(List.of("dave@email.com")))
+                .thenReturn(List.of(new UserEmailView(4L, "dave@email.com")));
+        when(invitationRepository.findInviteeViewsByEventIdAndInviteeIdIn(1L, List.of(2L, 3L, 4L)))
+                .thenReturn(List.of(new InvitationInviteeView(7L, 3L)));
+        when(invitationRepository.insertPendingForUsers(eq(1L), eq(1L), eq(List.of(2L, 4L)), any(LocalDateTime.class)))
+                .thenReturn(2);
+        when(invitationRepository.findInviteeViewsSentTogether(eq(1L), eq(1L), any(LocalDateTime.class), eq(List.of(2L, 4L))))
+                .thenReturn(List.of(new InvitationInviteeView(8L, 2L), new InvitationInviteeView(9L, 4L)));
+
+        BulkInvitationResponseDto result = invitationService.sendInvitations(1L, request);
+
+        verify(invitationRepository).insertPendingForUsers(eq(1L), eq(1L), eq(List.of(2L, 4L)), any(LocalDateTime.class));
+        verify(notificationService).notifyUsers(eq(Set.of(2L, 4L)), any(), eq(NotificationType.EVENT_INVITATION_RECEIVED));
+        assertThat(result.invited()).isEqualTo(2);
+        assertThat(result.alreadyInvited()).isEqualTo(1);
+        assertThat(result.notFound()).isEqualTo(1);
+        assertThat(result.results()).containsExactly(
+                new BulkInvitationResultDto(2L, "bob@email.com", BulkInvitationResultDto.Outcome.INVITED, 8L),
+                new BulkInvitationResultDto(3L, "carol@email.com", BulkInvitationResultDto.Outcome.ALREADY_INVITED, null),
+                new BulkInvitationResultDto(99L, null, BulkInvitationResultDto.Outcome.USER_NOT_FOUND, null),
+                new BulkInvitationResultDto(4L, "dave@email.com", BulkInvitationResultDto.Outcome.INVITED, 9L));
+    }
+
+    @Test
+    void sendInvitations_shouldNotNotifyAnyone_whenEveryoneIsAlreadyInvited() {
+        Event event = new Event();
+        event.setId(1L);
+        var request = new BulkInvitationRequestDto(1L, List.of(3L), null);
+
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(event));
+        when(userRepository.findEmailViewsByIdIn(List.of(3L))).thenReturn(List.of(new UserEmailView(3L, "carol@email.com")));
+        when(invitationRepository.findInviteeViewsByEventIdAndInviteeIdIn(1L, List.of(3L)))
+                .thenReturn(List.of(new InvitationInviteeView(7L, 3L)));
+
+        BulkInvitationResponseDto result = invitationService.sendInvitations(1L, request);
+
+        assertThat(result.alreadyInvited()).isEqualTo(1);
+        verify(invitationRepository, never()).insertPendingForUsers(any(), any(), any(), any());
+        verify(notificationService, never()).notifyUsers(any(), any(), any());
+    }
+
+    @Test
+    void sendInvitations_shouldReportAlreadyInvited_whenConcurrentRequestInvitedFirst() {
+        Event event = new Event();
+        event.setId(1L);
+        var request = new BulkInvitationRequestDto(1L, List.of(3L), null);
+
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(event));
+        when(userRepository.findEmailViewsByIdIn(List.of(3L))).thenReturn(List.of(new UserEmailView(3L, "carol@email.com")));
+        when(invitationRepository.findInviteeViewsByEventIdAndInviteeIdIn(1L, List.of(3L))).thenReturn(List.of());
+        when(invitationRepository.insertPendingForUsers(eq(1L), eq(1L), eq(List.of(3L)), any(LocalDateTime.class)))
+                .thenReturn(0);
+
+        BulkInvitationResponseDto result = invitationService.sendInvitations(1L, request);
+
+        assertThat(result.invited()).isZero();
+        assertThat(result.alreadyInvited()).isEqualTo(1);
+        verify(notificationService, never()).notifyUsers(any(), any(), any());
+    }
+
+    @Test
+    void sendInvitations_shouldRetryInviteeByInvitee_whenConcurrentInviteHitsUniqueConstraint() {
+        Event event = new Event();
+        event.setId(1L);
+        var request = new BulkInvitationRequestDto(1L, List.of(2L, 3L), null);
+
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(event));
+        when(userRepository.findEmailViewsByIdIn(List.of(2L, 3L))).thenReturn(List.of(
+                new UserEmailView(2L, "bob@email.com"), new UserEmailView(3L, "carol@email.com")));
+        when(invitationRepository.findInviteeViewsByEventIdAndInviteeIdIn(1L, List.of(2L, 3L))).thenReturn(List.of());
+        when(invitationRepository.insertPendingForUsers(eq(1L), eq(1L), eq(List.of(2L, 3L)), any(LocalDateTime.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate invitation"));
+        when(invitationRepository.insertPendingForUsers(eq(1L), eq(1L), eq(List.of(2L)), any(LocalDateTime.class)))
+                .thenReturn(1);
+        when(invitationRepository.insertPendingForUsers(eq(1L), eq(1L), eq(List.of(3L)), any(LocalDateTime.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate invitation"));
+        when(invitationRepository.findInviteeViewsSentTogether(eq(1L), eq(1L), any(LocalDateTime.class), eq(List.of(2L))))
+                .thenReturn(List.of(new InvitationInviteeView(8L, 2L)));
+
+        BulkInvitationResponseDto result = invitationService.sendInvitations(1L, request);
+
+        verify(transactionManager, times(2)).rollback(any());
+        verify(notificationService).notifyUsers(eq(Set.of(2L)), any(), eq(NotificationType.EVENT_INVITATION_RECEIVED));
+        assertThat(result.invited()).isEqualTo(1);
+        assertThat(result.alreadyInvited()).isEqualTo(1);
+    }
+
+    @Test
+    void sendInvitations_shouldThrowException_whenInvitorIsNotOrganizer() {
+        Event event = new Event();
+        event.setId(1L);
+
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(event));
+        doThrow(new ForbiddenOperationException("not an organizer")).when(attendanceService).checkIsOrganizer(1L, event);
+
+        var request = new BulkInvitationRequestDto(1L, List.of(2L), null);
+        assertThrows(ForbiddenOperationException.class, () -> invitationService.sendInvitations(1L, request));
+        verify(invitationRepository, never()).insertPendingForUsers(any(), any(), any(), any());
+    }
+
+    @Test
+    void sendInvitations_shouldThrowException_whenNoInviteesGiven() {
+        Event event = new Event();
+        event.setId(1L);
+
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(event));
+
+        var request = new BulkInvitationRequestDto(1L, List.of(), null);
+        assertThrows(BadRequestException.class, () -> invitationService.sendInvitations(1L, request));
+    }
+
 }
@@ -0,0 +1,118 @@
+package org.guram.eventscheduler.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.guram.eventscheduler.models.NotificationAudience;
+import org.guram.eventscheduler.models.NotificationOutbox;
+import org.guram.eventscheduler.models.NotificationType;
+import org.guram.eventscheduler.repositories.NotificationOutboxRepository;
+import org.guram.eventscheduler.repositories.NotificationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDateTime;
+import java.util.List;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class NotificationOutboxDispatcherTest {
+
+    @Mock
+    private NotificationOutboxRepository outboxRepo;
+
+    @Mock
+    private NotificationRepository notificationRepo;
+
+    @Mock
+    private NotificationPushService pushService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private NotificationOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        dispatcher = new NotificationOutboxDispatcher(outboxRepo, notificationRepo, pushService, transactionTemplate,
+                Runnable::run, meterRegistry, 100, 10);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    private NotificationOutbox outboxEntry(Long id, NotificationAudience audience) {
+        NotificationOutbox entry = new NotificationOutbox();
+        entry.setId(id);
+        entry.setIdempotencyKey("key-" + id);
+        entry.setAudience(audience);
+        entry.setEventId(5L);
+        entry.setMessage("message");
+        entry.setType(NotificationType.EVENT_CANCELLED);
+        entry.setCreatedAt(LocalDateTime.now().minusSeconds(1));
+        return entry;
+    }
+
+    @Test
+    void dispatchPending_shouldExpandEntriesAndMarkThemDispatched() {
+        NotificationOutbox participants = outboxEntry(1L, NotificationAudience.EVENT_PARTICIPANTS);
+        NotificationOutbox users = outboxEntry(2L, NotificationAudience.USERS);
+        users.setRecipientIdList(List.of(7L, 8L));
+
+        when(outboxRepo.lockNextPending(eq(0L), eq(10), any(Limit.class))).thenReturn(List.of(participants));
+        when(outboxRepo.lockNextPending(eq(1L), eq(10), any(Limit.class))).thenReturn(List.of(users));
+        when(outboxRepo.lockNextPending(eq(2L), eq(10), any(Limit.class))).thenReturn(List.of());
+
+        int dispatched = dispatcher.dispatchPending();
+
+        assertThat(dispatched).isEqualTo(2);
+        verify(notificationRepo).insertForRegisteredAttendees(5L, "message", NotificationType.EVENT_CANCELLED,
+                participants.getCreatedAt(), "key-1");
+        verify(notificationRepo).insertForPendingInvitees(5L, "message", NotificationType.EVENT_CANCELLED,
+                participants.getCreatedAt(), "key-1");
+        verify(notificationRepo).insertForUsers(List.of(7L, 8L), "message", NotificationType.EVENT_CANCELLED,
+                users.getCreatedAt(), "key-2");
+        assertThat(participants.getDispatchedAt()).isNotNull();
+        assertThat(users.getDispatchedAt()).isNotNull();
+        assertThat(meterRegistry.timer("notifications.outbox.dispatch.lag").count()).isEqualTo(2);
+        verify(pushService).publish(argThat(entries -> entries.size() == 2
+                && entries.get(0).idempotencyKey().equals("key-1")
+                && entries.get(0).dispatchedAt().equals(participants.getDispatchedAt())
+                && entries.get(1).idempotencyKey().equals("key-2")));
+    }
+
+    @Test
+    void dispatchPending_shouldRecordFailureAndMoveOn_whenExpansionFails() {
+        NotificationOutbox failing = outboxEntry(1L, NotificationAudience.EVENT_ORGANIZERS);
+        NotificationOutbox next = outboxEntry(2L, NotificationAudience.EVENT_ORGANIZERS);
+
+        when(outboxRepo.lockNextPending(eq(0L), anyInt(), any(Limit.class))).thenReturn(List.of(failing));
+        when(outboxRepo.lockNextPending(eq(1L), anyInt(), any(Limit.class))).thenReturn(List.of(next));
+        when(outboxRepo.lockNextPending(eq(2L), anyInt(), any(Limit.class))).thenReturn(List.of());
+        when(notificationRepo.insertForOrganizers(eq(5L), anyString(), any(), any(), eq("key-1")))
+                .thenThrow(new IllegalStateException("boom"));
+
+        int dispatched = dispatcher.dispatchPending();
+
+        assertThat(dispatched).isEqualTo(1);
+        verify(outboxRepo).recordFailure(1L, "boom");
+        assertThat(failing.getDispatchedAt()).isNull();
+        assertThat(next.getDispatchedAt()).isNotNull();
+        assertThat(meterRegistry.counter("notifications.outbox.dispatch.failures").count()).isEqualTo(1);
+        verify(pushService).publish(argThat(entries -> entries.size() == 1
+                && entries.get(0).idempotencyKey().equals("key-2")));
+    }
+
+}
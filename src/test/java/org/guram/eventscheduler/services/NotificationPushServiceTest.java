@@ -0,0 +1,223 @@
+package org.guram.eventscheduler.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.guram.eventscheduler.exceptions.ConnectionLimitExceededException;
+import org.guram.eventscheduler.models.Notification;
+import org.guram.eventscheduler.models.NotificationType;
+import org.guram.eventscheduler.models.User;
+import org.guram.eventscheduler.repositories.NotificationOutboxRepository;
+import org.guram.eventscheduler.repositories.NotificationRepository;
+import org.guram.eventscheduler.repositories.projections.DispatchedOutboxView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class NotificationPushServiceTest {
+
+    @Mock
+    private NotificationRepository notificationRepo;
+
+    @Mock
+    private NotificationOutboxRepository outboxRepo;
+
+    private SimpleMeterRegistry meterRegistry;
+    private NotificationPushService pushService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        pushService = new NotificationPushService(notificationRepo, outboxRepo, Runnable::run, meterRegistry,
+                2, 60_000, 10_000, 30_000);
+        user = new User("john", "wick", "john.wick@email.com", "<PASSWORD>");
+        user.setId(1L);
+    }
+
+    private Notification notification(Long id) {
+        Notification notification = new Notification();
+        notification.setId(id);
+        notification.setRecipient(user);
+        notification.setMessage("message " + id);
+        notification.setType(NotificationType.EVENT_CANCELLED);
+        notification.setCreatedAt(LocalDateTime.now());
+        return notification;
+    }
+
+    @Test
+    void subscribe_shouldRegisterEmitter_andExposeConnectionGauge() {
+        SseEmitter emitter = pushService.subscribe(user, null);
+
+        assertThat(emitter).isNotNull();
+        assertThat(pushService.getConnectionCount()).isEqualTo(1);
+        assertThat(meterRegistry.get("notifications.sse.connections").gauge().value()).isEqualTo(1.0);
+        verify(notificationRepo, never()).findWithRecipientAfterId(any(), any(), any());
+    }
+
+    @Test
+    void subscribe_shouldThrowException_whenConnectionLimitReached() {
+        pushService.subscribe(user, null);
+        pushService.subscribe(user, null);
+
+        assertThrows(ConnectionLimitExceededException.class, () -> pushService.subscribe(user, null));
+        assertThat(pushService.getConnectionCount()).isEqualTo(2);
+    }
+
+    @Test
+    void subscribe_shouldReplayMissedNotifications_whenLastEventIdGiven() {
+        when(notificationRepo.findWithRecipientAfterId(user, 10L, Limit.of(500)))
+                .thenReturn(List.of(notification(11L), notification(12L)));
+
+        pushService.subscribe(user, 10L);
+
+        verify(notificationRepo).findWithRecipientAfterId(user, 10L, Limit.of(500));
+    }
+
+    private DispatchedOutboxView dispatched(Long id) {
+        return new DispatchedOutboxView(id, "key-" + id, LocalDateTime.now());
+    }
+
+    @Test
+    void publish_shouldSkipLookup_whenNobodyIsSubscribed() {
+        pushService.publish(List.of(dispatched(1L)));
+
+        verify(notificationRepo, never()).findWithRecipientByIdempotencyKeyInAndRecipientIdIn(any(), any());
+    }
+
+    @Test
+    void publish_shouldLookUpAllKeysInOneQuery_perChunkOfConnectedRecipients() {
+        pushService.subscribe(user, null);
+
+        pushService.publish(List.of(dispatched(1L), dispatched(2L), dispatched(3L)));
+
+        verify(notificationRepo).findWithRecipientByIdempotencyKeyInAndRecipientIdIn(
+                List.of("key-1", "key-2", "key-3"), List.of(1L));
+    }
+
+    @Test
+    void publish_shouldLookUpNotificationsForKey_onlyForConnectedRecipients() {
+        pushService.subscribe(user, null);
+        when(notificationRepo.findWithRecipientByIdempotencyKeyInAndRecipientIdIn(List.of("key-1"), List.of(1L)))
+                .thenReturn(List.of(notification(11L)));
+
+        pushService.publish(List.of(dispatched(1L)));
+
+        verify(notificationRepo).findWithRecipientByIdempotencyKeyInAndRecipientIdIn(List.of("key-1"), List.of(1L));
+    }
+
+    @Test
+    void relayDispatched_shouldSkipOutboxLookup_whenNobodyIsSubscribed() {
+        pushService.relayDispatched();
+
+        verify(outboxRepo, never()).findDispatchedSince(any(), any(), any(), any());
+    }
+
+    @Test
+    void relayDispatched_shouldPushEntriesDispatchedByOtherNodes_onlyOnce() {
+        pushService.subscribe(user, null);
+        DispatchedOutboxView local = dispatched(1L);
+        DispatchedOutboxView remote = dispatched(2L);
+        pushService.publish(List.of(local));
+        when(outboxRepo.findDispatchedSince(any(), isNull(), isNull(), eq(Limit.of(500))))
+                .thenReturn(List.of(local, remote));
+
+        pushService.relayDispatched();
+        pushService.relayDispatched();
+
+        verify(notificationRepo, times(1)).findWithRecipientByIdempotencyKeyInAndRecipientIdIn(List.of("key-1"), List.of(1L));
+        verify(notificationRepo, times(1)).findWithRecipientByIdempotencyKeyInAndRecipientIdIn(List.of("key-2"), List.of(1L));
+    }
+
+    @Test
+    void sendHeartbeats_shouldKeepStreams_whenWritesComplete() {
+        pushService.subscribe(user, null);
+
+        pushService.sendHeartbeats();
+
+        assertThat(pushService.getConnectionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void sendHeartbeats_shouldNotQueueHeartbeatsBehindPendingWrites() {
+        Executor stalledExecutor = task -> {};
+        NotificationPushService stalledPushService = new NotificationPushService(notificationRepo, outboxRepo,
+                stalledExecutor, meterRegistry, 2, 60_000, 10_000, 30_000);
+        stalledPushService.subscribe(user, null);
+
+        for (int i = 0; i < 100; i++)
+            stalledPushService.sendHeartbeats();
+
+        assertThat(stalledPushService.getConnectionCount()).isEqualTo(1);
+        assertThat(meterRegistry.get("notifications.sse.writes.dropped").counter().count()).isZero();
+    }
+
+    @Test
+    void publish_shouldDropOnlyTheStreamThatFellBehind_andCountDiscardedWrites() {
+        Executor stalledExecutor = task -> {};
+        NotificationPushService stalledPushService = new NotificationPushService(notificationRepo, outboxRepo,
+                stalledExecutor, meterRegistry, 2, 60_000, 10_000, 30_000);
+        stalledPushService.subscribe(user, null);
+        when(notificationRepo.findWithRecipientByIdempotencyKeyInAndRecipientIdIn(any(), eq(List.of(1L))))
+                .thenReturn(List.of(notification(11L)));
+
+        for (long id = 1; id <= 65; id++)
+            stalledPushService.publish(List.of(dispatched(id)));
+
+        assertThat(stalledPushService.getConnectionCount()).isZero();
+        assertThat(meterRegistry.get("notifications.sse.writes.dropped").counter().count()).isEqualTo(65);
+    }
+
+    @Test
+    void publish_shouldDropStream_whenPushQueueRejectsItsWrite() {
+        Executor fullExecutor = task -> {
+            throw new RejectedExecutionException("full");
+        };
+        NotificationPushService fullPushService = new NotificationPushService(notificationRepo, outboxRepo,
+                fullExecutor, meterRegistry, 2, 60_000, 10_000, 30_000);
+        fullPushService.subscribe(user, null);
+        when(notificationRepo.findWithRecipientByIdempotencyKeyInAndRecipientIdIn(List.of("key-1"), List.of(1L)))
+                .thenReturn(List.of(notification(11L)));
+
+        fullPushService.publish(List.of(dispatched(1L)));
+
+        assertThat(fullPushService.getConnectionCount()).isZero();
+        assertThat(meterRegistry.get("notifications.sse.writes.dropped").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void dropStalledStreams_shouldKeepStreams_whoseWritesComplete() {
+        pushService.subscribe(user, null);
+        pushService.sendHeartbeats();
+
+        pushService.dropStalledStreams();
+
+        assertThat(pushService.getConnectionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void completeAll_shouldReleaseAllConnections() {
+        pushService.subscribe(user, null);
+
+        pushService.completeAll();
+
+        assertThat(pushService.getConnectionCount()).isZero();
+    }
+
+}
@@ -0,0 +1,133 @@
+package org.guram.eventscheduler.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.guram.eventscheduler.models.NotificationType;
+import org.guram.eventscheduler.repositories.NotificationOutboxRepository;
+import org.guram.eventscheduler.repositories.NotificationRepository;
+import org.guram.eventscheduler.repositories.projections.NotificationArchiveView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class NotificationRetentionServiceTest {
+
+    @Mock
+    private NotificationRepository notificationRepo;
+
+    @Mock
+    private NotificationOutboxRepository outboxRepo;
+
+    @TempDir
+    private Path archiveDir;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        objectMapper = new ObjectMapper().findAndRegisterModules();
+    }
+
+    private NotificationRetentionService retentionService(String archive) {
+        return new NotificationRetentionService(notificationRepo, outboxRepo, objectMapper, meterRegistry,
+                30, 7, 30, 10, 2, archive);
+    }
+
+    private NotificationArchiveView readNotification(Long id, LocalDateTime createdAt) {
+        return new NotificationArchiveView(id, 7L, "message " + id, NotificationType.EVENT_CANCELLED, createdAt);
+    }
+
+    @Test
+    void purgeReadNotifications_shouldDeleteBatchByBatch_usingKeysetCursor() {
+        LocalDateTime createdAt = LocalDateTime.of(2020, 1, 1, 10, 0);
+        when(notificationRepo.findReadCreatedBefore(any(), isNull(), isNull(), eq(Limit.of(2))))
+                .thenReturn(List.of(readNotification(1L, createdAt), readNotification(2L, createdAt)));
+        when(notificationRepo.findReadCreatedBefore(any(), eq(createdAt), eq(2L), eq(Limit.of(2))))
+                .thenReturn(List.of(readNotification(3L, createdAt.plusHours(1))));
+        when(notificationRepo.deleteByIdIn(List.of(1L, 2L))).thenReturn(2);
+        when(notificationRepo.deleteByIdIn(List.of(3L))).thenReturn(1);
+
+        long deleted = retentionService(null).purgeReadNotifications();
+
+        assertThat(deleted).isEqualTo(3);
+        assertThat(meterRegistry.get("notifications.retention.deleted").counter().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("notifications.retention.run.deleted").gauge().value()).isEqualTo(3);
+        assertThat(meterRegistry.get("notifications.retention.batch").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void purgeReadNotifications_shouldArchiveRowsToGzippedNdjson_beforeDeletingThem() throws IOException {
+        LocalDateTime createdAt = LocalDateTime.of(2020, 1, 1, 10, 0);
+        when(notificationRepo.findReadCreatedBefore(any(), isNull(), isNull(), eq(Limit.of(2))))
+                .thenReturn(List.of(readNotification(1L, createdAt)));
+        when(notificationRepo.deleteByIdIn(List.of(1L))).thenReturn(1);
+
+        retentionService(archiveDir.toString()).purgeReadNotifications();
+
+        List<Path> archives;
+        try (var files = Files.list(archiveDir)) {
+            archives = files.toList();
+        }
+        assertThat(archives).singleElement()
+                .satisfies(file -> assertThat(file.getFileName().toString()).endsWith(".ndjson.gz"));
+        String content;
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(archives.get(0)))) {
+            content = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        NotificationArchiveView archived = objectMapper.readValue(content.strip(), NotificationArchiveView.class);
+        assertThat(archived).isEqualTo(readNotification(1L, createdAt));
+        assertThat(meterRegistry.get("notifications.retention.archived").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void purgeReadNotifications_shouldSkipArchiveAndDeletes_whenNothingExpired() throws IOException {
+        when(notificationRepo.findReadCreatedBefore(any(), isNull(), isNull(), eq(Limit.of(2)))).thenReturn(List.of());
+
+        long deleted = retentionService(archiveDir.toString()).purgeReadNotifications();
+
+        assertThat(deleted).isZero();
+        verify(notificationRepo, never()).deleteByIdIn(any());
+        try (var files = Files.list(archiveDir)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    void purgeOutbox_shouldDeleteDispatchedAndDeadLetteredEntries_batchByBatch() {
+        when(outboxRepo.findIdsDispatchedBefore(any(), eq(Limit.of(2))))
+                .thenReturn(List.of(1L, 2L), List.of(3L));
+        when(outboxRepo.findDeadLetteredIdsCreatedBefore(eq(10), any(), eq(Limit.of(2))))
+                .thenReturn(List.of(9L));
+        when(outboxRepo.deleteByIdIn(List.of(1L, 2L))).thenReturn(2);
+        when(outboxRepo.deleteByIdIn(List.of(3L))).thenReturn(1);
+        when(outboxRepo.deleteByIdIn(List.of(9L))).thenReturn(1);
+
+        long deleted = retentionService(null).purgeOutbox();
+
+        assertThat(deleted).isEqualTo(4);
+        assertThat(meterRegistry.get("notifications.retention.outbox.deleted").counter().count()).isEqualTo(4);
+    }
+
+}
@@ -1,11 +1,18 @@
 package org.guram.eventscheduler.services;
 
+import jakarta.persistence.EntityManager;
+import org.guram.eventscheduler.dtos.notificationDtos.NotificationPageDto;
 import org.guram.eventscheduler.dtos.notificationDtos.NotificationResponseDto;
+import org.guram.eventscheduler.exceptions.BadRequestException;
 import org.guram.eventscheduler.exceptions.ForbiddenOperationException;
 import org.guram.eventscheduler.exceptions.ResourceNotFoundException;
+import org.guram.eventscheduler.models.Event;
 import org.guram.eventscheduler.models.Notification;
+import org.guram.eventscheduler.models.NotificationAudience;
+import org.guram.eventscheduler.models.NotificationOutbox;
 import org.guram.eventscheduler.models.NotificationType;
 import org.guram.eventscheduler.models.User;
+import org.guram.eventscheduler.repositories.NotificationOutboxRepository;
 import org.guram.eventscheduler.repositories.NotificationRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -13,11 +20,15 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -28,23 +39,66 @@ public class NotificationServiceTest {
     @Mock
     private NotificationRepository notificationRepo;
 
+    @Mock
+    private NotificationOutboxRepository outboxRepo;
+
+    @Mock
+    private NotificationOutboxDispatcher outboxDispatcher;
+
+    @Mock
+    private EntityManager entityManager;
+
     @InjectMocks
     private NotificationService notificationService;
 
 
     @Test
-    void createNotification_shouldSucceed_whenValidInput() {
+    void createNotification_shouldWriteOutboxEntry_andRequestDispatch() {
         User recipient = new User("john", "wick", "john.wick@email.com", "<PASSWORD>");
+        recipient.setId(7L);
 
         notificationService.createNotification(recipient, "notification message", NotificationType.EVENT_CANCELLED);
 
-        ArgumentCaptor<Notification> notificationArgumentCaptor = ArgumentCaptor.forClass(Notification.class);
-        verify(notificationRepo).save(notificationArgumentCaptor.capture());
+        ArgumentCaptor<NotificationOutbox> outboxArgumentCaptor = ArgumentCaptor.forClass(NotificationOutbox.class);
+        verify(outboxRepo).save(outboxArgumentCaptor.capture());
 
-        Notification savedNotification = notificationArgumentCaptor.getValue();
-        assertThat(savedNotification.getRecipient()).isEqualTo(recipient);
-        assertThat(savedNotification.getMessage()).isEqualTo("notification message");
-        assertThat(savedNotification.getType()).isEqualTo(NotificationType.EVENT_CANCELLED);
+        NotificationOutbox savedEntry = outboxArgumentCaptor.getValue();
+        assertThat(savedEntry.getAudience()).isEqualTo(NotificationAudience.USERS);
+        assertThat(savedEntry.getRecipientIdList()).containsExactly(7L);
+        assertThat(savedEntry.getMessage()).isEqualTo("notification message");
+        assertThat(savedEntry.getType()).isEqualTo(NotificationType.EVENT_CANCELLED);
+        assertThat(savedEntry.getIdempotencyKey()).isNotBlank();
+        verify(notificationRepo, never()).save(any(Notification.class));
+        verify(outboxDispatcher).requestDispatch();
+    }
+
+    @Test
+    void notifyEventParticipants_shouldWriteSingleOutboxEntryForEvent() {
+        Event event = new Event("test event", LocalDateTime.now().plusDays(1), "tbilisi");
+        event.setId(3L);
+
+        notificationService.notifyEventParticipants(event, "cancelled", NotificationType.EVENT_CANCELLED);
+
+        ArgumentCaptor<NotificationOutbox> outboxArgumentCaptor = ArgumentCaptor.forClass(NotificationOutbox.class);
+        verify(outboxRepo).save(outboxArgumentCaptor.capture());
+
+        NotificationOutbox savedEntry = outboxArgumentCaptor.getValue();
+        assertThat(savedEntry.getAudience()).isEqualTo(NotificationAudience.EVENT_PARTICIPANTS);
+        assertThat(savedEntry.getEventId()).isEqualTo(3L);
+        assertThat(savedEntry.getRecipientIdList()).isEmpty();
+    }
+
+    @Test
+    void notifyEventOrganizers_shouldWriteSingleOutboxEntryForEvent() {
+        Event event = new Event("test event", LocalDateTime.now().plusDays(1), "tbilisi");
+        event.setId(3L);
+
+        notificationService.notifyEventOrganizers(event, "accepted", NotificationType.INVITATION_ACCEPTED);
+
+        ArgumentCaptor<NotificationOutbox> outboxArgumentCaptor = ArgumentCaptor.forClass(NotificationOutbox.class);
+        verify(outboxRepo).save(outboxArgumentCaptor.capture());
+        assertThat(outboxArgumentCaptor.getValue().getAudience()).isEqualTo(NotificationAudience.EVENT_ORGANIZERS);
+        assertThat(outboxArgumentCaptor.getValue().getEventId()).isEqualTo(3L);
     }
 
     @Test
@@ -63,6 +117,77 @@ public class NotificationServiceTest {
         assertThat(result.get(0).message()).isEqualTo("test message");
     }
 
+    private Notification feedNotification(Long id, User recipient, boolean read, LocalDateTime createdAt) {
+        Notification notification = new Notification();
+        notification.setId(id);
+        notification.setRecipient(recipient);
+        notification.setMessage("message " + id);
+        notification.setType(NotificationType.EVENT_DETAILS_UPDATED);
+        notification.setRead(read);
+        notification.setCreatedAt(createdAt);
+        return notification;
+    }
+
+    @Test
+    void getNotificationFeed_shouldReturnUnreadFirst_andContinueIntoReadSegment() {
+        User user = new User("john", "wick", "john.wick@email.com", "<PASSWORD>");
+        LocalDateTime now = LocalDateTime.now();
+        Notification unread = feedNotification(5L, user, false, now);
+        Notification read1 = feedNotification(4L, user, true, now.minusMinutes(1));
+        Notification read2 = feedNotification(3L, user, true, now.minusMinutes(2));
+
+        when(notificationRepo.findFeedPage(eq(user), eq(false), isNull(), isNull(), eq(Limit.of(3))))
+                .thenReturn(List.of(unread));
+        when(notificationRepo.findFeedPage(eq(user), eq(true), isNull(), isNull(), eq(Limit.of(2))))
+                .thenReturn(List.of(read1, read2));
+
+        NotificationPageDto page = notificationService.getNotificationFeed(user, false, null, 2);
+
+        assertThat(page.notifications()).extracting(NotificationResponseDto::id).containsExactly(5L, 4L);
+        assertThat(page.nextCursor()).startsWith("r.");
+
+        when(notificationRepo.findFeedPage(eq(user), eq(true), eq(read1.getCreatedAt()), eq(4L), eq(Limit.of(3))))
+                .thenReturn(List.of(read2));
+
+        NotificationPageDto nextPage = notificationService.getNotificationFeed(user, false, page.nextCursor(), 2);
+
+        assertThat(nextPage.notifications()).extracting(NotificationResponseDto::id).containsExactly(3L);
+        assertThat(nextPage.nextCursor()).isNull();
+    }
+
+    @Test
+    void getNotificationFeed_shouldStopAfterUnreadSegment_whenUnreadOnly() {
+        User user = new User("john", "wick", "john.wick@email.com", "<PASSWORD>");
+        Notification unread = feedNotification(5L, user, false, LocalDateTime.now());
+
+        when(notificationRepo.findFeedPage(eq(user), eq(false), isNull(), isNull(), eq(Limit.of(21))))
+                .thenReturn(List.of(unread));
+
+        NotificationPageDto page = notificationService.getNotificationFeed(user, true, null, 20);
+
+        assertThat(page.notifications()).hasSize(1);
+        assertThat(page.nextCursor()).isNull();
+        verify(notificationRepo, never()).findFeedPage(any(), eq(true), any(), any(), any());
+    }
+
+    @Test
+    void getNotificationFeed_shouldThrowException_whenCursorIsMalformed() {
+        User user = new User("john", "wick", "john.wick@email.com", "<PASSWORD>");
+
+        assertThrows(BadRequestException.class,
+                () -> notificationService.getNotificationFeed(user, false, "garbage", 20));
+        assertThrows(BadRequestException.class,
+                () -> notificationService.getNotificationFeed(user, true, "r.", 20));
+    }
+
+    @Test
+    void getUnreadCount_shouldReturnRepositoryCount() {
+        User user = new User("john", "wick", "john.wick@email.com", "<PASSWORD>");
+        when(notificationRepo.countByRecipientAndReadFalse(user)).thenReturn(7L);
+
+        assertThat(notificationService.getUnreadCount(user).unread()).isEqualTo(7L);
+    }
+
     @Test
     void markNotificationAsRead_shouldThrowException_whenNotificationNotFound() {
         User user = new User("john", "wick", "john.wick@email.com", "<PASSWORD>");
@@ -131,4 +256,22 @@ public class NotificationServiceTest {
         verify(notificationRepo).markAllAsReadForUser(user);
     }
 
+    @Test
+    void markAllNotificationAsRead_shouldRefreshLoadedUnreadNotifications_andReturnAffectedCount() {
+        User user = new User("john", "wick", "john.wick@email.com", "<PASSWORD>");
+        Notification unread = new Notification();
+        Notification read = new Notification();
+        read.setRead(true);
+        user.getNotifications().addAll(List.of(unread, read));
+
+        when(notificationRepo.markAllAsReadForUser(user)).thenReturn(1);
+        when(entityManager.contains(any())).thenReturn(true);
+
+        int updated = notificationService.markAllNotificationAsRead(user);
+
+        assertThat(updated).isEqualTo(1);
+        verify(entityManager).refresh(unread);
+        verify(entityManager, never()).refresh(read);
+    }
+
 }
@@ -0,0 +1,226 @@
+package org.guram.eventscheduler.services;
+
+import org.guram.eventscheduler.dtos.eventDtos.ScheduleConflictDto;
+import org.guram.eventscheduler.dtos.userDtos.BusyIntervalDto;
+import org.guram.eventscheduler.exceptions.BadRequestException;
+import org.guram.eventscheduler.exceptions.ForbiddenOperationException;
+import org.guram.eventscheduler.models.AttendanceRole;
+import org.guram.eventscheduler.models.AttendanceStatus;
+import org.guram.eventscheduler.models.Event;
+import org.guram.eventscheduler.models.RecurrenceFrequency;
+import org.guram.eventscheduler.models.RecurrenceRule;
+import org.guram.eventscheduler.models.User;
+import org.guram.eventscheduler.models.UserScheduleEntry;
+import org.guram.eventscheduler.repositories.AttendanceRepository;
+import org.guram.eventscheduler.repositories.EventRepository;
+import org.guram.eventscheduler.repositories.UserRepository;
+import org.guram.eventscheduler.repositories.UserScheduleRepository;
+import org.guram.eventscheduler.repositories.UserTimelineFilter;
+import org.guram.eventscheduler.repositories.UserTimelineRepository;
+import org.guram.eventscheduler.repositories.projections.EventAttendanceView;
+import org.guram.eventscheduler.repositories.projections.ScheduleEntryView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class UserScheduleServiceTest {
+
+    private static final LocalDateTime NOON = LocalDateTime.of(2030, 5, 10, 12, 0);
+
+    @Mock
+    private UserScheduleRepository scheduleRepo;
+
+    @Mock
+    private UserTimelineRepository userTimelineRepo;
+
+    @Mock
+    private EventRepository eventRepo;
+
+    @Mock
+    private AttendanceRepository attendanceRepo;
+
+    @Mock
+    private UserRepository userRepo;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private UserScheduleService userScheduleService;
+
+    private User viewer;
+
+    @BeforeEach
+    void setUp() {
+        viewer = new User("john", "wick", "john.wick@email.com", "<PASSWORD>");
+        viewer.setId(1L);
+    }
+
+    @Test
+    void add_shouldIndexEventWithDefaultDuration_whenEndDateTimeMissing() {
+        Event event = new Event("team sync", NOON, "tbilisi");
+        event.setId(4L);
+
+        userScheduleService.add(1L, event);
+
+        verify(scheduleRepo).saveAll(List.of(new UserScheduleEntry(1L, 4L, NOON, NOON.plusHours(1))));
+    }
+
+    @Test
+    void addAll_shouldSkipCancelledEvents() {
+        Event event = new Event("team sync", NOON, "tbilisi");
+        event.setCancelled(true);
+
+        userScheduleService.addAll(List.of(1L, 2L), event);
+
+        verify(scheduleRepo, never()).saveAll(any());
+    }
+
+    @Test
+    void findConflicts_shouldBoundLookupByMaximumEventDuration() {
+        Event event = new Event("team sync", NOON, "tbilisi");
+        event.setId(4L);
+        event.setEndDateTime(NOON.plusHours(2));
+
+        when(scheduleRepo.findOverlapping(1L, NOON.minus(UserScheduleService.MAX_EVENT_DURATION), NOON, NOON.plusHours(2), 4L))
+                .thenReturn(List.of(new ScheduleEntryView(9L, "dentist", NOON.minusMinutes(30), NOON.plusMinutes(30))));
+
+        List<ScheduleConflictDto> conflicts = userScheduleService.findConflicts(1L, event);
+
+        assertThat(conflicts).containsExactly(
+                new ScheduleConflictDto(9L, "dentist", NOON.minusMinutes(30), NOON.plusMinutes(30)));
+    }
+
+    @Test
+    void getBusyIntervals_shouldMergeOverlappingEntries_andClipToRange() {
+        LocalDateTime from = NOON;
+        LocalDateTime to = NOON.plusHours(8);
+
+        when(scheduleRepo.findOverlapping(1L, from.minus(UserScheduleService.MAX_EVENT_DURATION), from, to, null))
+                .thenReturn(List.of(
+                        new ScheduleEntryView(1L, "a", NOON.minusHours(1), NOON.plusHours(1)),
+                        new ScheduleEntryView(2L, "b", NOON.plusMinutes(30), NOON.plusHours(2)),
+                        new ScheduleEntryView(3L, "c", NOON.plusHours(2), NOON.plusHours(3)),
+                        new ScheduleEntryView(4L, "d", NOON.plusHours(7), NOON.plusHours(9))));
+
+        List<BusyIntervalDto> busy = userScheduleService.getBusyIntervals(viewer, 1L, from, to);
+
+        assertThat(busy).containsExactly(
+                new BusyIntervalDto(NOON, NOON.plusHours(3)),
+                new BusyIntervalDto(NOON.plusHours(7), NOON.plusHours(8)));
+    }
+
+    @Test
+    void getBusyIntervals_shouldThrowException_whenRangeInvalid() {
+        assertThrows(BadRequestException.class,
+                () -> userScheduleService.getBusyIntervals(viewer, 1L, NOON, NOON.minusHours(1)));
+        assertThrows(BadRequestException.class,
+                () -> userScheduleService.getBusyIntervals(viewer, 1L, NOON, NOON.plusYears(2)));
+    }
+
+    @Test
+    void resolveEndDateTime_shouldDefaultAndValidate() {
+        assertThat(UserScheduleService.resolveEndDateTime(NOON, null)).isEqualTo(NOON.plusHours(1));
+        assertThat(UserScheduleService.resolveEndDateTime(NOON, NOON.plusHours(3))).isEqualTo(NOON.plusHours(3));
+        assertThrows(BadRequestException.class, () -> UserScheduleService.resolveEndDateTime(NOON, NOON));
+        assertThrows(BadRequestException.class, () -> UserScheduleService.resolveEndDateTime(NOON, NOON.plusDays(8)));
+    }
+
+    @Test
+    void getBusyIntervals_shouldThrowForbidden_whenViewerSharesNoEventWithUser() {
+        when(attendanceRepo.existsSharedEvent(1L, 2L)).thenReturn(false);
+
+        assertThrows(ForbiddenOperationException.class,
+                () -> userScheduleService.getBusyIntervals(viewer, 2L, NOON, NOON.plusHours(8)));
+        verify(scheduleRepo, never()).findOverlapping(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void getBusyIntervals_shouldExpandSeriesOccurrences_exceptIndexedAndMaterializedOnes() {
+        Event series = new Event("daily standup", NOON.minusDays(1), "tbilisi");
+        series.setId(3L);
+        series.setRecurrence(new RecurrenceRule(RecurrenceFrequency.DAILY, 1, null, null));
+        Event materialized = new Event("daily standup", NOON.plusDays(1), "tbilisi");
+        materialized.setId(7L);
+        materialized.setSeries(series);
+        materialized.setOccurrenceStart(NOON.plusDays(1));
+        LocalDateTime from = NOON.minusDays(1).minusHours(1);
+        LocalDateTime to = NOON.plusDays(2).plusHours(1);
+
+        when(scheduleRepo.findOverlapping(1L, from.minus(UserScheduleService.MAX_EVENT_DURATION), from, to, null))
+                .thenReturn(List.of(new ScheduleEntryView(3L, "daily standup", NOON.minusDays(1), NOON.minusDays(1).plusHours(1))));
+        when(userTimelineRepo.findTimeline(any(UserTimelineFilter.class), eq(Limit.unlimited())))
+                .thenReturn(List.of(new EventAttendanceView(series, AttendanceRole.ATTENDEE, AttendanceStatus.REGISTERED)));
+        when(eventRepo.findBySeriesInAndOccurrenceStartBetween(List.of(series), from.minus(UserScheduleService.MAX_EVENT_DURATION), to))
+                .thenReturn(List.of(materialized));
+        when(attendanceRepo.findEventIdsByUserIdAndEventIdIn(1L, List.of(7L))).thenReturn(List.of(7L));
+
+        List<BusyIntervalDto> busy = userScheduleService.getBusyIntervals(viewer, 1L, from, to);
+
+        assertThat(busy).containsExactly(
+                new BusyIntervalDto(NOON.minusDays(1), NOON.minusDays(1).plusHours(1)),
+                new BusyIntervalDto(NOON, NOON.plusHours(1)),
+                new BusyIntervalDto(NOON.plusDays(2), NOON.plusDays(2).plusHours(1)));
+    }
+
+    @Test
+    void getBusyIntervals_shouldIncludeMaterializedOccurrence_whenSeriesAttendeeIsNotOnItsRoster() {
+        Event series = new Event("daily standup", NOON.minusDays(1), "tbilisi");
+        series.setId(3L);
+        series.setRecurrence(new RecurrenceRule(RecurrenceFrequency.DAILY, 1, null, null));
+        Event moved = new Event("daily standup", NOON.plusHours(3), "tbilisi");
+        moved.setId(7L);
+        moved.setSeries(series);
+        moved.setOccurrenceStart(NOON);
+        Event cancelled = new Event("daily standup", NOON.plusDays(1), "tbilisi");
+        cancelled.setId(8L);
+        cancelled.setSeries(series);
+        cancelled.setOccurrenceStart(NOON.plusDays(1));
+        cancelled.setCancelled(true);
+        LocalDateTime from = NOON.minusHours(1);
+        LocalDateTime to = NOON.plusDays(1).plusHours(2);
+
+        when(userTimelineRepo.findTimeline(any(UserTimelineFilter.class), eq(Limit.unlimited())))
+                .thenReturn(List.of(new EventAttendanceView(series, AttendanceRole.ATTENDEE, AttendanceStatus.REGISTERED)));
+        when(eventRepo.findBySeriesInAndOccurrenceStartBetween(List.of(series), from.minus(UserScheduleService.MAX_EVENT_DURATION), to))
+                .thenReturn(List.of(moved, cancelled));
+        when(attendanceRepo.findEventIdsByUserIdAndEventIdIn(eq(1L), any())).thenReturn(List.of());
+
+        List<BusyIntervalDto> busy = userScheduleService.getBusyIntervals(viewer, 1L, from, to);
+
+        assertThat(busy).containsExactly(new BusyIntervalDto(NOON.plusHours(3), NOON.plusHours(4)));
+    }
+
+    @Test
+    void reconcileAll_shouldRebuildScheduleFromAttendancesChunkByChunk() {
+        doAnswer(invocation -> {
+            invocation.<Consumer<Object>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(userRepo.findIdsAfter(eq(0L), any(Limit.class))).thenReturn(List.of(1L, 2L));
+        when(userRepo.findIdsAfter(eq(2L), any(Limit.class))).thenReturn(List.of());
+
+        userScheduleService.reconcileAll();
+
+        verify(scheduleRepo).deleteByUserIdIn(List.of(1L, 2L));
+        verify(scheduleRepo).insertFromAttendances(List.of(1L, 2L));
+    }
+
+}
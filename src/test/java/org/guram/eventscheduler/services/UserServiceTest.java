@@ -5,20 +5,32 @@ import org.guram.eventscheduler.dtos.userDtos.PasswordChangeDto;
 import org.guram.eventscheduler.dtos.userDtos.ProfilePictureUploadDto;
 import org.guram.eventscheduler.dtos.userDtos.UserCreateDto;
 import org.guram.eventscheduler.dtos.userDtos.UserProfileEditDto;
+import org.guram.eventscheduler.exceptions.BadRequestException;
 import org.guram.eventscheduler.exceptions.ConflictException;
+import org.guram.eventscheduler.exceptions.UserNotFoundException;
 import org.guram.eventscheduler.models.User;
 import org.guram.eventscheduler.repositories.UserRepository;
+import org.guram.eventscheduler.repositories.projections.UserIdentity;
+import org.guram.eventscheduler.repositories.projections.UserSearchView;
+import org.guram.eventscheduler.search.SearchHit;
+import org.guram.eventscheduler.search.SearchResults;
+import org.guram.eventscheduler.search.UserSearchIndex;
+import org.guram.eventscheduler.security.UserIdentityCache;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.never;
@@ -36,6 +48,21 @@ public class UserServiceTest {
     @Mock
     private CloudinaryService cloudinaryService;
 
+    @Mock
+    private UserIdentityCache userIdentityCache;
+
+    @Mock
+    private UserStatsService userStatsService;
+
+    @Mock
+    private UserSearchIndex userSearchIndex;
+
+    @Mock
+    private UserTimelineService userTimelineService;
+
+    @Mock
+    private UserScheduleService userScheduleService;
+
     @InjectMocks
     private UserService userService;
 
@@ -60,6 +87,7 @@ public class UserServiceTest {
         assertThat(savedUser.getLastName()).isEqualTo("wick");
         assertThat(savedUser.getEmail()).isEqualTo("john.wick@email.com");
         assertThat(savedUser.getPassword()).isEqualTo("hashedPassword");
+        verify(userSearchIndex).index(new UserSearchView(null, "john", "wick", "john.wick@email.com", null));
     }
 
     @Test
@@ -93,6 +121,7 @@ public class UserServiceTest {
         assertThat(savedUser.getFirstName()).isEqualTo("newFirstName");
         assertThat(savedUser.getLastName()).isEqualTo("newLastName");
         assertThat(savedUser.getBio()).isEqualTo("newBio");
+        verify(userIdentityCache).evict("john.wick@email.com");
     }
 
     @Test
@@ -110,6 +139,7 @@ public class UserServiceTest {
         User savedUser = userArgumentCaptor.getValue();
 
         assertThat(savedUser.getProfilePictureUrl()).isEqualTo("imageUrl");
+        verify(userIdentityCache).evict("john.wick@email.com");
     }
 
     @Test
@@ -169,6 +199,82 @@ public class UserServiceTest {
         User savedUser = userArgumentCaptor.getValue();
 
         assertThat(savedUser.getPassword()).isEqualTo("hashedNewPassword");
+        verify(userIdentityCache).evict("john.wick@email.com");
+    }
+
+    @Test
+    void deleteUser_shouldDeleteUserAndReadModels_andEvictCachedIdentity() {
+        User user = new User("john", "wick", "john.wick@email.com", "<PASSWORD>");
+        user.setId(3L);
+
+        userService.deleteUser(user);
+
+        verify(userRepo).deleteById(3L);
+        verify(userStatsService).delete(3L);
+        verify(userTimelineService).delete(3L);
+        verify(userScheduleService).delete(3L);
+        verify(userIdentityCache).evict("john.wick@email.com");
+        verify(userSearchIndex).remove(3L);
+    }
+
+    @Test
+    void searchUsers_shouldClampPagingAndReturnNextOffset() {
+        UserSearchView view = new UserSearchView(3L, "john", "wick", "john.wick@email.com", null);
+        when(userSearchIndex.search("wic", 0, 50))
+                .thenReturn(new SearchResults<>(List.of(new SearchHit<>(view, 1.5)), true));
+
+        var page = userService.searchUsers("wic", -5, 500);
+
+        assertThat(page.results()).hasSize(1);
+        assertThat(page.results().get(0).id()).isEqualTo(3L);
+        assertThat(page.results().get(0).score()).isEqualTo(1.5);
+        assertThat(page.nextOffset()).isEqualTo(50);
+    }
+
+    @Test
+    void searchUsers_shouldThrowException_whenQueryIsBlank() {
+        assertThrows(BadRequestException.class, () -> userService.searchUsers("  ", 0, 20));
+
+        verify(userSearchIndex, never()).search(anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    void getCurrentUser_shouldLoadUserByCachedId() {
+        User reference = new User("john", "wick", "john.wick@email.com", "<PASSWORD>");
+        UserDetails userDetails = new org.springframework.security.core.userdetails.User(
+                "john.wick@email.com", "<PASSWORD>", new ArrayList<>());
+
+        when(userIdentityCache.findByEmail("john.wick@email.com"))
+                .thenReturn(Optional.of(new UserIdentity(3L, "john.wick@email.com")));
+        when(userRepo.findById(3L)).thenReturn(Optional.of(reference));
+
+        User currentUser = userService.getCurrentUser(userDetails);
+
+        assertThat(currentUser).isSameAs(reference);
+        verify(userRepo, never()).findByEmail(anyString());
+    }
+
+    @Test
+    void getCurrentUser_shouldEvictIdentityAndThrowException_whenCachedUserWasDeleted() {
+        UserDetails userDetails = new org.springframework.security.core.userdetails.User(
+                "john.wick@email.com", "<PASSWORD>", new ArrayList<>());
+
+        when(userIdentityCache.findByEmail("john.wick@email.com"))
+                .thenReturn(Optional.of(new UserIdentity(3L, "john.wick@email.com")));
+        when(userRepo.findById(3L)).thenReturn(Optional.empty());
+
+        assertThrows(UserNotFoundException.class, () -> userService.getCurrentUser(userDetails));
+        verify(userIdentityCache).evict("john.wick@email.com");
+    }
+
+    @Test
+    void getCurrentUser_shouldThrowException_whenIdentityNotFound() {
+        UserDetails userDetails = new org.springframework.security.core.userdetails.User(
+                "ghost@email.com", "<PASSWORD>", new ArrayList<>());
+
+        when(userIdentityCache.findByEmail("ghost@email.com")).thenReturn(Optional.empty());
+
+        assertThrows(UserNotFoundException.class, () -> userService.getCurrentUser(userDetails));
     }
 
     @Test
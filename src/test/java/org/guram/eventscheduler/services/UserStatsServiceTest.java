@@ -0,0 +1,174 @@
+package org.guram.eventscheduler.services;
+
+import org.guram.eventscheduler.models.Attendance;
+import org.guram.eventscheduler.models.AttendanceRole;
+import org.guram.eventscheduler.models.AttendanceStatus;
+import org.guram.eventscheduler.models.Event;
+import org.guram.eventscheduler.models.User;
+import org.guram.eventscheduler.models.UserStats;
+import org.guram.eventscheduler.repositories.AttendanceRepository;
+import org.guram.eventscheduler.repositories.UserRepository;
+import org.guram.eventscheduler.repositories.UserStatsRepository;
+import org.guram.eventscheduler.repositories.projections.UserStatsCounts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class UserStatsServiceTest {
+
+    @Mock
+    private UserStatsRepository userStatsRepo;
+
+    @Mock
+    private AttendanceRepository attendanceRepo;
+
+    @Mock
+    private UserRepository userRepo;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private UserStatsService userStatsService;
+
+    private User user;
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        user = new User("john", "wick", "john.wick@email.com", "<PASSWORD>");
+        user.setId(5L);
+        event = new Event();
+        event.setId(1L);
+    }
+
+    @Test
+    void recordTransition_shouldApplyAttendedAndOrganizedDelta_whenOrganizerMarkedAttended() {
+        Attendance attendance = new Attendance(user, event, AttendanceRole.ORGANIZER);
+        attendance.setStatus(AttendanceStatus.ATTENDED);
+        when(userStatsRepo.applyDelta(5L, 1, 1, 0, 0)).thenReturn(1);
+
+        userStatsService.recordTransition(attendance, AttendanceStatus.REGISTERED, AttendanceRole.ORGANIZER);
+
+        verify(userStatsRepo).applyDelta(5L, 1, 1, 0, 0);
+    }
+
+    @Test
+    void recordTransition_shouldMoveCountBetweenBuckets_whenAttendedUserIsKicked() {
+        Attendance attendance = new Attendance(user, event, AttendanceRole.ATTENDEE);
+        attendance.setStatus(AttendanceStatus.KICKED);
+        when(userStatsRepo.applyDelta(5L, -1, 0, 0, 1)).thenReturn(1);
+
+        userStatsService.recordTransition(attendance, AttendanceStatus.ATTENDED, AttendanceRole.ATTENDEE);
+
+        verify(userStatsRepo).applyDelta(5L, -1, 0, 0, 1);
+    }
+
+    @Test
+    void recordTransition_shouldDoNothing_whenCountersDoNotChange() {
+        Attendance attendance = new Attendance(user, event, AttendanceRole.ORGANIZER);
+
+        userStatsService.recordTransition(attendance, AttendanceStatus.REGISTERED, AttendanceRole.ATTENDEE);
+
+        verify(userStatsRepo, never()).applyDelta(anyLong(), anyInt(), anyInt(), anyInt(), anyInt());
+    }
+
+    @Test
+    void recordTransition_shouldRebuildRow_whenStatsRowIsMissing() {
+        Attendance attendance = new Attendance(user, event, AttendanceRole.ATTENDEE);
+        attendance.setStatus(AttendanceStatus.WITHDRAWN);
+        when(userStatsRepo.applyDelta(5L, 0, 0, 1, 0)).thenReturn(0);
+        when(userStatsRepo.lockByUserIdIn(List.of(5L))).thenReturn(List.of());
+        when(attendanceRepo.countStatsByUserIds(List.of(5L)))
+                .thenReturn(List.of(new UserStatsCounts(5L, 2, 1, 1, 0)));
+
+        userStatsService.recordTransition(attendance, AttendanceStatus.REGISTERED, AttendanceRole.ATTENDEE);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<UserStats>> statsCaptor = ArgumentCaptor.forClass(List.class);
+        verify(userStatsRepo).saveAll(statsCaptor.capture());
+        UserStats rebuilt = statsCaptor.getValue().get(0);
+        assertThat(rebuilt.getUserId()).isEqualTo(5L);
+        assertThat(rebuilt.getAttendedCount()).isEqualTo(2);
+        assertThat(rebuilt.getOrganizedCount()).isEqualTo(1);
+        assertThat(rebuilt.getWithdrawnCount()).isEqualTo(1);
+        assertThat(rebuilt.getKickedCount()).isZero();
+    }
+
+    @Test
+    void reconcileAll_shouldRebuildCountersChunkByChunk() {
+        UserStats drifted = new UserStats(5L);
+        drifted.setAttendedCount(40);
+        UserStats idle = new UserStats(6L);
+        idle.setKickedCount(3);
+
+        doAnswer(invocation -> {
+            invocation.<Consumer<Object>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(userRepo.findIdsAfter(eq(0L), any(Limit.class))).thenReturn(List.of(5L, 6L));
+        when(userRepo.findIdsAfter(eq(6L), any(Limit.class))).thenReturn(List.of());
+        when(userStatsRepo.lockByUserIdIn(List.of(5L, 6L))).thenReturn(List.of(drifted, idle));
+        when(attendanceRepo.countStatsByUserIds(List.of(5L, 6L)))
+                .thenReturn(List.of(new UserStatsCounts(5L, 3, 0, 0, 0)));
+
+        userStatsService.reconcileAll();
+
+        assertThat(drifted.getAttendedCount()).isEqualTo(3);
+        assertThat(idle.getKickedCount()).isZero();
+        verify(userStatsRepo).saveAll(List.of(drifted, idle));
+    }
+
+    @Test
+    void getStats_shouldCountFromAttendancesWithoutSaving_whenStatsRowIsMissing() {
+        when(userStatsRepo.findById(5L)).thenReturn(Optional.empty());
+        when(attendanceRepo.countStatsByUserIds(List.of(5L)))
+                .thenReturn(List.of(new UserStatsCounts(5L, 4, 2, 0, 1)));
+
+        UserStats stats = userStatsService.getStats(user);
+
+        assertThat(stats.getAttendedCount()).isEqualTo(4);
+        assertThat(stats.getOrganizedCount()).isEqualTo(2);
+        assertThat(stats.getKickedCount()).isEqualTo(1);
+        verify(userStatsRepo, never()).saveAll(any());
+    }
+
+    @Test
+    void backfillMissing_shouldRebuildOnlyUsersWithoutStats() {
+        doAnswer(invocation -> {
+            invocation.<Consumer<Object>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(userRepo.findIdsWithoutStatsAfter(eq(0L), any(Limit.class))).thenReturn(List.of(5L));
+        when(userRepo.findIdsWithoutStatsAfter(eq(5L), any(Limit.class))).thenReturn(List.of());
+        when(userStatsRepo.lockByUserIdIn(List.of(5L))).thenReturn(List.of());
+        when(attendanceRepo.countStatsByUserIds(List.of(5L))).thenReturn(List.of());
+
+        userStatsService.backfillMissing();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<UserStats>> statsCaptor = ArgumentCaptor.forClass(List.class);
+        verify(userStatsRepo).saveAll(statsCaptor.capture());
+        assertThat(statsCaptor.getValue()).extracting(UserStats::getUserId).containsExactly(5L);
+    }
+
+}
@@ -0,0 +1,144 @@
+package org.guram.eventscheduler.services;
+
+import org.guram.eventscheduler.models.Attendance;
+import org.guram.eventscheduler.models.AttendanceRole;
+import org.guram.eventscheduler.models.AttendanceStatus;
+import org.guram.eventscheduler.models.Event;
+import org.guram.eventscheduler.models.RecurrenceFrequency;
+import org.guram.eventscheduler.models.RecurrenceRule;
+import org.guram.eventscheduler.models.User;
+import org.guram.eventscheduler.models.UserTimelineEntry;
+import org.guram.eventscheduler.repositories.AttendanceRepository;
+import org.guram.eventscheduler.repositories.UserRepository;
+import org.guram.eventscheduler.repositories.UserTimelineFilter;
+import org.guram.eventscheduler.repositories.UserTimelineRepository;
+import org.guram.eventscheduler.utils.KeysetCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class UserTimelineServiceTest {
+
+    @Mock
+    private UserTimelineRepository userTimelineRepo;
+
+    @Mock
+    private AttendanceRepository attendanceRepo;
+
+    @Mock
+    private UserRepository userRepo;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private UserTimelineService userTimelineService;
+
+    private User user;
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        user = new User("john", "wick", "john.wick@email.com", "<PASSWORD>");
+        user.setId(5L);
+        event = new Event("meetup", LocalDateTime.of(2030, 5, 1, 18, 0), "tbilisi");
+        event.setId(1L);
+    }
+
+    @Test
+    void record_shouldInsertEntry_whenUserHasNoTimelineRowForEvent() {
+        Attendance attendance = new Attendance(user, event, AttendanceRole.ORGANIZER);
+        when(userTimelineRepo.findByUserIdAndEventId(5L, 1L)).thenReturn(Optional.empty());
+
+        userTimelineService.record(attendance);
+
+        ArgumentCaptor<UserTimelineEntry> entryCaptor = ArgumentCaptor.forClass(UserTimelineEntry.class);
+        verify(userTimelineRepo).save(entryCaptor.capture());
+        UserTimelineEntry entry = entryCaptor.getValue();
+        assertThat(entry.getUserId()).isEqualTo(5L);
+        assertThat(entry.getEventId()).isEqualTo(1L);
+        assertThat(entry.getDateTime()).isEqualTo(event.getDateTime());
+        assertThat(entry.getRole()).isEqualTo(AttendanceRole.ORGANIZER);
+        assertThat(entry.getStatus()).isEqualTo(AttendanceStatus.REGISTERED);
+        assertThat(entry.getSeriesUntil()).isNull();
+    }
+
+    @Test
+    void record_shouldUpdateExistingEntry_andMarkOpenEndedSeries() {
+        event.setRecurrence(new RecurrenceRule(RecurrenceFrequency.WEEKLY, 1, null, null));
+        Attendance attendance = new Attendance(user, event, AttendanceRole.ATTENDEE);
+        attendance.setStatus(AttendanceStatus.WITHDRAWN);
+        UserTimelineEntry existing = new UserTimelineEntry(5L, 1L);
+        existing.setStatus(AttendanceStatus.REGISTERED);
+        when(userTimelineRepo.findByUserIdAndEventId(5L, 1L)).thenReturn(Optional.of(existing));
+
+        userTimelineService.record(attendance);
+
+        verify(userTimelineRepo).save(existing);
+        assertThat(existing.getStatus()).isEqualTo(AttendanceStatus.WITHDRAWN);
+        assertThat(existing.getSeriesUntil()).isAfter(LocalDateTime.of(9000, 1, 1, 0, 0));
+    }
+
+    @Test
+    void findEvents_shouldContinueAfterCursor_whenCursorIsGiven() {
+        LocalDateTime cursorTime = LocalDateTime.of(2030, 1, 1, 9, 0);
+
+        userTimelineService.findEvents(5L, AttendanceRole.ATTENDEE, true, false,
+                new KeysetCursor(cursorTime, 42L), Limit.of(10));
+
+        ArgumentCaptor<UserTimelineFilter> filterCaptor = ArgumentCaptor.forClass(UserTimelineFilter.class);
+        verify(userTimelineRepo).findTimeline(filterCaptor.capture(), eq(Limit.of(10)));
+        UserTimelineFilter filter = filterCaptor.getValue();
+        assertThat(filter.userId()).isEqualTo(5L);
+        assertThat(filter.role()).isEqualTo(AttendanceRole.ATTENDEE);
+        assertThat(filter.from()).isNotNull();
+        assertThat(filter.to()).isNull();
+        assertThat(filter.after()).isEqualTo(new KeysetCursor(cursorTime, 42L));
+    }
+
+    @Test
+    void reconcileAll_shouldRebuildTimelinesChunkByChunk() {
+        doAnswer(invocation -> {
+            invocation.<Consumer<Object>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(userRepo.findIdsAfter(eq(0L), any(Limit.class))).thenReturn(List.of(5L, 6L));
+        when(userRepo.findIdsAfter(eq(6L), any(Limit.class))).thenReturn(List.of());
+
+        userTimelineService.reconcileAll();
+
+        InOrder inOrder = inOrder(userTimelineRepo);
+        inOrder.verify(userTimelineRepo).deleteByUserIdIn(List.of(5L, 6L));
+        inOrder.verify(userTimelineRepo).insertFromAttendances(eq(List.of(5L, 6L)), any(LocalDateTime.class));
+    }
+
+    @Test
+    void backfillIfEmpty_shouldSkipReconcile_whenTimelineIsPopulated() {
+        when(userTimelineRepo.count()).thenReturn(3L);
+
+        userTimelineService.backfillIfEmpty();
+
+        verify(userRepo, never()).findIdsAfter(any(), any());
+    }
+
+}